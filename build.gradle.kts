@@ -197,7 +197,7 @@ tasks {
   }
 
   named("afterReleaseBuild") {
-    dependsOn("publishToSonatype", "closeAndReleaseSonatypeStagingRepository")
+    dependsOn("publishToSonatype", ":processor:publishToSonatype", "closeAndReleaseSonatypeStagingRepository")
   }
 
   named("check") {
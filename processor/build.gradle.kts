@@ -0,0 +1,102 @@
+@file:Suppress("UnstableApiUsage")
+
+plugins {
+  groovy
+  `java-library`
+  `jvm-test-suite`
+  `maven-publish`
+  signing
+}
+
+repositories {
+  mavenCentral()
+}
+
+java {
+  withSourcesJar()
+  withJavadocJar()
+
+  val useToolchain = System.getenv("RSQL_PARSER_GRADLE_USE_TOOLCHAIN")?.toBoolean() ?: true
+
+  if (useToolchain) {
+    toolchain {
+      languageVersion.set(JavaLanguageVersion.of(8))
+    }
+  }
+}
+
+testing {
+  suites {
+    val test by getting(JvmTestSuite::class) {
+      useJUnitJupiter("5.14.3")
+
+      dependencies {
+        implementation(project(":"))
+        implementation("org.spockframework:spock-core:2.4-groovy-4.0")
+      }
+    }
+  }
+}
+
+group = "io.github.nstdio"
+description = "Annotation processor of RSQL-parser generating reflection-free predicates"
+
+base {
+  archivesName.set("rsql-parser-processor")
+}
+
+publishing {
+  publications.create<MavenPublication>("java") {
+    from(components["java"])
+    artifactId = "rsql-parser-processor"
+
+    pom {
+      name.set("RSQL-parser processor")
+      description.set(project.description)
+      url.set("https://github.com/nstdio/rsql-parser")
+      inceptionYear.set("2026")
+
+      licenses {
+        license {
+          name.set("MIT")
+          url.set("https://opensource.org/licenses/MIT")
+        }
+      }
+
+      developers {
+        developer {
+          id.set("nstdio")
+          name.set("Edgar Asatryan")
+          email.set("nstdio@gmail.com")
+        }
+      }
+
+      scm {
+        connection.set("scm:git:git@github.com:nstdio/rsql-parser.git")
+        developerConnection.set("scm:git:git@github.com:nstdio/rsql-parser.git")
+        url.set("https://github.com/nstdio/rsql-parser")
+      }
+
+      issueManagement {
+        system.set("GitHub Issues")
+        url.set("https://github.com/nstdio/rsql-parser/issues")
+      }
+    }
+  }
+}
+
+signing {
+  isRequired = (version as String).endsWith("SNAPSHOT")
+
+  val signingKey = findProperty("signingKey") as String?
+  val signingPassword = findProperty("signingPassword") as String?
+  useInMemoryPgpKeys(signingKey, signingPassword)
+
+  sign(publishing.publications["java"])
+}
+
+tasks {
+  withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+  }
+}
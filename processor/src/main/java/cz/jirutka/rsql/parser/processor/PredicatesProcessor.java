@@ -0,0 +1,380 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates the class {@code <Name>Predicates} for each class or record annotated with
+ * {@code cz.jirutka.rsql.parser.eval.Filterable}. The generated class has a {@code PropertyResolver} with a switch over
+ * the names of the properties that reads them by direct calls of the getters, the integral and floating-point ones
+ * without boxing, and a {@code PredicateCompiler} that uses only the generated resolvers.
+ *
+ * <p>The properties are the same as those resolved by {@code PropertyResolvers.BEANS}: the getters {@code getName()}
+ * and {@code isName()} for {@code boolean}, the accessors of the record components, and the fields, that are not
+ * private nor static and are accessible from the package of the annotated type.
+ */
+@SupportedAnnotationTypes(PredicatesProcessor.FILTERABLE)
+public final class PredicatesProcessor extends AbstractProcessor {
+
+    static final String FILTERABLE = "cz.jirutka.rsql.parser.eval.Filterable";
+
+    private static final String EVAL_PACKAGE = "cz.jirutka.rsql.parser.eval";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                ElementKind kind = element.getKind();
+                if (!kind.isClass() || kind == ElementKind.ENUM) {
+                    error(element, "@Filterable must annotate a class or a record");
+                } else if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                    error(element, "@Filterable class must not be private");
+                } else {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String className = predicatesName(type);
+        String typeName = type.getQualifiedName().toString();
+        Map<String, String> accessors = accessors(type, packageName);
+
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("import ").append(EVAL_PACKAGE).append(".PredicateCompiler;\n")
+            .append("import ").append(EVAL_PACKAGE).append(".PropertyAccessor;\n")
+            .append("import ").append(EVAL_PACKAGE).append(".PropertyResolver;\n")
+            .append("import cz.jirutka.rsql.parser.ast.Node;\n")
+            .append("import java.util.Arrays;\n")
+            .append("import java.util.function.Predicate;\n\n")
+            .append("/**\n")
+            .append(" * The predicates of {@link ").append(typeName).append("}, generated by ")
+            .append(PredicatesProcessor.class.getName()).append(".\n")
+            .append(" */\n")
+            .append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+            .append(type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "")
+            .append("final class ").append(className).append(" {\n\n")
+            .append("    private static final PredicateCompiler COMPILER = new PredicateCompiler()\n")
+            .append("        .withResolvers(Arrays.<PropertyResolver>asList(");
+
+        String separator = "";
+        for (TypeElement filterable : filterables(type)) {
+            sb.append(separator).append("\n            new ");
+            String filterablePackage = packageOf(filterable).getQualifiedName().toString();
+            if (!filterablePackage.isEmpty()) {
+                sb.append(filterablePackage).append('.');
+            }
+            sb.append(predicatesName(filterable)).append(".Resolver()");
+            separator = ",";
+        }
+
+        sb.append("));\n\n")
+            .append("    private ").append(className).append("() {\n")
+            .append("    }\n\n")
+            .append("    /**\n")
+            .append("     * Returns the compiler that resolves the properties only by the generated resolvers.\n")
+            .append("     */\n")
+            .append("    public static PredicateCompiler compiler() {\n")
+            .append("        return COMPILER;\n")
+            .append("    }\n\n")
+            .append("    /**\n")
+            .append("     * Compiles the AST into a predicate of {@link ").append(typeName).append("}.\n")
+            .append("     */\n")
+            .append("    public static Predicate<").append(typeName).append("> compile(Node node) {\n")
+            .append("        return COMPILER.compile(node, ").append(typeName).append(".class);\n")
+            .append("    }\n\n")
+            .append("    /**\n")
+            .append("     * Resolves the properties of {@link ").append(typeName).append("} and its subclasses.\n")
+            .append("     */\n")
+            .append("    public static final class Resolver implements PropertyResolver {\n\n");
+
+        int i = 0;
+        for (String accessor : accessors.values()) {
+            sb.append("        private static final PropertyAccessor P").append(i++).append(" = ")
+                .append(accessor).append(";\n\n");
+        }
+
+        sb.append("        @Override\n")
+            .append("        public PropertyAccessor resolve(Class<?> type, String property) {\n")
+            .append("            if (!").append(typeName).append(".class.isAssignableFrom(type)) {\n")
+            .append("                return null;\n")
+            .append("            }\n\n")
+            .append("            switch (property) {\n");
+        i = 0;
+        for (String property : accessors.keySet()) {
+            sb.append("                case \"").append(property).append("\":\n")
+                .append("                    return P").append(i++).append(";\n");
+        }
+        sb.append("                default:\n")
+            .append("                    return null;\n")
+            .append("            }\n")
+            .append("        }\n")
+            .append("    }\n")
+            .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + '.' + className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(sb.toString());
+        } catch (IOException ex) {
+            error(type, "Failed to write " + qualifiedName + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the source of the accessors by the names of the properties.
+     */
+    private Map<String, String> accessors(TypeElement type, String packageName) {
+        String target = "((" + type.getQualifiedName() + ") target)";
+        Set<String> components = new LinkedHashSet<>();
+        for (Element member : type.getEnclosedElements()) {
+            // ElementKind.RECORD_COMPONENT doesn't exist in Java 8
+            if (member.getKind().name().equals("RECORD_COMPONENT")) {
+                components.add(member.getSimpleName().toString());
+            }
+        }
+
+        Map<String, String> getters = new LinkedHashMap<>();
+        Map<String, String> booleanGetters = new LinkedHashMap<>();
+        Map<String, String> accessors = new LinkedHashMap<>();
+        Iterable<? extends Element> members = processingEnv.getElementUtils().getAllMembers(type);
+
+        for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+            String name = method.getSimpleName().toString();
+            TypeMirror returnType = method.getReturnType();
+            if (!accessible(method, packageName) || !method.getParameters().isEmpty()
+                || !method.getTypeParameters().isEmpty() || returnType.getKind() == TypeKind.VOID
+                || throwsChecked(method)) {
+                continue;
+            }
+
+            String read = target + "." + name + "()";
+            if (name.length() > 3 && name.startsWith("get") && !name.equals("getClass")) {
+                getters.put(decapitalize(name.substring(3)), accessor(returnType, read));
+            } else if (name.length() > 2 && name.startsWith("is") && returnType.getKind() == TypeKind.BOOLEAN) {
+                booleanGetters.put(decapitalize(name.substring(2)), accessor(returnType, read));
+            } else if (components.contains(name)) {
+                accessors.put(name, accessor(returnType, read));
+            }
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            String name = field.getSimpleName().toString();
+            if (accessible(field, packageName) && !accessors.containsKey(name)) {
+                accessors.put(name, accessor(field.asType(), target + "." + name));
+            }
+        }
+
+        // the same precedence as of PropertyResolvers.BEANS
+        Map<String, String> properties = new LinkedHashMap<>(getters);
+        for (Map<String, String> others : Arrays.asList(booleanGetters, accessors)) {
+            for (Map.Entry<String, String> entry : others.entrySet()) {
+                if (!properties.containsKey(entry.getKey())) {
+                    properties.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        return properties;
+    }
+
+    private String accessor(TypeMirror type, String read) {
+        String literal = classLiteral(type);
+
+        switch (type.getKind()) {
+            case LONG:
+            case INT:
+            case SHORT:
+            case BYTE:
+                return "new PropertyAccessor.OfLong() {\n"
+                    + "            public Class<?> getType() { return " + literal + "; }\n"
+                    + "            public long getLong(Object target) { return " + read + "; }\n"
+                    + "            public Object get(Object target) { return " + read + "; }\n"
+                    + "        }";
+            case DOUBLE:
+            case FLOAT:
+                return "new PropertyAccessor.OfDouble() {\n"
+                    + "            public Class<?> getType() { return " + literal + "; }\n"
+                    + "            public double getDouble(Object target) { return " + read + "; }\n"
+                    + "            public Object get(Object target) { return " + read + "; }\n"
+                    + "        }";
+            default:
+                return "new PropertyAccessor() {\n"
+                    + "            public Class<?> getType() { return " + literal + "; }\n"
+                    + "            public Object get(Object target) { return " + read + "; }\n"
+                    + "        }";
+        }
+    }
+
+    private String classLiteral(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT) + ".class";
+        } else if (type.getKind() == TypeKind.ARRAY) {
+            String component = classLiteral(((ArrayType) type).getComponentType());
+            return component.substring(0, component.length() - ".class".length()) + "[].class";
+        }
+
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName() + ".class";
+        }
+
+        return "Object.class";
+    }
+
+    /**
+     * Returns the annotated type and the annotated types of its properties, transitively.
+     */
+    private Set<TypeElement> filterables(TypeElement type) {
+        Set<TypeElement> filterables = new LinkedHashSet<>();
+        Deque<TypeElement> queue = new ArrayDeque<>();
+        queue.add(type);
+
+        while (!queue.isEmpty()) {
+            TypeElement next = queue.poll();
+            if (!filterables.add(next)) {
+                continue;
+            }
+
+            Iterable<? extends Element> members = processingEnv.getElementUtils().getAllMembers(next);
+            for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+                if (method.getParameters().isEmpty()) {
+                    addFilterable(method.getReturnType(), queue);
+                }
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(members)) {
+                addFilterable(field.asType(), queue);
+            }
+        }
+
+        return filterables;
+    }
+
+    private void addFilterable(TypeMirror type, Deque<TypeElement> queue) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                .contentEquals(FILTERABLE)) {
+                queue.add(element);
+            }
+        }
+    }
+
+    private boolean accessible(Element member, String packageName) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+
+        Element owner = member.getEnclosingElement();
+        if (owner instanceof TypeElement
+            && ((TypeElement) owner).getQualifiedName().contentEquals(Object.class.getName())) {
+            return false;
+        }
+
+        return modifiers.contains(Modifier.PUBLIC)
+            || packageOf(member).getQualifiedName().contentEquals(packageName);
+    }
+
+    private boolean throwsChecked(ExecutableElement method) {
+        TypeMirror runtime = processingEnv.getElementUtils().getTypeElement("java.lang.RuntimeException").asType();
+        TypeMirror error = processingEnv.getElementUtils().getTypeElement("java.lang.Error").asType();
+
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            if (!processingEnv.getTypeUtils().isSubtype(thrown, runtime)
+                && !processingEnv.getTypeUtils().isSubtype(thrown, error)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private PackageElement packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element);
+    }
+
+    /**
+     * Returns the name of the generated class, e.g. {@code Outer_PersonPredicates} for {@code Outer.Person}.
+     */
+    private static String predicatesName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName()).append("Predicates");
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+
+        return name.toString();
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.processor
+
+import cz.jirutka.rsql.parser.RSQLParser
+import cz.jirutka.rsql.parser.UnknownSelectorException
+import cz.jirutka.rsql.parser.eval.PropertyResolvers
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import javax.tools.DiagnosticCollector
+import javax.tools.JavaFileObject
+import javax.tools.ToolProvider
+import java.nio.file.Files
+import java.nio.file.Path
+
+class PredicatesProcessorSpec extends Specification {
+
+    @Shared parser = new RSQLParser()
+
+    @TempDir Path dir
+
+    def 'Should generate predicates of #query'() {
+        given:
+            def loader = compile(
+                'test/Person.java': '''
+                    package test;
+                    import cz.jirutka.rsql.parser.eval.Filterable;
+                    @Filterable
+                    public class Person {
+                        public enum Status { ACTIVE, BLOCKED }
+                        private final String name;
+                        private final int age;
+                        private final double score;
+                        private final boolean active;
+                        private final Status status;
+                        private final Address address;
+                        public final long id;
+                        public Person(long id, String name, int age, double score, boolean active, Status status,
+                                      Address address) {
+                            this.id = id; this.name = name; this.age = age; this.score = score; this.active = active;
+                            this.status = status; this.address = address;
+                        }
+                        public String getName() { return name; }
+                        public int getAge() { return age; }
+                        public double getScore() { return score; }
+                        public boolean isActive() { return active; }
+                        public Status getStatus() { return status; }
+                        public Address getAddress() { return address; }
+                        String getSecret() { return "package-private"; }
+                        public String getFailing() throws java.io.IOException { throw new java.io.IOException(); }
+                    }
+                ''',
+                'test/Address.java': '''
+                    package test;
+                    @cz.jirutka.rsql.parser.eval.Filterable
+                    public class Address {
+                        public String city;
+                        public Address(String city) { this.city = city; }
+                    }
+                ''')
+            def predicates = loader.loadClass('test.PersonPredicates')
+            def status = loader.loadClass('test.Person$Status')
+            def address = loader.loadClass('test.Address').newInstance('Prague')
+            def alice = loader.loadClass('test.Person')
+                .newInstance(1L, 'Alice', 30, 4.5d, true, status.ACTIVE, address)
+            def bob = loader.loadClass('test.Person')
+                .newInstance(2L, 'Bob', 17, 2.0d, false, status.BLOCKED, null)
+
+        when:
+            def predicate = predicates.compile(parser.parse(query))
+
+        then:
+            [alice, bob].findAll { predicate.test(it) }*.name == expected
+
+        where:
+            query                        | expected
+            'name==A*'                   | ['Alice']
+            'age=ge=18'                  | ['Alice']
+            'score<3'                    | ['Bob']
+            'active==false'              | ['Bob']
+            'status=in=(BLOCKED)'        | ['Bob']
+            'id==1'                      | ['Alice']
+            'address.city==Prague'       | ['Alice']
+            'secret==package-private'    | ['Alice', 'Bob']
+            'age<18,address.city==Brno'  | ['Bob']
+    }
+
+    def 'Should resolve only by generated resolvers'() {
+        given:
+            def loader = compile(
+                'test/Item.java': '''
+                    package test;
+                    @cz.jirutka.rsql.parser.eval.Filterable
+                    class Item {
+                        public String getName() { return "item"; }
+                        public String getFailing() throws Exception { return "failing"; }
+                    }
+                ''')
+            def predicates = loader.loadClass('test.ItemPredicates')
+
+        expect:
+            predicates.compiler().resolvers*.getClass()*.name == ['test.ItemPredicates$Resolver']
+            !predicates.compiler().resolvers.contains(PropertyResolvers.BEANS)
+
+        when:
+            predicates.compile(parser.parse(query))
+
+        then:
+            def ex = thrown UnknownSelectorException
+            ex.selector == query.split('==')[0]
+
+        where:
+            query << ['failing==x', 'class==x', 'hashCode==1']
+    }
+
+    @Requires({ jvm.java16Compatible })
+    def 'Should generate predicates of record'() {
+        given:
+            def loader = compile(
+                'test/Point.java': '''
+                    package test;
+                    @cz.jirutka.rsql.parser.eval.Filterable
+                    public record Point(int x, int y) {
+                        public int distance() { return Math.abs(x) + Math.abs(y); }
+                    }
+                ''')
+            def predicates = loader.loadClass('test.PointPredicates')
+            def point = loader.loadClass('test.Point').newInstance(3, -4)
+
+        expect:
+            predicates.compile(parser.parse('x==3;y<0')).test(point)
+
+        when:
+            predicates.compile(parser.parse('distance==7'))
+
+        then:
+            thrown UnknownSelectorException
+    }
+
+    def 'Should reject annotated #kind'() {
+        when:
+            compile('test/Invalid.java': source)
+
+        then:
+            def ex = thrown IllegalStateException
+            ex.message.contains(message)
+
+        where:
+            kind    | source                                                                            | message
+            'enum'  | 'package test; @cz.jirutka.rsql.parser.eval.Filterable enum Invalid { A }'        | '@Filterable must annotate a class or a record'
+            'class' | 'package test; class Invalid { @cz.jirutka.rsql.parser.eval.Filterable private static class Nested {} }' | '@Filterable class must not be private'
+    }
+
+    /**
+     * Compiles the sources with the processor and returns a class loader of the compiled classes.
+     */
+    private ClassLoader compile(Map<String, String> sources) {
+        def files = sources.collect { name, source ->
+            def file = dir.resolve('src').resolve(name)
+            Files.createDirectories(file.parent)
+            Files.write(file, source.stripIndent().bytes)
+            file.toFile()
+        }
+        def out = Files.createDirectories(dir.resolve('classes'))
+
+        def compiler = ToolProvider.systemJavaCompiler
+        def diagnostics = new DiagnosticCollector<JavaFileObject>()
+        def fileManager = compiler.getStandardFileManager(diagnostics, null, null)
+        def options = ['-d', out.toString(), '-classpath', System.getProperty('java.class.path'),
+                       '-processor', PredicatesProcessor.name]
+        def success = compiler.getTask(null, fileManager, diagnostics, options, null,
+            fileManager.getJavaFileObjectsFromFiles(files)).call()
+        fileManager.close()
+
+        if (!success) {
+            throw new IllegalStateException(diagnostics.diagnostics.join('\n'))
+        }
+
+        return new URLClassLoader([out.toUri().toURL()] as URL[], getClass().classLoader)
+    }
+}
@@ -3,3 +3,5 @@ plugins {
 }
 
 rootProject.name = "rsql-parser"
+
+include("processor")
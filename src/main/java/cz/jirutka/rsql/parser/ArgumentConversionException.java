@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+
+/**
+ * This exception is thrown when an argument of a selector with an {@linkplain ArgumentType argument type} can't be
+ * converted to the type. The parser reports it as the cause of {@link RSQLParserException}.
+ *
+ * @see cz.jirutka.rsql.parser.ast.NodesFactory#withArgumentType(String, ArgumentType)
+ * @since 2.5.0
+ */
+public class ArgumentConversionException extends IllegalArgumentException {
+
+    private final String selector;
+    private final int index;
+    private final String argument;
+    private final ArgumentType<?> type;
+    private final int offset;
+
+    /**
+     * @param selector The selector of the comparison.
+     * @param index    The index of the argument in the comparison.
+     * @param argument The argument that can't be converted.
+     * @param type     The type the argument can't be converted to.
+     * @param cause    The exception thrown by the conversion, or {@code null}.
+     */
+    public ArgumentConversionException(
+        String selector, int index, String argument, ArgumentType<?> type, Throwable cause) {
+        this(selector, index, argument, type, cause, -1);
+    }
+
+    private ArgumentConversionException(
+        String selector, int index, String argument, ArgumentType<?> type, Throwable cause, int offset) {
+        super(message(selector, argument, type, offset), cause);
+        this.selector = selector;
+        this.index = index;
+        this.argument = argument;
+        this.type = type;
+        this.offset = offset;
+    }
+
+    private static String message(String selector, String argument, ArgumentType<?> type, int offset) {
+        String message = String.format("Argument '%s' of selector '%s' is not a valid %s", argument, selector, type);
+
+        return offset < 0 ? message : message + " at offset " + offset;
+    }
+
+    /**
+     * Returns a copy of this exception with the offset of the argument in the query.
+     */
+    ArgumentConversionException withOffset(int offset) {
+        ArgumentConversionException ex =
+            new ArgumentConversionException(selector, index, argument, type, getCause(), offset);
+        ex.setStackTrace(getStackTrace());
+
+        return ex;
+    }
+
+    public String getSelector() {
+        return selector;
+    }
+
+    /**
+     * Returns the index of the argument in the comparison.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getArgument() {
+        return argument;
+    }
+
+    public ArgumentType<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the offset of the argument's token in the query, or {@code -1} if it's not known, i.e. the node has not
+     * been created by the parser.
+     */
+    public int getOffset() {
+        return offset;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import static cz.jirutka.rsql.parser.ParserConstants.AND;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_ALT;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_FIQL;
+import static cz.jirutka.rsql.parser.ParserConstants.DOUBLE_QUOTED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.EOF;
+import static cz.jirutka.rsql.parser.ParserConstants.LPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.OR;
+import static cz.jirutka.rsql.parser.ParserConstants.RPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.SINGLE_QUOTED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.UNRESERVED_STR;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.OperatorTrie;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Lexer} that scans UTF-8 encoded bytes, optionally percent-encoded as in a URL query, directly from a
+ * {@link ByteBuffer}. The percent-encoding is decoded while scanning in the same way as
+ * {@link java.net.URLDecoder#decode(String, String) URLDecoder} does it, i.e. {@code %XX} is a byte and {@code +} is a
+ * space, so the query doesn't have to be decoded into a {@link String} first. Only the values of the string tokens
+ * are decoded from UTF-8 into strings.
+ *
+ * <p>All the offsets are in bytes of the raw input relative to the buffer's position. The buffer's position and limit
+ * are not changed.
+ *
+ * <p>This class is not thread safe.
+ */
+final class ByteLexer extends Lexer {
+
+    private final ByteBuffer input;
+    private final int base;
+    private final int length;
+
+    /**
+     * The raw width of the last {@linkplain #decode(int) decoded} byte, i.e. {@code 1} or {@code 3} for {@code %XX}.
+     */
+    private int width;
+
+    /**
+     * Whether the current token contains an escaped character or a percent-encoded byte.
+     */
+    private boolean escaped;
+    private boolean encoded;
+
+    /**
+     * A buffer for decoding the values of tokens that can't be decoded directly from the input, reused between tokens.
+     */
+    private byte[] buffer;
+
+    ByteLexer(ByteBuffer input) {
+        this.input = input;
+        this.base = input.position();
+        this.length = input.remaining();
+    }
+
+    @Override
+    int next() {
+        encoded = false;
+        escaped = false;
+        while (pos < length && decode(pos) == ' ') {
+            int space = width;
+            int end = match(" and ");
+            if (end >= 0) {
+                return token(AND, end - pos);
+            }
+            end = match(" or ");
+            if (end >= 0) {
+                return token(OR, end - pos);
+            }
+            pos += space;
+        }
+
+        start = pos;
+        if (pos == length) {
+            return kind = EOF;
+        }
+
+        int c = decode(pos);
+        int len = width;
+        int next = pos + len;
+        switch (c) {
+            case ';':
+                return token(AND, len);
+            case ',':
+                return token(OR, len);
+            case '(':
+                return token(LPAREN, len);
+            case ')':
+                return token(RPAREN, len);
+            case '=':
+                return comparisonFiql(next);
+            case '!':
+                return expectEquals(next);
+            case '<':
+            case '>':
+                return token(COMP_ALT, next < length && decode(next) == '=' ? len + width : len);
+            case '\'':
+                return quoted(c, next, SINGLE_QUOTED_STR);
+            case '"':
+                return quoted(c, next, DOUBLE_QUOTED_STR);
+            case '~':
+                throw lexicalError(pos);
+            default:
+                return unreserved(next);
+        }
+    }
+
+    @Override
+    String image() {
+        return string(start, pos, false);
+    }
+
+    @Override
+    ComparisonOperator operator() {
+        int state = OperatorTrie.START;
+        for (int i = start; i < pos; i += width) {
+            state = operators.next(state, decode(i));
+        }
+
+        return operators.operator(state);
+    }
+
+    @Override
+    String value() {
+        if (kind == UNRESERVED_STR) {
+            return string(start, pos, false);
+        }
+
+        return string(start + quoteWidth(start), pos - quoteWidth(pos - 1), escaped);
+    }
+
+    private int comparisonFiql(int i) {
+        while (i < length && isAlpha(decode(i))) {
+            i += width;
+        }
+
+        return expectEquals(i);
+    }
+
+    private int expectEquals(int i) {
+        if (i < length && decode(i) == '=') {
+            return token(COMP_FIQL, i + width - pos);
+        }
+
+        throw lexicalError(i);
+    }
+
+    private int quoted(int quote, int i, int kind) {
+        while (i < length) {
+            int c = decode(i);
+            i += width;
+
+            if (c == quote) {
+                return token(kind, i - pos);
+            }
+
+            if (c == '\\') {
+                if (i == length) {
+                    break;
+                }
+                escaped = true;
+                decode(i);
+                i += width;
+            }
+        }
+
+        throw lexicalError(length);
+    }
+
+    private int unreserved(int i) {
+        while (i < length && !isReserved(decode(i))) {
+            i += width;
+        }
+
+        return token(UNRESERVED_STR, i - pos);
+    }
+
+    /**
+     * Returns the raw offset after the given ASCII text if the input at the current position matches it, {@code -1}
+     * otherwise.
+     */
+    private int match(String text) {
+        int i = pos;
+        for (int j = 0; j < text.length(); j++) {
+            if (i >= length || decode(i) != text.charAt(j)) {
+                return -1;
+            }
+            i += width;
+        }
+
+        return i;
+    }
+
+    /**
+     * Decodes the byte at the given raw offset and sets the {@link #width} of its raw representation.
+     *
+     * @return the decoded byte as an unsigned value.
+     * @throws TokenMgrError If there is an incomplete or invalid percent-encoded byte at the offset.
+     */
+    private int decode(int i) {
+        int b = input.get(base + i) & 0xFF;
+        width = 1;
+
+        if (b == '+') {
+            encoded = true;
+            return ' ';
+        }
+        if (b != '%') {
+            return b;
+        }
+
+        int hi = i + 1 < length ? Character.digit(input.get(base + i + 1), 16) : -1;
+        int lo = i + 2 < length ? Character.digit(input.get(base + i + 2), 16) : -1;
+        if (hi < 0 || lo < 0) {
+            throw lexicalError(i, string(pos, i, false), '%');
+        }
+
+        encoded = true;
+        width = 3;
+
+        return hi << 4 | lo;
+    }
+
+    /**
+     * Returns the raw width of the opening quote starting at, or the closing quote ending at the given offset.
+     */
+    private int quoteWidth(int i) {
+        int b = input.get(base + i);
+        return b == '\'' || b == '"' ? 1 : 3;
+    }
+
+    /**
+     * Decodes the raw input between the given offsets into a string.
+     *
+     * @param unescape Whether to drop the backslashes before escaped characters.
+     */
+    private String string(int from, int to, boolean unescape) {
+        if (!encoded && !unescape && input.hasArray()) {
+            return new String(input.array(), input.arrayOffset() + base + from, to - from, UTF_8);
+        }
+
+        // saves and restores the flag, the decoding could be called in the middle of scanning
+        boolean wasEncoded = encoded;
+        byte[] bytes = buffer(to - from);
+        int n = 0;
+        for (int i = from; i < to; i += width) {
+            int b = decode(i);
+            if (unescape && b == '\\') {
+                i += width;
+                b = decode(i);
+            }
+            bytes[n++] = (byte) b;
+        }
+        encoded = wasEncoded;
+
+        return new String(bytes, 0, n, UTF_8);
+    }
+
+    private byte[] buffer(int capacity) {
+        if (buffer == null || buffer.length < capacity) {
+            buffer = new byte[Math.max(capacity, 64)];
+        }
+
+        return buffer;
+    }
+
+    private TokenMgrError lexicalError(int at) {
+        if (at >= length) {
+            return lexicalError(at, string(pos, length, false), -1);
+        }
+
+        int c = decode(at);
+        int end = at + width;
+        if (c >= 0x80) {
+            // a multibyte sequence, report the whole character
+            while (end < length && (decode(end) & 0xC0) == 0x80) {
+                end += width;
+            }
+            c = string(at, end, false).charAt(0);
+        }
+
+        return lexicalError(at, string(pos, at, false), c);
+    }
+}
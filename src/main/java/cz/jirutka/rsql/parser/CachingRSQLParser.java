@@ -0,0 +1,472 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import cz.jirutka.rsql.parser.ast.ArgumentView;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A decorator of {@link RSQLParser} that caches the parsed ASTs. It can be used since the nodes are immutable.
+ *
+ * <p>The cache is bounded by the total weight of its entries, by default the estimated number of bytes retained by
+ * the query and its AST, and it evicts the least recently used entries first. It's split into segments, each guarded
+ * by its own lock. When more threads ask for the same query that is not cached yet, only one of them parses it and
+ * the others wait for its result.
+ *
+ * <p>Queries that failed to parse are cached as well (unless disabled), so the same {@link RSQLParserException}
+ * instance is thrown again for repeated invalid queries.
+ *
+ * @since 2.5.0
+ */
+@ThreadSafe
+public final class CachingRSQLParser {
+
+    private static final int MAX_SEGMENTS = 64;
+
+    /**
+     * An estimated weight of cached failure, the exception is shared with the caller, so it's not counted.
+     */
+    private static final long FAILURE_WEIGHT = 32;
+
+    private static final long LOGICAL_NODE_SIZE = 24;
+    private static final long COMPARISON_NODE_SIZE = 40;
+    private static final long ARGUMENT_VIEW_SIZE = 32;
+
+    private static final Class<?> EMPTY_LIST = Collections.emptyList().getClass();
+    private static final Class<?> SINGLETON_LIST = Collections.singletonList(null).getClass();
+    private static final Class<?> ARRAY_LIST = Arrays.asList().getClass();
+    private static final Class<?> VIEW_LIST = ArgumentView.asList().getClass();
+
+    private final RSQLParser parser;
+    private final ToLongFunction<? super Node> weigher;
+    private final boolean cacheFailures;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new caching parser that weighs entries by their {@linkplain #estimateRetainedSize(Node) estimated
+     * retained size} and caches failures as well.
+     *
+     * @param parser        The parser to delegate to. Must not be {@code null}.
+     * @param maximumWeight The maximum total weight of the cached entries, i.e. approximately the number of bytes.
+     * @throws IllegalArgumentException If the {@code parser} is {@code null} or {@code maximumWeight} is not positive.
+     */
+    public CachingRSQLParser(RSQLParser parser, long maximumWeight) {
+        this(parser, maximumWeight, CachingRSQLParser::estimateRetainedSize, true);
+    }
+
+    /**
+     * Creates a new caching parser.
+     *
+     * @param parser        The parser to delegate to. Must not be {@code null}.
+     * @param maximumWeight The maximum total weight of the cached entries.
+     * @param weigher       A function that computes the weight of the parsed AST. The weight of the query itself is
+     *                      added to it. Must not be {@code null}.
+     * @param cacheFailures Whether to cache the queries that failed to parse.
+     * @throws IllegalArgumentException If the {@code parser} or {@code weigher} is {@code null} or
+     *                                  {@code maximumWeight} is not positive.
+     */
+    public CachingRSQLParser(RSQLParser parser, long maximumWeight, ToLongFunction<? super Node> weigher,
+        boolean cacheFailures) {
+        if (parser == null) {
+            throw new IllegalArgumentException("parser must not be null");
+        }
+        if (weigher == null) {
+            throw new IllegalArgumentException("weigher must not be null");
+        }
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+
+        this.parser = parser;
+        this.weigher = weigher;
+        this.cacheFailures = cacheFailures;
+
+        int count = Integer.highestOneBit(Math.min(MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() * 2));
+        long segmentWeight = Math.max(1, maximumWeight / count);
+
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(segmentWeight);
+        }
+    }
+
+    /**
+     * Returns the AST of the given query, either cached or parsed by the underlying {@link RSQLParser}.
+     *
+     * @param query The query expression to parse.
+     * @return A root of the parsed AST.
+     * @throws RSQLParserException      If the {@code query} is syntactically invalid. It might be the same instance as
+     *                                  thrown for the previous invocation with the same query.
+     * @throws IllegalArgumentException If the {@code query} is {@code null}.
+     */
+    public Node parse(String query) throws RSQLParserException {
+        if (query == null) {
+            throw new IllegalArgumentException("query must not be null");
+        }
+
+        int h = query.hashCode();
+        Segment segment = segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+
+        Entry entry;
+        boolean loading = false;
+
+        segment.lock.lock();
+        try {
+            entry = segment.entries.get(query);
+            if (entry == null) {
+                entry = new Entry();
+                segment.entries.put(query, entry);
+                loading = true;
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        if (loading) {
+            misses.increment();
+            load(segment, query, entry);
+        } else {
+            hits.increment();
+        }
+
+        return entry.get();
+    }
+
+    /**
+     * Removes all cached entries.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                // the loading entries are not removed, so their loaders account the weight correctly
+                Iterator<Entry> it = segment.entries.values().iterator();
+                while (it.hasNext()) {
+                    Entry entry = it.next();
+                    if (entry.isDone()) {
+                        segment.weight -= entry.weight;
+                        it.remove();
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of this cache statistics.
+     *
+     * @return a snapshot of this cache statistics.
+     */
+    public Stats stats() {
+        int size = 0;
+        long weight = 0;
+
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+                weight += segment.weight;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size, weight);
+    }
+
+    private void load(Segment segment, String query, Entry entry) {
+        Object result;
+        boolean cache = false;
+        long weight = 0;
+
+        try {
+            Node node = parser.parse(query);
+            weight = weigher.applyAsLong(node) + estimateRetainedSize(query);
+            result = node;
+            cache = true;
+        } catch (RSQLParserException e) {
+            weight = FAILURE_WEIGHT + estimateRetainedSize(query);
+            result = e;
+            cache = cacheFailures;
+        } catch (Throwable e) {
+            result = e;
+        }
+
+        segment.lock.lock();
+        try {
+            entry.complete(result, weight);
+
+            if (cache) {
+                segment.weight += weight;
+                evictions.add(segment.evict());
+            } else {
+                segment.entries.remove(query, entry);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Estimates the number of bytes retained by the given AST, assuming compressed object pointers. The
+     * {@linkplain RSQLParser#withLazyArguments(boolean) lazy arguments} are weighed as the views of the query, without
+     * materializing them, and the query itself is not counted.
+     *
+     * @param node The root of the AST.
+     * @return the estimated number of bytes retained by the AST.
+     */
+    public static long estimateRetainedSize(Node node) {
+        long size = 0;
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(node);
+
+        while (!pending.isEmpty()) {
+            Node next = pending.pop();
+            if (next instanceof LogicalNode) {
+                List<Node> children = NodesFactoryAccess.children((LogicalNode) next);
+                size += LOGICAL_NODE_SIZE + estimateListSize(children);
+                for (Node child : children) {
+                    pending.push(child);
+                }
+            } else if (next instanceof ComparisonNode) {
+                ComparisonNode comparison = (ComparisonNode) next;
+                List<String> arguments = NodesFactoryAccess.arguments(comparison);
+                size += COMPARISON_NODE_SIZE + estimateRetainedSize(comparison.getSelector())
+                    + estimateListSize(arguments);
+
+                if (arguments.getClass() == VIEW_LIST) {
+                    // the views share the query, which is weighed as the key of the entry
+                    size += ARGUMENT_VIEW_SIZE * arguments.size();
+                } else {
+                    for (String argument : arguments) {
+                        size += estimateRetainedSize(argument);
+                    }
+                }
+            }
+        }
+
+        return size;
+    }
+
+    private static long estimateRetainedSize(String string) {
+        // String object + byte[] with Latin-1 characters
+        return 24 + 16 + align(string.length());
+    }
+
+    /**
+     * Estimates the size of the list as it's held by a node, see {@code Lists.copyOf}.
+     */
+    private static long estimateListSize(List<?> list) {
+        Class<?> type = list.getClass();
+        if (type == EMPTY_LIST) {
+            // a shared instance
+            return 0;
+        } else if (type == SINGLETON_LIST) {
+            return 16;
+        } else if (type == ARRAY_LIST || type == VIEW_LIST) {
+            // the list + Object[]
+            return 16 + 16 + align(4L * list.size());
+        }
+
+        // unmodifiable wrapper + ArrayList + Object[]
+        return 24 + 24 + 16 + align(4L * list.size());
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Statistics of the {@link CachingRSQLParser}.
+     */
+    public static final class Stats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int entryCount;
+        private final long weight;
+
+        Stats(long hitCount, long missCount, long evictionCount, int entryCount, long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.entryCount = entryCount;
+            this.weight = weight;
+        }
+
+        /**
+         * Returns the number of queries served from the cache, including those that waited for another thread to
+         * parse the same query.
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Returns the number of queries that had to be parsed.
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Returns the number of entries evicted to keep the cache within its maximum weight.
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * Returns the number of cached entries.
+         */
+        public int getEntryCount() {
+            return entryCount;
+        }
+
+        /**
+         * Returns the total weight of the cached entries.
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+                + ", entryCount=" + entryCount + ", weight=" + weight + '}';
+        }
+    }
+
+    private static final class Segment {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        final long maximumWeight;
+        long weight;
+
+        Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        /**
+         * Evicts the least recently used entries until this segment fits into its maximum weight. Must be called with
+         * the lock held.
+         *
+         * @return the number of evicted entries.
+         */
+        int evict() {
+            int count = 0;
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+
+            while (weight > maximumWeight && it.hasNext()) {
+                Entry entry = it.next().getValue();
+                if (entry.isDone()) {
+                    weight -= entry.weight;
+                    it.remove();
+                    count++;
+                }
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * A cached result, either a {@link Node} or an exception, that might be still loading.
+     */
+    private static final class Entry {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Object result;
+
+        /**
+         * The weight of this entry, guarded by the segment lock.
+         */
+        long weight;
+
+        boolean isDone() {
+            return result != null;
+        }
+
+        void complete(Object result, long weight) {
+            this.weight = weight;
+            this.result = result;
+            done.countDown();
+        }
+
+        Node get() {
+            Object result = this.result;
+            if (result == null) {
+                result = await();
+            }
+
+            if (result instanceof Node) {
+                return (Node) result;
+            }
+            if (result instanceof RuntimeException) {
+                throw (RuntimeException) result;
+            }
+            throw (Error) result;
+        }
+
+        private Object await() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        done.await();
+                        return result;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * A {@link CharStream} that reads directly from a {@link CharSequence}, so unlike the {@code SimpleCharStream} it
+ * doesn't copy the input into its own buffers. The whole input is treated as a single line, even if it contains line
+ * breaks, so the column is the absolute offset in the input plus one, and the parser reports the same offsets as the
+ * hand-written one. The stream can be {@linkplain #reset(CharSequence) reset} to read another input.
+ *
+ * <p>This class is not thread safe.
+ */
+final class CharSequenceCharStream implements CharStream {
+
+    /**
+     * The token manager uses {@link IOException} only as a signal of the end of input and never exposes it, so there is
+     * no need to create a new instance each time.
+     */
+    private static final IOException END_OF_INPUT = new EOFException();
+
+    private CharSequence input;
+    private int length;
+
+    private int pos;
+    private int tokenBegin;
+    private int tabSize = 1;
+
+    CharSequenceCharStream(CharSequence input) {
+        reset(input);
+    }
+
+    /**
+     * Starts reading the given input from the beginning.
+     *
+     * @param input The new input.
+     */
+    void reset(CharSequence input) {
+        this.input = input;
+        this.length = input.length();
+        this.pos = 0;
+        this.tokenBegin = 0;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        if (pos >= length) {
+            throw END_OF_INPUT;
+        }
+
+        return input.charAt(pos++);
+    }
+
+    @Override
+    public char BeginToken() throws IOException {
+        tokenBegin = pos;
+        return readChar();
+    }
+
+    @Override
+    public void backup(int amount) {
+        pos -= amount;
+    }
+
+    @Override
+    public String GetImage() {
+        return input.subSequence(tokenBegin, pos).toString();
+    }
+
+    @Override
+    public char[] GetSuffix(int len) {
+        char[] suffix = new char[len];
+        for (int i = 0, from = pos - len; i < len; i++) {
+            suffix[i] = input.charAt(from + i);
+        }
+
+        return suffix;
+    }
+
+    @Override
+    public void Done() {
+    }
+
+    @Override
+    @Deprecated
+    public int getColumn() {
+        return getEndColumn();
+    }
+
+    @Override
+    @Deprecated
+    public int getLine() {
+        return getEndLine();
+    }
+
+    @Override
+    public int getEndColumn() {
+        return pos;
+    }
+
+    @Override
+    public int getEndLine() {
+        return 1;
+    }
+
+    @Override
+    public int getBeginColumn() {
+        return tokenBegin + 1;
+    }
+
+    @Override
+    public int getBeginLine() {
+        return 1;
+    }
+
+    @Override
+    public void setTabSize(int i) {
+        tabSize = i;
+    }
+
+    @Override
+    public int getTabSize() {
+        return tabSize;
+    }
+
+    @Override
+    public boolean getTrackLineColumn() {
+        return false;
+    }
+
+    @Override
+    public void setTrackLineColumn(boolean trackLineColumn) {
+    }
+}
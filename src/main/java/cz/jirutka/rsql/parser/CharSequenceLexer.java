@@ -0,0 +1,258 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import static cz.jirutka.rsql.parser.ParserConstants.AND;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_ALT;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_FIQL;
+import static cz.jirutka.rsql.parser.ParserConstants.DOUBLE_QUOTED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.EOF;
+import static cz.jirutka.rsql.parser.ParserConstants.LPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.OR;
+import static cz.jirutka.rsql.parser.ParserConstants.RPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.SINGLE_QUOTED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.UNRESERVED_STR;
+
+import cz.jirutka.rsql.parser.ast.ArgumentView;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.OperatorTrie;
+import cz.jirutka.rsql.parser.ast.SelectorSchema;
+import cz.jirutka.rsql.parser.ast.StringPool;
+
+/**
+ * A {@link Lexer} that scans a {@link CharSequence} directly by index, so it doesn't allocate anything except the
+ * values of the string tokens. Quoted strings are unquoted and unescaped while they are scanned.
+ *
+ * <p>This class is not thread safe.
+ */
+final class CharSequenceLexer extends Lexer {
+
+    private final CharSequence input;
+    private final int length;
+
+    /**
+     * A buffer for the value of quoted token containing escaped characters, reused between tokens.
+     */
+    private StringBuilder buffer;
+
+    private boolean escaped;
+
+    CharSequenceLexer(CharSequence input) {
+        this.input = input;
+        this.length = input.length();
+    }
+
+    @Override
+    int next() {
+        while (pos < length && input.charAt(pos) == ' ') {
+            if (startsWith(" and ")) {
+                return token(AND, 5);
+            }
+            if (startsWith(" or ")) {
+                return token(OR, 4);
+            }
+            pos++;
+        }
+
+        start = pos;
+        if (pos == length) {
+            return kind = EOF;
+        }
+
+        char c = input.charAt(pos);
+        switch (c) {
+            case ';':
+                return token(AND, 1);
+            case ',':
+                return token(OR, 1);
+            case '(':
+                return token(LPAREN, 1);
+            case ')':
+                return token(RPAREN, 1);
+            case '=':
+                return comparisonFiql();
+            case '!':
+                return expectEquals(pos + 1);
+            case '<':
+            case '>':
+                return token(COMP_ALT, pos + 1 < length && input.charAt(pos + 1) == '=' ? 2 : 1);
+            case '\'':
+                return quoted(c, SINGLE_QUOTED_STR);
+            case '"':
+                return quoted(c, DOUBLE_QUOTED_STR);
+            case '~':
+                throw lexicalError(pos);
+            default:
+                return unreserved();
+        }
+    }
+
+    @Override
+    String image() {
+        return substring(start, pos);
+    }
+
+    @Override
+    ComparisonOperator operator() {
+        int state = OperatorTrie.START;
+        for (int i = start; i < pos; i++) {
+            state = operators.next(state, input.charAt(i));
+        }
+
+        return operators.operator(state);
+    }
+
+    @Override
+    String value() {
+        if (kind == UNRESERVED_STR) {
+            return substring(start, pos);
+        }
+
+        if (!escaped) {
+            return substring(start + 1, pos - 1);
+        }
+
+        return lazy ? view().toString() : buffer.toString();
+    }
+
+    @Override
+    String value(StringPool pool) {
+        if (pool == null) {
+            return value();
+        }
+        if (kind == UNRESERVED_STR) {
+            return pool.intern(input, start, pos);
+        }
+
+        return escaped ? pool.intern(value()) : pool.intern(input, start + 1, pos - 1);
+    }
+
+    @Override
+    int selectorId(SelectorSchema schema) {
+        if (kind == UNRESERVED_STR) {
+            return schema.getId(input, start, pos);
+        }
+
+        return escaped ? schema.getId(value()) : schema.getId(input, start + 1, pos - 1);
+    }
+
+    @Override
+    ArgumentView view() {
+        if (kind == UNRESERVED_STR) {
+            return ArgumentView.slice(input, start, pos, false);
+        }
+
+        return ArgumentView.slice(input, start + 1, pos - 1, escaped);
+    }
+
+    private int comparisonFiql() {
+        int i = pos + 1;
+        while (i < length && isAlpha(input.charAt(i))) {
+            i++;
+        }
+
+        return expectEquals(i);
+    }
+
+    private int expectEquals(int i) {
+        if (i < length && input.charAt(i) == '=') {
+            return token(COMP_FIQL, i + 1 - pos);
+        }
+
+        throw lexicalError(i);
+    }
+
+    private int quoted(char quote, int kind) {
+        escaped = false;
+
+        for (int i = pos + 1; i < length; i++) {
+            char c = input.charAt(i);
+
+            if (c == quote) {
+                return token(kind, i + 1 - pos);
+            }
+
+            if (c == '\\') {
+                if (++i == length) {
+                    break;
+                }
+                if (!escaped) {
+                    escaped = true;
+                    if (!lazy) {
+                        buffer().append(input, pos + 1, i - 1);
+                    }
+                }
+                c = input.charAt(i);
+            }
+
+            if (escaped && !lazy) {
+                buffer.append(c);
+            }
+        }
+
+        throw lexicalError(length);
+    }
+
+    private int unreserved() {
+        int i = pos + 1;
+        while (i < length && !isReserved(input.charAt(i))) {
+            i++;
+        }
+
+        return token(UNRESERVED_STR, i - pos);
+    }
+
+    private boolean startsWith(String prefix) {
+        int len = prefix.length();
+        if (pos + len > length) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (input.charAt(pos + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private String substring(int from, int to) {
+        return input.subSequence(from, to).toString();
+    }
+
+    private StringBuilder buffer() {
+        if (buffer == null) {
+            buffer = new StringBuilder();
+        } else {
+            buffer.setLength(0);
+        }
+
+        return buffer;
+    }
+
+    private TokenMgrError lexicalError(int at) {
+        boolean eof = at >= length;
+        return lexicalError(at, substring(pos, Math.min(at, length)), eof ? -1 : input.charAt(at));
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import static cz.jirutka.rsql.parser.HandwrittenParser.ARGUMENT;
+import static cz.jirutka.rsql.parser.HandwrittenParser.ARGUMENTS_END;
+import static cz.jirutka.rsql.parser.HandwrittenParser.CONSTRAINT_START;
+import static cz.jirutka.rsql.parser.HandwrittenParser.EMPTY_ARGUMENTS_END;
+import static cz.jirutka.rsql.parser.HandwrittenParser.GROUP_END;
+import static cz.jirutka.rsql.parser.HandwrittenParser.INPUT_END;
+import static cz.jirutka.rsql.parser.HandwrittenParser.OPERATOR;
+import static cz.jirutka.rsql.parser.HandwrittenParser.arityViolation;
+import static cz.jirutka.rsql.parser.HandwrittenParser.consume;
+import static cz.jirutka.rsql.parser.HandwrittenParser.convertible;
+import static cz.jirutka.rsql.parser.HandwrittenParser.isBlank;
+import static cz.jirutka.rsql.parser.HandwrittenParser.isString;
+import static cz.jirutka.rsql.parser.HandwrittenParser.operator;
+import static cz.jirutka.rsql.parser.HandwrittenParser.selector;
+import static cz.jirutka.rsql.parser.HandwrittenParser.unexpected;
+import static cz.jirutka.rsql.parser.ParserConstants.AND;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_ALT;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_FIQL;
+import static cz.jirutka.rsql.parser.ParserConstants.EOF;
+import static cz.jirutka.rsql.parser.ParserConstants.LPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.OR;
+import static cz.jirutka.rsql.parser.ParserConstants.RPAREN;
+
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+import cz.jirutka.rsql.parser.ast.Arity;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.NodesFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser of the RSQL grammar that reports the structure of the query to a {@link RSQLEventHandler} instead of
+ * building an AST. A logical operator is reported before its operands, so the parser looks ahead with a second lexer
+ * over the same input to find out whether the operand is followed by another one. The lookahead only skips tokens
+ * without decoding them, and it remembers where the skipped groups end, so even a deeply nested query is looked
+ * through in linear time.
+ *
+ * <p>This class is not thread safe.
+ */
+final class EventParser {
+
+    /**
+     * The flag of a level of nesting that {@link RSQLEventHandler#startAnd()} was reported for its current AND.
+     */
+    private static final int CONJUNCTION = 1;
+
+    /**
+     * The flag of a level of nesting that {@link RSQLEventHandler#startOr()} was reported for its OR.
+     */
+    private static final int DISJUNCTION = 2;
+
+    private final Lexer lexer;
+    private final Lexer scanner;
+    private final NodesFactory factory;
+    private final RSQLEventHandler handler;
+    private final ParseBudget budget;
+
+    /**
+     * The end offsets of the groups skipped by the lookahead, by their start offsets, so each group is skipped token
+     * by token only once.
+     */
+    private Map<Integer, Integer> groupEnds;
+    private int[] groupStarts = new int[8];
+
+    /**
+     * @param lexer   The lexer to parse with.
+     * @param scanner Another lexer over the same input for looking ahead, it must support {@link Lexer#seek(int)}.
+     */
+    EventParser(Lexer lexer, Lexer scanner, NodesFactory factory, RSQLEventHandler handler, ParseBudget budget) {
+        this.lexer = lexer;
+        this.scanner = scanner;
+        this.factory = factory;
+        this.handler = handler;
+        this.budget = budget;
+    }
+
+    /**
+     * Parses the whole input. The nested groups are parsed without recursion, only the flags of the outer levels are
+     * kept on an explicit stack.
+     */
+    void parse() throws ParseException {
+        byte[] outer = new byte[8];
+        int depth = 0;
+
+        lexer.next();
+        int flags = startAnd(startOr(0));
+        for (;;) {
+            while (lexer.kind() == LPAREN) {
+                budget.enter(lexer);
+                lexer.next();
+                if (depth == outer.length) {
+                    outer = Arrays.copyOf(outer, depth * 2);
+                }
+                outer[depth++] = (byte) flags;
+                flags = startAnd(startOr(0));
+            }
+            comparison();
+
+            for (;;) {
+                int kind = lexer.kind();
+                if (kind == AND) {
+                    lexer.next();
+                    break;
+                }
+                flags = end(flags, CONJUNCTION);
+                if (kind == OR) {
+                    lexer.next();
+                    flags = startAnd(flags);
+                    break;
+                }
+                end(flags, DISJUNCTION);
+
+                if (depth == 0) {
+                    consume(lexer, INPUT_END);
+                    return;
+                }
+                consume(lexer, GROUP_END);
+                budget.exit();
+                flags = outer[--depth];
+            }
+        }
+    }
+
+    private int startOr(int flags) {
+        if (lookahead(true) != OR) {
+            return flags;
+        }
+        budget.node(lexer);
+        handler.startOr();
+
+        return flags | DISJUNCTION;
+    }
+
+    private int startAnd(int flags) {
+        if (lookahead(false) != AND) {
+            return flags;
+        }
+        budget.node(lexer);
+        handler.startAnd();
+
+        return flags | CONJUNCTION;
+    }
+
+    /**
+     * Reports the end of the logical operator of the given flag, if its start was reported.
+     *
+     * @return the flags without the given one.
+     */
+    private int end(int flags, int flag) {
+        if ((flags & flag) != 0) {
+            handler.end();
+        }
+
+        return flags & ~flag;
+    }
+
+    private void comparison() throws ParseException {
+        if (!isString(lexer.kind())) {
+            throw unexpected(lexer, CONSTRAINT_START);
+        }
+        budget.node(lexer);
+        String selector = selector(lexer, factory.getSelectorSchema(), null);
+        if (isBlank(selector)) {
+            throw new IllegalArgumentException("selector must not be blank");
+        }
+
+        int kind = lexer.next();
+        if (kind != COMP_FIQL && kind != COMP_ALT) {
+            throw unexpected(lexer, OPERATOR);
+        }
+        ComparisonOperator operator = operator(lexer, factory);
+        ArgumentType<?> type = factory.getArgumentType(selector);
+
+        kind = lexer.next();
+        final List<String> arguments;
+        if (kind == LPAREN) {
+            arguments = commaSepArguments(selector, type);
+        } else if (isString(kind)) {
+            budget.argument(lexer, 1);
+            if (type != null) {
+                convertible(lexer, type, selector, 0);
+            }
+            arguments = Collections.singletonList(lexer.value());
+            lexer.next();
+        } else {
+            arguments = Collections.emptyList();
+        }
+
+        Arity arity = operator.getArity();
+        if (arguments.size() < arity.min() || arguments.size() > arity.max()) {
+            throw arityViolation(operator, arguments.size());
+        }
+        handler.comparison(selector, operator, arguments);
+    }
+
+    /**
+     * @param type The type of the selector to check the arguments against, or {@code null}.
+     */
+    private List<String> commaSepArguments(String selector, ArgumentType<?> type) throws ParseException {
+        if (!isString(lexer.next())) {
+            consume(lexer, EMPTY_ARGUMENTS_END);
+            return Collections.emptyList();
+        }
+
+        List<String> arguments = new ArrayList<>(3);
+        budget.argument(lexer, 1);
+        if (type != null) {
+            convertible(lexer, type, selector, 0);
+        }
+        arguments.add(lexer.value());
+        while (lexer.next() == OR) {
+            if (!isString(lexer.next())) {
+                throw unexpected(lexer, ARGUMENT);
+            }
+            budget.argument(lexer, arguments.size() + 1);
+            if (type != null) {
+                convertible(lexer, type, selector, arguments.size());
+            }
+            arguments.add(lexer.value());
+        }
+        consume(lexer, ARGUMENTS_END);
+
+        return arguments;
+    }
+
+    /**
+     * Skips the constraint starting at the current token, or the whole sequence of constraints joined by AND, and
+     * returns the kind of the token that follows it. Any syntax error ends the lookahead, it's reported by the parser
+     * when it gets there.
+     *
+     * @param skipAnd Whether to skip the constraints joined by AND.
+     * @return the kind of the token that follows, or {@code -1} if it can't be determined.
+     */
+    private int lookahead(boolean skipAnd) {
+        scanner.seek(lexer.start());
+        try {
+            int depth = 0;
+            for (int kind = scanner.next(); ; kind = scanner.next()) {
+                if (kind == LPAREN) {
+                    Integer end = groupEnds == null ? null : groupEnds.get(scanner.start());
+                    if (end != null) {
+                        scanner.seek(end);
+                        continue;
+                    }
+                    if (depth == groupStarts.length) {
+                        groupStarts = Arrays.copyOf(groupStarts, depth * 2);
+                    }
+                    groupStarts[depth++] = scanner.start();
+                } else if (kind == RPAREN && depth > 0) {
+                    if (groupEnds == null) {
+                        groupEnds = new HashMap<>();
+                    }
+                    groupEnds.put(groupStarts[--depth], scanner.end());
+                } else if (depth == 0 && (kind == OR || kind == RPAREN || kind == EOF || (kind == AND && !skipAnd))) {
+                    return kind;
+                } else if (kind == EOF) {
+                    return -1;
+                }
+            }
+        } catch (TokenMgrError | RSQLSyntaxException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalOperator;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.NodesFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A parsed query encoded in a few parallel arrays of primitives instead of a tree of {@link Node} objects. It's an
+ * arena that can be {@linkplain #reset() reset} and reused for parsing of another query, so once its arrays have grown
+ * large enough, parsing into it allocates only the strings of the selectors and arguments.
+ *
+ * <p>The nodes are identified by their index, from zero to {@link #size()} exclusive. They are stored in post-order,
+ * i.e. each node follows all its children, so the {@linkplain #root() root} is the last one. A comparison keeps its
+ * selector followed by its arguments in a single table of strings, and a logical node keeps indexes of its children
+ * in a single table of links, so the children and the arguments of any node are adjacent in memory.
+ *
+ * <pre>{@code
+ * FlatAst ast = new FlatAst();
+ * for (String query : queries) {
+ *     parser.parse(query, ast);
+ *     translate(ast, ast.root());
+ * }
+ * }</pre>
+ *
+ * <p>This class is not thread safe.
+ *
+ * @see RSQLParser#parse(CharSequence, FlatAst)
+ * @since 2.5.0
+ */
+public final class FlatAst {
+
+    private static final int AND = -1;
+    private static final int OR = -2;
+
+    /**
+     * The operator of each node, {@link #AND}, {@link #OR} or an index to the {@link #operators} of comparison.
+     */
+    private int[] codes = new int[16];
+
+    /**
+     * The index of each node's selector in the {@link #strings} or of its first child in the {@link #links}.
+     */
+    private int[] firsts = new int[16];
+
+    /**
+     * The number of each node's arguments or children.
+     */
+    private int[] counts = new int[16];
+
+    private int size;
+
+    private String[] strings = new String[32];
+    private int stringCount;
+
+    private int[] links = new int[16];
+    private int linkCount;
+
+    /**
+     * The distinct comparison operators in the order of their first occurrence.
+     */
+    private ComparisonOperator[] operators = new ComparisonOperator[8];
+    private int operatorCount;
+
+    private NodesFactory factory;
+
+    /**
+     * Removes all the nodes, so the arena can be reused for another query. The arrays are kept, but the strings are
+     * released.
+     */
+    public void reset() {
+        Arrays.fill(strings, 0, stringCount, null);
+        Arrays.fill(operators, 0, operatorCount, null);
+        size = 0;
+        stringCount = 0;
+        linkCount = 0;
+        operatorCount = 0;
+        factory = null;
+    }
+
+    /**
+     * Returns the number of nodes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the root node, or {@code -1} if there are no nodes.
+     */
+    public int root() {
+        return size - 1;
+    }
+
+    /**
+     * Returns whether the node is a logical node, i.e. not a comparison.
+     */
+    public boolean isLogical(int node) {
+        return codes[node] < 0;
+    }
+
+    /**
+     * Returns the operator of the logical node, or {@code null} if it's a comparison.
+     */
+    public LogicalOperator getLogicalOperator(int node) {
+        switch (codes[node]) {
+            case AND:
+                return LogicalOperator.AND;
+            case OR:
+                return LogicalOperator.OR;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the number of children of the logical node, or {@code 0} if it's a comparison.
+     */
+    public int getChildCount(int node) {
+        return isLogical(node) ? counts[node] : 0;
+    }
+
+    /**
+     * Returns the index of the child of the logical node.
+     *
+     * @param node  The logical node.
+     * @param index The index of the child, from zero to {@link #getChildCount(int)} exclusive.
+     */
+    public int getChild(int node, int index) {
+        return links[firsts[node] + index];
+    }
+
+    /**
+     * Returns the operator of the comparison, or {@code null} if it's a logical node.
+     */
+    public ComparisonOperator getOperator(int node) {
+        return isLogical(node) ? null : operators[codes[node]];
+    }
+
+    /**
+     * Returns the selector of the comparison, or {@code null} if it's a logical node.
+     */
+    public String getSelector(int node) {
+        return isLogical(node) ? null : strings[firsts[node]];
+    }
+
+    /**
+     * Returns the number of arguments of the comparison, or {@code 0} if it's a logical node.
+     */
+    public int getArgumentCount(int node) {
+        return isLogical(node) ? 0 : counts[node];
+    }
+
+    /**
+     * Returns the argument of the comparison.
+     *
+     * @param node  The comparison.
+     * @param index The index of the argument, from zero to {@link #getArgumentCount(int)} exclusive.
+     */
+    public String getArgument(int node, int index) {
+        return strings[firsts[node] + 1 + index];
+    }
+
+    /**
+     * Returns the arguments of the comparison, or an empty list if it's a logical node.
+     *
+     * @return an unmodifiable view of the arguments, valid until this arena is reset.
+     */
+    public List<String> getArguments(int node) {
+        if (isLogical(node)) {
+            return Collections.emptyList();
+        }
+        int from = firsts[node] + 1;
+
+        return Collections.unmodifiableList(Arrays.asList(strings).subList(from, from + counts[node]));
+    }
+
+    /**
+     * Reports the subtree of the node to the handler in the same way as
+     * {@link RSQLParser#parse(CharSequence, RSQLEventHandler)} does for the query. The tree is walked without recursion.
+     *
+     * @param node    The root of the subtree to walk.
+     * @param handler The handler to report the subtree to.
+     */
+    public void accept(int node, RSQLEventHandler handler) {
+        // pairs of a logical node and the index of its next child to visit
+        int[] stack = new int[16];
+        int depth = 0;
+
+        for (;;) {
+            if (isLogical(node)) {
+                if (codes[node] == AND) {
+                    handler.startAnd();
+                } else {
+                    handler.startOr();
+                }
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                stack[depth++] = 1;
+                node = getChild(node, 0);
+                continue;
+            }
+            handler.comparison(getSelector(node), getOperator(node), getArguments(node));
+
+            for (;;) {
+                if (depth == 0) {
+                    return;
+                }
+                int parent = stack[depth - 2];
+                int next = stack[depth - 1];
+                if (next < counts[parent]) {
+                    stack[depth - 1] = next + 1;
+                    node = getChild(parent, next);
+                    break;
+                }
+                depth -= 2;
+                handler.end();
+            }
+        }
+    }
+
+    /**
+     * Converts the whole tree into the classic {@link Node} tree, the same one that {@link RSQLParser#parse(String)}
+     * would return. The nodes are created by the {@link NodesFactory} of the parser that has filled this arena. The
+     * arguments of the typed selectors have been validated while parsing, so they are converted without an error.
+     *
+     * @return the root of the AST, or {@code null} if there are no nodes.
+     */
+    public Node toNode() {
+        if (size == 0) {
+            return null;
+        }
+
+        // all the children precede their parent, so they are always converted before it
+        Node[] nodes = new Node[size];
+        for (int node = 0; node < size; node++) {
+            if (isLogical(node)) {
+                Node[] children = new Node[counts[node]];
+                for (int i = 0; i < children.length; i++) {
+                    children[i] = nodes[getChild(node, i)];
+                    nodes[getChild(node, i)] = null;
+                }
+                nodes[node] = NodesFactoryAccess.create(factory, getLogicalOperator(node), Arrays.asList(children));
+            } else {
+                nodes[node] = comparisonNode(getOperator(node), getSelector(node), arguments(node));
+            }
+        }
+
+        return nodes[size - 1];
+    }
+
+    /**
+     * Returns an exact-size copy of the arguments of the comparison.
+     */
+    private List<String> arguments(int node) {
+        int from = firsts[node] + 1;
+        switch (counts[node]) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList(strings[from]);
+            default:
+                return Arrays.asList(Arrays.copyOfRange(strings, from, from + counts[node]));
+        }
+    }
+
+    private Node comparisonNode(ComparisonOperator operator, String selector, List<String> arguments) {
+        if (NodesFactoryAccess.operators(factory) != null) {
+            return NodesFactoryAccess.create(factory, operator, selector, arguments);
+        }
+        try {
+            return factory.createComparisonNode(operator.getSymbol(), selector, arguments);
+        } catch (UnknownOperatorException ex) {
+            // the operator has been resolved by the same factory
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    void start(NodesFactory factory) {
+        reset();
+        this.factory = factory;
+    }
+
+    /**
+     * Appends a comparison, its arguments are appended by {@link #argument(String)}.
+     *
+     * @return the index of the comparison.
+     */
+    int comparison(ComparisonOperator operator, String selector) {
+        int code = 0;
+        while (code < operatorCount && operators[code] != operator) {
+            code++;
+        }
+        if (code == operatorCount) {
+            if (operatorCount == operators.length) {
+                operators = Arrays.copyOf(operators, operatorCount * 2);
+            }
+            operators[operatorCount++] = operator;
+        }
+
+        int node = node(code, stringCount);
+        string(selector);
+
+        return node;
+    }
+
+    /**
+     * Appends an argument of the last comparison.
+     */
+    void argument(String argument) {
+        string(argument);
+        counts[size - 1]++;
+    }
+
+    /**
+     * Appends a logical node with the children that are the given part of the array.
+     *
+     * @return the index of the logical node.
+     */
+    int logical(LogicalOperator operator, int[] children, int from, int to) {
+        int node = node(operator == LogicalOperator.AND ? AND : OR, linkCount);
+        int count = to - from;
+        if (linkCount + count > links.length) {
+            links = Arrays.copyOf(links, Math.max(links.length * 2, linkCount + count));
+        }
+        System.arraycopy(children, from, links, linkCount, count);
+        linkCount += count;
+        counts[node] = count;
+
+        return node;
+    }
+
+    private int node(int code, int first) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+            firsts = Arrays.copyOf(firsts, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        codes[size] = code;
+        firsts[size] = first;
+        counts[size] = 0;
+
+        return size++;
+    }
+
+    private void string(String string) {
+        if (stringCount == strings.length) {
+            strings = Arrays.copyOf(strings, stringCount * 2);
+        }
+        strings[stringCount++] = string;
+    }
+}
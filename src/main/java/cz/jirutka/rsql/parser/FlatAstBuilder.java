@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalOperator;
+import java.util.Arrays;
+
+/**
+ * Builds the {@link FlatAst} from the parts of the query reported by the {@link StreamingParser}. The operands of the
+ * levels of nesting that are not reduced yet are kept on a single stack of node indexes, so the AND operators bind
+ * tighter than the OR operators in the same way as in the {@link HandwrittenParser}.
+ *
+ * <p>This class is not thread safe.
+ */
+final class FlatAstBuilder implements RSQLStreamHandler {
+
+    private final FlatAst ast;
+
+    /**
+     * The operands parsed so far, of all the levels.
+     */
+    private int[] operands = new int[16];
+    private int count;
+
+    /**
+     * The start of the current level's operands and of its current AND's operands in the {@link #operands}, followed
+     * by the same pairs of the outer levels.
+     */
+    private int[] levels = new int[8];
+    private int depth;
+
+    private int disjunction;
+    private int conjunction;
+
+    FlatAstBuilder(FlatAst ast) {
+        this.ast = ast;
+    }
+
+    @Override
+    public void startGroup() {
+        if (depth + 2 > levels.length) {
+            levels = Arrays.copyOf(levels, levels.length * 2);
+        }
+        levels[depth++] = disjunction;
+        levels[depth++] = conjunction;
+        disjunction = conjunction = count;
+    }
+
+    @Override
+    public void endGroup() {
+        int node = reduce();
+        conjunction = levels[--depth];
+        disjunction = levels[--depth];
+        push(node);
+    }
+
+    @Override
+    public void logicalOperator(LogicalOperator operator) {
+        if (operator == LogicalOperator.OR) {
+            push(conjunction());
+            conjunction = count;
+        }
+    }
+
+    @Override
+    public void startComparison(String selector, ComparisonOperator operator) {
+        push(ast.comparison(operator, selector));
+    }
+
+    @Override
+    public void argument(String argument) {
+        ast.argument(argument);
+    }
+
+    /**
+     * Reduces the operands of the whole query after it has been parsed.
+     */
+    void finish() {
+        reduce();
+    }
+
+    private int reduce() {
+        push(conjunction());
+
+        return pop(LogicalOperator.OR, disjunction);
+    }
+
+    private int conjunction() {
+        return pop(LogicalOperator.AND, conjunction);
+    }
+
+    /**
+     * Pops the operands from the given start, and appends a logical node of them if there are more than one.
+     *
+     * @return the only operand or the new logical node.
+     */
+    private int pop(LogicalOperator operator, int from) {
+        int node = count - from == 1 ? operands[from] : ast.logical(operator, operands, from, count);
+        count = from;
+
+        return node;
+    }
+
+    private void push(int node) {
+        if (count == operands.length) {
+            operands = Arrays.copyOf(operands, count * 2);
+        }
+        operands[count++] = node;
+    }
+}
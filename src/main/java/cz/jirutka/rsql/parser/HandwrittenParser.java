@@ -0,0 +1,443 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import static cz.jirutka.rsql.parser.ParserConstants.AND;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_ALT;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_FIQL;
+import static cz.jirutka.rsql.parser.ParserConstants.DOUBLE_QUOTED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.EOF;
+import static cz.jirutka.rsql.parser.ParserConstants.LPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.OR;
+import static cz.jirutka.rsql.parser.ParserConstants.RPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.SINGLE_QUOTED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.UNRESERVED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.tokenImage;
+
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+import cz.jirutka.rsql.parser.ast.ArgumentView;
+import cz.jirutka.rsql.parser.ast.Arity;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalOperator;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.NodesFactory;
+import cz.jirutka.rsql.parser.ast.SelectorSchema;
+import cz.jirutka.rsql.parser.ast.StringPool;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hand-written parser of the RSQL grammar, an alternative to the {@link Parser} generated by JavaCC. It builds
+ * the same AST through the same {@link NodesFactory} and reports errors with the same exceptions, but it doesn't
+ * create {@link Token} objects, and it doesn't need a second pass for unescaping quoted strings.
+ *
+ * <p>The nested groups are parsed with an explicit stack instead of recursion, so a deeply nested query costs linear
+ * time and constant thread's stack. The query is checked against the {@link ParseLimits} while it's parsed.
+ *
+ * <p>This class is not thread safe.
+ */
+final class HandwrittenParser {
+
+    static final int[] INPUT_END = {EOF, AND, OR};
+    static final int[] GROUP_END = {RPAREN, AND, OR};
+    static final int[] CONSTRAINT_START = {LPAREN, UNRESERVED_STR, SINGLE_QUOTED_STR, DOUBLE_QUOTED_STR};
+    static final int[] OPERATOR = {COMP_FIQL, COMP_ALT};
+    static final int[] ARGUMENT = {UNRESERVED_STR, SINGLE_QUOTED_STR, DOUBLE_QUOTED_STR};
+    static final int[] EMPTY_ARGUMENTS_END = {RPAREN, UNRESERVED_STR, SINGLE_QUOTED_STR, DOUBLE_QUOTED_STR};
+    static final int[] ARGUMENTS_END = {RPAREN, OR};
+
+    private final Lexer lexer;
+    private final NodesFactory factory;
+    private final ParseBudget budget;
+
+    private final SelectorSchema schema;
+    private final StringPool selectorPool;
+    private final StringPool argumentPool;
+
+    /**
+     * A buffer for the arguments of a comparison, so they can be copied into an exact-size array once all are read.
+     * It holds strings, or {@link ArgumentView views} if the lexer is {@linkplain Lexer#lazy lazy}.
+     */
+    private Object[] arguments = new Object[8];
+
+    /**
+     * The offsets of the arguments in {@link #arguments}, so a conversion error can be reported with the offset.
+     */
+    private int[] offsets = new int[8];
+
+    HandwrittenParser(Lexer lexer, NodesFactory factory, ParseBudget budget) {
+        this.lexer = lexer;
+        this.factory = factory;
+        this.budget = budget;
+        this.schema = factory.getSelectorSchema();
+        this.selectorPool = factory.getSelectorPool();
+        this.argumentPool = factory.getArgumentPool();
+    }
+
+    /**
+     * Parses the whole input.
+     *
+     * @return the root of the parsed AST.
+     */
+    Node parse() throws ParseException {
+        List<Level> outer = new ArrayList<>();
+        Level level = new Level();
+
+        lexer.next();
+        for (;;) {
+            while (lexer.kind() == LPAREN) {
+                budget.enter(lexer);
+                lexer.next();
+                outer.add(level);
+                level = new Level();
+            }
+            Node node = comparison();
+
+            for (;;) {
+                level.and(node);
+
+                int kind = lexer.kind();
+                if (kind == AND) {
+                    if (level.operands == null) {
+                        budget.node(lexer);
+                    }
+                    lexer.next();
+                    break;
+                }
+                if (kind == OR) {
+                    if (level.alternatives == null) {
+                        budget.node(lexer);
+                    }
+                    level.or();
+                    lexer.next();
+                    break;
+                }
+
+                node = level.reduce();
+                if (outer.isEmpty()) {
+                    consume(INPUT_END);
+                    return node;
+                }
+                consume(GROUP_END);
+                budget.exit();
+                level = outer.remove(outer.size() - 1);
+            }
+        }
+    }
+
+    private ComparisonNode comparison() throws ParseException {
+        if (!isString(lexer.kind())) {
+            throw unexpected(lexer, CONSTRAINT_START);
+        }
+        budget.node(lexer);
+        String selector = selector(lexer, schema, selectorPool);
+
+        int kind = lexer.next();
+        if (kind != COMP_FIQL && kind != COMP_ALT) {
+            throw unexpected(lexer, OPERATOR);
+        }
+        ComparisonOperator operator = null;
+        String symbol = null;
+        int symbolStart = lexer.start();
+        if (lexer.operators != null) {
+            operator = operator(lexer, factory);
+        } else {
+            symbol = lexer.image();
+        }
+
+        kind = lexer.next();
+        final List<String> arguments;
+        if (kind == LPAREN) {
+            arguments = commaSepArguments();
+        } else if (isString(kind)) {
+            budget.argument(lexer, 1);
+            offsets[0] = lexer.start();
+            arguments = lexer.lazy
+                ? ArgumentView.asList(lexer.view())
+                : Collections.singletonList(lexer.value(argumentPool));
+            lexer.next();
+        } else {
+            arguments = Collections.emptyList();
+        }
+
+        try {
+            if (operator != null) {
+                return NodesFactoryAccess.create(factory, operator, selector, arguments);
+            }
+            return NodesFactoryAccess.create(factory, symbol, selector, arguments);
+        } catch (UnknownOperatorException ex) {
+            if (lexer.fastFail) {
+                throw RSQLSyntaxException.unknownOperator(symbolStart, symbol);
+            }
+            throw ex;
+        } catch (ArgumentConversionException ex) {
+            int index = ex.getIndex();
+            throw index >= 0 && index < arguments.size() ? ex.withOffset(offsets[index]) : ex;
+        }
+    }
+
+    private List<String> commaSepArguments() throws ParseException {
+        if (!isString(lexer.next())) {
+            consume(EMPTY_ARGUMENTS_END);
+            return Collections.emptyList();
+        }
+
+        budget.argument(lexer, 1);
+        offsets[0] = lexer.start();
+        Object first = argument();
+        int count = 1;
+        while (lexer.next() == OR) {
+            if (!isString(lexer.next())) {
+                throw unexpected(lexer, ARGUMENT);
+            }
+            budget.argument(lexer, count + 1);
+            if (count == arguments.length) {
+                arguments = Arrays.copyOf(arguments, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count] = lexer.start();
+            arguments[count++] = argument();
+        }
+        consume(ARGUMENTS_END);
+
+        arguments[0] = first;
+        if (lexer.lazy) {
+            return ArgumentView.asList(Arrays.copyOf(arguments, count, ArgumentView[].class));
+        }
+        if (count == 1) {
+            return Collections.singletonList((String) first);
+        }
+
+        return Arrays.asList(Arrays.copyOf(arguments, count, String[].class));
+    }
+
+    private Object argument() {
+        return lexer.lazy ? lexer.view() : lexer.value(argumentPool);
+    }
+
+    /**
+     * Consumes the current token if it's of the first of the given kinds, throws an exception otherwise.
+     *
+     * @param expected The expected token kind followed by other kinds that would be accepted at this position, these
+     *                 are used only for the error message.
+     */
+    private void consume(int[] expected) throws ParseException {
+        consume(lexer, expected);
+    }
+
+    static void consume(Lexer lexer, int[] expected) throws ParseException {
+        if (lexer.kind() != expected[0]) {
+            throw unexpected(lexer, expected);
+        }
+        lexer.next();
+    }
+
+    /**
+     * Creates the same exception as the JavaCC generated parser does when it encounters an unexpected token, or
+     * throws {@link RSQLSyntaxException} in the fast-fail mode.
+     */
+    static ParseException unexpected(Lexer lexer, int[] expected) {
+        if (lexer.fastFail) {
+            throw RSQLSyntaxException.unexpectedToken(
+                lexer.start(), lexer.kind() == EOF ? null : lexer.image(), expected);
+        }
+
+        Token current = new Token(lexer.kind(), lexer.kind() == EOF ? "" : lexer.image());
+        current.beginLine = current.endLine = 1;
+        current.beginColumn = lexer.start() + 1;
+        current.endColumn = lexer.end();
+
+        Token previous = new Token();
+        previous.next = current;
+
+        int[][] sequences = new int[expected.length][];
+        for (int i = 0; i < expected.length; i++) {
+            sequences[i] = new int[]{expected[i]};
+        }
+
+        return new ParseException(previous, sequences, tokenImage);
+    }
+
+    /**
+     * Returns the comparison operator of the current token, resolved by the lexer if it has the operators, or by the
+     * factory otherwise.
+     */
+    static ComparisonOperator operator(Lexer lexer, NodesFactory factory) throws UnknownOperatorException {
+        if (lexer.operators != null) {
+            ComparisonOperator operator = lexer.operator();
+            if (operator != null) {
+                return operator;
+            }
+        } else {
+            try {
+                return factory.getComparisonOperator(lexer.image());
+            } catch (UnknownOperatorException ex) {
+                if (!lexer.fastFail) {
+                    throw ex;
+                }
+            }
+        }
+        if (lexer.fastFail) {
+            throw RSQLSyntaxException.unknownOperator(lexer.start(), lexer.image());
+        }
+
+        throw new UnknownOperatorException(lexer.image());
+    }
+
+    /**
+     * Returns the value of the current selector token, the canonical instance from the schema if there is one, or
+     * from the pool.
+     *
+     * @throws UnknownSelectorException If the selector is not in the schema, or {@link RSQLSyntaxException} in the
+     *                                  fast-fail mode.
+     */
+    static String selector(Lexer lexer, SelectorSchema schema, StringPool pool) {
+        if (schema == null) {
+            return lexer.value(pool);
+        }
+
+        int id = lexer.selectorId(schema);
+        if (id == SelectorSchema.UNKNOWN) {
+            if (lexer.fastFail) {
+                throw RSQLSyntaxException.unknownSelector(lexer.start(), lexer.value());
+            }
+            throw new UnknownSelectorException(lexer.value(), lexer.start());
+        }
+
+        return schema.getSelector(id);
+    }
+
+    /**
+     * Checks that the current argument token can be converted to the type of its selector, for the parsers that don't
+     * create comparison nodes, so they reject the same arguments as the factory does.
+     *
+     * @param index The index of the argument in the comparison.
+     * @throws ArgumentConversionException If the argument can't be converted, with the offset of the argument.
+     */
+    static void convertible(Lexer lexer, ArgumentType<?> type, String selector, int index) {
+        String argument = lexer.value();
+        Object value;
+        try {
+            value = type.convert(argument);
+        } catch (RuntimeException ex) {
+            throw new ArgumentConversionException(selector, index, argument, type, ex).withOffset(lexer.start());
+        }
+        if (value == null) {
+            throw new ArgumentConversionException(selector, index, argument, type, null).withOffset(lexer.start());
+        }
+    }
+
+    static boolean isString(int kind) {
+        return kind == UNRESERVED_STR || kind == SINGLE_QUOTED_STR || kind == DOUBLE_QUOTED_STR;
+    }
+
+    /**
+     * Creates the same exception as the {@link ComparisonNode} does for the given count of
+     * arguments that doesn't fit the operator's arity.
+     */
+    static IllegalArgumentException arityViolation(ComparisonOperator operator, int count) {
+        Arity arity = operator.getArity();
+        if (arity.min() == arity.max()) {
+            return new IllegalArgumentException(String.format("operator '%s' can have exactly %d argument(s), but got %d",
+                operator.getSymbol(), arity.max(), count));
+        }
+
+        return new IllegalArgumentException(String.format("operator '%s' can have from %d to %d argument(s), but got %d",
+            operator.getSymbol(), arity.min(), arity.max(), count));
+    }
+
+    static boolean isBlank(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The operands of a group, or of the whole input, parsed so far.
+     */
+    private final class Level {
+
+        /**
+         * The only operand of the current AND, unless there are more {@link #operands}.
+         */
+        private Node operand;
+        private List<Node> operands;
+
+        /**
+         * The operands of OR before the current AND.
+         */
+        private List<Node> alternatives;
+
+        void and(Node node) {
+            if (operands != null) {
+                operands.add(node);
+            } else if (operand == null) {
+                operand = node;
+            } else {
+                operands = new ArrayList<>(3);
+                operands.add(operand);
+                operands.add(node);
+                operand = null;
+            }
+        }
+
+        void or() {
+            if (alternatives == null) {
+                alternatives = new ArrayList<>(3);
+            }
+            alternatives.add(conjunction());
+        }
+
+        Node reduce() {
+            Node node = conjunction();
+            if (alternatives == null) {
+                return node;
+            }
+            alternatives.add(node);
+
+            return NodesFactoryAccess.create(factory, LogicalOperator.OR, exact(alternatives));
+        }
+
+        private List<Node> exact(List<Node> nodes) {
+            return Arrays.asList(nodes.toArray(new Node[nodes.size()]));
+        }
+
+        private Node conjunction() {
+            Node node = operands == null
+                ? operand
+                : NodesFactoryAccess.create(factory, LogicalOperator.AND, exact(operands));
+            operand = null;
+            operands = null;
+
+            return node;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import static cz.jirutka.rsql.parser.ParserConstants.DEFAULT;
+
+import cz.jirutka.rsql.parser.ast.ArgumentView;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.OperatorTrie;
+import cz.jirutka.rsql.parser.ast.SelectorSchema;
+import cz.jirutka.rsql.parser.ast.StringPool;
+
+/**
+ * Tokenizer for the {@link HandwrittenParser}. It recognizes exactly the same tokens as the token manager generated
+ * from {@code RSQLParser.jj} and uses the same token kinds. The offsets are in units of the underlying input.
+ *
+ * <p>Implementations are not thread safe.
+ */
+abstract class Lexer {
+
+    /**
+     * The end offset (exclusive) of the current token, i.e. where the next token is searched from.
+     */
+    int pos;
+
+    int kind;
+
+    int start;
+
+    /**
+     * Whether to report errors by {@link RSQLSyntaxException} instead of {@link TokenMgrError} and
+     * {@link ParseException}.
+     */
+    boolean fastFail;
+
+    /**
+     * The supported operators to {@linkplain #operator() resolve} operator tokens with, or {@code null} if they are
+     * resolved by the {@link cz.jirutka.rsql.parser.ast.NodesFactory NodesFactory} from the {@linkplain #image() image}.
+     */
+    OperatorTrie operators;
+
+    /**
+     * Whether the parser reads the argument values as {@linkplain #view() views}, so the lexer doesn't need to unescape
+     * quoted strings while scanning them. Supported only by lexers that implement {@link #view()}.
+     */
+    boolean lazy;
+
+    /**
+     * Advances to the next token.
+     *
+     * @return the kind of the token.
+     * @throws TokenMgrError If the input contains characters that doesn't form any token.
+     */
+    abstract int next();
+
+    /**
+     * Returns the current token exactly as it appears in the input.
+     */
+    abstract String image();
+
+    /**
+     * Returns the value of the current string token, i.e. the unquoted and unescaped image.
+     */
+    abstract String value();
+
+    /**
+     * Returns the value of the current string token, the canonical instance from the given pool if the lexer can look
+     * it up without creating the string first. Otherwise it's left to the factory to intern the value.
+     *
+     * @param pool The pool to look the value up in, or {@code null}.
+     */
+    String value(StringPool pool) {
+        return value();
+    }
+
+    /**
+     * Returns the id of the current string token's value in the schema, looked up without creating the string if the
+     * lexer can do it.
+     *
+     * @return the id, or {@link SelectorSchema#UNKNOWN}.
+     */
+    int selectorId(SelectorSchema schema) {
+        return schema.getId(value());
+    }
+
+    /**
+     * Returns the value of the current string token as a view of the input, without copying or unescaping it.
+     * Supported only by lexers that keep the whole input.
+     */
+    ArgumentView view() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Resolves the current operator token by walking the {@link #operators} trie over its characters.
+     *
+     * @return the operator, or {@code null} if it's not supported.
+     */
+    abstract ComparisonOperator operator();
+
+    /**
+     * Returns the kind of the current token.
+     */
+    final int kind() {
+        return kind;
+    }
+
+    /**
+     * Returns the start offset of the current token.
+     */
+    final int start() {
+        return start;
+    }
+
+    /**
+     * Returns the end offset (exclusive) of the current token.
+     */
+    final int end() {
+        return pos;
+    }
+
+    /**
+     * Moves to the given offset, so the next token is searched from there. Supported only by lexers with random access
+     * to the input.
+     */
+    final void seek(int offset) {
+        pos = offset;
+    }
+
+    final int token(int kind, int len) {
+        start = pos;
+        pos += len;
+
+        return this.kind = kind;
+    }
+
+    /**
+     * Creates the same error as the JavaCC generated token manager does, or throws {@link RSQLSyntaxException} in the
+     * fast-fail mode.
+     *
+     * @param at    The offset of the character that doesn't fit into any token.
+     * @param after The part of the token before that character.
+     * @param c     The character or {@code -1} at the end of input.
+     */
+    final TokenMgrError lexicalError(int at, String after, int c) {
+        if (fastFail) {
+            throw RSQLSyntaxException.lexicalError(at, c < 0 ? after : after + (char) c);
+        }
+
+        return new TokenMgrError(c < 0, DEFAULT, 1, at + 1, after, Math.max(c, 0), TokenMgrError.LEXICAL_ERROR);
+    }
+
+    static boolean isAlpha(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    static boolean isReserved(int c) {
+        switch (c) {
+            case '"':
+            case '\'':
+            case '(':
+            case ')':
+            case ';':
+            case ',':
+            case '=':
+            case '<':
+            case '>':
+            case '!':
+            case '~':
+            case ' ':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -26,10 +26,12 @@ package cz.jirutka.rsql.parser;
 import static java.util.logging.Level.WARNING;
 
 import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
 import cz.jirutka.rsql.parser.ast.LogicalNode;
 import cz.jirutka.rsql.parser.ast.LogicalOperator;
 import cz.jirutka.rsql.parser.ast.Node;
 import cz.jirutka.rsql.parser.ast.NodesFactory;
+import cz.jirutka.rsql.parser.ast.OperatorTrie;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
@@ -41,20 +43,29 @@ final class NodesFactoryAccess {
 
     private static final MethodHandle LOGICAL_NODE_MH;
     private static final MethodHandle COMP_NODE_MH;
+    private static final MethodHandle COMP_NODE_OPERATOR_MH;
+    private static final MethodHandle CHILDREN_MH;
+    private static final MethodHandle ARGUMENTS_MH;
 
     static {
         Lookup lookup = MethodHandles.lookup();
 
-        LOGICAL_NODE_MH = methodHandle(lookup, "logicalNodeTrusted", LogicalOperator.class, List.class);
-        COMP_NODE_MH = methodHandle(lookup, "comparisonNodeTrusted", String.class, String.class, List.class);
+        LOGICAL_NODE_MH = methodHandle(lookup, NodesFactory.class, "logicalNodeTrusted",
+            LogicalOperator.class, List.class);
+        COMP_NODE_MH = methodHandle(lookup, NodesFactory.class, "comparisonNodeTrusted",
+            String.class, String.class, List.class);
+        COMP_NODE_OPERATOR_MH = methodHandle(lookup, NodesFactory.class, "comparisonNodeTrusted",
+            ComparisonOperator.class, String.class, List.class);
+        CHILDREN_MH = methodHandle(lookup, LogicalNode.class, "children");
+        ARGUMENTS_MH = methodHandle(lookup, ComparisonNode.class, "arguments");
     }
 
     private NodesFactoryAccess() {
     }
 
-    private static MethodHandle methodHandle(Lookup lookup, String name, Class<?>... parameterTypes) {
+    private static MethodHandle methodHandle(Lookup lookup, Class<?> type, String name, Class<?>... parameterTypes) {
         try {
-            Method m = NodesFactory.class.getDeclaredMethod(name, parameterTypes);
+            Method m = type.getDeclaredMethod(name, parameterTypes);
             m.setAccessible(true);
 
             return lookup.unreflect(m);
@@ -98,6 +109,67 @@ final class NodesFactoryAccess {
         }
     }
 
+    /**
+     * Creates a comparison node with the operator already resolved by the {@link #operators(NodesFactory) trie}.
+     */
+    static ComparisonNode create(NodesFactory factory, ComparisonOperator operator, String selector,
+        List<String> arguments) {
+        if (COMP_NODE_OPERATOR_MH == null) {
+            return new ComparisonNode(operator, selector, arguments);
+        } else {
+            try {
+                return (ComparisonNode) COMP_NODE_OPERATOR_MH.invoke(factory, operator, selector, arguments);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                logger().log(WARNING, "The comparisonNodeTrusted unexpectedly thrown exception", e);
+
+                return new ComparisonNode(operator, selector, arguments);
+            }
+        }
+    }
+
+    /**
+     * Returns the children list held by the node, without copying it.
+     */
+    @SuppressWarnings("unchecked")
+    static List<Node> children(LogicalNode node) {
+        if (CHILDREN_MH != null) {
+            try {
+                return (List<Node>) CHILDREN_MH.invoke(node);
+            } catch (Throwable e) {
+                logger().log(WARNING, "The children unexpectedly thrown exception", e);
+            }
+        }
+
+        return node.getChildren();
+    }
+
+    /**
+     * Returns the arguments list held by the node, without copying it or materializing its
+     * {@linkplain cz.jirutka.rsql.parser.ast.ArgumentView views}.
+     */
+    @SuppressWarnings("unchecked")
+    static List<String> arguments(ComparisonNode node) {
+        if (ARGUMENTS_MH != null) {
+            try {
+                return (List<String>) ARGUMENTS_MH.invoke(node);
+            } catch (Throwable e) {
+                logger().log(WARNING, "The arguments unexpectedly thrown exception", e);
+            }
+        }
+
+        return node.getArguments();
+    }
+
+    /**
+     * Returns the trie of the factory's operators, or {@code null} if the factory is a subclass that may resolve
+     * operators or create comparison nodes differently, so the operator must be passed to it as a symbol.
+     */
+    static OperatorTrie operators(NodesFactory factory) {
+        return factory.getClass() == NodesFactory.class ? factory.getOperatorTrie() : null;
+    }
+
     private static Logger logger() {
         return Logger.getLogger(NodesFactoryAccess.class.getName());
     }
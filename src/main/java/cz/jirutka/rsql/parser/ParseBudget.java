@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+/**
+ * Tracks how much of the {@link ParseLimits} a single parse has used. All the checks are made when the parser reads
+ * the token that adds to the count, so the query is rejected right at that token.
+ *
+ * <p>This class is not thread safe.
+ */
+final class ParseBudget {
+
+    private final ParseLimits limits;
+
+    private int depth;
+    private int nodes;
+    private int arguments;
+
+    ParseBudget(ParseLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Checks the length of the whole query before it's parsed.
+     */
+    void length(int length) {
+        if (length > limits.getMaxLength()) {
+            throw new ParseLimitException("Query length exceeds the limit of " + limits.getMaxLength(),
+                limits.getMaxLength() + 1);
+        }
+    }
+
+    /**
+     * Enters a group that starts at the current token of the lexer.
+     */
+    void enter(Lexer lexer) {
+        if (++depth > limits.getMaxDepth()) {
+            throw exceeded("Nesting depth", limits.getMaxDepth(), lexer);
+        }
+    }
+
+    void exit() {
+        depth--;
+    }
+
+    /**
+     * Adds a node that is created because of the current token of the lexer.
+     */
+    void node(Lexer lexer) {
+        if (++nodes > limits.getMaxNodes()) {
+            throw exceeded("Number of nodes", limits.getMaxNodes(), lexer);
+        }
+    }
+
+    /**
+     * Adds the argument that is the current token of the lexer.
+     *
+     * @param count The number of arguments of the current comparison including this one.
+     */
+    void argument(Lexer lexer, int count) {
+        if (count > limits.getMaxComparisonArguments()) {
+            throw exceeded("Number of comparison arguments", limits.getMaxComparisonArguments(), lexer);
+        }
+        if (++arguments > limits.getMaxArguments()) {
+            throw exceeded("Number of arguments", limits.getMaxArguments(), lexer);
+        }
+    }
+
+    private static ParseLimitException exceeded(String what, int limit, Lexer lexer) {
+        return new ParseLimitException(what + " exceeds the limit of " + limit, lexer.start() + 1);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Limits of the size and complexity of queries accepted by the {@link RSQLParser}. A query that exceeds any of them is
+ * rejected with {@link ParseLimitException} as soon as the parser reads the first token that violates the limit, so a
+ * malicious query costs no more than parsing up to that token.
+ *
+ * <p>All the limits are unlimited by default, use the {@code with*} methods to set them:
+ * <pre>{@code
+ * ParseLimits limits = ParseLimits.UNLIMITED
+ *     .withMaxLength(4096)
+ *     .withMaxDepth(16)
+ *     .withMaxComparisonArguments(100);
+ * }</pre>
+ *
+ * @see RSQLParser#withLimits(ParseLimits)
+ * @since 2.5.0
+ */
+@Immutable
+public final class ParseLimits {
+
+    /**
+     * No limits at all.
+     */
+    public static final ParseLimits UNLIMITED = new ParseLimits(
+        Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final int maxLength;
+    private final int maxDepth;
+    private final int maxNodes;
+    private final int maxArguments;
+    private final int maxComparisonArguments;
+
+    private ParseLimits(int maxLength, int maxDepth, int maxNodes, int maxArguments, int maxComparisonArguments) {
+        this.maxLength = maxLength;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxArguments = maxArguments;
+        this.maxComparisonArguments = maxComparisonArguments;
+    }
+
+    /**
+     * Returns the maximum length of the query in characters, or bytes when it's parsed from bytes.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns a copy of these limits with the specified maximum length of the query.
+     *
+     * @param maxLength The maximum length in characters, or bytes when the query is parsed from bytes.
+     * @return a copy of these limits with the specified maximum length.
+     * @throws IllegalArgumentException If the {@code maxLength} is negative.
+     */
+    public ParseLimits withMaxLength(int maxLength) {
+        return new ParseLimits(
+            requireNotNegative(maxLength, "maxLength"), maxDepth, maxNodes, maxArguments, maxComparisonArguments);
+    }
+
+    /**
+     * Returns the maximum nesting depth of the parenthesized groups.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns a copy of these limits with the specified maximum nesting depth of the parenthesized groups. The
+     * parentheses around arguments are not groups.
+     *
+     * @param maxDepth The maximum nesting depth, {@code 0} disallows groups at all.
+     * @return a copy of these limits with the specified maximum nesting depth.
+     * @throws IllegalArgumentException If the {@code maxDepth} is negative.
+     */
+    public ParseLimits withMaxDepth(int maxDepth) {
+        return new ParseLimits(
+            maxLength, requireNotNegative(maxDepth, "maxDepth"), maxNodes, maxArguments, maxComparisonArguments);
+    }
+
+    /**
+     * Returns the maximum number of nodes in the AST.
+     */
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Returns a copy of these limits with the specified maximum number of nodes in the AST, i.e. comparisons and
+     * logical operators with their operands. The same is counted also when no AST is built.
+     *
+     * @param maxNodes The maximum number of nodes.
+     * @return a copy of these limits with the specified maximum number of nodes.
+     * @throws IllegalArgumentException If the {@code maxNodes} is negative.
+     */
+    public ParseLimits withMaxNodes(int maxNodes) {
+        return new ParseLimits(
+            maxLength, maxDepth, requireNotNegative(maxNodes, "maxNodes"), maxArguments, maxComparisonArguments);
+    }
+
+    /**
+     * Returns the maximum number of arguments of all comparisons in the query together.
+     */
+    public int getMaxArguments() {
+        return maxArguments;
+    }
+
+    /**
+     * Returns a copy of these limits with the specified maximum number of arguments of all comparisons in the query
+     * together.
+     *
+     * @param maxArguments The maximum number of arguments.
+     * @return a copy of these limits with the specified maximum number of arguments.
+     * @throws IllegalArgumentException If the {@code maxArguments} is negative.
+     */
+    public ParseLimits withMaxArguments(int maxArguments) {
+        return new ParseLimits(
+            maxLength, maxDepth, maxNodes, requireNotNegative(maxArguments, "maxArguments"), maxComparisonArguments);
+    }
+
+    /**
+     * Returns the maximum number of arguments of a single comparison.
+     */
+    public int getMaxComparisonArguments() {
+        return maxComparisonArguments;
+    }
+
+    /**
+     * Returns a copy of these limits with the specified maximum number of arguments of a single comparison.
+     *
+     * @param maxComparisonArguments The maximum number of arguments of a single comparison.
+     * @return a copy of these limits with the specified maximum number of arguments of a single comparison.
+     * @throws IllegalArgumentException If the {@code maxComparisonArguments} is negative.
+     */
+    public ParseLimits withMaxComparisonArguments(int maxComparisonArguments) {
+        return new ParseLimits(maxLength, maxDepth, maxNodes, maxArguments,
+            requireNotNegative(maxComparisonArguments, "maxComparisonArguments"));
+    }
+
+    private static int requireNotNegative(int value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must be positive or zero");
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseLimits{maxLength=" + maxLength + ", maxDepth=" + maxDepth + ", maxNodes=" + maxNodes
+            + ", maxArguments=" + maxArguments + ", maxComparisonArguments=" + maxComparisonArguments + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ParseLimits)) return false;
+
+        ParseLimits that = (ParseLimits) o;
+        return maxLength == that.maxLength
+            && maxDepth == that.maxDepth
+            && maxNodes == that.maxNodes
+            && maxArguments == that.maxArguments
+            && maxComparisonArguments == that.maxComparisonArguments;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = maxLength;
+        result = 31 * result + maxDepth;
+        result = 31 * result + maxNodes;
+        result = 31 * result + maxArguments;
+        result = 31 * result + maxComparisonArguments;
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import cz.jirutka.rsql.parser.ast.Node;
+import net.jcip.annotations.Immutable;
+
+/**
+ * The outcome of parsing one query of a batch, either the parsed AST or the exception the query was rejected with.
+ *
+ * @see RSQLParser#parseAll(java.util.List)
+ * @since 2.5.0
+ */
+@Immutable
+public final class ParseResult {
+
+    private final String query;
+    private final Node node;
+    private final RSQLParserException error;
+
+    private ParseResult(String query, Node node, RSQLParserException error) {
+        this.query = query;
+        this.node = node;
+        this.error = error;
+    }
+
+    static ParseResult success(String query, Node node) {
+        return new ParseResult(query, node, null);
+    }
+
+    static ParseResult failure(String query, RSQLParserException error) {
+        return new ParseResult(query, null, error);
+    }
+
+    /**
+     * Returns the parsed query.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns whether the query has been parsed successfully.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the root of the parsed AST, or {@code null} if the query has been rejected.
+     */
+    public Node getNode() {
+        return node;
+    }
+
+    /**
+     * Returns the exception the query has been rejected with, or {@code null} if it has been parsed successfully.
+     */
+    public RSQLParserException getError() {
+        return error;
+    }
+
+    /**
+     * Returns the root of the parsed AST, or throws the exception the query has been rejected with.
+     *
+     * @return the root of the parsed AST.
+     * @throws RSQLParserException If the query has been rejected.
+     */
+    public Node getNodeOrThrow() throws RSQLParserException {
+        if (error != null) {
+            throw error;
+        }
+
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? query + " -> " + node : query + " -> " + error;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+/**
+ * Implementations of the RSQL grammar the {@link RSQLParser} can parse with. All of them accept the same language,
+ * build the same AST and throw the same exceptions.
+ *
+ * @see RSQLParser#withEngine(ParserEngine)
+ * @since 2.5.0
+ */
+public enum ParserEngine {
+
+    /**
+     * The parser generated by JavaCC from the grammar. This is the default.
+     */
+    JAVACC,
+
+    /**
+     * The hand-written recursive descent parser. It scans the query directly by index and decodes quoted strings while
+     * scanning them, so it's noticeably faster and allocates only the nodes and their strings.
+     */
+    HANDWRITTEN
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.NodesFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of idle JavaCC parsers that are reinitialized instead of created for each query.
+ *
+ * <p>The pool is lock-free and isn't bound to threads, so it can be safely used from any number of platform or virtual
+ * threads. When there is no idle parser a new one is created, and when the pool is full the released parser is simply
+ * dropped, so the pool never blocks.
+ */
+final class ParserPool {
+
+    private final NodesFactory factory;
+    private final AtomicReferenceArray<ReusableParser> idle;
+
+    ParserPool(NodesFactory factory, int size) {
+        this.factory = factory;
+        this.idle = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Parses the given query with an idle parser from this pool.
+     */
+    Node parse(CharSequence query) throws ParseException {
+        ReusableParser parser = acquire();
+        try {
+            return parser.parse(query);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Returns the maximum number of idle parsers.
+     */
+    int size() {
+        return idle.length();
+    }
+
+    ReusableParser acquire() {
+        int n = idle.length();
+        for (int i = 0, start = start(n); i < n; i++) {
+            int index = (start + i) % n;
+            ReusableParser parser = idle.get(index);
+
+            if (parser != null && idle.compareAndSet(index, parser, null)) {
+                return parser;
+            }
+        }
+
+        return new ReusableParser(factory);
+    }
+
+    void release(ReusableParser parser) {
+        int n = idle.length();
+        for (int i = 0, start = start(n); i < n; i++) {
+            int index = (start + i) % n;
+
+            if (idle.get(index) == null && idle.compareAndSet(index, null, parser)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Spreads threads over the slots, so they don't compete for the same idle parser.
+     */
+    private static int start(int n) {
+        long id = Thread.currentThread().getId();
+        return (int) ((id ^ (id >>> 32)) & Integer.MAX_VALUE) % n;
+    }
+
+    /**
+     * The generated parser with its own char stream, both reinitialized for each query.
+     */
+    static final class ReusableParser {
+
+        private final CharSequenceCharStream stream = new CharSequenceCharStream("");
+        private final Parser parser;
+
+        ReusableParser(NodesFactory factory) {
+            this.parser = new Parser(stream, factory);
+        }
+
+        Node parse(CharSequence query) throws ParseException {
+            stream.reset(query);
+            parser.ReInit(stream);
+            try {
+                return parser.Input();
+            } finally {
+                // don't keep the query reachable while idle
+                stream.reset("");
+            }
+        }
+    }
+}
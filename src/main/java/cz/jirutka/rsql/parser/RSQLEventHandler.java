@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import java.util.List;
+
+/**
+ * Receives the structure of a query from the {@linkplain RSQLParser#parse(CharSequence, RSQLEventHandler) event
+ * parser} in the same shape as the AST would have, but without building it. This is useful for translating the query
+ * into another representation in a single pass, e.g. to SQL or a MongoDB filter.
+ *
+ * <p>A logical operator with more than one operand is reported by {@link #startAnd()} or {@link #startOr()} before its
+ * operands and {@link #end()} after them, the operands are either comparisons or nested logical operators. Groups of
+ * a single operand and the redundant parentheses are not reported, just like there is no node for them in the AST. For
+ * example, query {@code a==1;(b=in=(2,3),c!=4)} produces this sequence of events:
+ * <pre>{@code
+ * startAnd(),
+ *   comparison("a", EQUAL, ["1"]),
+ *   startOr(),
+ *     comparison("b", IN, ["2", "3"]),
+ *     comparison("c", NOT_EQUAL, ["4"]),
+ *   end(),
+ * end()
+ * }</pre>
+ *
+ * <p>The events are sent as soon as the parser reads them, so when the query turns out to be invalid, the handler
+ * has already received the events preceding the error.
+ *
+ * @since 2.5.0
+ */
+public interface RSQLEventHandler {
+
+    /**
+     * Invoked before the operands of the logical AND.
+     */
+    default void startAnd() {
+    }
+
+    /**
+     * Invoked before the operands of the logical OR.
+     */
+    default void startOr() {
+    }
+
+    /**
+     * Invoked after the last operand of the logical operator.
+     */
+    default void end() {
+    }
+
+    /**
+     * Invoked for each comparison.
+     *
+     * @param selector  The selector of the comparison.
+     * @param operator  The comparison operator.
+     * @param arguments The arguments of the comparison. The list is not used by the parser afterwards, so it can be
+     *                  kept without copying.
+     */
+    void comparison(String selector, ComparisonOperator operator, List<String> arguments);
+}
@@ -23,15 +23,33 @@
  */
 package cz.jirutka.rsql.parser;
 
+import cz.jirutka.rsql.parser.ParserPool.ReusableParser;
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+import cz.jirutka.rsql.parser.ast.ArgumentView;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
 import cz.jirutka.rsql.parser.ast.ComparisonOperator;
 import cz.jirutka.rsql.parser.ast.Node;
 import cz.jirutka.rsql.parser.ast.NodesFactory;
 import cz.jirutka.rsql.parser.ast.RSQLOperators;
 import net.jcip.annotations.Immutable;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Parser of the RSQL (RESTful Service Query Language).
@@ -73,8 +91,23 @@ import java.util.Set;
 @Immutable
 public final class RSQLParser {
 
+    /**
+     * The number of chunks per available processor a batch is split into, so the chunks that happen to contain
+     * more complex queries don't hold up the whole batch.
+     */
+    private static final int BATCH_CHUNKS_PER_CPU = 4;
+
     private final NodesFactory nodesFactory;
 
+    private final ParserEngine engine;
+
+    private final ParserPool pool;
+
+    private final ParseLimits limits;
+
+    private final boolean fastFail;
+
+    private final boolean lazyArguments;
 
     /**
      * Creates a new instance of {@code RSQLParser} with the default set of comparison operators.
@@ -99,11 +132,126 @@ public final class RSQLParser {
      * @param nodesFactory A node factory to use. Must not be {@code null}.
      */
     public RSQLParser(NodesFactory nodesFactory) {
+        this(nodesFactory, ParserEngine.JAVACC, null, ParseLimits.UNLIMITED, false, false);
+    }
+
+    private RSQLParser(
+        NodesFactory nodesFactory, ParserEngine engine, ParserPool pool, ParseLimits limits, boolean fastFail,
+        boolean lazyArguments) {
         if (nodesFactory == null) {
             throw new IllegalArgumentException("nodesFactory must not be null");
         }
 
         this.nodesFactory = nodesFactory;
+        this.engine = engine;
+        this.pool = pool;
+        this.limits = limits;
+        this.fastFail = fastFail;
+        this.lazyArguments = lazyArguments;
+    }
+
+    /**
+     * Returns a copy of this parser that uses the specified parser engine.
+     *
+     * @param engine The engine to parse with. Must not be {@code null}.
+     * @return a copy of this parser that uses the specified parser engine.
+     * @throws IllegalArgumentException If the {@code engine} is {@code null}.
+     * @since 2.5.0
+     */
+    public RSQLParser withEngine(ParserEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("engine must not be null");
+        }
+
+        return this.engine == engine
+            ? this
+            : new RSQLParser(nodesFactory, engine, pool, limits, fastFail, lazyArguments);
+    }
+
+    /**
+     * Returns a copy of this parser that reuses instances of the {@linkplain ParserEngine#JAVACC JavaCC} parser
+     * instead of creating a new one for each query. Up to {@code size} idle parsers are kept in a lock-free pool that is
+     * not bound to threads, so it's suitable for virtual threads as well. The pool is not used by the
+     * {@linkplain ParserEngine#HANDWRITTEN hand-written} parser, which has no per-parser state worth reusing.
+     *
+     * @param size The maximum number of idle parsers to keep, {@code 0} disables pooling.
+     * @return a copy of this parser that reuses parser instances.
+     * @throws IllegalArgumentException If the {@code size} is negative.
+     * @since 2.5.0
+     */
+    public RSQLParser withParserPool(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must be positive or zero");
+        }
+
+        ParserPool pool = size == 0 ? null : new ParserPool(nodesFactory, size);
+
+        return new RSQLParser(nodesFactory, engine, pool, limits, fastFail, lazyArguments);
+    }
+
+    /**
+     * Returns a copy of this parser that rejects queries exceeding the specified limits. The limits are checked while
+     * parsing, so a query is rejected right at the first token that exceeds them, and the nested groups are parsed
+     * without recursion, so even a deeply nested query can't cause {@link StackOverflowError}. The limits are enforced
+     * by the {@linkplain ParserEngine#HANDWRITTEN hand-written} parser, so a parser with any limits uses it regardless
+     * of the configured engine.
+     *
+     * <p>The limits apply to all the parse methods, including the streaming, event and scan modes.
+     *
+     * @param limits The limits to enforce, {@link ParseLimits#UNLIMITED} disables them.
+     * @return a copy of this parser that enforces the specified limits.
+     * @throws IllegalArgumentException If the {@code limits} is {@code null}.
+     * @since 2.5.0
+     */
+    public RSQLParser withLimits(ParseLimits limits) {
+        if (limits == null) {
+            throw new IllegalArgumentException("limits must not be null");
+        }
+
+        return new RSQLParser(nodesFactory, engine, pool, limits, fastFail, lazyArguments);
+    }
+
+    /**
+     * Returns a copy of this parser that reports syntax errors by {@link RSQLSyntaxException}. Unlike the
+     * {@link RSQLParserException} thrown otherwise, it has no cause, doesn't capture the stack trace and computes its
+     * message and the expected tokens only when asked for, so rejecting a malformed query, e.g. from a scanner or
+     * fuzzer, costs about as much as parsing a valid one. It's thrown for lexical errors, unexpected tokens and unknown
+     * operators, the other errors are reported in the same way as without the fast-fail mode.
+     *
+     * <p>The syntax errors are detected by the {@linkplain ParserEngine#HANDWRITTEN hand-written} parser, so a
+     * fast-failing parser uses it regardless of the configured engine.
+     *
+     * @param fastFail Whether to report the syntax errors by {@link RSQLSyntaxException}.
+     * @return a copy of this parser with the fast-fail mode enabled or disabled.
+     * @since 2.5.0
+     */
+    public RSQLParser withFastFail(boolean fastFail) {
+        return this.fastFail == fastFail
+            ? this
+            : new RSQLParser(nodesFactory, engine, pool, limits, fastFail, lazyArguments);
+    }
+
+    /**
+     * Returns a copy of this parser that doesn't copy the arguments out of the query. The arguments of the parsed
+     * {@link ComparisonNode}s are {@linkplain ComparisonNode#getArgumentView(int) views} of the query that are copied
+     * into strings, and unescaped if they are quoted, only when they are accessed as strings for the first time. It
+     * saves the copying for the arguments that are only compared, e.g. by {@link ArgumentView#contentEquals}, or not
+     * read at all.
+     *
+     * <p>The AST keeps the whole query reachable, and the query must not be modified while the AST is used, which
+     * matters only for a mutable {@link CharSequence} like {@link StringBuilder}. The views are created by the
+     * {@linkplain ParserEngine#HANDWRITTEN hand-written} parser, so a parser with lazy arguments uses it regardless of
+     * the configured engine. It applies to {@link #parse(CharSequence)} and {@link #parseAll(List)}, the other parse
+     * methods read the arguments eagerly.
+     *
+     * @param lazyArguments Whether to keep the arguments as views of the query.
+     * @return a copy of this parser with the lazy arguments enabled or disabled.
+     * @since 2.5.0
+     */
+    public RSQLParser withLazyArguments(boolean lazyArguments) {
+        return this.lazyArguments == lazyArguments
+            ? this
+            : new RSQLParser(nodesFactory, engine, pool, limits, fastFail, lazyArguments);
     }
 
     /**
@@ -117,14 +265,455 @@ public final class RSQLParser {
      * @throws IllegalArgumentException If the {@code query} is {@code null}.
      */
     public Node parse(String query) throws RSQLParserException {
+        return parse((CharSequence) query);
+    }
+
+    /**
+     * Parses the RSQL expression and returns AST. The {@code query} is read directly, without copying it into a
+     * {@link String} first, so it can be e.g. a {@link java.nio.CharBuffer} slice of a request line. It must not be
+     * modified while parsing.
+     *
+     * @param query The query expression to parse.
+     * @return A root of the parsed AST.
+     *
+     * @throws RSQLParserException If some exception occurred during parsing, i.e. the
+     *          {@code query} is syntactically invalid.
+     * @throws IllegalArgumentException If the {@code query} is {@code null}.
+     * @since 2.5.0
+     */
+    public Node parse(CharSequence query) throws RSQLParserException {
+        if (query == null) {
+            throw new IllegalArgumentException("query must not be null");
+        }
+
+        return parseQuery(query, null);
+    }
+
+    /**
+     * Parses the query with the given JavaCC parser if it's not {@code null} and the JavaCC engine is used.
+     */
+    private Node parseQuery(CharSequence query, ReusableParser parser) {
+        try {
+            if (isHandwritten()) {
+                ParseBudget budget = new ParseBudget(limits);
+                budget.length(query.length());
+
+                Lexer lexer = lexer(new CharSequenceLexer(query));
+                lexer.lazy = lazyArguments;
+
+                return new HandwrittenParser(lexer, nodesFactory, budget).parse();
+            }
+
+            if (parser != null) {
+                return parser.parse(query);
+            }
+            if (pool != null) {
+                return pool.parse(query);
+            }
+
+            return new Parser(new CharSequenceCharStream(query), nodesFactory).Input();
+        } catch (RSQLSyntaxException ex) {
+            throw ex;
+        } catch (Exception | TokenMgrError ex) {
+            throw new RSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parses all the RSQL expressions in parallel in the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @param queries The query expressions to parse.
+     * @return the results of parsing in the same order as the {@code queries}.
+     * @throws IllegalArgumentException If the {@code queries} is {@code null} or contains {@code null}.
+     * @see #parseAll(List, Executor)
+     * @since 2.5.0
+     */
+    public List<ParseResult> parseAll(List<String> queries) {
+        return parseAll(queries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses all the RSQL expressions in parallel in the {@linkplain ForkJoinPool#commonPool() common pool}. The
+     * stream is consumed before parsing starts.
+     *
+     * @param queries The query expressions to parse.
+     * @return the results of parsing in the same order as the {@code queries}.
+     * @throws IllegalArgumentException If the {@code queries} is {@code null} or contains {@code null}.
+     * @see #parseAll(List, Executor)
+     * @since 2.5.0
+     */
+    public List<ParseResult> parseAll(Stream<String> queries) {
+        if (queries == null) {
+            throw new IllegalArgumentException("queries must not be null");
+        }
+
+        return parseAll(queries.collect(Collectors.<String>toList()));
+    }
+
+    /**
+     * Parses all the RSQL expressions in parallel by the given executor. The queries are split into a few chunks per
+     * available processor, each chunk is parsed sequentially by a single task that reuses its parser for all the
+     * queries of the chunk. A query that fails to parse doesn't abort the batch, its exception is captured in the
+     * result instead. This method blocks until all the queries are parsed.
+     *
+     * @param queries  The query expressions to parse.
+     * @param executor The executor to run the parsing tasks in. If this method is called from a thread of a bounded
+     *                 executor other than {@link ForkJoinPool}, it must not be the same executor, otherwise the
+     *                 tasks may never run.
+     * @return the results of parsing in the same order as the {@code queries}.
+     * @throws IllegalArgumentException If the {@code queries} or the {@code executor} is {@code null}, or the
+     *          {@code queries} contains {@code null}.
+     * @throws java.util.concurrent.CompletionException If a task has failed with other than parse error, e.g.
+     *          {@link OutOfMemoryError}, or the executor has rejected it.
+     * @since 2.5.0
+     */
+    public List<ParseResult> parseAll(List<String> queries, Executor executor) {
+        if (queries == null) {
+            throw new IllegalArgumentException("queries must not be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        for (String query : queries) {
+            if (query == null) {
+                throw new IllegalArgumentException("queries must not contain null");
+            }
+        }
+
+        final String[] input = queries.toArray(new String[0]);
+        final ParseResult[] results = new ParseResult[input.length];
+        int chunks = Math.min(input.length, BATCH_CHUNKS_PER_CPU * Runtime.getRuntime().availableProcessors());
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[chunks];
+        for (int i = 0; i < chunks; i++) {
+            final int from = (int) ((long) input.length * i / chunks);
+            final int to = (int) ((long) input.length * (i + 1) / chunks);
+
+            tasks[i] = CompletableFuture.runAsync(new Runnable() {
+                @Override
+                public void run() {
+                    parseChunk(input, from, to, results);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(tasks).join();
+
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private void parseChunk(String[] queries, int from, int to, ParseResult[] results) {
+        ReusableParser parser = isHandwritten() ? null : pool != null ? pool.acquire() : new ReusableParser(nodesFactory);
+        try {
+            for (int i = from; i < to; i++) {
+                try {
+                    results[i] = ParseResult.success(queries[i], parseQuery(queries[i], parser));
+                } catch (RSQLParserException ex) {
+                    results[i] = ParseResult.failure(queries[i], ex);
+                }
+            }
+        } finally {
+            if (parser != null && pool != null) {
+                pool.release(parser);
+            }
+        }
+    }
+
+    /**
+     * Parses the RSQL expression encoded in UTF-8 and optionally percent-encoded, e.g. a raw query parameter of a
+     * request, and returns AST. This is equivalent to decoding the bytes with
+     * {@link java.net.URLDecoder#decode(String, String) URLDecoder} and parsing the result, but the percent-encoding and
+     * UTF-8 are decoded while parsing, so only the selectors and arguments are materialized as strings. Note that,
+     * like in a URL query, {@code +} is decoded as a space.
+     *
+     * <p>The query is always parsed by the {@linkplain ParserEngine#HANDWRITTEN hand-written} parser. The columns in
+     * the error messages are offsets of the bytes plus one.
+     *
+     * @param query  The array with the query expression to parse.
+     * @param offset The offset of the query in the array.
+     * @param length The length of the query in bytes.
+     * @return A root of the parsed AST.
+     *
+     * @throws RSQLParserException If some exception occurred during parsing, i.e. the
+     *          {@code query} is syntactically invalid or contains an invalid percent-encoded byte.
+     * @throws IllegalArgumentException If the {@code query} is {@code null}.
+     * @throws IndexOutOfBoundsException If the {@code offset} and {@code length} are out of the array bounds.
+     * @since 2.5.0
+     */
+    public Node parse(byte[] query, int offset, int length) throws RSQLParserException {
+        if (query == null) {
+            throw new IllegalArgumentException("query must not be null");
+        }
+
+        return parse(ByteBuffer.wrap(query, offset, length));
+    }
+
+    /**
+     * Parses the RSQL expression encoded in UTF-8 and optionally percent-encoded between the buffer's position and
+     * limit, and returns AST. The buffer is read directly, so it can be e.g. a direct buffer of a network library.
+     * Its position and limit are not changed, and it must not be modified while parsing.
+     *
+     * @param query The buffer with the query expression to parse.
+     * @return A root of the parsed AST.
+     *
+     * @throws RSQLParserException If some exception occurred during parsing, i.e. the
+     *          {@code query} is syntactically invalid or contains an invalid percent-encoded byte.
+     * @throws IllegalArgumentException If the {@code query} is {@code null}.
+     * @see #parse(byte[], int, int)
+     * @since 2.5.0
+     */
+    public Node parse(ByteBuffer query) throws RSQLParserException {
+        if (query == null) {
+            throw new IllegalArgumentException("query must not be null");
+        }
+
+        try {
+            ParseBudget budget = new ParseBudget(limits);
+            budget.length(query.remaining());
+
+            return new HandwrittenParser(lexer(new ByteLexer(query)), nodesFactory, budget).parse();
+        } catch (RSQLSyntaxException ex) {
+            throw ex;
+        } catch (Exception | TokenMgrError ex) {
+            throw new RSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parses the RSQL expression and reports its structure to the {@code handler} in the same shape as the AST would
+     * have, but without building it. This is the cheapest way to translate the query into another representation,
+     * there are no nodes to create and walk by a visitor, and no lists of arguments to copy.
+     *
+     * <p>The query is always parsed by the {@linkplain ParserEngine#HANDWRITTEN hand-written} parser. The operators,
+     * their arity and the arguments of the {@linkplain NodesFactory#withArgumentType(String, ArgumentType) typed
+     * selectors} are validated in the same way as when building the AST.
+     *
+     * @param query   The query expression to parse.
+     * @param handler The handler to report the structure of the query to.
+     *
+     * @throws RSQLParserException If some exception occurred during parsing, i.e. the
+     *          {@code query} is syntactically invalid or the {@code handler} has thrown exception.
+     * @throws IllegalArgumentException If the {@code query} or the {@code handler} is {@code null}.
+     * @since 2.5.0
+     */
+    public void parse(CharSequence query, RSQLEventHandler handler) throws RSQLParserException {
+        if (query == null) {
+            throw new IllegalArgumentException("query must not be null");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("handler must not be null");
+        }
+
+        try {
+            ParseBudget budget = new ParseBudget(limits);
+            budget.length(query.length());
+
+            Lexer lexer = lexer(new CharSequenceLexer(query));
+            Lexer scanner = lexer(new CharSequenceLexer(query));
+            new EventParser(lexer, scanner, nodesFactory, handler, budget).parse();
+        } catch (RSQLSyntaxException ex) {
+            throw ex;
+        } catch (Exception | TokenMgrError ex) {
+            throw new RSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parses the RSQL expression into the given arena instead of building a tree of {@link Node} objects. The arena is
+     * {@linkplain FlatAst#reset() reset} first, so it can be reused for each query, e.g. per thread or per request.
+     *
+     * <p>The query is always parsed by the {@linkplain ParserEngine#HANDWRITTEN hand-written} parser. The operators,
+     * their arity and the arguments of the {@linkplain NodesFactory#withArgumentType(String, ArgumentType) typed
+     * selectors} are validated in the same way as when building the AST.
+     *
+     * @param query The query expression to parse.
+     * @param arena The arena to parse the query into.
+     * @return the {@code arena} filled with the parsed query.
+     *
+     * @throws RSQLParserException If some exception occurred during parsing, i.e. the
+     *          {@code query} is syntactically invalid. The arena is left in an unspecified state.
+     * @throws IllegalArgumentException If the {@code query} or the {@code arena} is {@code null}.
+     * @since 2.5.0
+     */
+    public FlatAst parse(CharSequence query, FlatAst arena) throws RSQLParserException {
+        if (query == null) {
+            throw new IllegalArgumentException("query must not be null");
+        }
+        if (arena == null) {
+            throw new IllegalArgumentException("arena must not be null");
+        }
+
+        try {
+            ParseBudget budget = new ParseBudget(limits);
+            budget.length(query.length());
+
+            arena.start(nodesFactory);
+            FlatAstBuilder builder = new FlatAstBuilder(arena);
+            new StreamingParser(lexer(new CharSequenceLexer(query)), nodesFactory, builder, budget).parse();
+            builder.finish();
+
+            return arena;
+        } catch (RSQLSyntaxException ex) {
+            throw ex;
+        } catch (Exception | TokenMgrError ex) {
+            throw new RSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parses the RSQL expression read from the {@code query} and passes its parts to the {@code handler} as soon as
+     * they are read, without building any AST. The parser doesn't retain the tokens it has already read, so the memory
+     * needed for parsing is bounded by the longest token, no matter how large the query is, e.g. a comparison with
+     * hundreds of thousands of arguments.
+     *
+     * <p>The query is always parsed by the {@linkplain ParserEngine#HANDWRITTEN hand-written} parser. The operators,
+     * their arity and the arguments of the {@linkplain NodesFactory#withArgumentType(String, ArgumentType) typed
+     * selectors} are validated in the same way as when building the AST, but the too many arguments are reported right
+     * when the first excessive argument is read, and an argument is validated before it's passed to the
+     * {@code handler}. The {@code query} is not closed.
+     *
+     * @param query   The reader of the query expression to parse.
+     * @param handler The handler to pass the parts of the query to.
+     *
+     * @throws RSQLParserException If some exception occurred during parsing, i.e. the
+     *          {@code query} is syntactically invalid, it cannot be read or the {@code handler} has thrown exception.
+     * @throws IllegalArgumentException If the {@code query} or the {@code handler} is {@code null}.
+     * @since 2.5.0
+     */
+    public void parse(Reader query, RSQLStreamHandler handler) throws RSQLParserException {
+        if (query == null) {
+            throw new IllegalArgumentException("query must not be null");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("handler must not be null");
+        }
+
+        try {
+            ParseBudget budget = new ParseBudget(limits);
+            new StreamingParser(lexer(new ReaderLexer(query, budget)), nodesFactory, handler, budget).parse();
+        } catch (RSQLSyntaxException ex) {
+            throw ex;
+        } catch (Exception | TokenMgrError ex) {
+            throw new RSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded RSQL expression read from the {@code query} and passes its parts to the
+     * {@code handler} as soon as they are read, without building any AST.
+     *
+     * @param query   The stream of the query expression to parse.
+     * @param handler The handler to pass the parts of the query to.
+     *
+     * @throws RSQLParserException If some exception occurred during parsing, i.e. the
+     *          {@code query} is syntactically invalid, it cannot be read or the {@code handler} has thrown exception.
+     * @throws IllegalArgumentException If the {@code query} or the {@code handler} is {@code null}.
+     * @see #parse(Reader, RSQLStreamHandler)
+     * @since 2.5.0
+     */
+    public void parse(InputStream query, RSQLStreamHandler handler) throws RSQLParserException {
+        if (query == null) {
+            throw new IllegalArgumentException("query must not be null");
+        }
+
+        parse(new InputStreamReader(query, StandardCharsets.UTF_8), handler);
+    }
+
+    /**
+     * Checks that the RSQL expression is syntactically valid, all its comparisons use supported operators with
+     * the allowed number of arguments, and the arguments of the
+     * {@linkplain NodesFactory#withArgumentType(String, ArgumentType) typed selectors} can be converted, i.e. that
+     * {@link #parse(String)} would succeed. Unlike parsing, no nodes are created and the arguments are not even decoded
+     * into strings, except those of the typed selectors, so it's much cheaper.
+     *
+     * @param query The query expression to validate.
+     *
+     * @throws RSQLParserException If the {@code query} is not valid, the cause is the same as when parsing.
+     * @throws IllegalArgumentException If the {@code query} is {@code null}.
+     * @since 2.5.0
+     */
+    public void validate(CharSequence query) throws RSQLParserException {
+        scan(query, new RSQLStreamHandler() {});
+    }
+
+    /**
+     * Validates the RSQL expression as {@link #validate(CharSequence)} does and returns the selectors it references.
+     * No nodes are created and the arguments are not decoded into strings.
+     *
+     * @param query The query expression to scan.
+     * @return an unmodifiable set of the selectors in the order of their first occurrence.
+     *
+     * @throws RSQLParserException If the {@code query} is not valid, the cause is the same as when parsing.
+     * @throws IllegalArgumentException If the {@code query} is {@code null}.
+     * @since 2.5.0
+     */
+    public Set<String> selectors(CharSequence query) throws RSQLParserException {
+        final Set<String> selectors = new LinkedHashSet<>();
+        scan(query, new RSQLStreamHandler() {
+            @Override
+            public void startComparison(String selector, ComparisonOperator operator) {
+                selectors.add(selector);
+            }
+        });
+
+        return Collections.unmodifiableSet(selectors);
+    }
+
+    /**
+     * Validates the RSQL expression as {@link #validate(CharSequence)} does and returns the selectors it references,
+     * each with the comparison operators it's compared by. No nodes are created and the arguments are not decoded
+     * into strings.
+     *
+     * @param query The query expression to scan.
+     * @return an unmodifiable map of the selectors in the order of their first occurrence to the unmodifiable sets of
+     *         their operators.
+     *
+     * @throws RSQLParserException If the {@code query} is not valid, the cause is the same as when parsing.
+     * @throws IllegalArgumentException If the {@code query} is {@code null}.
+     * @since 2.5.0
+     */
+    public Map<String, Set<ComparisonOperator>> selectorOperators(CharSequence query) throws RSQLParserException {
+        final Map<String, Set<ComparisonOperator>> selectors = new LinkedHashMap<>();
+        scan(query, new RSQLStreamHandler() {
+            @Override
+            public void startComparison(String selector, ComparisonOperator operator) {
+                Set<ComparisonOperator> operators = selectors.get(selector);
+                if (operators == null) {
+                    operators = new LinkedHashSet<>(2);
+                    selectors.put(selector, operators);
+                }
+                operators.add(operator);
+            }
+        });
+
+        for (Map.Entry<String, Set<ComparisonOperator>> entry : selectors.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+
+        return Collections.unmodifiableMap(selectors);
+    }
+
+    private boolean isHandwritten() {
+        return engine == ParserEngine.HANDWRITTEN || fastFail || lazyArguments || !limits.equals(ParseLimits.UNLIMITED);
+    }
+
+    private <T extends Lexer> T lexer(T lexer) {
+        lexer.fastFail = fastFail;
+        lexer.operators = NodesFactoryAccess.operators(nodesFactory);
+        return lexer;
+    }
+
+    private void scan(CharSequence query, RSQLStreamHandler handler) {
         if (query == null) {
             throw new IllegalArgumentException("query must not be null");
         }
 
-        try (Reader reader = new StringReader(query)) {
-            Parser parser = new Parser(reader, nodesFactory);
-            return parser.Input();
+        try {
+            ParseBudget budget = new ParseBudget(limits);
+            budget.length(query.length());
 
+            new StreamingParser(lexer(new CharSequenceLexer(query)), nodesFactory, handler, budget, false).parse();
+        } catch (RSQLSyntaxException ex) {
+            throw ex;
         } catch (Exception | TokenMgrError ex) {
             throw new RSQLParserException(ex);
         }
@@ -31,4 +31,13 @@ public class RSQLParserException extends RuntimeException {
     public RSQLParserException(Throwable cause) {
         super(cause);
     }
+
+    /**
+     * Creates an exception without a cause and, if not {@code writableStackTrace}, without a stack trace.
+     *
+     * @since 2.5.0
+     */
+    protected RSQLParserException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalOperator;
+
+/**
+ * Receives the parts of a query in the order they are read by the {@linkplain RSQLParser#parse(java.io.Reader,
+ * RSQLStreamHandler) streaming parser}. The parser doesn't build any AST, neither keeps the parts already passed to
+ * the handler, so a query of any size is parsed with memory bounded by the size of its longest token.
+ *
+ * <p>The logical operators are reported in the infix order they appear in the query, between their operands, and
+ * {@linkplain LogicalOperator#AND AND} has higher precedence than {@linkplain LogicalOperator#OR OR}, as usual. For
+ * example, query {@code a==1;(b=in=(2,3),c!=4)} produces this sequence of events:
+ * <pre>{@code
+ * startComparison("a", EQUAL), argument("1"), endComparison(),
+ * logicalOperator(AND),
+ * startGroup(),
+ *   startComparison("b", IN), argument("2"), argument("3"), endComparison(),
+ *   logicalOperator(OR),
+ *   startComparison("c", NOT_EQUAL), argument("4"), endComparison(),
+ * endGroup()
+ * }</pre>
+ *
+ * <p>The events are sent as soon as the parser reads them, so when the query turns out to be invalid, the handler
+ * has already received the events preceding the error.
+ *
+ * @since 2.5.0
+ */
+public interface RSQLStreamHandler {
+
+    /**
+     * Invoked at the opening parenthesis of a group.
+     */
+    default void startGroup() {
+    }
+
+    /**
+     * Invoked at the closing parenthesis of a group.
+     */
+    default void endGroup() {
+    }
+
+    /**
+     * Invoked between two operands of the logical operator.
+     *
+     * @param operator The logical operator.
+     */
+    default void logicalOperator(LogicalOperator operator) {
+    }
+
+    /**
+     * Invoked at the start of a comparison, before its arguments.
+     *
+     * @param selector The selector of the comparison.
+     * @param operator The comparison operator.
+     */
+    default void startComparison(String selector, ComparisonOperator operator) {
+    }
+
+    /**
+     * Invoked for each argument of the current comparison.
+     *
+     * @param argument The argument, i.e. unquoted and unescaped value.
+     */
+    default void argument(String argument) {
+    }
+
+    /**
+     * Invoked after the last argument of the current comparison.
+     */
+    default void endComparison() {
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A lightweight syntax error thrown by the parser in the {@linkplain RSQLParser#withFastFail(boolean) fast-fail mode}
+ * instead of wrapping {@link ParseException}, {@link TokenMgrError} or {@link UnknownOperatorException}. It doesn't
+ * capture the stack trace and has no cause, it carries only the position and the kind of the error. The message and
+ * the list of expected tokens are computed only when asked for, so rejecting an invalid query costs no more than
+ * parsing a valid one.
+ *
+ * @since 2.5.0
+ */
+public class RSQLSyntaxException extends RSQLParserException {
+
+    /**
+     * Kinds of syntax errors.
+     */
+    public enum Kind {
+
+        /**
+         * A character that doesn't form any token, e.g. {@code ~}, or an unterminated quoted string.
+         */
+        LEXICAL_ERROR,
+
+        /**
+         * A token that is not allowed at its position.
+         */
+        UNEXPECTED_TOKEN,
+
+        /**
+         * A comparison operator that is not supported by the parser.
+         */
+        UNKNOWN_OPERATOR,
+
+        /**
+         * A selector that is not in the {@linkplain cz.jirutka.rsql.parser.ast.SelectorSchema schema}.
+         */
+        UNKNOWN_SELECTOR
+    }
+
+    private static final int[] NONE = {};
+
+    private final Kind kind;
+    private final int offset;
+    private final String token;
+    private final int[] expected;
+
+    private String message;
+
+    RSQLSyntaxException(Kind kind, int offset, String token, int[] expected) {
+        super(null, false);
+        this.kind = kind;
+        this.offset = offset;
+        this.token = token;
+        this.expected = expected;
+    }
+
+    static RSQLSyntaxException lexicalError(int offset, String token) {
+        return new RSQLSyntaxException(Kind.LEXICAL_ERROR, offset, token, NONE);
+    }
+
+    static RSQLSyntaxException unexpectedToken(int offset, String token, int[] expected) {
+        return new RSQLSyntaxException(Kind.UNEXPECTED_TOKEN, offset, token, expected);
+    }
+
+    static RSQLSyntaxException unknownOperator(int offset, String operator) {
+        return new RSQLSyntaxException(Kind.UNKNOWN_OPERATOR, offset, operator, NONE);
+    }
+
+    static RSQLSyntaxException unknownSelector(int offset, String selector) {
+        return new RSQLSyntaxException(Kind.UNKNOWN_SELECTOR, offset, selector, NONE);
+    }
+
+    /**
+     * Returns the kind of this error.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the offset of the error in the query, starting from zero. For {@link Kind#LEXICAL_ERROR} it's the offset
+     * of the invalid character, or the length of the query when it ends unexpectedly, otherwise the offset of the
+     * {@linkplain #getToken() token}. When the query is parsed from bytes, it's the offset in bytes.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the offending token, or {@code null} for {@link Kind#UNEXPECTED_TOKEN} at the end of input. For
+     * {@link Kind#LEXICAL_ERROR} it's the part of the token read up to and including the invalid character.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Returns the tokens that would be accepted instead of the unexpected one, described as in
+     * {@link ParserConstants#tokenImage}. It's empty for other kinds than {@link Kind#UNEXPECTED_TOKEN}.
+     *
+     * @return an unmodifiable list of the expected tokens.
+     */
+    public List<String> getExpectedTokens() {
+        List<String> images = new ArrayList<>(expected.length);
+        for (int kind : expected) {
+            images.add(ParserConstants.tokenImage[kind]);
+        }
+
+        return Collections.unmodifiableList(images);
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = buildMessage();
+        }
+
+        return message;
+    }
+
+    private String buildMessage() {
+        switch (kind) {
+            case LEXICAL_ERROR:
+                return "Lexical error at offset " + offset + " in \"" + token + '"';
+            case UNKNOWN_OPERATOR:
+                return "Unknown operator \"" + token + "\" at offset " + offset;
+            case UNKNOWN_SELECTOR:
+                return "Unknown selector \"" + token + "\" at offset " + offset;
+            default:
+                StringBuilder sb = new StringBuilder("Unexpected ")
+                    .append(token == null ? "end of input" : '"' + token + '"')
+                    .append(" at offset ").append(offset)
+                    .append(", expected one of: ");
+                for (int i = 0; i < expected.length; i++) {
+                    sb.append(i == 0 ? "" : ", ").append(ParserConstants.tokenImage[expected[i]]);
+                }
+
+                return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import static cz.jirutka.rsql.parser.ParserConstants.AND;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_ALT;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_FIQL;
+import static cz.jirutka.rsql.parser.ParserConstants.DOUBLE_QUOTED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.EOF;
+import static cz.jirutka.rsql.parser.ParserConstants.LPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.OR;
+import static cz.jirutka.rsql.parser.ParserConstants.RPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.SINGLE_QUOTED_STR;
+import static cz.jirutka.rsql.parser.ParserConstants.UNRESERVED_STR;
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.OperatorTrie;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link Lexer} that reads the input from a {@link Reader} into a sliding window. The characters before the current
+ * token are discarded when the window needs to be refilled, so the window grows only to the size of the longest token.
+ *
+ * <p>This class is not thread safe.
+ */
+final class ReaderLexer extends Lexer {
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final Reader reader;
+    private final ParseBudget budget;
+
+    private char[] window = new char[INITIAL_CAPACITY];
+
+    /**
+     * The offset of the first character in the {@link #window}.
+     */
+    private int offset;
+
+    /**
+     * The number of characters read into the {@link #window}.
+     */
+    private int filled;
+
+    private boolean eof;
+
+    /**
+     * A buffer for the value of quoted token containing escaped characters, reused between tokens.
+     */
+    private StringBuilder buffer;
+
+    private boolean escaped;
+
+    ReaderLexer(Reader reader, ParseBudget budget) {
+        this.reader = reader;
+        this.budget = budget;
+    }
+
+    @Override
+    int next() {
+        while (peek(pos) == ' ') {
+            if (startsWith(" and ")) {
+                return token(AND, 5);
+            }
+            if (startsWith(" or ")) {
+                return token(OR, 4);
+            }
+            pos++;
+        }
+
+        start = pos;
+        int c = peek(pos);
+        switch (c) {
+            case -1:
+                return kind = EOF;
+            case ';':
+                return token(AND, 1);
+            case ',':
+                return token(OR, 1);
+            case '(':
+                return token(LPAREN, 1);
+            case ')':
+                return token(RPAREN, 1);
+            case '=':
+                return comparisonFiql();
+            case '!':
+                return expectEquals(pos + 1);
+            case '<':
+            case '>':
+                return token(COMP_ALT, peek(pos + 1) == '=' ? 2 : 1);
+            case '\'':
+                return quoted(c, SINGLE_QUOTED_STR);
+            case '"':
+                return quoted(c, DOUBLE_QUOTED_STR);
+            case '~':
+                throw lexicalError(pos);
+            default:
+                return unreserved();
+        }
+    }
+
+    @Override
+    String image() {
+        return substring(start, pos);
+    }
+
+    @Override
+    ComparisonOperator operator() {
+        int state = OperatorTrie.START;
+        for (int i = start - offset; i < pos - offset; i++) {
+            state = operators.next(state, window[i]);
+        }
+
+        return operators.operator(state);
+    }
+
+    @Override
+    String value() {
+        if (kind == UNRESERVED_STR) {
+            return substring(start, pos);
+        }
+
+        return escaped ? buffer.toString() : substring(start + 1, pos - 1);
+    }
+
+    private int comparisonFiql() {
+        int i = pos + 1;
+        while (isAlpha(peek(i))) {
+            i++;
+        }
+
+        return expectEquals(i);
+    }
+
+    private int expectEquals(int i) {
+        if (peek(i) == '=') {
+            return token(COMP_FIQL, i + 1 - pos);
+        }
+
+        throw lexicalError(i);
+    }
+
+    private int quoted(int quote, int kind) {
+        escaped = false;
+
+        for (int i = pos + 1; ; i++) {
+            int c = peek(i);
+
+            if (c == quote) {
+                return token(kind, i + 1 - pos);
+            }
+
+            if (c == '\\') {
+                c = peek(++i);
+                if (c >= 0 && !escaped) {
+                    escaped = true;
+                    buffer().append(window, pos + 1 - offset, i - 1 - pos - 1);
+                }
+            }
+
+            if (c < 0) {
+                throw lexicalError(i);
+            }
+
+            if (escaped) {
+                buffer.append((char) c);
+            }
+        }
+    }
+
+    private int unreserved() {
+        int i = pos + 1;
+        for (int c = peek(i); c >= 0 && !isReserved(c); c = peek(i)) {
+            i++;
+        }
+
+        return token(UNRESERVED_STR, i - pos);
+    }
+
+    private boolean startsWith(String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (peek(pos + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the character at the given offset, reading more input if needed, or {@code -1} at the end of input.
+     */
+    private int peek(int i) {
+        while (i - offset >= filled) {
+            if (eof || !fill()) {
+                return -1;
+            }
+        }
+
+        return window[i - offset];
+    }
+
+    /**
+     * Discards the characters before the current position and reads more input into the window.
+     *
+     * @return {@code false} if there is no more input.
+     */
+    private boolean fill() {
+        int keep = pos - offset;
+        if (keep > 0) {
+            System.arraycopy(window, keep, window, 0, filled - keep);
+            filled -= keep;
+            offset = pos;
+        }
+        if (filled == window.length) {
+            char[] grown = new char[window.length * 2];
+            System.arraycopy(window, 0, grown, 0, filled);
+            window = grown;
+        }
+
+        try {
+            int n = reader.read(window, filled, window.length - filled);
+            if (n < 0) {
+                eof = true;
+                return false;
+            }
+            filled += n;
+            budget.length(offset + filled);
+
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String substring(int from, int to) {
+        return new String(window, from - offset, to - from);
+    }
+
+    private StringBuilder buffer() {
+        if (buffer == null) {
+            buffer = new StringBuilder();
+        } else {
+            buffer.setLength(0);
+        }
+
+        return buffer;
+    }
+
+    private TokenMgrError lexicalError(int at) {
+        int c = peek(at);
+        return lexicalError(at, substring(pos, c < 0 ? offset + filled : at), c);
+    }
+}
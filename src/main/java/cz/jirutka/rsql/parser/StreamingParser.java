@@ -0,0 +1,226 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+import static cz.jirutka.rsql.parser.HandwrittenParser.ARGUMENT;
+import static cz.jirutka.rsql.parser.HandwrittenParser.ARGUMENTS_END;
+import static cz.jirutka.rsql.parser.HandwrittenParser.CONSTRAINT_START;
+import static cz.jirutka.rsql.parser.HandwrittenParser.EMPTY_ARGUMENTS_END;
+import static cz.jirutka.rsql.parser.HandwrittenParser.GROUP_END;
+import static cz.jirutka.rsql.parser.HandwrittenParser.INPUT_END;
+import static cz.jirutka.rsql.parser.HandwrittenParser.OPERATOR;
+import static cz.jirutka.rsql.parser.HandwrittenParser.arityViolation;
+import static cz.jirutka.rsql.parser.HandwrittenParser.consume;
+import static cz.jirutka.rsql.parser.HandwrittenParser.convertible;
+import static cz.jirutka.rsql.parser.HandwrittenParser.isBlank;
+import static cz.jirutka.rsql.parser.HandwrittenParser.isString;
+import static cz.jirutka.rsql.parser.HandwrittenParser.operator;
+import static cz.jirutka.rsql.parser.HandwrittenParser.selector;
+import static cz.jirutka.rsql.parser.HandwrittenParser.unexpected;
+import static cz.jirutka.rsql.parser.ParserConstants.AND;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_ALT;
+import static cz.jirutka.rsql.parser.ParserConstants.COMP_FIQL;
+import static cz.jirutka.rsql.parser.ParserConstants.LPAREN;
+import static cz.jirutka.rsql.parser.ParserConstants.OR;
+
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalOperator;
+import cz.jirutka.rsql.parser.ast.NodesFactory;
+import java.util.Arrays;
+
+/**
+ * Parser of the RSQL grammar that passes the parts of the query to a {@link RSQLStreamHandler} as soon as it reads
+ * them, instead of building an AST. It validates the query in the same way as the {@link HandwrittenParser}, i.e.
+ * operators, their arity and the arguments of the typed selectors are checked against the {@link NodesFactory}, but
+ * nothing is retained after it's passed to the handler.
+ *
+ * <p>This class is not thread safe.
+ */
+final class StreamingParser {
+
+    /**
+     * The flag of a level of nesting that its current AND has more than one operand.
+     */
+    private static final int CONJUNCTION = 1;
+
+    /**
+     * The flag of a level of nesting that its OR has more than one operand.
+     */
+    private static final int DISJUNCTION = 2;
+
+    private final Lexer lexer;
+    private final NodesFactory factory;
+    private final RSQLStreamHandler handler;
+    private final ParseBudget budget;
+    private final boolean arguments;
+
+    StreamingParser(Lexer lexer, NodesFactory factory, RSQLStreamHandler handler, ParseBudget budget) {
+        this(lexer, factory, handler, budget, true);
+    }
+
+    /**
+     * @param arguments Whether to pass the arguments to the handler. If not, they are only counted for validation of
+     *                  the arity, so they are never decoded into strings.
+     */
+    StreamingParser(Lexer lexer, NodesFactory factory, RSQLStreamHandler handler, ParseBudget budget,
+        boolean arguments) {
+        this.lexer = lexer;
+        this.factory = factory;
+        this.handler = handler;
+        this.budget = budget;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Parses the whole input. The nested groups are parsed without recursion, only the flags of the outer levels are
+     * kept on an explicit stack.
+     */
+    void parse() throws ParseException {
+        byte[] outer = new byte[8];
+        int depth = 0;
+        int flags = 0;
+
+        lexer.next();
+        for (;;) {
+            while (lexer.kind() == LPAREN) {
+                budget.enter(lexer);
+                lexer.next();
+                handler.startGroup();
+                if (depth == outer.length) {
+                    outer = Arrays.copyOf(outer, depth * 2);
+                }
+                outer[depth++] = (byte) flags;
+                flags = 0;
+            }
+            comparison();
+
+            for (;;) {
+                int kind = lexer.kind();
+                if (kind == AND) {
+                    if ((flags & CONJUNCTION) == 0) {
+                        budget.node(lexer);
+                        flags |= CONJUNCTION;
+                    }
+                    lexer.next();
+                    handler.logicalOperator(LogicalOperator.AND);
+                    break;
+                }
+                if (kind == OR) {
+                    if ((flags & DISJUNCTION) == 0) {
+                        budget.node(lexer);
+                        flags |= DISJUNCTION;
+                    }
+                    flags &= ~CONJUNCTION;
+                    lexer.next();
+                    handler.logicalOperator(LogicalOperator.OR);
+                    break;
+                }
+
+                if (depth == 0) {
+                    consume(lexer, INPUT_END);
+                    return;
+                }
+                consume(lexer, GROUP_END);
+                budget.exit();
+                handler.endGroup();
+                flags = outer[--depth];
+            }
+        }
+    }
+
+    private void comparison() throws ParseException {
+        if (!isString(lexer.kind())) {
+            throw unexpected(lexer, CONSTRAINT_START);
+        }
+        budget.node(lexer);
+        String selector = selector(lexer, factory.getSelectorSchema(), null);
+        if (isBlank(selector)) {
+            throw new IllegalArgumentException("selector must not be blank");
+        }
+
+        int kind = lexer.next();
+        if (kind != COMP_FIQL && kind != COMP_ALT) {
+            throw unexpected(lexer, OPERATOR);
+        }
+        ComparisonOperator operator = operator(lexer, factory);
+        ArgumentType<?> type = factory.getArgumentType(selector);
+        handler.startComparison(selector, operator);
+
+        kind = lexer.next();
+        int count = 0;
+        if (kind == LPAREN) {
+            count = commaSepArguments(operator, selector, type);
+        } else if (isString(kind)) {
+            count = argument(operator, selector, type, count);
+            lexer.next();
+        }
+
+        if (count < operator.getArity().min()) {
+            throw arityViolation(operator, count);
+        }
+        handler.endComparison();
+    }
+
+    private int commaSepArguments(ComparisonOperator operator, String selector, ArgumentType<?> type)
+        throws ParseException {
+        if (!isString(lexer.next())) {
+            consume(lexer, EMPTY_ARGUMENTS_END);
+            return 0;
+        }
+
+        int count = argument(operator, selector, type, 0);
+        while (lexer.next() == OR) {
+            if (!isString(lexer.next())) {
+                throw unexpected(lexer, ARGUMENT);
+            }
+            count = argument(operator, selector, type, count);
+        }
+        consume(lexer, ARGUMENTS_END);
+
+        return count;
+    }
+
+    /**
+     * Passes the current token to the handler as the next argument, unless the operator doesn't accept any more or
+     * the argument can't be converted to the type of the selector.
+     *
+     * @param type The type of the selector, or {@code null}.
+     * @return the number of arguments passed so far.
+     */
+    private int argument(ComparisonOperator operator, String selector, ArgumentType<?> type, int count) {
+        if (count == operator.getArity().max()) {
+            throw arityViolation(operator, count + 1);
+        }
+        budget.argument(lexer, count + 1);
+        if (type != null) {
+            convertible(lexer, type, selector, count);
+        }
+        if (arguments) {
+            handler.argument(lexer.value());
+        }
+
+        return count + 1;
+    }
+}
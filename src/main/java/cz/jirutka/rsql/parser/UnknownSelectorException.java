@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser;
+
+/**
+ * This exception is thrown when a selector is not in the {@linkplain cz.jirutka.rsql.parser.ast.SelectorSchema
+ * schema} of the {@linkplain cz.jirutka.rsql.parser.ast.NodesFactory#withSelectorSchema factory}. The parser reports
+ * it as the cause of {@link RSQLParserException}, or as {@link RSQLSyntaxException} in the fast-fail mode.
+ *
+ * @since 2.5.0
+ */
+public class UnknownSelectorException extends IllegalArgumentException {
+
+    private final String selector;
+    private final int offset;
+
+    /**
+     * @param selector The unknown selector.
+     */
+    public UnknownSelectorException(String selector) {
+        this(selector, -1);
+    }
+
+    UnknownSelectorException(String selector, int offset) {
+        super(offset < 0
+            ? "Unknown selector: " + selector
+            : "Unknown selector: " + selector + " at offset " + offset);
+        this.selector = selector;
+        this.offset = offset;
+    }
+
+    /**
+     * Returns a copy of this exception with the offset of the selector in the query.
+     */
+    UnknownSelectorException withOffset(int offset) {
+        UnknownSelectorException ex = new UnknownSelectorException(selector, offset);
+        ex.setStackTrace(getStackTrace());
+
+        return ex;
+    }
+
+    public String getSelector() {
+        return selector;
+    }
+
+    /**
+     * Returns the offset of the selector's token in the query, or {@code -1} if it's not known, i.e. the node has not
+     * been created by the parser.
+     */
+    public int getOffset() {
+        return offset;
+    }
+}
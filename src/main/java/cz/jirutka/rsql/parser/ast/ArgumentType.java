@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import cz.jirutka.rsql.parser.ArgumentConversionException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A type the arguments of a selector are converted to while the query is parsed, so the consumers of the AST don't
+ * have to convert the same strings again. The converted values are stored in the {@link ComparisonNode} next to the
+ * strings, the {@link #LONG} values in a {@code long[]} without boxing.
+ *
+ * <pre>{@code
+ * NodesFactory factory = new NodesFactory(RSQLOperators.defaultOperators())
+ *     .withArgumentType("id", ArgumentType.LONG)
+ *     .withArgumentType("createdAt", ArgumentType.INSTANT);
+ * ComparisonNode node = (ComparisonNode) new RSQLParser(factory).parse("id=in=(1,2,3)");
+ * long first = node.getLongArgument(0);
+ * }</pre>
+ *
+ * @param <T> The type of the converted values.
+ * @see NodesFactory#withArgumentType(String, ArgumentType)
+ * @since 2.5.0
+ */
+@Immutable
+public abstract class ArgumentType<T> {
+
+    /**
+     * Signed decimal {@code long}, parsed by {@link Long#parseLong(String)} and stored without boxing.
+     */
+    public static final ArgumentType<Long> LONG = new LongType();
+
+    /**
+     * {@link BigDecimal}, parsed by {@link BigDecimal#BigDecimal(String)}.
+     */
+    public static final ArgumentType<BigDecimal> DECIMAL = of(BigDecimal.class, BigDecimal::new);
+
+    /**
+     * {@link Instant} in the ISO-8601 format, parsed by {@link Instant#parse(CharSequence)}.
+     */
+    public static final ArgumentType<Instant> INSTANT = of(Instant.class, Instant::parse);
+
+    /**
+     * {@link java.util.UUID UUID}, parsed by {@link java.util.UUID#fromString(String)}.
+     */
+    public static final ArgumentType<java.util.UUID> UUID = of(java.util.UUID.class, java.util.UUID::fromString);
+
+    private final Class<T> javaType;
+
+    /**
+     * @param javaType The class of the converted values. Must not be {@code null}.
+     */
+    protected ArgumentType(Class<T> javaType) {
+        Assert.notNull(javaType, "javaType must not be null");
+        this.javaType = javaType;
+    }
+
+    /**
+     * Creates a type that converts the arguments by the given function.
+     *
+     * @param javaType  The class of the converted values. Must not be {@code null}.
+     * @param converter The function that converts an argument, it throws an exception or returns {@code null} if the
+     *                  argument is not valid. Must not be {@code null}.
+     * @return the type.
+     */
+    public static <T> ArgumentType<T> of(Class<T> javaType, final Function<String, ? extends T> converter) {
+        Assert.notNull(converter, "converter must not be null");
+
+        return new ArgumentType<T>(javaType) {
+            @Override
+            public T convert(String argument) {
+                return converter.apply(argument);
+            }
+        };
+    }
+
+    /**
+     * Returns the class of the converted values.
+     */
+    public Class<T> getJavaType() {
+        return javaType;
+    }
+
+    /**
+     * Converts the argument.
+     *
+     * @param argument The argument to convert.
+     * @return the converted value, or {@code null} if the argument is not valid.
+     * @throws RuntimeException If the argument is not valid.
+     */
+    public abstract T convert(String argument);
+
+    /**
+     * Converts all the arguments of a comparison.
+     *
+     * @throws ArgumentConversionException If some of the arguments is not valid.
+     */
+    TypedArguments convertAll(String selector, List<String> arguments) {
+        Object[] values = new Object[arguments.size()];
+        int i = 0;
+        for (String argument : arguments) {
+            values[i] = convert(selector, i, argument);
+            i++;
+        }
+
+        return new TypedArguments.OfObjects(this, values);
+    }
+
+    private T convert(String selector, int index, String argument) {
+        T value;
+        try {
+            value = convert(argument);
+        } catch (RuntimeException ex) {
+            throw new ArgumentConversionException(selector, index, argument, this, ex);
+        }
+        if (value == null) {
+            throw new ArgumentConversionException(selector, index, argument, this, null);
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return javaType.getSimpleName();
+    }
+
+    private static final class LongType extends ArgumentType<Long> {
+
+        LongType() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long convert(String argument) {
+            return Long.parseLong(argument);
+        }
+
+        @Override
+        TypedArguments convertAll(String selector, List<String> arguments) {
+            boolean views = ArgumentView.isViewList(arguments);
+            long[] values = new long[arguments.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                try {
+                    // a lazy argument is parsed directly from the query
+                    values[i] = views
+                        ? ArgumentView.view(arguments, i).parseLong()
+                        : Long.parseLong(arguments.get(i));
+                } catch (NumberFormatException ex) {
+                    throw new ArgumentConversionException(selector, i, arguments.get(i), this, ex);
+                }
+            }
+
+            return new TypedArguments.OfLongs(this, values);
+        }
+    }
+}
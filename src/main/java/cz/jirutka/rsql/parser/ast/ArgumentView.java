@@ -0,0 +1,377 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A value of an argument as a view of the query it has been parsed from. The value is not copied into a
+ * {@link String} until {@link #toString()} is called, and the escapes of a quoted value are removed only when its
+ * characters are accessed for the first time. Comparing the value by {@link #contentEquals(CharSequence)} or
+ * {@link #equalsIgnoreCase(CharSequence)}, or parsing it by {@link #parseLong()}, reads the query directly.
+ *
+ * <p>The view keeps the whole query reachable, and the query must not be modified while the view is used.
+ *
+ * @see ComparisonNode#getArgumentView(int)
+ * @since 2.5.0
+ */
+public final class ArgumentView implements CharSequence {
+
+    private final CharSequence input;
+    private final int start;
+    private final int end;
+
+    /**
+     * Whether the slice of the input contains backslash escapes.
+     */
+    private final boolean escaped;
+
+    /**
+     * The materialized value, a benign data race as in {@link String#hashCode()}.
+     */
+    private String value;
+
+    private ArgumentView(CharSequence input, int start, int end, boolean escaped, String value) {
+        this.input = input;
+        this.start = start;
+        this.end = end;
+        this.escaped = escaped;
+        this.value = value;
+    }
+
+    /**
+     * Returns a view of the given value.
+     *
+     * @param value Must not be {@code null}.
+     */
+    public static ArgumentView of(String value) {
+        Assert.notNull(value, "value must not be null");
+        return new ArgumentView(value, 0, value.length(), false, value);
+    }
+
+    /**
+     * Returns a view of the part of the input between the given offsets.
+     *
+     * @param input   The input, it must not be modified while the view is used. Must not be {@code null}.
+     * @param start   The start offset of the value, inclusive.
+     * @param end     The end offset of the value, exclusive.
+     * @param escaped Whether the value contains escapes, i.e. backslashes followed by the escaped character.
+     * @throws IndexOutOfBoundsException If the offsets are out of the input bounds.
+     */
+    public static ArgumentView slice(CharSequence input, int start, int end, boolean escaped) {
+        Assert.notNull(input, "input must not be null");
+        if (start < 0 || end > input.length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + input.length());
+        }
+
+        return new ArgumentView(input, start, end, escaped, null);
+    }
+
+    /**
+     * Returns a list of the values of the given views, each one materialized when it's accessed for the first time.
+     * The list is compared and hashed in the same way as a list of strings, but without materializing the values.
+     *
+     * @param views The views of the values. The array is not copied, so it must not be modified.
+     * @return an unmodifiable list of the values.
+     */
+    public static List<String> asList(ArgumentView... views) {
+        return new ViewList(views);
+    }
+
+    /**
+     * Returns the view of the element of the list, or a view of the element if the list is not a list of views.
+     */
+    static ArgumentView view(List<String> list, int index) {
+        return list instanceof ViewList ? ((ViewList) list).views[index] : of(list.get(index));
+    }
+
+    /**
+     * Returns whether the list has been created by {@link #asList(ArgumentView...)}.
+     */
+    static boolean isViewList(List<String> list) {
+        return list instanceof ViewList;
+    }
+
+    @Override
+    public int length() {
+        return escaped ? toString().length() : end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (escaped) {
+            return toString().charAt(index);
+        }
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + (end - start));
+        }
+
+        return input.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (escaped) {
+            return toString().subSequence(from, to);
+        }
+        if (from < 0 || to > end - start || from > to) {
+            throw new IndexOutOfBoundsException("start " + from + ", end " + to + ", length " + (end - start));
+        }
+
+        return new ArgumentView(input, start + from, start + to, false, null);
+    }
+
+    /**
+     * Returns whether the value consists of the same characters as the given sequence. The escapes are removed while
+     * comparing, so the value is not materialized.
+     */
+    public boolean contentEquals(CharSequence other) {
+        if (other instanceof ArgumentView) {
+            return sameContent((ArgumentView) other);
+        }
+        int length = other.length();
+        if (!escaped && length != end - start) {
+            return false;
+        }
+
+        int j = 0;
+        for (int i = start; i < end; j++) {
+            char c = input.charAt(i++);
+            if (escaped && c == '\\' && i < end) {
+                c = input.charAt(i++);
+            }
+            if (j == length || c != other.charAt(j)) {
+                return false;
+            }
+        }
+
+        return j == length;
+    }
+
+    private boolean sameContent(ArgumentView other) {
+        int i = start;
+        int j = other.start;
+        while (i < end && j < other.end) {
+            char a = input.charAt(i++);
+            if (escaped && a == '\\' && i < end) {
+                a = input.charAt(i++);
+            }
+            char b = other.input.charAt(j++);
+            if (other.escaped && b == '\\' && j < other.end) {
+                b = other.input.charAt(j++);
+            }
+            if (a != b) {
+                return false;
+            }
+        }
+
+        return i == end && j == other.end;
+    }
+
+    /**
+     * Returns whether the value is equal to the given sequence ignoring case, in the same way as
+     * {@link String#equalsIgnoreCase(String)}.
+     */
+    public boolean equalsIgnoreCase(CharSequence other) {
+        int length = length();
+        if (other.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char a = charAt(i);
+            char b = other.charAt(i);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)
+                && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses the value as a signed decimal {@code long} in the same way as {@link Long#parseLong(String)}.
+     *
+     * @throws NumberFormatException If the value is not a parsable {@code long}.
+     */
+    public long parseLong() {
+        int length = length();
+        if (length == 0) {
+            throw new NumberFormatException("For input string: \"\"");
+        }
+
+        int i = 0;
+        boolean negative = false;
+        long limit = -Long.MAX_VALUE;
+        char first = charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                throw invalidNumber();
+            }
+            if (first == '-') {
+                negative = true;
+                limit = Long.MIN_VALUE;
+            }
+            i++;
+        }
+
+        // accumulated negatively, as Long.parseLong does, so Long.MIN_VALUE can be parsed
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(charAt(i), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                throw invalidNumber();
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalidNumber();
+            }
+            result -= digit;
+        }
+
+        return negative ? result : -result;
+    }
+
+    private NumberFormatException invalidNumber() {
+        return new NumberFormatException("For input string: \"" + this + '"');
+    }
+
+    /**
+     * Returns the value, it's materialized on the first call.
+     */
+    @Override
+    public String toString() {
+        String value = this.value;
+        if (value == null) {
+            value = escaped ? unescape() : input.subSequence(start, end).toString();
+            this.value = value;
+        }
+
+        return value;
+    }
+
+    private String unescape() {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == '\\' && i + 1 < end) {
+                c = input.charAt(++i);
+            }
+            sb.append(c);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns whether the other object is a view with the same value.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArgumentView)) return false;
+
+        return contentEquals((ArgumentView) o);
+    }
+
+    /**
+     * Returns the same hash code as {@link String#hashCode()} of the value, without materializing it.
+     */
+    @Override
+    public int hashCode() {
+        String value = this.value;
+        if (value != null) {
+            return value.hashCode();
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; ) {
+            char c = input.charAt(i++);
+            if (escaped && c == '\\' && i < end) {
+                c = input.charAt(i++);
+            }
+            hash = 31 * hash + c;
+        }
+
+        return hash;
+    }
+
+    /**
+     * A list of the values of views. It's compared and hashed by the views, so the values are not materialized, e.g.
+     * when the hash code of a node is computed while it's being created.
+     */
+    private static final class ViewList extends AbstractList<String> implements RandomAccess {
+
+        private final ArgumentView[] views;
+
+        ViewList(ArgumentView[] views) {
+            this.views = views;
+        }
+
+        @Override
+        public String get(int index) {
+            return views[index].toString();
+        }
+
+        @Override
+        public int size() {
+            return views.length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (!(o instanceof List)) return false;
+
+            List<?> others = (List<?>) o;
+            if (others.size() != views.length) {
+                return false;
+            }
+            Iterator<?> iterator = o instanceof ViewList ? null : others.iterator();
+            for (int i = 0; i < views.length; i++) {
+                Object other = iterator != null ? iterator.next() : ((ViewList) o).views[i];
+                if (!(other instanceof String || other instanceof ArgumentView)
+                    || !views[i].contentEquals((CharSequence) other)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 1;
+            for (ArgumentView view : views) {
+                hash = 31 * hash + view.hashCode();
+            }
+
+            return hash;
+        }
+    }
+}
@@ -41,8 +41,26 @@ public final class ComparisonNode extends AbstractNode {
 
     private final String selector;
 
+    /**
+     * An exact-size list, the parsers and the public constructor never keep a list with spare capacity.
+     */
     private final List<String> arguments;
 
+    /**
+     * The hash code computed once at construction, the node is immutable.
+     */
+    private final int hash;
+
+    /**
+     * The arguments converted to the selector's type, or {@code null} if the selector has no type.
+     */
+    private final TypedArguments typed;
+
+    /**
+     * The id of the selector in the factory's schema, or {@link SelectorSchema#UNKNOWN}.
+     */
+    private final int selectorId;
+
     /**
      * @param operator  Must not be {@code null}.
      * @param selector  Must not be {@code null} or blank.
@@ -52,11 +70,21 @@ public final class ComparisonNode extends AbstractNode {
      * @throws IllegalArgumentException If one of the conditions specified above it not met.
      */
     public ComparisonNode(ComparisonOperator operator, String selector, List<String> arguments) {
-        this(operator, selector, new ArrayList<>(arguments), true);
+        this(operator, selector, Lists.copyOf(arguments), true);
     }
 
     ComparisonNode(ComparisonOperator operator, String selector, List<String> arguments,
         @SuppressWarnings("unused") boolean trusted) {
+        this(operator, selector, arguments, null, SelectorSchema.UNKNOWN);
+    }
+
+    /**
+     * Creates a node with the arguments converted to the given type and the given id of the selector.
+     *
+     * @throws cz.jirutka.rsql.parser.ArgumentConversionException If some of the arguments can't be converted.
+     */
+    ComparisonNode(ComparisonOperator operator, String selector, List<String> arguments, ArgumentType<?> type,
+        int selectorId) {
         Assert.notNull(operator, "operator must not be null");
         Assert.notBlank(selector, "selector must not be blank");
         Assert.notNull(arguments, "arguments must not be null");
@@ -65,6 +93,9 @@ public final class ComparisonNode extends AbstractNode {
         this.operator = operator;
         this.selector = selector;
         this.arguments = arguments;
+        this.hash = calculateHashCode();
+        this.typed = type != null ? type.convertAll(selector, arguments) : null;
+        this.selectorId = selectorId;
     }
 
     public <R, A> R accept(RSQLVisitor<R, A> visitor, A param) {
@@ -82,7 +113,7 @@ public final class ComparisonNode extends AbstractNode {
      * @return a copy of this node with the specified operator.
      */
     public ComparisonNode withOperator(ComparisonOperator newOperator) {
-        return new ComparisonNode(newOperator, selector, arguments, true);
+        return new ComparisonNode(newOperator, selector, arguments, getArgumentType(), selectorId);
     }
 
     public String getSelector() {
@@ -90,15 +121,49 @@ public final class ComparisonNode extends AbstractNode {
     }
 
     /**
-     * Returns a copy of this node with the specified selector.
+     * Returns the id of the selector in the {@link SelectorSchema} of the factory that has created this node.
+     *
+     * @return the id, or {@link SelectorSchema#UNKNOWN} if the factory has no schema or the node has not been created
+     * by a factory.
+     * @see NodesFactory#withSelectorSchema(SelectorSchema)
+     * @since 2.5.0
+     */
+    public int getSelectorId() {
+        return selectorId;
+    }
+
+    /**
+     * Returns a copy of this node with the specified selector. The copy has no {@linkplain #getSelectorId() selector
+     * id} nor {@linkplain #getArgumentType() argument type}, since they belong to the old selector, unless the selector
+     * is the same.
      *
      * @param newSelector Must not be {@code null} or blank.
      * @return a copy of this node with the specified selector.
+     * @see #withSelector(String, NodesFactory)
      */
     public ComparisonNode withSelector(String newSelector) {
         return selector.equals(newSelector)
         ? this
-        : new ComparisonNode(operator, newSelector, arguments, true);
+        : new ComparisonNode(operator, newSelector, arguments, null, SelectorSchema.UNKNOWN);
+    }
+
+    /**
+     * Returns a copy of this node with the specified selector, created by the given factory, so it has the selector id
+     * and the argument type the factory has for the new selector.
+     *
+     * @param newSelector Must not be {@code null} or blank.
+     * @param factory     The factory to resolve the new selector by. Must not be {@code null}.
+     * @return a copy of this node with the specified selector.
+     * @throws cz.jirutka.rsql.parser.UnknownSelectorException If the selector is not in the factory's schema.
+     * @throws cz.jirutka.rsql.parser.ArgumentConversionException If some of the arguments can't be converted to the
+     *                                                            type of the new selector.
+     * @since 2.5.0
+     */
+    public ComparisonNode withSelector(String newSelector, NodesFactory factory) {
+        Assert.notBlank(newSelector, "selector must not be blank");
+        Assert.notNull(factory, "factory must not be null");
+
+        return factory.comparisonNodeTrusted(operator, newSelector, arguments);
     }
 
     /**
@@ -116,6 +181,29 @@ public final class ComparisonNode extends AbstractNode {
         return arguments;
     }
 
+    /**
+     * Returns the number of the arguments.
+     *
+     * @since 2.5.0
+     */
+    public int getArgumentCount() {
+        return arguments.size();
+    }
+
+    /**
+     * Returns the argument at the given index as a view. If the node has been parsed with
+     * {@link cz.jirutka.rsql.parser.RSQLParser#withLazyArguments(boolean) lazy arguments}, then the view reads
+     * the query directly and the argument is not copied into a string unless it's converted to it.
+     *
+     * @param index The index of the argument.
+     * @return a view of the argument.
+     * @throws IndexOutOfBoundsException If there is no argument at the index.
+     * @since 2.5.0
+     */
+    public ArgumentView getArgumentView(int index) {
+        return ArgumentView.view(arguments, index);
+    }
+
     /**
      * Returns a copy of this node with the specified arguments.
      *
@@ -125,7 +213,78 @@ public final class ComparisonNode extends AbstractNode {
      * @return a copy of this node with the specified arguments.
      */
     public ComparisonNode withArguments(List<String> newArguments) {
-        return new ComparisonNode(operator, selector, newArguments);
+        return new ComparisonNode(operator, selector, Lists.copyOf(newArguments), getArgumentType(), selectorId);
+    }
+
+    /**
+     * Returns the type the arguments have been converted to while parsing, or {@code null} if the selector has no
+     * type.
+     *
+     * @see NodesFactory#withArgumentType(String, ArgumentType)
+     * @since 2.5.0
+     */
+    public ArgumentType<?> getArgumentType() {
+        return typed != null ? typed.type : null;
+    }
+
+    /**
+     * Returns the argument at the given index converted to the given type.
+     *
+     * @param type  The type the arguments have been converted to.
+     * @param index The index of the argument.
+     * @return the converted argument.
+     * @throws IllegalStateException     If the arguments have not been converted to the type.
+     * @throws IndexOutOfBoundsException If there is no argument at the index.
+     * @since 2.5.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getTypedArgument(ArgumentType<T> type, int index) {
+        return (T) typed(type).get(index);
+    }
+
+    /**
+     * Returns the arguments converted to the given type.
+     *
+     * @param type The type the arguments have been converted to.
+     * @return an unmodifiable list of the converted arguments, it doesn't copy them.
+     * @throws IllegalStateException If the arguments have not been converted to the type.
+     * @since 2.5.0
+     */
+    public <T> List<T> getTypedArguments(ArgumentType<T> type) {
+        return typed(type).asList();
+    }
+
+    /**
+     * Returns the argument at the given index converted to {@link ArgumentType#LONG}, without boxing.
+     *
+     * @param index The index of the argument.
+     * @return the converted argument.
+     * @throws IllegalStateException     If the arguments have not been converted to {@code long}.
+     * @throws IndexOutOfBoundsException If there is no argument at the index.
+     * @since 2.5.0
+     */
+    public long getLongArgument(int index) {
+        return typed(ArgumentType.LONG).getLong(index);
+    }
+
+    /**
+     * Returns a copy of the arguments converted to {@link ArgumentType#LONG}.
+     *
+     * @return a new array of the converted arguments.
+     * @throws IllegalStateException If the arguments have not been converted to {@code long}.
+     * @since 2.5.0
+     */
+    public long[] getLongArguments() {
+        return ((TypedArguments.OfLongs) typed(ArgumentType.LONG)).toArray();
+    }
+
+    private TypedArguments typed(ArgumentType<?> type) {
+        if (typed == null || typed.type != type) {
+            throw new IllegalStateException(String.format(
+                "arguments of selector '%s' are converted to %s, not to %s", selector, getArgumentType(), type));
+        }
+
+        return typed;
     }
 
     private static void validate(ComparisonOperator operator, int argc) {
@@ -169,13 +328,21 @@ public final class ComparisonNode extends AbstractNode {
         if (!(o instanceof ComparisonNode)) return false;
         ComparisonNode that = (ComparisonNode) o;
 
-        return arguments.equals(that.arguments)
+        return hash == that.hash
+            && (ArgumentView.isViewList(that.arguments)
+                ? that.arguments.equals(arguments)
+                : arguments.equals(that.arguments))
             && operator.equals(that.operator)
             && selector.equals(that.selector);
     }
 
     @Override
     public int hashCode() {
+        return hash;
+    }
+
+    private int calculateHashCode() {
+        // a list of lazy arguments hashes the views without materializing them
         int result = selector.hashCode();
         result = 31 * result + arguments.hashCode();
         result = 31 * result + operator.hashCode();
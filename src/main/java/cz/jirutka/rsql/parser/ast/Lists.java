@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact immutable lists for the children and arguments of nodes.
+ */
+final class Lists {
+
+    private static final Class<?> EMPTY_LIST = Collections.emptyList().getClass();
+    private static final Class<?> SINGLETON_LIST = Collections.singletonList(null).getClass();
+    private static final Class<?> ARRAY_LIST = Arrays.asList().getClass();
+
+    private Lists() {
+    }
+
+    /**
+     * Returns an exact-size copy of the collection, i.e. the shared empty list, a singleton list, or a fixed-size list
+     * backed by a trimmed array.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> copyOf(Collection<? extends T> collection) {
+        switch (collection.size()) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList(collection.iterator().next());
+            default:
+                return (List<T>) Arrays.asList(collection.toArray());
+        }
+    }
+
+    /**
+     * Returns whether the list can't be structurally modified, in particular through its iterator, so it doesn't have
+     * to be wrapped in an unmodifiable view.
+     */
+    static boolean isFixedSize(List<?> list) {
+        Class<?> type = list.getClass();
+        return type == ARRAY_LIST || type == SINGLETON_LIST || type == EMPTY_LIST;
+    }
+}
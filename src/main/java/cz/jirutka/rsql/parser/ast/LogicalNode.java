@@ -37,25 +37,36 @@ import static java.util.Collections.unmodifiableList;
  */
 public abstract class LogicalNode extends AbstractNode implements Iterable<Node> {
 
+    /**
+     * An exact-size list, either fixed-size or wrapped in an unmodifiable view.
+     */
     private final List<Node> children;
 
     private final LogicalOperator operator;
 
+    /**
+     * The hash code computed once at construction, so it doesn't walk the whole subtree on each call. The children
+     * are immutable as well.
+     */
+    private final int hash;
+
 
     /**
      * @param operator Must not be {@code null}.
      * @param children Children nodes, i.e. operands; must not be {@code null}.
      */
     protected LogicalNode(LogicalOperator operator, List<? extends Node> children) {
-        this(operator, new ArrayList<>(children), true);
+        this(operator, Lists.copyOf(children), true);
     }
 
+    @SuppressWarnings("unchecked")
     LogicalNode(LogicalOperator operator, List<? extends Node> children, @SuppressWarnings("unused") boolean trusted) {
         Assert.notNull(operator, "operator must not be null");
         Assert.notNull(children, "children must not be null");
 
         this.operator = operator;
-        this.children = unmodifiableList(children);
+        this.children = Lists.isFixedSize(children) ? (List<Node>) children : unmodifiableList(children);
+        this.hash = calculateHashCode();
     }
 
     /**
@@ -87,6 +98,10 @@ public abstract class LogicalNode extends AbstractNode implements Iterable<Node>
         return new ArrayList<>(children);
     }
 
+    List<Node> children() {
+        return children;
+    }
+
 
     @Override
     public String toString() {
@@ -99,12 +114,17 @@ public abstract class LogicalNode extends AbstractNode implements Iterable<Node>
         if (!(o instanceof LogicalNode)) return false;
         LogicalNode nodes = (LogicalNode) o;
 
-        return children.equals(nodes.children)
-            && operator == nodes.operator;
+        return hash == nodes.hash
+            && operator == nodes.operator
+            && children.equals(nodes.children);
     }
 
     @Override
     public int hashCode() {
+        return hash;
+    }
+
+    private int calculateHashCode() {
         int result = children.hashCode();
         result = 31 * result + operator.hashCode();
         return result;
@@ -0,0 +1,391 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.IN;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.NOT_IN;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Canonical form and fingerprint of an AST, so that the queries that differ only in the order of the operands of
+ * {@code ;} and {@code ,}, the order of the arguments of {@code =in=} and {@code =out=}, or in the symbols of the
+ * operators, e.g. {@code <} and {@code =lt=}, can be recognized as the same query, e.g. by a cache.
+ *
+ * <p>The fingerprint is a 64-bit hash that doesn't depend on the JVM or the run, so it can be stored. It's equal for
+ * the queries with the same canonical form, and different for the others with high probability. It doesn't remove
+ * any redundancy, so use the {@link NodeOptimizer} first if {@code a==1;a==1} should have the same fingerprint as
+ * {@code a==1}.
+ *
+ * <pre>{@code
+ * long key = NodeCanonicalizer.fingerprint(parser.parse("b==2;a<1"));  // the same as for "a=lt=1;b==2"
+ * }</pre>
+ *
+ * @since 2.5.0
+ */
+public final class NodeCanonicalizer {
+
+    private static final long AND_SEED = 0x2545F4914F6CDD1DL;
+    private static final long OR_SEED = 0x9E3779B97F4A7C15L;
+    private static final long COMPARISON_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long MULTIPLIER = 0x100000001B3L;
+
+    /**
+     * Orders the nodes by their fingerprints, and the nodes with the same fingerprint by their structure, so that
+     * even the equal trees with colliding fingerprints have the same order.
+     */
+    private static final Comparator<Entry> CANONICAL_ORDER = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry a, Entry b) {
+            int cmp = Long.compare(a.fingerprint, b.fingerprint);
+
+            return cmp != 0 ? cmp : NodeCanonicalizer.compare(a.node, b.node);
+        }
+    };
+
+    private NodeCanonicalizer() {
+    }
+
+    /**
+     * Returns the canonical form of the given AST. The operands of each logical node are sorted by their
+     * {@linkplain #fingerprint(Node) fingerprints}, and by their structure if the fingerprints are the same, and the
+     * arguments of {@code =in=} and {@code =out=} are sorted lexicographically. The unchanged subtrees are reused as
+     * they are. The tree is walked without recursion, so even a deeply nested AST can't cause
+     * {@link StackOverflowError}.
+     *
+     * @param node The root of the AST. Must not be {@code null}.
+     * @return the root of the canonical AST.
+     */
+    public static Node canonicalize(Node node) {
+        Assert.notNull(node, "node must not be null");
+        if (!(node instanceof LogicalNode)) {
+            return canonical(comparison(node)).node;
+        }
+
+        List<Frame> stack = new ArrayList<>();
+        Frame frame = new Frame((LogicalNode) node);
+        for (;;) {
+            if (frame.next < frame.children.size()) {
+                Node child = frame.children.get(frame.next);
+                if (child instanceof LogicalNode) {
+                    stack.add(frame);
+                    frame = new Frame((LogicalNode) child);
+                } else {
+                    frame.add(canonical(comparison(child)));
+                }
+                continue;
+            }
+
+            Entry result = frame.canonical();
+            if (stack.isEmpty()) {
+                return result.node;
+            }
+            frame = stack.remove(stack.size() - 1);
+            frame.add(result);
+        }
+    }
+
+    /**
+     * Returns the fingerprint of the canonical form of the given AST. It's computed in one pass over the AST, without
+     * creating the canonical form, and without recursion. It allocates only the arrays of the stack, whose size is
+     * the nesting depth of the AST, i.e. O(depth) memory and nothing per node.
+     *
+     * @param node The root of the AST. Must not be {@code null}.
+     * @return the 64-bit fingerprint.
+     */
+    public static long fingerprint(Node node) {
+        Assert.notNull(node, "node must not be null");
+        if (!(node instanceof LogicalNode)) {
+            return hash(comparison(node));
+        }
+
+        // the logical nodes on the path, the indexes of their next children and the sums of their children's
+        // fingerprints, so they don't depend on the order
+        LogicalNode[] nodes = new LogicalNode[16];
+        int[] next = new int[nodes.length];
+        long[] sums = new long[nodes.length];
+        int top = 0;
+        nodes[0] = (LogicalNode) node;
+
+        for (;;) {
+            List<Node> children = nodes[top].children();
+            if (next[top] < children.size()) {
+                Node child = children.get(next[top]++);
+                if (child instanceof LogicalNode) {
+                    if (++top == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, top * 2);
+                        next = Arrays.copyOf(next, top * 2);
+                        sums = Arrays.copyOf(sums, top * 2);
+                    }
+                    nodes[top] = (LogicalNode) child;
+                    next[top] = 0;
+                    sums[top] = 0;
+                } else {
+                    sums[top] += hash(comparison(child));
+                }
+                continue;
+            }
+
+            long result = logical(nodes[top].getOperator(), sums[top], children.size());
+            if (top == 0) {
+                return result;
+            }
+            sums[--top] += result;
+        }
+    }
+
+    private static ComparisonNode comparison(Node node) {
+        if (node instanceof ComparisonNode) {
+            return (ComparisonNode) node;
+        }
+
+        throw new IllegalArgumentException("Unsupported node: " + node.getClass().getName());
+    }
+
+    private static Entry canonical(ComparisonNode node) {
+        List<String> arguments = node.arguments();
+
+        Entry result = new Entry();
+        result.node = node;
+        if (isUnordered(node.getOperator()) && !isSorted(arguments)) {
+            String[] sorted = arguments.toArray(new String[arguments.size()]);
+            Arrays.sort(sorted);
+            result.node = node.withArguments(Arrays.asList(sorted));
+        }
+        result.fingerprint = hash(node);
+
+        return result;
+    }
+
+    /**
+     * Compares the canonical trees by their structure, i.e. by their nodes in pre-order, without recursion.
+     *
+     * @return zero if the trees are equal, a negative or positive number otherwise.
+     */
+    static int compare(Node a, Node b) {
+        List<Node> stack = new ArrayList<>();
+        stack.add(a);
+        stack.add(b);
+
+        while (!stack.isEmpty()) {
+            Node y = stack.remove(stack.size() - 1);
+            Node x = stack.remove(stack.size() - 1);
+            if (x == y) {
+                continue;
+            }
+
+            boolean logical = x instanceof LogicalNode;
+            if (logical != y instanceof LogicalNode) {
+                return logical ? 1 : -1;
+            }
+            int cmp = logical
+                ? compareWithoutChildren((LogicalNode) x, (LogicalNode) y)
+                : compareComparisons(comparison(x), comparison(y));
+            if (cmp != 0) {
+                return cmp;
+            }
+
+            if (logical) {
+                List<Node> xs = ((LogicalNode) x).children();
+                List<Node> ys = ((LogicalNode) y).children();
+                // in reverse, so the first children are compared first
+                for (int i = xs.size() - 1; i >= 0; i--) {
+                    stack.add(xs.get(i));
+                    stack.add(ys.get(i));
+                }
+            }
+        }
+
+        return 0;
+    }
+
+    private static int compareWithoutChildren(LogicalNode a, LogicalNode b) {
+        int cmp = a.getOperator().compareTo(b.getOperator());
+
+        return cmp != 0 ? cmp : Integer.compare(a.children().size(), b.children().size());
+    }
+
+    private static int compareComparisons(ComparisonNode a, ComparisonNode b) {
+        int cmp = a.getSelector().compareTo(b.getSelector());
+        if (cmp == 0) {
+            cmp = a.getOperator().getSymbol().compareTo(b.getOperator().getSymbol());
+        }
+        if (cmp == 0) {
+            cmp = Integer.compare(a.getArgumentCount(), b.getArgumentCount());
+        }
+
+        List<String> xs = a.arguments();
+        List<String> ys = b.arguments();
+        for (int i = 0, n = xs.size(); cmp == 0 && i < n; i++) {
+            cmp = xs.get(i).compareTo(ys.get(i));
+        }
+
+        return cmp;
+    }
+
+    private static long hash(ComparisonNode node) {
+        List<String> arguments = node.arguments();
+        int n = arguments.size();
+
+        long h = COMPARISON_SEED;
+        h = combine(h, hash(node.getSelector()));
+        h = combine(h, hash(node.getOperator().getSymbol()));
+        h = combine(h, n);
+        if (isUnordered(node.getOperator())) {
+            // the sum doesn't depend on the order of the arguments
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += mix(hash(arguments.get(i)));
+            }
+            h = combine(h, sum);
+        } else {
+            for (int i = 0; i < n; i++) {
+                h = combine(h, hash(arguments.get(i)));
+            }
+        }
+
+        return mix(h);
+    }
+
+    /**
+     * Returns the fingerprint of a logical node from the sum of its children's fingerprints, so it doesn't depend on
+     * their order.
+     */
+    private static long logical(LogicalOperator operator, long sum, int count) {
+        long h = operator == LogicalOperator.AND ? AND_SEED : OR_SEED;
+        h = combine(h, count);
+        h = combine(h, sum);
+
+        return mix(h);
+    }
+
+    /**
+     * The 64-bit FNV-1a hash of the UTF-16 code units, finalized by {@link #mix(long)}.
+     */
+    private static long hash(String str) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0, n = str.length(); i < n; i++) {
+            h = (h ^ str.charAt(i)) * MULTIPLIER;
+        }
+
+        return mix(h ^ str.length());
+    }
+
+    private static long combine(long h, long value) {
+        return (Long.rotateLeft(h, 27) ^ value) * OR_SEED;
+    }
+
+    /**
+     * The finalizer of MurmurHash3, so that close values, e.g. sums of few fingerprints, are spread over all bits.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+
+    private static boolean isUnordered(ComparisonOperator operator) {
+        return operator.equals(IN) || operator.equals(NOT_IN);
+    }
+
+    private static boolean isSorted(List<String> arguments) {
+        for (int i = 1, n = arguments.size(); i < n; i++) {
+            if (arguments.get(i - 1).compareTo(arguments.get(i)) > 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A canonical node with its fingerprint.
+     */
+    private static final class Entry {
+
+        Node node;
+        long fingerprint;
+    }
+
+    /**
+     * A logical node being canonicalized.
+     */
+    private static final class Frame {
+
+        final LogicalNode node;
+        final List<Node> children;
+
+        /**
+         * The canonical children.
+         */
+        final Entry[] entries;
+
+        /**
+         * The index of the next child.
+         */
+        int next;
+
+        /**
+         * The sum of the children's fingerprints, so it doesn't depend on their order.
+         */
+        long sum;
+
+        Frame(LogicalNode node) {
+            this.node = node;
+            this.children = node.children();
+            this.entries = new Entry[children.size()];
+        }
+
+        void add(Entry child) {
+            entries[next++] = child;
+            sum += child.fingerprint;
+        }
+
+        Entry canonical() {
+            int n = entries.length;
+            // a stable sort, so the order of equal nodes doesn't matter
+            Arrays.sort(entries, CANONICAL_ORDER);
+
+            boolean same = true;
+            Node[] sorted = new Node[n];
+            for (int i = 0; i < n; i++) {
+                sorted[i] = entries[i].node;
+                same &= sorted[i] == children.get(i);
+            }
+
+            Entry result = new Entry();
+            result.node = same ? node : node.withChildren(Arrays.asList(sorted));
+            result.fingerprint = logical(node.getOperator(), sum, n);
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A pool of canonical instances of structurally equal nodes. The nodes are held weakly, so a canonical node is
+ * dropped from the pool once it's no longer referenced elsewhere.
+ *
+ * <p>This class is thread safe. The pool is split into stripes by the hash code of the nodes, each with its own lock,
+ * so the threads interning different nodes, e.g. the chunks of a parallel parse, rarely contend.
+ */
+final class NodeInterner {
+
+    private static final int DEFAULT_STRIPES = 4 * Runtime.getRuntime().availableProcessors();
+
+    private final Map<Node, WeakReference<Node>>[] stripes;
+    private final int mask;
+
+    NodeInterner() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes The number of the stripes, rounded up to a power of two. Must be positive.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    NodeInterner(int stripes) {
+        Assert.isTrue(stripes > 0 && stripes <= 1 << 16, "stripes must be between 1 and 2^16");
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+
+        this.stripes = new Map[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * Returns the canonical instance equal to the given node, the given node itself if there is none yet.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Node> T intern(T node) {
+        Map<Node, WeakReference<Node>> canonical = stripe(node);
+
+        synchronized (canonical) {
+            WeakReference<Node> reference = canonical.get(node);
+            Node existing = reference != null ? reference.get() : null;
+
+            if (existing != null && existing.getClass() == node.getClass()) {
+                return (T) existing;
+            }
+            canonical.put(node, new WeakReference<Node>(node));
+        }
+
+        return node;
+    }
+
+    /**
+     * Returns the stripe of the given node, it's also the lock of the stripe.
+     */
+    Map<Node, WeakReference<Node>> stripe(Node node) {
+        int hash = node.hashCode();
+
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Rewrites an AST into a semantically equivalent one with fewer redundant comparisons, so it's cheaper to evaluate or
+ * translate, e.g. into SQL. The rewrites are done by {@linkplain OptimizationRule rules} applied to each logical group
+ * bottom-up, after its operands have been optimized.
+ *
+ * <p>Unchanged subtrees are reused as they are, so only the groups that have been rewritten and their ancestors are
+ * created anew. A group left with a single operand is replaced by the operand. The tree is walked without recursion,
+ * so even a deeply nested AST can't cause {@link StackOverflowError}.
+ *
+ * <pre>{@code
+ * Optional<Node> optimized = new NodeOptimizer(factory).optimize(parser.parse("(a==1,a==2);(b=gt=5;b=gt=7)"));
+ * // a=in=(1,2);b=gt=7
+ * }</pre>
+ *
+ * @since 2.5.0
+ */
+@Immutable
+public final class NodeOptimizer {
+
+    private final NodesFactory factory;
+    private final List<OptimizationRule> rules;
+
+    /**
+     * Creates an optimizer with the {@linkplain OptimizationRules#defaultRules() default rules} that creates new nodes
+     * with the given factory.
+     *
+     * @param factory The factory to create new nodes with, it should be the one the AST has been parsed with. Must
+     *                not be {@code null}.
+     */
+    public NodeOptimizer(NodesFactory factory) {
+        this(factory, OptimizationRules.defaultRules());
+    }
+
+    /**
+     * Creates an optimizer with the given rules.
+     *
+     * @param factory The factory to create new nodes with. Must not be {@code null}.
+     * @param rules   The rules in the order they are applied to each group. Must not be {@code null}.
+     */
+    public NodeOptimizer(NodesFactory factory, List<OptimizationRule> rules) {
+        Assert.notNull(factory, "factory must not be null");
+        Assert.notNull(rules, "rules must not be null");
+
+        this.factory = factory;
+        this.rules = Lists.copyOf(rules);
+        for (OptimizationRule rule : this.rules) {
+            Assert.notNull(rule, "rules must not contain null");
+        }
+    }
+
+    /**
+     * Returns the rules in the order they are applied to each group.
+     */
+    public List<OptimizationRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Returns a copy of this optimizer with the given rules.
+     *
+     * @param rules The rules in the order they are applied to each group. Must not be {@code null}.
+     * @return a copy of this optimizer with the given rules.
+     */
+    public NodeOptimizer withRules(List<OptimizationRule> rules) {
+        return new NodeOptimizer(factory, rules);
+    }
+
+    /**
+     * Optimizes the given AST.
+     *
+     * @param node The root of the AST. Must not be {@code null}.
+     * @return the root of the optimized AST, the given node itself if there is nothing to optimize, or empty if the
+     * AST matches nothing. A group that matches nothing is removed from a disjunction, and it makes the conjunction
+     * it's nested in match nothing.
+     */
+    public Optional<Node> optimize(Node node) {
+        Assert.notNull(node, "node must not be null");
+        if (!(node instanceof LogicalNode)) {
+            return Optional.of(node);
+        }
+
+        List<Frame> stack = new ArrayList<>();
+        Frame frame = new Frame((LogicalNode) node);
+        for (;;) {
+            if (frame.next < frame.children.size()) {
+                Node child = frame.children.get(frame.next);
+                if (child instanceof LogicalNode) {
+                    stack.add(frame);
+                    frame = new Frame((LogicalNode) child);
+                } else {
+                    frame.add(child);
+                }
+                continue;
+            }
+
+            Node result = frame.empty ? null : reduce(frame);
+            if (stack.isEmpty()) {
+                return Optional.ofNullable(result);
+            }
+            frame = stack.remove(stack.size() - 1);
+            frame.add(result);
+        }
+    }
+
+    /**
+     * Applies the rules to the optimized operands of the group.
+     *
+     * @return the optimized group, or {@code null} if it matches nothing.
+     */
+    private Node reduce(Frame frame) {
+        LogicalOperator operator = frame.node.getOperator();
+        List<Node> operands = frame.operands;
+
+        if (operator == LogicalOperator.OR && operands.isEmpty() && !frame.children.isEmpty()) {
+            // all the alternatives match nothing
+            return null;
+        }
+        for (OptimizationRule rule : rules) {
+            if (!rule.apply(operator, operands, factory)) {
+                return null;
+            }
+        }
+
+        if (operands.size() == 1) {
+            return operands.get(0);
+        }
+        if (sameNodes(operands, frame.children)) {
+            return frame.node;
+        }
+
+        return factory.createLogicalNode(operator, Lists.copyOf(operands));
+    }
+
+    private static boolean sameNodes(List<Node> a, List<Node> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A group being optimized.
+     */
+    private static final class Frame {
+
+        final LogicalNode node;
+        final List<Node> children;
+        final List<Node> operands;
+
+        /**
+         * The index of the next child to optimize.
+         */
+        int next;
+
+        /**
+         * Whether the group has been found to match nothing.
+         */
+        boolean empty;
+
+        Frame(LogicalNode node) {
+            this.node = node;
+            this.children = node.children();
+            this.operands = new ArrayList<>(children.size());
+        }
+
+        /**
+         * Adds the optimized child, or {@code null} if it matches nothing.
+         */
+        void add(Node child) {
+            next++;
+            if (child != null) {
+                operands.add(child);
+            } else if (node.getOperator() == LogicalOperator.AND) {
+                // the whole conjunction matches nothing, so the rest of it doesn't need to be optimized
+                empty = true;
+                next = children.size();
+            }
+        }
+    }
+}
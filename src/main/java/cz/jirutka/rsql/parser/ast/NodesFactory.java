@@ -27,7 +27,9 @@ package cz.jirutka.rsql.parser.ast;
 import static cz.jirutka.rsql.parser.ast.Assert.notEmpty;
 
 import cz.jirutka.rsql.parser.UnknownOperatorException;
+import cz.jirutka.rsql.parser.UnknownSelectorException;
 import java.util.Arrays;
+import java.util.Collections;
 import net.jcip.annotations.Immutable;
 
 import java.util.HashMap;
@@ -43,6 +45,32 @@ public class NodesFactory {
 
     private final Map<String, ComparisonOperator> comparisonOperators;
 
+    private final OperatorTrie operatorTrie;
+
+    /**
+     * The pool of canonical nodes, or {@code null} if hash-consing is disabled.
+     */
+    private final NodeInterner interner;
+
+    /**
+     * The pool of selectors, or {@code null} if they are not interned.
+     */
+    private final StringPool selectorPool;
+
+    /**
+     * The pool of arguments, or {@code null} if they are not interned.
+     */
+    private final StringPool argumentPool;
+
+    /**
+     * The types of the arguments by selector.
+     */
+    private final Map<String, ArgumentType<?>> argumentTypes;
+
+    /**
+     * The allowed selectors, or {@code null} if any selector is allowed.
+     */
+    private final SelectorSchema selectorSchema;
 
     /**
      * Creates a new instance of {@code NodesFactory} with given supported operators.
@@ -69,6 +97,174 @@ public class NodesFactory {
                 }
             }
         }
+        operatorTrie = new OperatorTrie(comparisonOperators);
+        interner = null;
+        selectorPool = null;
+        argumentPool = null;
+        argumentTypes = Collections.emptyMap();
+        selectorSchema = null;
+    }
+
+    private NodesFactory(NodesFactory factory, NodeInterner interner, StringPool selectorPool,
+        StringPool argumentPool, Map<String, ArgumentType<?>> argumentTypes, SelectorSchema selectorSchema) {
+        this.comparisonOperators = factory.comparisonOperators;
+        this.operatorTrie = factory.operatorTrie;
+        this.interner = interner;
+        this.selectorPool = selectorPool;
+        this.argumentPool = argumentPool;
+        this.argumentTypes = argumentTypes;
+        this.selectorSchema = selectorSchema;
+    }
+
+    /**
+     * Returns a copy of this factory that returns canonical shared instances of structurally equal nodes, i.e. the
+     * same node for each occurrence of an equal comparison or subtree, within a query as well as across queries. This
+     * saves memory when many parsed queries with repeated subexpressions are retained, e.g. in a cache, and makes
+     * comparing such nodes by {@code equals} mostly an identity check. The canonical nodes are held weakly, so they
+     * don't outlive their last use.
+     *
+     * <p>Note that the returned factory is always a {@code NodesFactory}, not a subclass.
+     *
+     * @param enabled Whether to return canonical instances of the nodes.
+     * @return a copy of this factory with hash-consing enabled or disabled.
+     * @since 2.5.0
+     */
+    public NodesFactory withHashConsing(boolean enabled) {
+        if (enabled == (interner != null)) {
+            return this;
+        }
+
+        return new NodesFactory(this, enabled ? new NodeInterner() : null, selectorPool, argumentPool, argumentTypes, selectorSchema);
+    }
+
+    /**
+     * Returns whether this factory returns canonical instances of structurally equal nodes.
+     *
+     * @since 2.5.0
+     */
+    public boolean isHashConsing() {
+        return interner != null;
+    }
+
+    /**
+     * Returns a copy of this factory that replaces the selectors of the created comparison nodes with their canonical
+     * instances from the given pool. Selectors come from a small vocabulary, so the nodes of all queries then share
+     * a few strings, and comparing them, e.g. in a {@code switch}, mostly ends at the identity check. The parser looks
+     * the selectors up directly from the query, so it doesn't allocate a string for a selector that is already pooled.
+     * The pool may be shared by any number of factories.
+     *
+     * <p>Note that the returned factory is always a {@code NodesFactory}, not a subclass.
+     *
+     * @param pool The pool of selectors, or {@code null} to not intern them.
+     * @return a copy of this factory that interns selectors in the given pool.
+     * @since 2.5.0
+     */
+    public NodesFactory withSelectorPool(StringPool pool) {
+        return pool == selectorPool ? this : new NodesFactory(this, interner, pool, argumentPool, argumentTypes, selectorSchema);
+    }
+
+    /**
+     * Returns a copy of this factory that replaces the arguments of the created comparison nodes with their canonical
+     * instances from the given pool, in the same way as {@link #withSelectorPool(StringPool)} does for selectors. Only
+     * the arguments not longer than the pool's {@linkplain StringPool#maxLength() maximum length} are interned, so
+     * the pool keeps common short values like {@code true} or {@code ACTIVE}, not every unique value. Arguments
+     * parsed as {@linkplain ArgumentView lazy views} are not interned, so they are not materialized.
+     *
+     * <p>Note that the returned factory is always a {@code NodesFactory}, not a subclass.
+     *
+     * @param pool The pool of arguments, or {@code null} to not intern them.
+     * @return a copy of this factory that interns short arguments in the given pool.
+     * @since 2.5.0
+     */
+    public NodesFactory withArgumentPool(StringPool pool) {
+        return pool == argumentPool ? this : new NodesFactory(this, interner, selectorPool, pool, argumentTypes, selectorSchema);
+    }
+
+    /**
+     * Returns the pool the selectors are interned in, or {@code null} if they are not interned.
+     *
+     * @since 2.5.0
+     */
+    public StringPool getSelectorPool() {
+        return selectorPool;
+    }
+
+    /**
+     * Returns the pool the short arguments are interned in, or {@code null} if they are not interned.
+     *
+     * @since 2.5.0
+     */
+    public StringPool getArgumentPool() {
+        return argumentPool;
+    }
+
+    /**
+     * Returns a copy of this factory that converts the arguments of the given selector to the given type when it
+     * creates a comparison node, so they are converted once while the query is parsed. An argument that can't be
+     * converted is reported by {@link cz.jirutka.rsql.parser.ArgumentConversionException}, the parser reports it as
+     * the cause of {@link cz.jirutka.rsql.parser.RSQLParserException} with the offset of the argument. The converted
+     * arguments are accessible by the typed getters of {@link ComparisonNode}, e.g.
+     * {@link ComparisonNode#getLongArgument(int)}.
+     *
+     * <p>Note that the returned factory is always a {@code NodesFactory}, not a subclass.
+     *
+     * @param selector The selector. Must not be {@code null}.
+     * @param type     The type to convert the selector's arguments to, or {@code null} to not convert them.
+     * @return a copy of this factory that converts the arguments of the selector.
+     * @since 2.5.0
+     */
+    public NodesFactory withArgumentType(String selector, ArgumentType<?> type) {
+        Assert.notNull(selector, "selector must not be null");
+        if (argumentTypes.get(selector) == type) {
+            return this;
+        }
+
+        Map<String, ArgumentType<?>> types = new HashMap<>(argumentTypes);
+        if (type != null) {
+            types.put(selector, type);
+        } else {
+            types.remove(selector);
+        }
+
+        return new NodesFactory(this, interner, selectorPool, argumentPool, Collections.unmodifiableMap(types), selectorSchema);
+    }
+
+    /**
+     * Returns a copy of this factory that allows only the selectors in the given schema. The parser looks the selectors
+     * up in the schema directly from the query and rejects an unknown one at its offset, by
+     * {@link cz.jirutka.rsql.parser.UnknownSelectorException} as the cause of
+     * {@link cz.jirutka.rsql.parser.RSQLParserException}, or by {@link cz.jirutka.rsql.parser.RSQLSyntaxException} in
+     * the fast-fail mode. The created comparison nodes carry the {@linkplain ComparisonNode#getSelectorId() id} of
+     * their selector, and share the selector strings of the schema, so a selector pool is not needed.
+     *
+     * <p>Note that the returned factory is always a {@code NodesFactory}, not a subclass.
+     *
+     * @param schema The allowed selectors, or {@code null} to allow any selector.
+     * @return a copy of this factory that allows only the selectors in the schema.
+     * @since 2.5.0
+     */
+    public NodesFactory withSelectorSchema(SelectorSchema schema) {
+        return schema == selectorSchema
+            ? this
+            : new NodesFactory(this, interner, selectorPool, argumentPool, argumentTypes, schema);
+    }
+
+    /**
+     * Returns the allowed selectors, or {@code null} if any selector is allowed.
+     *
+     * @since 2.5.0
+     */
+    public SelectorSchema getSelectorSchema() {
+        return selectorSchema;
+    }
+
+    /**
+     * Returns the type the arguments of the given selector are converted to, or {@code null} if they are not.
+     *
+     * @since 2.5.0
+     */
+    public ArgumentType<?> getArgumentType(String selector) {
+        return argumentTypes.get(selector);
     }
 
     /**
@@ -81,9 +277,9 @@ public class NodesFactory {
     public LogicalNode createLogicalNode(LogicalOperator operator, List<Node> children) {
         switch (operator) {
             case AND:
-                return new AndNode(children);
+                return canonical(new AndNode(children));
             case OR:
-                return new OrNode(children);
+                return canonical(new OrNode(children));
 
             // this normally can't happen
             default:
@@ -106,12 +302,41 @@ public class NodesFactory {
 
         ComparisonOperator op = comparisonOperators.get(operatorToken);
         if (op != null) {
-            return new ComparisonNode(op, selector, arguments);
+            return canonical(comparisonNode(op, selector, Lists.copyOf(arguments)));
         } else {
             throw new UnknownOperatorException(operatorToken);
         }
     }
 
+    /**
+     * Returns the supported comparison operator with the given symbol.
+     *
+     * @param operatorToken A textual representation of the comparison operator to be found in the set of supported
+     *                      {@linkplain ComparisonOperator operators}.
+     * @return the comparison operator with the given symbol.
+     * @throws UnknownOperatorException If no operator for the specified operator token exists.
+     * @since 2.5.0
+     */
+    public ComparisonOperator getComparisonOperator(String operatorToken) throws UnknownOperatorException {
+        ComparisonOperator op = comparisonOperators.get(operatorToken);
+        if (op != null) {
+            return op;
+        } else {
+            throw new UnknownOperatorException(operatorToken);
+        }
+    }
+
+    /**
+     * Returns the symbols of the supported operators compiled into a trie, so the parser can resolve operators directly
+     * from the input.
+     *
+     * @return the trie of the supported operators.
+     * @since 2.5.0
+     */
+    public OperatorTrie getOperatorTrie() {
+        return operatorTrie;
+    }
+
     /**
      * Invoked from {@code  cz.jirutka.rsql.parser.NodesFactoryAccess#create(NodesFactory, LogicalOperator, List)} via
      * method handle.
@@ -120,9 +345,9 @@ public class NodesFactory {
     LogicalNode logicalNodeTrusted(LogicalOperator operator, List<Node> children) {
         switch (operator) {
             case AND:
-                return new AndNode(children, true);
+                return canonical(new AndNode(children, true));
             case OR:
-                return new OrNode(children, true);
+                return canonical(new OrNode(children, true));
 
             // this normally can't happen
             default:
@@ -139,9 +364,67 @@ public class NodesFactory {
         throws UnknownOperatorException {
         ComparisonOperator op = comparisonOperators.get(operatorToken);
         if (op != null) {
-            return new ComparisonNode(op, selector, arguments, true);
+            return canonical(comparisonNode(op, selector, arguments));
         } else {
             throw new UnknownOperatorException(operatorToken);
         }
     }
+
+    /**
+     * Invoked from
+     * {@code  cz.jirutka.rsql.parser.NodesFactoryAccess#create(NodesFactory, ComparisonOperator, String, List)} via
+     * method handle.
+     */
+    @SuppressWarnings("unused")
+    ComparisonNode comparisonNodeTrusted(ComparisonOperator operator, String selector, List<String> arguments) {
+        return canonical(comparisonNode(operator, selector, arguments));
+    }
+
+    private ComparisonNode comparisonNode(ComparisonOperator operator, String selector, List<String> arguments) {
+        ArgumentType<?> type = argumentTypes.isEmpty() ? null : argumentTypes.get(selector);
+        if (selectorSchema == null) {
+            return new ComparisonNode(operator, intern(selector), intern(arguments), type, SelectorSchema.UNKNOWN);
+        }
+
+        int id = selectorSchema.getId(selector);
+        if (id == SelectorSchema.UNKNOWN) {
+            throw new UnknownSelectorException(selector);
+        }
+
+        return new ComparisonNode(operator, selectorSchema.getSelector(id), intern(arguments), type, id);
+    }
+
+    private String intern(String selector) {
+        return selectorPool != null ? selectorPool.intern(selector) : selector;
+    }
+
+    /**
+     * Returns the arguments with the pooled ones replaced by their canonical instances, the same list if there is
+     * nothing to replace.
+     */
+    private List<String> intern(List<String> arguments) {
+        if (argumentPool == null || arguments == null || ArgumentView.isViewList(arguments)) {
+            return arguments;
+        }
+
+        String[] interned = null;
+        int i = 0;
+        for (String argument : arguments) {
+            String canonical = argumentPool.intern(argument);
+
+            if (canonical != argument && interned == null) {
+                interned = arguments.toArray(new String[arguments.size()]);
+            }
+            if (interned != null) {
+                interned[i] = canonical;
+            }
+            i++;
+        }
+
+        return interned != null ? Arrays.asList(interned) : arguments;
+    }
+
+    private <T extends Node> T canonical(T node) {
+        return interner != null ? interner.intern(node) : node;
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.util.Arrays;
+import java.util.Map;
+import net.jcip.annotations.Immutable;
+
+/**
+ * The symbols of the supported comparison operators compiled into a trie, so an operator can be resolved character
+ * by character directly from the input, without creating a string of its symbol and looking it up in a map.
+ *
+ * <p>A symbol is matched by starting at the {@link #START} state and moving to the {@linkplain #next(int, int) next}
+ * state for each of its characters. The {@linkplain #operator(int) operator} of the final state is the operator with
+ * that symbol, if any.
+ *
+ * @see NodesFactory#getOperatorTrie()
+ * @since 2.5.0
+ */
+@Immutable
+public final class OperatorTrie {
+
+    /**
+     * The state before the first character of a symbol.
+     */
+    public static final int START = 0;
+
+    /**
+     * The state after a character that doesn't continue any symbol. All its next states are {@code NONE} as well.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The index of each ASCII character in the rows of {@link #transitions} plus one, or zero if the character is not
+     * in any symbol. All the symbols consist only of ASCII characters.
+     */
+    private final byte[] columns = new byte[128];
+
+    private final int stride;
+
+    /**
+     * The next state for each state and column, zero if none. The {@link #START} state is never a next state.
+     */
+    private final int[] transitions;
+
+    private final ComparisonOperator[] operators;
+
+    OperatorTrie(Map<String, ComparisonOperator> operators) {
+        int stride = 0;
+        int capacity = 1;
+        for (String symbol : operators.keySet()) {
+            capacity += symbol.length();
+            for (int i = 0; i < symbol.length(); i++) {
+                if (columns[symbol.charAt(i)] == 0) {
+                    columns[symbol.charAt(i)] = (byte) ++stride;
+                }
+            }
+        }
+
+        int[] transitions = new int[capacity * stride];
+        ComparisonOperator[] accepted = new ComparisonOperator[capacity];
+        int states = 1;
+        for (Map.Entry<String, ComparisonOperator> entry : operators.entrySet()) {
+            String symbol = entry.getKey();
+            int state = START;
+            for (int i = 0; i < symbol.length(); i++) {
+                int index = state * stride + columns[symbol.charAt(i)] - 1;
+                if (transitions[index] == 0) {
+                    transitions[index] = states++;
+                }
+                state = transitions[index];
+            }
+            accepted[state] = entry.getValue();
+        }
+
+        this.stride = stride;
+        this.transitions = Arrays.copyOf(transitions, states * stride);
+        this.operators = Arrays.copyOf(accepted, states);
+    }
+
+    /**
+     * Returns the state after the given character.
+     *
+     * @param state The current state.
+     * @param c     The next character of the symbol.
+     * @return the next state, or {@link #NONE} if no symbol continues with the character.
+     */
+    public int next(int state, int c) {
+        if (state == NONE || c < 0 || c >= columns.length || columns[c] == 0) {
+            return NONE;
+        }
+        int next = transitions[state * stride + columns[c] - 1];
+
+        return next == 0 ? NONE : next;
+    }
+
+    /**
+     * Returns the operator of the symbol matched up to the given state.
+     *
+     * @param state The state after the last character of the symbol.
+     * @return the operator, or {@code null} if no operator has such symbol.
+     */
+    public ComparisonOperator operator(int state) {
+        return state == NONE ? null : operators[state];
+    }
+
+    /**
+     * Returns the operator with the given symbol.
+     *
+     * @param symbol The symbol of the operator.
+     * @return the operator, or {@code null} if no operator has such symbol.
+     */
+    public ComparisonOperator find(CharSequence symbol) {
+        int state = START;
+        for (int i = 0; i < symbol.length() && state != NONE; i++) {
+            state = next(state, symbol.charAt(i));
+        }
+
+        return operator(state);
+    }
+}
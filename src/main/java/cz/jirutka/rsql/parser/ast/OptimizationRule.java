@@ -0,0 +1,47 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.util.List;
+
+/**
+ * A rewrite of the operands of a logical group applied by the {@link NodeOptimizer}. The rule must preserve the
+ * meaning of the group, i.e. the rewritten group must match exactly the same items as the original one.
+ *
+ * @see OptimizationRules
+ * @since 2.5.0
+ */
+public interface OptimizationRule {
+
+    /**
+     * Rewrites the operands of a logical group in place. The operands are already optimized, so they don't contain
+     * a group that matches nothing.
+     *
+     * @param operator The operator of the group.
+     * @param operands The operands of the group, a mutable list the rule may modify.
+     * @param factory  The factory to create new nodes with.
+     * @return {@code false} if the group matches nothing, {@code true} otherwise.
+     */
+    boolean apply(LogicalOperator operator, List<Node> operands, NodesFactory factory);
+}
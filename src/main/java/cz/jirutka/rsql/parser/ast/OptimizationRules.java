@@ -0,0 +1,714 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import static cz.jirutka.rsql.parser.ast.LogicalOperator.AND;
+import static cz.jirutka.rsql.parser.ast.LogicalOperator.OR;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.EQUAL;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.GREATER_THAN;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.GREATER_THAN_OR_EQUAL;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.IN;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.IS_NULL;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.LESS_THAN;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.LESS_THAN_OR_EQUAL;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.NOT_EQUAL;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.NOT_IN;
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.NOT_NULL;
+
+import cz.jirutka.rsql.parser.UnknownOperatorException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The built-in {@linkplain OptimizationRule optimization rules}. The operators are recognized by their symbols, i.e.
+ * as the operators from {@link RSQLOperators}, and the rules assume their usual meaning:
+ *
+ * <ul>
+ *     <li>{@code ==}, {@code !=}, {@code =in=} and {@code =out=} compare the values exactly. An argument with
+ *     {@code *} may be a wildcard pattern, so a comparison with such an argument is never rewritten.</li>
+ *     <li>{@code =gt=}, {@code =ge=}, {@code =lt=} and {@code =le=} compare the values by their type. The rules
+ *     reason about them only if the selector has a numeric {@linkplain ArgumentType type}, see
+ *     {@link NodesFactory#withArgumentType(String, ArgumentType)}, and compare the converted numbers. The ordering of
+ *     a selector without a type is unknown, e.g. {@code "10"} is less than {@code "9"} as a string, so its range
+ *     comparisons are left as they are.</li>
+ * </ul>
+ *
+ * @since 2.5.0
+ */
+public final class OptimizationRules {
+
+    /**
+     * Replaces a nested group with the same operator as its parent with the group's operands, e.g.
+     * {@code a==1;(b==2;c==3)} with {@code a==1;b==2;c==3}.
+     */
+    public static final OptimizationRule FLATTEN = new Flatten();
+
+    /**
+     * Removes the repeated operands of a group, e.g. {@code a==1;b==2;a==1} to {@code a==1;b==2}.
+     */
+    public static final OptimizationRule DEDUPLICATE = new Deduplicate();
+
+    /**
+     * Merges the equalities of the same selector in a disjunction into {@code =in=}, e.g. {@code a==1,a=in=(2,3)} into
+     * {@code a=in=(1,2,3)}, and the inequalities of the same selector in a conjunction into {@code =out=}, e.g.
+     * {@code a!=1;a!=2} into {@code a=out=(1,2)}. The merged comparison takes the place of the first one. The
+     * comparisons are merged only if the factory supports the target operator.
+     */
+    public static final OptimizationRule MERGE_EQUALITIES = new MergeEqualities();
+
+    /**
+     * Removes the looser of the lower, or upper, bounds of the same selector with a numeric type in a conjunction,
+     * e.g. {@code a=gt=5;a=ge=7} to {@code a=ge=7}.
+     */
+    public static final OptimizationRule TIGHTEN_RANGES = new TightenRanges();
+
+    /**
+     * Reports a conjunction that can't match anything, e.g. {@code a==1;a==2}, {@code a=in=(1,2);a=out=(1,2)},
+     * {@code a=gt=7;a=lt=5} or {@code a=null=;a=notnull=}. The values of a selector with a type are compared as the
+     * converted values. The values of a selector without a type are considered different only if they differ both as
+     * strings and as numbers, and its range comparisons are ignored.
+     */
+    public static final OptimizationRule DETECT_CONTRADICTIONS = new DetectContradictions();
+
+    private OptimizationRules() {
+    }
+
+    /**
+     * Returns all the built-in rules in the order they are applied by default.
+     */
+    public static List<OptimizationRule> defaultRules() {
+        return Collections.unmodifiableList(Arrays.asList(
+            FLATTEN, DEDUPLICATE, MERGE_EQUALITIES, TIGHTEN_RANGES, DETECT_CONTRADICTIONS));
+    }
+
+    private static ComparisonNode comparison(Node node) {
+        return node instanceof ComparisonNode ? (ComparisonNode) node : null;
+    }
+
+    private static boolean hasWildcard(List<String> arguments) {
+        for (String argument : arguments) {
+            if (argument.indexOf('*') >= 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the argument as a number if it's a decimal number, {@code null} otherwise.
+     */
+    static BigDecimal number(String str) {
+        int i = 0;
+        int n = str.length();
+        if (i < n && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        for (; i < n && isDigit(str.charAt(i)); i++) {
+            digits++;
+        }
+        if (i < n && str.charAt(i) == '.') {
+            for (i++; i < n && isDigit(str.charAt(i)); i++) {
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        if (i < n && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+            i++;
+            if (i < n && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+                i++;
+            }
+            int start = i;
+            while (i < n && isDigit(str.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return null;
+            }
+        }
+        if (i != n) {
+            return null;
+        }
+
+        try {
+            return new BigDecimal(str);
+        } catch (NumberFormatException ex) {
+            // the exponent is out of range
+            return null;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns whether the values differ both as strings and as numbers.
+     */
+    private static boolean different(String a, String b) {
+        if (a.equals(b)) {
+            return false;
+        }
+        BigDecimal x = number(a);
+        BigDecimal y = number(b);
+
+        return x == null || y == null || x.compareTo(y) != 0;
+    }
+
+    /**
+     * Returns whether the {@linkplain #values(ComparisonNode, NodesFactory) values} are known to be different.
+     */
+    private static boolean different(Object a, Object b) {
+        if (a instanceof String && b instanceof String) {
+            return different((String) a, (String) b);
+        }
+        if (a instanceof BigDecimal && b instanceof BigDecimal) {
+            return ((BigDecimal) a).compareTo((BigDecimal) b) != 0;
+        }
+
+        // values of different types can't be compared
+        return a.getClass() == b.getClass() && !a.equals(b);
+    }
+
+    /**
+     * Returns the arguments converted by the type of the selector, the numbers as {@link BigDecimal}, or the
+     * arguments themselves if the selector has no type.
+     */
+    private static List<?> values(ComparisonNode node, NodesFactory factory) {
+        ArgumentType<?> type = node.getArgumentType();
+        if (type != null) {
+            return decimals(node.getTypedArguments(type));
+        }
+        type = factory.getArgumentType(node.getSelector());
+        if (type == null) {
+            return node.arguments();
+        }
+
+        List<Object> values = new ArrayList<>(node.getArgumentCount());
+        for (String argument : node.arguments()) {
+            Object value;
+            try {
+                value = type.convert(argument);
+            } catch (RuntimeException ex) {
+                value = null;
+            }
+            if (value == null) {
+                // the factory would reject the node, so don't reason about it
+                return node.arguments();
+            }
+            values.add(value);
+        }
+
+        return decimals(values);
+    }
+
+    private static List<?> decimals(List<?> values) {
+        List<Object> result = new ArrayList<>(values.size());
+        for (Object value : values) {
+            BigDecimal decimal = decimal(value);
+            result.add(decimal != null ? decimal : value);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the converted argument as an exact decimal, or {@code null} if it's not a finite number.
+     */
+    private static BigDecimal decimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            return Double.isNaN(d) || Double.isInfinite(d) ? null : new BigDecimal(d);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns {@code 1} for a lower bound operator, {@code -1} for an upper bound operator, {@code 0} otherwise.
+     */
+    private static int side(ComparisonOperator operator) {
+        if (operator.equals(GREATER_THAN) || operator.equals(GREATER_THAN_OR_EQUAL)) {
+            return 1;
+        }
+        if (operator.equals(LESS_THAN) || operator.equals(LESS_THAN_OR_EQUAL)) {
+            return -1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns the numeric bound of the range comparison, or {@code null} if it's not a range comparison of a selector
+     * with a numeric type.
+     */
+    private static BigDecimal bound(ComparisonNode node, NodesFactory factory) {
+        if (side(node.getOperator()) == 0 || node.getArgumentCount() != 1) {
+            return null;
+        }
+        Object value = values(node, factory).get(0);
+
+        return value instanceof BigDecimal ? (BigDecimal) value : null;
+    }
+
+    private static boolean inclusive(ComparisonOperator operator) {
+        return operator.equals(GREATER_THAN_OR_EQUAL) || operator.equals(LESS_THAN_OR_EQUAL);
+    }
+
+    private static void truncate(List<Node> operands, int size) {
+        if (size < operands.size()) {
+            operands.subList(size, operands.size()).clear();
+        }
+    }
+
+    private static final class Flatten implements OptimizationRule {
+
+        @Override
+        public boolean apply(LogicalOperator operator, List<Node> operands, NodesFactory factory) {
+            for (int i = 0; i < operands.size(); i++) {
+                Node operand = operands.get(i);
+
+                if (operand instanceof LogicalNode && ((LogicalNode) operand).getOperator() == operator) {
+                    List<Node> children = ((LogicalNode) operand).children();
+                    operands.remove(i);
+                    operands.addAll(i, children);
+                    i += children.size() - 1;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "FLATTEN";
+        }
+    }
+
+    private static final class Deduplicate implements OptimizationRule {
+
+        @Override
+        public boolean apply(LogicalOperator operator, List<Node> operands, NodesFactory factory) {
+            int n = operands.size();
+            if (n < 2) {
+                return true;
+            }
+
+            // the nodes cache their hash codes, so this doesn't walk the subtrees
+            Set<Node> seen = new HashSet<>(n * 2);
+            int size = 0;
+            for (int i = 0; i < n; i++) {
+                Node operand = operands.get(i);
+                if (seen.add(operand)) {
+                    operands.set(size++, operand);
+                }
+            }
+            truncate(operands, size);
+
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "DEDUPLICATE";
+        }
+    }
+
+    private static final class MergeEqualities implements OptimizationRule {
+
+        @Override
+        public boolean apply(LogicalOperator operator, List<Node> operands, NodesFactory factory) {
+            ComparisonOperator single = operator == OR ? EQUAL : NOT_EQUAL;
+            ComparisonOperator multi = operator == OR ? IN : NOT_IN;
+
+            Map<String, Merge> merges = null;
+            boolean merged = false;
+            for (int i = 0; i < operands.size(); i++) {
+                ComparisonNode node = mergeable(operands.get(i), single, multi);
+                if (node == null) {
+                    continue;
+                }
+                if (merges == null) {
+                    merges = new HashMap<>();
+                }
+
+                Merge merge = merges.get(node.getSelector());
+                if (merge == null) {
+                    merges.put(node.getSelector(), new Merge(i, node));
+                } else {
+                    merge.add(node);
+                    merged = true;
+                }
+            }
+            if (!merged || !supports(factory, multi)) {
+                return true;
+            }
+
+            int size = 0;
+            for (int i = 0; i < operands.size(); i++) {
+                Node operand = operands.get(i);
+                ComparisonNode node = mergeable(operand, single, multi);
+                Merge merge = node != null ? merges.get(node.getSelector()) : null;
+
+                if (merge != null && merge.values != null) {
+                    if (merge.index != i) {
+                        continue;
+                    }
+                    operand = create(factory, multi, node.getSelector(), new ArrayList<>(merge.values));
+                }
+                operands.set(size++, operand);
+            }
+            truncate(operands, size);
+
+            return true;
+        }
+
+        private static ComparisonNode mergeable(Node operand, ComparisonOperator single, ComparisonOperator multi) {
+            ComparisonNode node = comparison(operand);
+            if (node == null || !(node.getOperator().equals(single) || node.getOperator().equals(multi))) {
+                return null;
+            }
+
+            return hasWildcard(node.arguments()) ? null : node;
+        }
+
+        private static boolean supports(NodesFactory factory, ComparisonOperator operator) {
+            try {
+                return factory.getComparisonOperator(operator.getSymbol()).equals(operator);
+            } catch (UnknownOperatorException ex) {
+                return false;
+            }
+        }
+
+        private static ComparisonNode create(
+            NodesFactory factory, ComparisonOperator operator, String selector, List<String> arguments) {
+            try {
+                return factory.createComparisonNode(operator.getSymbol(), selector, arguments);
+            } catch (UnknownOperatorException ex) {
+                // the operator has been checked to be supported
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "MERGE_EQUALITIES";
+        }
+
+        private static final class Merge {
+
+            final int index;
+            final ComparisonNode first;
+
+            /**
+             * The values of all the merged comparisons, or {@code null} if there is only the first one.
+             */
+            Set<String> values;
+
+            Merge(int index, ComparisonNode first) {
+                this.index = index;
+                this.first = first;
+            }
+
+            void add(ComparisonNode node) {
+                if (values == null) {
+                    values = new LinkedHashSet<>(first.arguments());
+                }
+                values.addAll(node.arguments());
+            }
+        }
+    }
+
+    private static final class TightenRanges implements OptimizationRule {
+
+        @Override
+        public boolean apply(LogicalOperator operator, List<Node> operands, NodesFactory factory) {
+            int n = operands.size();
+            if (operator != AND || n < 2) {
+                return true;
+            }
+
+            Map<String, Bound> lower = null;
+            Map<String, Bound> upper = null;
+            boolean[] dropped = null;
+            for (int i = 0; i < n; i++) {
+                ComparisonNode node = comparison(operands.get(i));
+                BigDecimal value = node != null ? bound(node, factory) : null;
+                if (value == null) {
+                    continue;
+                }
+
+                int side = side(node.getOperator());
+                Map<String, Bound> bounds;
+                if (side > 0) {
+                    bounds = lower != null ? lower : (lower = new HashMap<>());
+                } else {
+                    bounds = upper != null ? upper : (upper = new HashMap<>());
+                }
+                boolean inclusive = inclusive(node.getOperator());
+
+                Bound best = bounds.get(node.getSelector());
+                if (best == null) {
+                    bounds.put(node.getSelector(), new Bound(i, value, inclusive));
+                    continue;
+                }
+                if (dropped == null) {
+                    dropped = new boolean[n];
+                }
+                int cmp = value.compareTo(best.value) * side;
+                if (cmp > 0 || cmp == 0 && !inclusive && best.inclusive) {
+                    dropped[best.index] = true;
+                    best.index = i;
+                    best.value = value;
+                    best.inclusive = inclusive;
+                } else {
+                    dropped[i] = true;
+                }
+            }
+            if (dropped == null) {
+                return true;
+            }
+
+            int size = 0;
+            for (int i = 0; i < n; i++) {
+                if (!dropped[i]) {
+                    operands.set(size++, operands.get(i));
+                }
+            }
+            truncate(operands, size);
+
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "TIGHTEN_RANGES";
+        }
+
+        private static final class Bound {
+
+            int index;
+            BigDecimal value;
+            boolean inclusive;
+
+            Bound(int index, BigDecimal value, boolean inclusive) {
+                this.index = index;
+                this.value = value;
+                this.inclusive = inclusive;
+            }
+        }
+    }
+
+    private static final class DetectContradictions implements OptimizationRule {
+
+        @Override
+        public boolean apply(LogicalOperator operator, List<Node> operands, NodesFactory factory) {
+            if (operator != AND || operands.size() < 2) {
+                return true;
+            }
+
+            Map<String, Constraint> constraints = null;
+            for (Node operand : operands) {
+                ComparisonNode node = comparison(operand);
+                if (node == null) {
+                    continue;
+                }
+                if (constraints == null) {
+                    constraints = new HashMap<>();
+                }
+                Constraint constraint = constraints.get(node.getSelector());
+                if (constraint == null) {
+                    constraint = new Constraint();
+                    constraints.put(node.getSelector(), constraint);
+                }
+                constraint.add(node, factory);
+            }
+            if (constraints == null) {
+                return true;
+            }
+
+            for (Constraint constraint : constraints.values()) {
+                if (constraint.contradictory()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "DETECT_CONTRADICTIONS";
+        }
+
+        /**
+         * What a conjunction requires of a single selector.
+         */
+        private static final class Constraint {
+
+            /**
+             * The values the selector may be equal to, or {@code null} if it's not restricted.
+             */
+            List<Object> allowed;
+            Set<Object> excluded;
+
+            BigDecimal lower;
+            boolean lowerInclusive;
+            BigDecimal upper;
+            boolean upperInclusive;
+
+            boolean isNull;
+            boolean notNull;
+
+            void add(ComparisonNode node, NodesFactory factory) {
+                ComparisonOperator operator = node.getOperator();
+
+                if (operator.equals(EQUAL) || operator.equals(IN)) {
+                    if (!hasWildcard(node.arguments())) {
+                        List<?> values = values(node, factory);
+                        allowed = allowed == null ? new ArrayList<>(values) : intersect(allowed, values);
+                    }
+                } else if (operator.equals(NOT_EQUAL) || operator.equals(NOT_IN)) {
+                    if (!hasWildcard(node.arguments())) {
+                        if (excluded == null) {
+                            excluded = new HashSet<>();
+                        }
+                        excluded.addAll(values(node, factory));
+                    }
+                } else if (operator.equals(IS_NULL)) {
+                    isNull = true;
+                } else if (operator.equals(NOT_NULL)) {
+                    notNull = true;
+                } else {
+                    BigDecimal value = bound(node, factory);
+                    if (value != null) {
+                        addBound(value, side(operator), inclusive(operator));
+                    }
+                }
+            }
+
+            private void addBound(BigDecimal value, int side, boolean inclusive) {
+                if (side > 0) {
+                    int cmp = lower == null ? 1 : value.compareTo(lower);
+                    if (cmp > 0 || cmp == 0 && !inclusive) {
+                        lower = value;
+                        lowerInclusive = inclusive;
+                    }
+                } else {
+                    int cmp = upper == null ? -1 : value.compareTo(upper);
+                    if (cmp < 0 || cmp == 0 && !inclusive) {
+                        upper = value;
+                        upperInclusive = inclusive;
+                    }
+                }
+            }
+
+            /**
+             * Returns the values that may be equal to some of the others.
+             */
+            private static List<Object> intersect(List<Object> values, List<?> others) {
+                List<Object> result = new ArrayList<>(values.size());
+                for (Object value : values) {
+                    for (Object other : others) {
+                        if (!different(value, other)) {
+                            result.add(value);
+                            break;
+                        }
+                    }
+                }
+
+                return result;
+            }
+
+            boolean contradictory() {
+                if (isNull && notNull) {
+                    return true;
+                }
+                if (lower != null && upper != null) {
+                    int cmp = lower.compareTo(upper);
+                    if (cmp > 0 || cmp == 0 && !(lowerInclusive && upperInclusive)) {
+                        return true;
+                    }
+                }
+                if (allowed == null) {
+                    return false;
+                }
+
+                for (Object value : allowed) {
+                    // the exact equality, so 1.0 is not considered excluded by 1.00
+                    if ((excluded == null || !excluded.contains(value)) && inRange(value)) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+
+            /**
+             * Returns whether the value may be within the bounds.
+             */
+            private boolean inRange(Object value) {
+                if (!(value instanceof BigDecimal)) {
+                    return true;
+                }
+                BigDecimal number = (BigDecimal) value;
+                if (lower != null) {
+                    int cmp = number.compareTo(lower);
+                    if (cmp < 0 || cmp == 0 && !lowerInclusive) {
+                        return false;
+                    }
+                }
+                if (upper != null) {
+                    int cmp = number.compareTo(upper);
+                    if (cmp > 0 || cmp == 0 && !upperInclusive) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+        }
+    }
+}
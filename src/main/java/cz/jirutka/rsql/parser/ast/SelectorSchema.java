@@ -0,0 +1,194 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A fixed set of the selectors allowed in queries, each with a dense integer id, i.e. its index in the set. The
+ * selectors are compiled into an open-addressing hash table, so the parser looks a selector up directly from the
+ * characters of the query without creating a string, and rejects an unknown selector right at its offset.
+ *
+ * <p>The {@link ComparisonNode}s created by a factory with a schema carry the {@linkplain
+ * ComparisonNode#getSelectorId() id} of their selector, so the consumers of the AST can {@code switch} on it or
+ * index arrays by it instead of hashing the selector string.
+ *
+ * <pre>{@code
+ * SelectorSchema schema = SelectorSchema.of("id", "status", "createdAt");
+ * NodesFactory factory = new NodesFactory(RSQLOperators.defaultOperators()).withSelectorSchema(schema);
+ * }</pre>
+ *
+ * @see NodesFactory#withSelectorSchema(SelectorSchema)
+ * @since 2.5.0
+ */
+@Immutable
+public final class SelectorSchema {
+
+    /**
+     * The id returned for a selector that is not in the schema.
+     */
+    public static final int UNKNOWN = -1;
+
+    private final String[] selectors;
+    private final int[] hashes;
+
+    /**
+     * The ids of the selectors plus one by their hash, zero for an empty slot.
+     */
+    private final int[] table;
+    private final int mask;
+
+    private SelectorSchema(String[] selectors) {
+        int size = Integer.highestOneBit(Math.max(selectors.length, 1)) << 2;
+
+        this.selectors = selectors;
+        this.hashes = new int[selectors.length];
+        this.table = new int[size];
+        this.mask = size - 1;
+
+        for (int id = 0; id < selectors.length; id++) {
+            String selector = selectors[id];
+            Assert.notBlank(selector, "selectors must not be blank");
+            if (getId(selector) != UNKNOWN) {
+                throw new IllegalArgumentException("Duplicate selector: " + selector);
+            }
+
+            hashes[id] = selector.hashCode();
+            int slot = hashes[id] & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Creates a schema of the given selectors, their ids are their indexes.
+     *
+     * @param selectors The allowed selectors. Must not be {@code null}, blank or contain duplicates.
+     * @return the schema.
+     * @throws IllegalArgumentException If some of the selectors is {@code null}, blank or a duplicate.
+     */
+    public static SelectorSchema of(String... selectors) {
+        Assert.notNull(selectors, "selectors must not be null");
+        return new SelectorSchema(selectors.clone());
+    }
+
+    /**
+     * Creates a schema of the given selectors, their ids are their indexes.
+     *
+     * @param selectors The allowed selectors. Must not be {@code null}, blank or contain duplicates.
+     * @return the schema.
+     * @throws IllegalArgumentException If some of the selectors is {@code null}, blank or a duplicate.
+     */
+    public static SelectorSchema of(List<String> selectors) {
+        Assert.notNull(selectors, "selectors must not be null");
+        return new SelectorSchema(selectors.toArray(new String[selectors.size()]));
+    }
+
+    /**
+     * Returns the number of the selectors, the ids are from zero to the size exclusive.
+     */
+    public int size() {
+        return selectors.length;
+    }
+
+    /**
+     * Returns the selectors ordered by their ids.
+     *
+     * @return an unmodifiable list of the selectors.
+     */
+    public List<String> getSelectors() {
+        return Collections.unmodifiableList(Arrays.asList(selectors));
+    }
+
+    /**
+     * Returns the selector with the given id.
+     *
+     * @throws IndexOutOfBoundsException If there is no selector with the id.
+     */
+    public String getSelector(int id) {
+        return selectors[id];
+    }
+
+    /**
+     * Returns the id of the given selector.
+     *
+     * @param selector The selector to look up.
+     * @return the id, or {@link #UNKNOWN} if the selector is not in the schema.
+     */
+    public int getId(String selector) {
+        int hash = selector.hashCode();
+        for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            // the parser passes the selectors from the schema, so the identity check mostly suffices
+            if (hashes[id] == hash && (selectors[id] == selector || selectors[id].equals(selector))) {
+                return id;
+            }
+        }
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Returns the id of the selector in the given part of the input, without creating a string of it.
+     *
+     * @param input The input.
+     * @param start The start offset of the selector, inclusive.
+     * @param end   The end offset of the selector, exclusive.
+     * @return the id, or {@link #UNKNOWN} if the selector is not in the schema.
+     */
+    public int getId(CharSequence input, int start, int end) {
+        // the same hash as String.hashCode()
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + input.charAt(i);
+        }
+
+        for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && matches(selectors[id], input, start, end)) {
+                return id;
+            }
+        }
+
+        return UNKNOWN;
+    }
+
+    private static boolean matches(String selector, CharSequence input, int start, int end) {
+        if (selector.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (selector.charAt(i - start) != input.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A bounded pool of canonical instances of short strings, such as selectors and common argument values, that are
+ * repeated across queries. Strings can be looked up directly from the characters of the input, so the parser
+ * allocates a new string only for a value that isn't in the pool yet.
+ *
+ * <p>The pool is a fixed-size, lock-free table. Each string has exactly one slot, and a newer string replaces an
+ * older one in the same slot. The memory it holds is therefore bounded by the {@linkplain #capacity() capacity} and
+ * the {@linkplain #maxLength() maximum length} of the pooled strings. Interning is best-effort: two equal strings
+ * interned at about the same time, or after a collision, may still be different instances. That's why the returned
+ * strings must always be compared by {@code equals}. Since {@code equals} checks the identity first, comparing
+ * interned strings is still cheap.
+ *
+ * @see NodesFactory#withSelectorPool(StringPool)
+ * @see NodesFactory#withArgumentPool(StringPool)
+ * @since 2.5.0
+ */
+@ThreadSafe
+public final class StringPool {
+
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+    private final int maxLength;
+
+    /**
+     * Creates a new empty pool.
+     *
+     * @param capacity  The number of slots, rounded up to a power of two. Must be positive.
+     * @param maxLength The maximum length of the strings to pool, longer strings are returned as they are. Must be
+     *                  positive or zero.
+     * @throws IllegalArgumentException If {@code capacity} is not positive, is greater than {@code 2^30}, or if
+     *                                  {@code maxLength} is negative.
+     */
+    public StringPool(int capacity, int maxLength) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength must be positive or zero");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the number of slots of this pool.
+     */
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Returns the maximum length of the strings this pool keeps.
+     */
+    public int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the pooled string equal to the given one, or pools and returns the given string if there is none.
+     *
+     * @param str The string to intern, may be {@code null}.
+     * @return the canonical instance, or the given string if it's longer than the {@linkplain #maxLength() maximum}.
+     */
+    public String intern(String str) {
+        if (str == null || str.length() > maxLength) {
+            return str;
+        }
+        int index = index(str.hashCode());
+
+        String pooled = table.get(index);
+        if (pooled == str || str.equals(pooled)) {
+            return pooled;
+        }
+        table.lazySet(index, str);
+
+        return str;
+    }
+
+    /**
+     * Returns the pooled string equal to the given part of the input, or creates and pools a new one if there is
+     * none. The input is read directly, so no string is allocated when the value is already pooled.
+     *
+     * @param input The input. Must not be {@code null}.
+     * @param start The start offset of the string, inclusive.
+     * @param end   The end offset of the string, exclusive.
+     * @return the canonical instance, or a new string if it's longer than the {@linkplain #maxLength() maximum}.
+     */
+    public String intern(CharSequence input, int start, int end) {
+        int length = end - start;
+        if (length > maxLength) {
+            return input.subSequence(start, end).toString();
+        }
+
+        // the same hash as String.hashCode(), so both methods use the same slot
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + input.charAt(i);
+        }
+        int index = index(hash);
+
+        String pooled = table.get(index);
+        if (pooled != null && matches(pooled, input, start, length)) {
+            return pooled;
+        }
+        String str = input.subSequence(start, end).toString();
+        table.lazySet(index, str);
+
+        return str;
+    }
+
+    private int index(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static boolean matches(String pooled, CharSequence input, int start, int length) {
+        if (pooled.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (pooled.charAt(i) != input.charAt(start + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The arguments of a comparison converted to an {@link ArgumentType}.
+ */
+abstract class TypedArguments {
+
+    final ArgumentType<?> type;
+
+    TypedArguments(ArgumentType<?> type) {
+        this.type = type;
+    }
+
+    abstract int size();
+
+    abstract Object get(int index);
+
+    long getLong(int index) {
+        throw new IllegalStateException("arguments are not converted to long, but to " + type);
+    }
+
+    /**
+     * Returns an unmodifiable list view of the values.
+     */
+    <T> List<T> asList() {
+        return new ValueList<>(this);
+    }
+
+    static final class OfObjects extends TypedArguments {
+
+        private final Object[] values;
+
+        OfObjects(ArgumentType<?> type, Object[] values) {
+            super(type);
+            this.values = values;
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        Object get(int index) {
+            return values[index];
+        }
+    }
+
+    static final class OfLongs extends TypedArguments {
+
+        private final long[] values;
+
+        OfLongs(ArgumentType<?> type, long[] values) {
+            super(type);
+            this.values = values;
+        }
+
+        @Override
+        int size() {
+            return values.length;
+        }
+
+        @Override
+        Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        long getLong(int index) {
+            return values[index];
+        }
+
+        long[] toArray() {
+            return values.clone();
+        }
+    }
+
+    private static final class ValueList<T> extends AbstractList<T> implements RandomAccess {
+
+        private final TypedArguments arguments;
+
+        ValueList(TypedArguments arguments) {
+            this.arguments = arguments;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            return (T) arguments.get(index);
+        }
+
+        @Override
+        public int size() {
+            return arguments.size();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the selectors into the accessors of their paths by the resolvers, and caches the accessors per type and
+ * property.
+ */
+final class Accessors {
+
+    private static final PropertyAccessor MISSING = new PropertyAccessor() {
+        @Override
+        public Class<?> getType() {
+            return Void.class;
+        }
+
+        @Override
+        public Object get(Object target) {
+            return null;
+        }
+    };
+
+    private final List<PropertyResolver> resolvers;
+
+    private final ClassValue<ConcurrentMap<String, PropertyAccessor>> cache =
+        new ClassValue<ConcurrentMap<String, PropertyAccessor>>() {
+            @Override
+            protected ConcurrentMap<String, PropertyAccessor> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    Accessors(List<PropertyResolver> resolvers) {
+        this.resolvers = resolvers;
+    }
+
+    /**
+     * Returns the accessor of the property of the type, or {@code null} if no resolver can resolve it.
+     */
+    PropertyAccessor resolve(Class<?> type, String property) {
+        ConcurrentMap<String, PropertyAccessor> accessors = cache.get(type);
+        PropertyAccessor accessor = accessors.get(property);
+
+        if (accessor == null) {
+            for (PropertyResolver resolver : resolvers) {
+                accessor = resolver.resolve(type, property);
+                if (accessor != null) {
+                    break;
+                }
+            }
+            accessors.putIfAbsent(property, accessor != null ? accessor : MISSING);
+        }
+
+        return accessor != MISSING ? accessor : null;
+    }
+
+    /**
+     * Returns the accessors of the properties on the path of the selector, e.g. {@code address} and {@code city} for
+     * {@code address.city}, or {@code null} if some of them can't be resolved. The properties of a value with the
+     * {@link Object} type are resolved at runtime by its class.
+     */
+    PropertyAccessor[] path(Class<?> type, String selector) {
+        List<PropertyAccessor> path = new ArrayList<>(2);
+
+        for (int start = 0, end; start <= selector.length(); start = end + 1) {
+            end = selector.indexOf('.', start);
+            if (end < 0) {
+                end = selector.length();
+            }
+
+            String property = selector.substring(start, end);
+            PropertyAccessor accessor = type == Object.class
+                ? new DynamicAccessor(this, property)
+                : resolve(type, property);
+            if (accessor == null) {
+                return null;
+            }
+
+            path.add(accessor);
+            type = accessor.getType();
+        }
+
+        return path.toArray(new PropertyAccessor[0]);
+    }
+
+    /**
+     * An accessor of a property of a value whose type is known only at runtime. It remembers the accessor of the last
+     * class, so it allocates only when the class changes.
+     */
+    private static final class DynamicAccessor implements PropertyAccessor {
+
+        private final Accessors accessors;
+        private final String property;
+        private volatile Resolved last;
+
+        DynamicAccessor(Accessors accessors, String property) {
+            this.accessors = accessors;
+            this.property = property;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return Object.class;
+        }
+
+        @Override
+        public Object get(Object target) {
+            Class<?> type = target.getClass();
+            Resolved resolved = last;
+            if (resolved == null || resolved.type != type) {
+                resolved = new Resolved(type, accessors.resolve(type, property));
+                last = resolved;
+            }
+
+            // an object without the property has no value, the same as a map without the key
+            return resolved.accessor != null ? resolved.accessor.get(target) : null;
+        }
+    }
+
+    private static final class Resolved {
+
+        final Class<?> type;
+        final PropertyAccessor accessor;
+
+        Resolved(Class<?> type, PropertyAccessor accessor) {
+            this.type = type;
+            this.accessor = accessor;
+        }
+    }
+}
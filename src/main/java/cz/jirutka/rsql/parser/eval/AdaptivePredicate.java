@@ -0,0 +1,294 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A compiled conjunction or disjunction that reorders its operands by their observed cost and selectivity, so the
+ * operands that most cheaply decide the result are evaluated first. The result doesn't depend on the order, as long
+ * as the operands have no side effects and don't throw exceptions. Only the comparisons by the built-in operators,
+ * and the groups of them, are assumed not to throw, since they don't convert the arguments while evaluating. The
+ * other operands, e.g. the custom operators, may throw an exception, and reordering would either skip it, or throw it
+ * for an item decided by another operand. They stay in place, and only the operands between them are reordered, so
+ * each of them is evaluated for exactly the same items as in the original order. If an operand assumed not to throw
+ * does throw {@link RuntimeException}, e.g. a getter, the item is evaluated again in the original order.
+ *
+ * <p>A sample of the evaluations is measured, i.e. how long each operand takes and how often it decides the result,
+ * {@code false} for a conjunction and {@code true} for a disjunction. The counters are striped, so the threads don't
+ * contend on them. After every {@code interval} samples, the thread that wins the flag ranks the operands by the
+ * average cost divided by the probability of deciding the result, and publishes the new order by swapping a volatile
+ * array. The previous statistics decay by half, so the order follows the changes of the data.
+ */
+final class AdaptivePredicate implements Predicate<Object> {
+
+    /**
+     * One of 64 evaluations is sampled.
+     */
+    static final int SAMPLE_MASK = 63;
+
+    /**
+     * The number of the samples after which the operands are reordered.
+     */
+    static final int REORDER_INTERVAL = 256;
+
+    private static final double DECAY = 0.5;
+
+    private final boolean and;
+    private final Predicate<Object>[] operands;
+
+    /**
+     * Whether the operand may throw an exception, so it must stay in place.
+     */
+    private final boolean[] throwing;
+    private final boolean mayThrow;
+    private final int sampleMask;
+    private final int interval;
+
+    private final LongAdder[] evaluations;
+    private final LongAdder[] decisions;
+    private final LongAdder[] nanos;
+    private final AtomicInteger samples = new AtomicInteger();
+    private final AtomicBoolean reordering = new AtomicBoolean();
+
+    // guarded by reordering
+    private final double[] totalEvaluations;
+    private final double[] totalDecisions;
+    private final double[] totalNanos;
+
+    private volatile Order order;
+
+    AdaptivePredicate(boolean and, Predicate<Object>[] operands) {
+        this(and, operands, throwing(operands), SAMPLE_MASK, REORDER_INTERVAL);
+    }
+
+    AdaptivePredicate(boolean and, Predicate<Object>[] operands, boolean[] throwing, int sampleMask, int interval) {
+        this.and = and;
+        this.operands = operands;
+        this.throwing = throwing;
+        this.mayThrow = anyOf(throwing);
+        this.sampleMask = sampleMask;
+        this.interval = interval;
+
+        this.evaluations = adders(operands.length);
+        this.decisions = adders(operands.length);
+        this.nanos = adders(operands.length);
+        this.totalEvaluations = new double[operands.length];
+        this.totalDecisions = new double[operands.length];
+        this.totalNanos = new double[operands.length];
+
+        int[] indexes = new int[operands.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        this.order = new Order(operands.clone(), indexes);
+    }
+
+    @Override
+    public boolean test(Object item) {
+        Order order = this.order;
+        try {
+            if ((ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+                return evaluate(order.operands, item);
+            }
+
+            return sample(order, item);
+        } catch (RuntimeException ex) {
+            if (order.original) {
+                throw ex;
+            }
+            // an operand evaluated earlier in the original order may decide the result before the throwing one
+            return evaluate(operands, item);
+        }
+    }
+
+    private boolean evaluate(Predicate<Object>[] operands, Object item) {
+        for (Predicate<Object> operand : operands) {
+            if (operand.test(item) != and) {
+                return !and;
+            }
+        }
+
+        return and;
+    }
+
+    private boolean sample(Order order, Object item) {
+        boolean result = and;
+        for (int i = 0; i < order.operands.length; i++) {
+            int index = order.indexes[i];
+
+            long start = System.nanoTime();
+            boolean decided = order.operands[i].test(item) != and;
+            nanos[index].add(System.nanoTime() - start);
+            evaluations[index].increment();
+
+            if (decided) {
+                decisions[index].increment();
+                result = !and;
+                break;
+            }
+        }
+
+        if (samples.incrementAndGet() >= interval && reordering.compareAndSet(false, true)) {
+            try {
+                samples.set(0);
+                reorder();
+            } finally {
+                reordering.set(false);
+            }
+        }
+
+        return result;
+    }
+
+    private void reorder() {
+        final double[] scores = new double[operands.length];
+        Integer[] ranked = new Integer[operands.length];
+
+        for (int i = 0; i < operands.length; i++) {
+            totalEvaluations[i] = totalEvaluations[i] * DECAY + evaluations[i].sumThenReset();
+            totalDecisions[i] = totalDecisions[i] * DECAY + decisions[i].sumThenReset();
+            totalNanos[i] = totalNanos[i] * DECAY + nanos[i].sumThenReset();
+
+            // an operand that has not been evaluated yet costs nothing, so it's tried first and gets measured
+            double cost = totalEvaluations[i] > 0 ? totalNanos[i] / totalEvaluations[i] : 0;
+            double probability = (totalDecisions[i] + 1) / (totalEvaluations[i] + 2);
+            scores[i] = cost / probability;
+            ranked[i] = i;
+        }
+
+        // stable, so the operands with the same score keep their order, and the operands that may throw stay in place
+        for (int from = 0, to; from < ranked.length; from = to + 1) {
+            to = from;
+            while (to < ranked.length && !throwing[to]) {
+                to++;
+            }
+            Arrays.sort(ranked, from, to, (a, b) -> Double.compare(scores[a], scores[b]));
+        }
+
+        int[] indexes = new int[operands.length];
+        Predicate<Object>[] ordered = operands.clone();
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = ranked[i];
+            ordered[i] = operands[ranked[i]];
+        }
+
+        if (!Arrays.equals(indexes, order.indexes)) {
+            order = new Order(ordered, indexes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return LogicalPredicate.toString(and, order.operands);
+    }
+
+    /**
+     * Returns whether the operands can be reordered, i.e. some two adjacent operands don't throw exceptions.
+     */
+    static boolean isReorderable(Predicate<Object>[] operands) {
+        boolean[] throwing = throwing(operands);
+        for (int i = 1; i < throwing.length; i++) {
+            if (!throwing[i - 1] && !throwing[i]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns whether the operand may throw an exception while evaluating, i.e. it's not a comparison by a built-in
+     * operator or a group of such comparisons.
+     */
+    static boolean mayThrow(Predicate<Object> operand) {
+        if (operand instanceof ComparisonPredicate) {
+            return operand instanceof ComparisonPredicate.Custom;
+        } else if (operand instanceof LogicalPredicate) {
+            return ((LogicalPredicate) operand).mayThrow();
+        } else if (operand instanceof AdaptivePredicate) {
+            return ((AdaptivePredicate) operand).mayThrow;
+        }
+
+        return true;
+    }
+
+    static boolean[] throwing(Predicate<Object>[] operands) {
+        boolean[] throwing = new boolean[operands.length];
+        for (int i = 0; i < operands.length; i++) {
+            throwing[i] = mayThrow(operands[i]);
+        }
+
+        return throwing;
+    }
+
+    static boolean anyOf(boolean[] values) {
+        for (boolean value : values) {
+            if (value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static LongAdder[] adders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++) {
+            adders[i] = new LongAdder();
+        }
+
+        return adders;
+    }
+
+    /**
+     * The operands in the order of evaluation with their original indexes.
+     */
+    private static final class Order {
+
+        final Predicate<Object>[] operands;
+        final int[] indexes;
+
+        /**
+         * Whether it's the original order of the operands.
+         */
+        final boolean original;
+
+        Order(Predicate<Object>[] operands, int[] indexes) {
+            this.operands = operands;
+            this.indexes = indexes;
+
+            boolean original = true;
+            for (int i = 0; i < indexes.length; i++) {
+                original &= indexes[i] == i;
+            }
+            this.original = original;
+        }
+    }
+}
@@ -0,0 +1,599 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import static cz.jirutka.rsql.parser.eval.ComparisonPredicate.LOOKUP_THRESHOLD;
+
+import cz.jirutka.rsql.parser.ArgumentConversionException;
+import cz.jirutka.rsql.parser.UnknownSelectorException;
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Evaluates a query on the rows of {@linkplain Column columns} in batches, and produces a bitset of the matching rows.
+ * Each comparison is evaluated by a tight loop over a batch of a column into the words of a bitset, 64 rows per word,
+ * and {@code ;} and {@code ,} combine the words by bitwise AND and OR. The operands of {@code ;} are evaluated only for
+ * the rows that still match, and those of {@code ,} only for the rows that don't match yet, so no work is done for the
+ * words, or the whole batches, that are already decided.
+ *
+ * <p>The nested groups with the same operator are flattened, e.g. {@code a==1;(b==2;c==3)} is evaluated as
+ * {@code a==1;b==2;c==3}, and the tree is compiled and evaluated without recursion, so even a deeply nested query
+ * can't cause {@link StackOverflowError}. Each level of the alternating nested groups needs two buffers of a batch,
+ * 256 bytes, while it's evaluated.
+ *
+ * <p>The operators from {@link cz.jirutka.rsql.parser.ast.RSQLOperators} have the same meaning as in the
+ * {@link PredicateCompiler}, the arguments are converted to the type of the column.
+ *
+ * <pre>{@code
+ * BatchEvaluator evaluator = new BatchEvaluator(parser.parse("price<10;category=in=(books,music)"));
+ * long[] selection = evaluator.evaluate(segment);  // bit i of selection[i >>> 6] is set if row i matches
+ * }</pre>
+ *
+ * @since 2.5.0
+ */
+@ThreadSafe
+public final class BatchEvaluator {
+
+    /**
+     * The number of the rows evaluated at once.
+     */
+    public static final int BATCH_SIZE = 1024;
+
+    private static final int BATCH_WORDS = BATCH_SIZE >>> 6;
+
+    private final Node node;
+    private final BatchNode root;
+    private final Comparison[] comparisons;
+    private final int depth;
+
+    /**
+     * Compiles the query.
+     *
+     * @param node The root of the AST. Must not be {@code null}.
+     * @throws IllegalArgumentException If some operator is not one of the
+     *                                  {@link cz.jirutka.rsql.parser.ast.RSQLOperators}.
+     */
+    public BatchEvaluator(Node node) {
+        if (node == null) {
+            throw new IllegalArgumentException("node must not be null");
+        }
+
+        List<Comparison> comparisons = new ArrayList<>();
+        int[] depth = new int[1];
+        this.node = node;
+        this.root = compile(node, comparisons, depth);
+        this.comparisons = comparisons.toArray(new Comparison[0]);
+        this.depth = depth[0];
+    }
+
+    /**
+     * Returns the evaluated query.
+     */
+    public Node getNode() {
+        return node;
+    }
+
+    /**
+     * Evaluates the query on all the rows of the columns.
+     *
+     * @param columns The columns. Must not be {@code null}.
+     * @return the bitset of the matching rows, bit {@code i % 64} of the word {@code i / 64} is set if the row
+     * {@code i} matches.
+     * @throws UnknownSelectorException    If there is no column of some selector.
+     * @throws ArgumentConversionException If some argument can't be converted to the type of its column.
+     * @throws IllegalArgumentException    If some column has fewer rows than the provider.
+     */
+    public long[] evaluate(ColumnProvider columns) {
+        if (columns == null) {
+            throw new IllegalArgumentException("columns must not be null");
+        }
+
+        int size = columns.size();
+        Batch batch = new Batch(bind(columns, size), depth);
+        long[] selection = new long[(size + 63) >>> 6];
+
+        for (int from = 0; from < size; from += BATCH_SIZE) {
+            batch.start(from, Math.min(size, from + BATCH_SIZE));
+            evaluate(batch);
+            System.arraycopy(batch.out, 0, selection, from >>> 6, batch.words);
+        }
+
+        return selection;
+    }
+
+    private Column[] bind(ColumnProvider provider, int size) {
+        Column[] columns = new Column[comparisons.length];
+        for (int i = 0; i < columns.length; i++) {
+            String selector = comparisons[i].node.getSelector();
+            Column column = provider.getColumn(selector);
+            if (column == null) {
+                throw new UnknownSelectorException(selector);
+            }
+            if (column.size() < size) {
+                throw new IllegalArgumentException(String.format(
+                    "column of selector '%s' has %d rows, but %d are required", selector, column.size(), size));
+            }
+            columns[i] = column;
+        }
+
+        return columns;
+    }
+
+    /**
+     * Evaluates the batch into {@code batch.out}. The operand of a group at the depth {@code d} is evaluated for the
+     * rows of the word buffer {@code 2 * d} into the buffer {@code 2 * d + 1}.
+     */
+    private void evaluate(Batch batch) {
+        if (root instanceof Comparison) {
+            ((Comparison) root).evaluate(batch, batch.mask, batch.out);
+            return;
+        }
+
+        Logical group = (Logical) root;
+        enter(batch, group, batch.mask, batch.out);
+        for (;;) {
+            int d = group.depth;
+            if (batch.next[d] < group.operands.length) {
+                BatchNode operand = group.operands[batch.next[d]++];
+                if (operand instanceof Logical) {
+                    group = (Logical) operand;
+                    enter(batch, group, batch.scratch[2 * d], batch.scratch[2 * d + 1]);
+                } else {
+                    ((Comparison) operand).evaluate(batch, batch.scratch[2 * d], batch.scratch[2 * d + 1]);
+                    combine(batch, group);
+                }
+                continue;
+            }
+
+            if (group.and) {
+                System.arraycopy(batch.scratch[2 * d], 0, out(batch, d), 0, batch.words);
+            }
+            if (d == 0) {
+                return;
+            }
+            group = batch.groups[d - 1];
+            combine(batch, group);
+        }
+    }
+
+    private static void enter(Batch batch, Logical group, long[] mask, long[] out) {
+        int d = group.depth;
+        batch.groups[d] = group;
+        batch.next[d] = 0;
+        System.arraycopy(mask, 0, batch.scratch[2 * d], 0, batch.words);
+        if (!group.and) {
+            Arrays.fill(out, 0, batch.words, 0L);
+        }
+    }
+
+    /**
+     * Combines the result of the last evaluated operand of the group. The operands of {@code ;} narrow the rows that
+     * still match, those of {@code ,} add the matching rows to the output of the group and remove them from the rows
+     * to evaluate. The rest of the operands are skipped when no rows are left.
+     */
+    private static void combine(Batch batch, Logical group) {
+        int d = group.depth;
+        long[] rows = batch.scratch[2 * d];
+        long[] result = batch.scratch[2 * d + 1];
+
+        long any = 0;
+        if (group.and) {
+            for (int w = 0; w < batch.words; w++) {
+                rows[w] = result[w];
+                any |= result[w];
+            }
+        } else {
+            long[] out = out(batch, d);
+            for (int w = 0; w < batch.words; w++) {
+                out[w] |= result[w];
+                rows[w] &= ~result[w];
+                any |= rows[w];
+            }
+        }
+        if (any == 0) {
+            batch.next[d] = group.operands.length;
+        }
+    }
+
+    /**
+     * Returns the output buffer of the group at the given depth.
+     */
+    private static long[] out(Batch batch, int depth) {
+        return depth == 0 ? batch.out : batch.scratch[2 * depth - 1];
+    }
+
+    /**
+     * Compiles the tree without recursion. The nested groups with the same operator as their parent are flattened.
+     */
+    private static BatchNode compile(Node node, List<Comparison> comparisons, int[] maxDepth) {
+        if (!(node instanceof LogicalNode)) {
+            return comparison(node, comparisons);
+        }
+
+        List<Frame> stack = new ArrayList<>();
+        Frame frame = new Frame((LogicalNode) node, 0);
+        for (;;) {
+            if (!frame.pending.isEmpty()) {
+                Node child = frame.pending.removeFirst();
+                if (child instanceof LogicalNode && (child instanceof AndNode) == frame.and) {
+                    List<Node> children = ((LogicalNode) child).getChildren();
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        frame.pending.addFirst(children.get(i));
+                    }
+                } else if (child instanceof LogicalNode) {
+                    stack.add(frame);
+                    frame = new Frame((LogicalNode) child, frame.depth + 1);
+                    maxDepth[0] = Math.max(maxDepth[0], frame.depth);
+                } else {
+                    frame.operands.add(comparison(child, comparisons));
+                }
+                continue;
+            }
+
+            Logical group = new Logical(frame.and, frame.operands.toArray(new BatchNode[0]), frame.depth);
+            if (stack.isEmpty()) {
+                return group;
+            }
+            frame = stack.remove(stack.size() - 1);
+            frame.operands.add(group);
+        }
+    }
+
+    private static Comparison comparison(Node node, List<Comparison> comparisons) {
+        ComparisonNode comparison = (ComparisonNode) node;
+        Operation operation = Operation.of(comparison.getOperator());
+        if (operation == null) {
+            throw new IllegalArgumentException("no batch evaluation of operator: " + comparison.getOperator());
+        }
+
+        Comparison compiled = new Comparison(comparison, operation, comparisons.size());
+        comparisons.add(compiled);
+
+        return compiled;
+    }
+
+    /**
+     * A group being compiled.
+     */
+    private static final class Frame {
+
+        final boolean and;
+        final int depth;
+
+        /**
+         * The operands to compile, the children of the flattened groups take their place.
+         */
+        final ArrayDeque<Node> pending;
+        final List<BatchNode> operands = new ArrayList<>();
+
+        Frame(LogicalNode node, int depth) {
+            this.and = node instanceof AndNode;
+            this.depth = depth;
+            this.pending = new ArrayDeque<>(node.getChildren());
+        }
+    }
+
+    /**
+     * The state of the evaluation of a batch, it's confined to the evaluating thread.
+     */
+    private static final class Batch {
+
+        final Column[] columns;
+
+        /**
+         * Two words buffers for each depth of the tree.
+         */
+        final long[][] scratch;
+        final long[] mask = new long[BATCH_WORDS];
+        final long[] out = new long[BATCH_WORDS];
+
+        /**
+         * The groups being evaluated and the indexes of their next operands, by depth.
+         */
+        final Logical[] groups;
+        final int[] next;
+
+        int from;
+        int to;
+        int words;
+
+        Batch(Column[] columns, int depth) {
+            this.columns = columns;
+            this.scratch = new long[2 * (depth + 1)][BATCH_WORDS];
+            this.groups = new Logical[depth + 1];
+            this.next = new int[depth + 1];
+        }
+
+        void start(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.words = (to - from + 63) >>> 6;
+
+            Arrays.fill(mask, 0, words, -1L);
+            int rest = (to - from) & 63;
+            if (rest != 0) {
+                mask[words - 1] = (1L << rest) - 1;
+            }
+        }
+    }
+
+    private abstract static class BatchNode {
+    }
+
+    private static final class Logical extends BatchNode {
+
+        final boolean and;
+        final BatchNode[] operands;
+        final int depth;
+
+        Logical(boolean and, BatchNode[] operands, int depth) {
+            this.and = and;
+            this.operands = operands;
+            this.depth = depth;
+        }
+    }
+
+    private static final class Comparison extends BatchNode {
+
+        final ComparisonNode node;
+        private final Operation operation;
+        private final int index;
+
+        // the arguments converted to the type of the last column, computed once
+        private volatile long[] longs;
+        private volatile double[] doubles;
+        private volatile Acceptance acceptance;
+
+        Comparison(ComparisonNode node, Operation operation, int index) {
+            this.node = node;
+            this.operation = operation;
+            this.index = index;
+        }
+
+        /**
+         * Evaluates the rows of the batch selected by the mask into {@code out}, the other rows are cleared.
+         */
+        void evaluate(Batch batch, long[] mask, long[] out) {
+            Column column = batch.columns[index];
+            boolean[] accept = column instanceof Column.OfDictionary
+                ? acceptance(((Column.OfDictionary) column).dictionary)
+                : null;
+            long[] longs = column instanceof Column.OfLongs ? longs() : null;
+            double[] doubles = column instanceof Column.OfDoubles ? doubles() : null;
+
+            for (int w = 0; w < batch.words; w++) {
+                if (mask[w] == 0) {
+                    out[w] = 0;
+                    continue;
+                }
+
+                int base = batch.from + (w << 6);
+                int n = Math.min(64, batch.to - base);
+
+                long bits;
+                if (accept != null) {
+                    bits = dictionaryWord(((Column.OfDictionary) column).codes, base, n, accept);
+                } else {
+                    long nulls = column.nulls != null ? column.nulls[base >>> 6] : 0;
+                    if (operation == Operation.IS_NULL) {
+                        bits = nulls;
+                    } else if (operation == Operation.NOT_NULL) {
+                        bits = ~nulls;
+                    } else {
+                        bits = longs != null
+                            ? longWord(((Column.OfLongs) column).values, base, n, longs)
+                            : doubleWord(((Column.OfDoubles) column).values, base, n, doubles);
+                        bits = (bits & ~nulls) | (operation.nullResult ? nulls : 0);
+                    }
+                }
+
+                out[w] = bits & mask[w];
+            }
+        }
+
+        private long longWord(long[] values, int base, int n, long[] arguments) {
+            long bits = 0;
+            long argument = arguments.length > 0 ? arguments[0] : 0;
+
+            switch (operation) {
+                case GREATER_THAN:
+                    for (int j = 0; j < n; j++) {
+                        bits |= (values[base + j] > argument ? 1L : 0L) << j;
+                    }
+                    return bits;
+                case GREATER_THAN_OR_EQUAL:
+                    for (int j = 0; j < n; j++) {
+                        bits |= (values[base + j] >= argument ? 1L : 0L) << j;
+                    }
+                    return bits;
+                case LESS_THAN:
+                    for (int j = 0; j < n; j++) {
+                        bits |= (values[base + j] < argument ? 1L : 0L) << j;
+                    }
+                    return bits;
+                case LESS_THAN_OR_EQUAL:
+                    for (int j = 0; j < n; j++) {
+                        bits |= (values[base + j] <= argument ? 1L : 0L) << j;
+                    }
+                    return bits;
+                default:
+                    if (arguments.length == 1) {
+                        for (int j = 0; j < n; j++) {
+                            bits |= (values[base + j] == argument ? 1L : 0L) << j;
+                        }
+                    } else if (arguments.length > LOOKUP_THRESHOLD) {
+                        for (int j = 0; j < n; j++) {
+                            bits |= (Arrays.binarySearch(arguments, values[base + j]) >= 0 ? 1L : 0L) << j;
+                        }
+                    } else {
+                        for (int j = 0; j < n; j++) {
+                            long value = values[base + j];
+                            for (long a : arguments) {
+                                if (value == a) {
+                                    bits |= 1L << j;
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                    return operation.isNegated() ? ~bits : bits;
+            }
+        }
+
+        private long doubleWord(double[] values, int base, int n, double[] arguments) {
+            long bits = 0;
+
+            if (operation.isOrdering()) {
+                double argument = arguments[0];
+                for (int j = 0; j < n; j++) {
+                    bits |= (operation.test(Double.compare(values[base + j], argument)) ? 1L : 0L) << j;
+                }
+                return bits;
+            }
+
+            for (int j = 0; j < n; j++) {
+                double value = values[base + j];
+                for (double a : arguments) {
+                    if (Double.compare(value, a) == 0) {
+                        bits |= 1L << j;
+                        break;
+                    }
+                }
+            }
+
+            return operation.isNegated() ? ~bits : bits;
+        }
+
+        private static long dictionaryWord(int[] codes, int base, int n, boolean[] accept) {
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (accept[codes[base + j] + 1] ? 1L : 0L) << j;
+            }
+
+            return bits;
+        }
+
+        private long[] longs() {
+            long[] longs = this.longs;
+            if (longs == null) {
+                List<String> arguments = node.getArguments();
+                longs = new long[arguments.size()];
+                for (int i = 0; i < longs.length; i++) {
+                    try {
+                        longs[i] = Long.parseLong(arguments.get(i));
+                    } catch (NumberFormatException ex) {
+                        throw new ArgumentConversionException(
+                            node.getSelector(), i, arguments.get(i), ArgumentType.LONG, ex);
+                    }
+                }
+                if (longs.length > LOOKUP_THRESHOLD) {
+                    Arrays.sort(longs);
+                }
+                this.longs = longs;
+            }
+
+            return longs;
+        }
+
+        private double[] doubles() {
+            double[] doubles = this.doubles;
+            if (doubles == null) {
+                List<String> arguments = node.getArguments();
+                doubles = new double[arguments.size()];
+                for (int i = 0; i < doubles.length; i++) {
+                    try {
+                        doubles[i] = Double.parseDouble(arguments.get(i));
+                    } catch (NumberFormatException ex) {
+                        throw new ArgumentConversionException(node.getSelector(), i, arguments.get(i),
+                            Coercions.DEFAULTS.get(Double.class), ex);
+                    }
+                }
+                this.doubles = doubles;
+            }
+
+            return doubles;
+        }
+
+        /**
+         * Returns the results of the comparison by the codes of the dictionary plus one, the first is for null.
+         */
+        private boolean[] acceptance(String[] dictionary) {
+            Acceptance acceptance = this.acceptance;
+            if (acceptance != null && acceptance.dictionary == dictionary) {
+                return acceptance.accept;
+            }
+
+            List<String> arguments = node.getArguments();
+            boolean[] accept = new boolean[dictionary.length + 1];
+            accept[0] = operation.nullResult;
+
+            for (int code = 0; code < dictionary.length; code++) {
+                String value = dictionary[code];
+                boolean result;
+                if (value == null) {
+                    result = operation.nullResult;
+                } else if (operation == Operation.IS_NULL || operation == Operation.NOT_NULL) {
+                    result = operation == Operation.NOT_NULL;
+                } else if (operation.isOrdering()) {
+                    result = operation.test(value.compareTo(arguments.get(0)));
+                } else {
+                    result = false;
+                    for (String argument : arguments) {
+                        if (argument.indexOf('*') >= 0
+                            ? ComparisonPredicate.matchesWildcard(argument, value)
+                            : argument.equals(value)) {
+                            result = true;
+                            break;
+                        }
+                    }
+                    result = result != operation.isNegated();
+                }
+                accept[code + 1] = result;
+            }
+
+            this.acceptance = new Acceptance(dictionary, accept);
+
+            return accept;
+        }
+    }
+
+    private static final class Acceptance {
+
+        final String[] dictionary;
+        final boolean[] accept;
+
+        Acceptance(String[] dictionary, boolean[] accept) {
+            this.dictionary = dictionary;
+            this.accept = accept;
+        }
+    }
+}
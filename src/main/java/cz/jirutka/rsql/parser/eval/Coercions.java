@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The conversions of the arguments to the types of the values they are compared with.
+ */
+final class Coercions {
+
+    static final Map<Class<?>, ArgumentType<?>> DEFAULTS;
+
+    static {
+        Map<Class<?>, ArgumentType<?>> types = new HashMap<>();
+        types.put(String.class, ArgumentType.of(String.class, s -> s));
+        types.put(Long.class, ArgumentType.LONG);
+        types.put(Integer.class, ArgumentType.of(Integer.class, Integer::valueOf));
+        types.put(Short.class, ArgumentType.of(Short.class, Short::valueOf));
+        types.put(Byte.class, ArgumentType.of(Byte.class, Byte::valueOf));
+        types.put(Double.class, ArgumentType.of(Double.class, Double::valueOf));
+        types.put(Float.class, ArgumentType.of(Float.class, Float::valueOf));
+        types.put(Boolean.class, ArgumentType.of(Boolean.class, Coercions::parseBoolean));
+        types.put(Character.class, ArgumentType.of(Character.class, s -> s.length() == 1 ? s.charAt(0) : null));
+        types.put(BigDecimal.class, ArgumentType.DECIMAL);
+        types.put(BigInteger.class, ArgumentType.of(BigInteger.class, BigInteger::new));
+        types.put(Instant.class, ArgumentType.INSTANT);
+        types.put(LocalDate.class, ArgumentType.of(LocalDate.class, LocalDate::parse));
+        types.put(LocalDateTime.class, ArgumentType.of(LocalDateTime.class, LocalDateTime::parse));
+        types.put(LocalTime.class, ArgumentType.of(LocalTime.class, LocalTime::parse));
+        types.put(OffsetDateTime.class, ArgumentType.of(OffsetDateTime.class, OffsetDateTime::parse));
+        types.put(ZonedDateTime.class, ArgumentType.of(ZonedDateTime.class, ZonedDateTime::parse));
+        types.put(UUID.class, ArgumentType.UUID);
+
+        DEFAULTS = Collections.unmodifiableMap(types);
+    }
+
+    private Coercions() {
+    }
+
+    /**
+     * Returns the type to convert the arguments compared with the values of the given type to, or {@code null} if
+     * there is none.
+     */
+    static ArgumentType<?> get(Map<Class<?>, ArgumentType<?>> types, Class<?> type) {
+        Class<?> boxed = box(type);
+        ArgumentType<?> argumentType = types.get(boxed);
+        if (argumentType == null && Enum.class.isAssignableFrom(boxed)) {
+            // a constant with a body is an instance of an anonymous subclass
+            return enumType(boxed.isEnum() ? boxed : boxed.getSuperclass());
+        }
+
+        return argumentType;
+    }
+
+    static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == char.class) {
+            return Character.class;
+        }
+
+        return Void.class;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentType<?> enumType(Class type) {
+        return ArgumentType.of(type, s -> Enum.valueOf(type, s));
+    }
+
+    private static Boolean parseBoolean(String s) {
+        if ("true".equalsIgnoreCase(s)) {
+            return Boolean.TRUE;
+        } else if ("false".equalsIgnoreCase(s)) {
+            return Boolean.FALSE;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A column of values of the rows evaluated by the {@link BatchEvaluator}. The arrays are not copied, so they must not
+ * be modified while a query is evaluated.
+ *
+ * <ul>
+ *     <li>{@linkplain #ofLongs(long[], BitSet) Integral} and {@linkplain #ofDoubles(double[], BitSet) floating-point}
+ *     columns are compared as numbers, the arguments are converted to the type of the column.</li>
+ *     <li>{@linkplain #ofDictionary(int[], String[]) Dictionary-encoded} string columns are compared as strings, each
+ *     comparison is evaluated once per entry of the dictionary and the rows just look up the result by their code.</li>
+ * </ul>
+ *
+ * @since 2.5.0
+ */
+public abstract class Column {
+
+    private final int size;
+
+    /**
+     * The null rows as a bitset, or {@code null} if there is none.
+     */
+    final long[] nulls;
+
+    private Column(int size, long[] nulls) {
+        this.size = size;
+        this.nulls = nulls;
+    }
+
+    /**
+     * Creates a column of integral values without nulls.
+     */
+    public static Column ofLongs(long[] values) {
+        return ofLongs(values, null);
+    }
+
+    /**
+     * Creates a column of integral values.
+     *
+     * @param values The values, the value of a null row is ignored. Must not be {@code null}.
+     * @param nulls  The null rows, or {@code null} if there is none.
+     * @return the column.
+     */
+    public static Column ofLongs(long[] values, BitSet nulls) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+
+        return new OfLongs(values, words(nulls, values.length));
+    }
+
+    /**
+     * Creates a column of floating-point values without nulls.
+     */
+    public static Column ofDoubles(double[] values) {
+        return ofDoubles(values, null);
+    }
+
+    /**
+     * Creates a column of floating-point values.
+     *
+     * @param values The values, the value of a null row is ignored. Must not be {@code null}.
+     * @param nulls  The null rows, or {@code null} if there is none.
+     * @return the column.
+     */
+    public static Column ofDoubles(double[] values, BitSet nulls) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+
+        return new OfDoubles(values, words(nulls, values.length));
+    }
+
+    /**
+     * Creates a column of strings encoded by a dictionary.
+     *
+     * @param codes      The indexes of the values in the dictionary, {@code -1} for a null row. Must not be
+     *                   {@code null}.
+     * @param dictionary The distinct values. Must not be {@code null}.
+     * @return the column.
+     */
+    public static Column ofDictionary(int[] codes, String[] dictionary) {
+        if (codes == null) {
+            throw new IllegalArgumentException("codes must not be null");
+        }
+        if (dictionary == null) {
+            throw new IllegalArgumentException("dictionary must not be null");
+        }
+
+        return new OfDictionary(codes, dictionary);
+    }
+
+    /**
+     * Returns the number of the rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static long[] words(BitSet nulls, int size) {
+        return nulls == null || nulls.isEmpty() ? null : Arrays.copyOf(nulls.toLongArray(), (size + 63) >>> 6);
+    }
+
+    static final class OfLongs extends Column {
+
+        final long[] values;
+
+        OfLongs(long[] values, long[] nulls) {
+            super(values.length, nulls);
+            this.values = values;
+        }
+    }
+
+    static final class OfDoubles extends Column {
+
+        final double[] values;
+
+        OfDoubles(double[] values, long[] nulls) {
+            super(values.length, nulls);
+            this.values = values;
+        }
+    }
+
+    static final class OfDictionary extends Column {
+
+        final int[] codes;
+        final String[] dictionary;
+
+        OfDictionary(int[] codes, String[] dictionary) {
+            super(codes.length, null);
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+    }
+}
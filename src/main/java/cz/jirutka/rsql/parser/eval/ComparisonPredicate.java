@@ -0,0 +1,456 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import cz.jirutka.rsql.parser.ArgumentConversionException;
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A compiled comparison. It walks the path of the selector and compares the value of the last property, a
+ * {@code null} on the path is the same as a {@code null} value.
+ */
+abstract class ComparisonPredicate implements Predicate<Object> {
+
+    /**
+     * The number of the arguments of {@code =in=} and {@code =out=} from which they are looked up in a hash set, or
+     * by a binary search, instead of one by one.
+     */
+    static final int LOOKUP_THRESHOLD = 8;
+
+    final ComparisonNode node;
+    final PropertyAccessor accessor;
+
+    /**
+     * The accessors of the objects on the path, without the last one.
+     */
+    private final PropertyAccessor[] owners;
+
+    ComparisonPredicate(ComparisonNode node, PropertyAccessor[] path) {
+        this.node = node;
+        this.accessor = path[path.length - 1];
+        this.owners = Arrays.copyOf(path, path.length - 1);
+    }
+
+    @Override
+    public final boolean test(Object item) {
+        Object target = item;
+        for (int i = 0; i < owners.length && target != null; i++) {
+            target = owners[i].get(target);
+        }
+
+        return target != null ? testTarget(target) : testNull();
+    }
+
+    /**
+     * Evaluates the comparison of the property of the given object.
+     */
+    abstract boolean testTarget(Object target);
+
+    /**
+     * Evaluates the comparison of a {@code null} value.
+     */
+    abstract boolean testNull();
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+
+    /**
+     * Matches the value with a pattern where {@code *} matches any sequence of characters.
+     */
+    static boolean matchesWildcard(String pattern, String value) {
+        int p = 0;
+        int v = 0;
+        int star = -1;
+        int mark = 0;
+
+        while (v < value.length()) {
+            if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = v;
+            } else if (p < pattern.length() && pattern.charAt(p) == value.charAt(v)) {
+                p++;
+                v++;
+            } else if (star >= 0) {
+                p = star + 1;
+                v = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+
+        return p == pattern.length();
+    }
+
+    /**
+     * A comparison of an object value with the arguments converted to its type.
+     */
+    static final class OfObjects extends ComparisonPredicate {
+
+        private final Operation operation;
+        private final Map<Class<?>, ArgumentType<?>> types;
+
+        /**
+         * The arguments converted to the static type of the value, or to the class of the last value if the static
+         * type is not known, i.e. has no conversion.
+         */
+        private volatile Operands operands;
+
+        OfObjects(ComparisonNode node, PropertyAccessor[] path, Operation operation,
+            Map<Class<?>, ArgumentType<?>> types) {
+            super(node, path);
+            this.operation = operation;
+            this.types = types;
+
+            Class<?> type = accessor.getType();
+            ArgumentType<?> argumentType = Coercions.get(types, type);
+            if (argumentType != null) {
+                this.operands = Operands.convert(Coercions.box(type), argumentType, operation, node, true);
+            } else if (type.isPrimitive() || Modifier.isFinal(type.getModifiers())) {
+                throw new IllegalArgumentException(String.format(
+                    "arguments of selector '%s' can't be converted to %s", node.getSelector(), type.getSimpleName()));
+            }
+        }
+
+        @Override
+        boolean testTarget(Object target) {
+            Object value = accessor.get(target);
+            if (value == null) {
+                return operation.nullResult;
+            }
+
+            Operands operands = this.operands;
+            if (operands == null || operands.dynamic && operands.type != value.getClass()) {
+                operands = Operands.convert(
+                    value.getClass(), Coercions.get(types, value.getClass()), operation, node, false);
+                this.operands = operands;
+            }
+            if (operands.values == null) {
+                return operation.mismatchResult;
+            }
+
+            if (operation.isOrdering()) {
+                return operation.test(compare(value, operands.values[0]));
+            }
+
+            return operands.contains(value) != operation.isNegated();
+        }
+
+        @Override
+        boolean testNull() {
+            return operation.nullResult;
+        }
+
+        @SuppressWarnings("unchecked")
+        static int compare(Object value, Object argument) {
+            return ((Comparable<Object>) value).compareTo(argument);
+        }
+    }
+
+    /**
+     * The arguments converted to a type.
+     */
+    static final class Operands {
+
+        final Class<?> type;
+
+        /**
+         * Whether the arguments have been converted to the class of a value, not to the static type.
+         */
+        final boolean dynamic;
+
+        /**
+         * The converted arguments, or {@code null} if they can't be converted to the type.
+         */
+        final Object[] values;
+
+        private final boolean comparable;
+        private final boolean[] wildcards;
+        private final Set<Object> set;
+
+        private Operands(Class<?> type, boolean dynamic, Object[] values, boolean[] wildcards) {
+            this.type = type;
+            this.dynamic = dynamic;
+            this.values = values;
+            this.comparable = Comparable.class.isAssignableFrom(type);
+            this.wildcards = wildcards;
+            // BigDecimal.equals() is not consistent with compareTo(), e.g. 1.0 is not equal to 1.00
+            this.set = values != null && wildcards == null && values.length > LOOKUP_THRESHOLD
+                && type != BigDecimal.class
+                ? new HashSet<>(Arrays.asList(values))
+                : null;
+        }
+
+        /**
+         * Converts the arguments of the comparison to the type.
+         *
+         * @param strict Whether to throw an exception if the arguments can't be converted, or to return operands
+         *               without the values.
+         */
+        static Operands convert(Class<?> type, ArgumentType<?> argumentType, Operation operation, ComparisonNode node,
+            boolean strict) {
+            String selector = node.getSelector();
+
+            if (argumentType == null || operation.isOrdering() && !Comparable.class.isAssignableFrom(type)) {
+                if (strict) {
+                    throw new IllegalArgumentException(String.format(
+                        "values of selector '%s' of type %s can't be ordered", selector, type.getSimpleName()));
+                }
+                return new Operands(type, true, null, null);
+            }
+
+            List<String> arguments = node.getArguments();
+            Object[] values = new Object[arguments.size()];
+            boolean[] wildcards = null;
+
+            for (int i = 0; i < values.length; i++) {
+                String argument = arguments.get(i);
+                RuntimeException cause = null;
+                try {
+                    values[i] = argumentType.convert(argument);
+                } catch (RuntimeException ex) {
+                    cause = ex;
+                }
+                if (values[i] == null) {
+                    if (strict) {
+                        throw new ArgumentConversionException(selector, i, argument, argumentType, cause);
+                    }
+                    return new Operands(type, true, null, null);
+                }
+
+                if (type == String.class && !operation.isOrdering() && argument.indexOf('*') >= 0) {
+                    if (wildcards == null) {
+                        wildcards = new boolean[values.length];
+                    }
+                    wildcards[i] = true;
+                }
+            }
+
+            return new Operands(type, !strict, values, wildcards);
+        }
+
+        boolean contains(Object value) {
+            if (set != null) {
+                return set.contains(value);
+            }
+
+            for (int i = 0; i < values.length; i++) {
+                boolean matches;
+                if (wildcards != null && wildcards[i]) {
+                    matches = matchesWildcard((String) values[i], (String) value);
+                } else if (comparable) {
+                    matches = OfObjects.compare(value, values[i]) == 0;
+                } else {
+                    matches = value.equals(values[i]);
+                }
+
+                if (matches) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * A comparison of an integral primitive value, without boxing.
+     */
+    static final class OfLongs extends ComparisonPredicate {
+
+        private final Operation operation;
+        private final long[] values;
+        private final boolean sorted;
+
+        OfLongs(ComparisonNode node, PropertyAccessor[] path, Operation operation) {
+            super(node, path);
+            this.operation = operation;
+
+            long[] values;
+            if (node.getArgumentType() == ArgumentType.LONG) {
+                values = node.getLongArguments();
+            } else {
+                List<String> arguments = node.getArguments();
+                values = new long[arguments.size()];
+                for (int i = 0; i < values.length; i++) {
+                    try {
+                        values[i] = Long.parseLong(arguments.get(i));
+                    } catch (NumberFormatException ex) {
+                        throw new ArgumentConversionException(
+                            node.getSelector(), i, arguments.get(i), ArgumentType.LONG, ex);
+                    }
+                }
+            }
+
+            this.sorted = !operation.isOrdering() && values.length > LOOKUP_THRESHOLD;
+            if (sorted) {
+                Arrays.sort(values);
+            }
+            this.values = values;
+        }
+
+        @Override
+        boolean testTarget(Object target) {
+            long value = ((PropertyAccessor.OfLong) accessor).getLong(target);
+
+            if (operation.isOrdering()) {
+                return operation.test(Long.compare(value, values[0]));
+            }
+
+            return contains(value) != operation.isNegated();
+        }
+
+        private boolean contains(long value) {
+            if (sorted) {
+                return Arrays.binarySearch(values, value) >= 0;
+            }
+            for (long v : values) {
+                if (v == value) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        boolean testNull() {
+            return operation.nullResult;
+        }
+    }
+
+    /**
+     * A comparison of a floating-point primitive value, without boxing.
+     */
+    static final class OfDoubles extends ComparisonPredicate {
+
+        private final Operation operation;
+        private final double[] values;
+
+        OfDoubles(ComparisonNode node, PropertyAccessor[] path, Operation operation) {
+            super(node, path);
+            this.operation = operation;
+
+            boolean isFloat = accessor.getType() == float.class;
+            ArgumentType<?> argumentType = Coercions.DEFAULTS.get(isFloat ? Float.class : Double.class);
+            List<String> arguments = node.getArguments();
+
+            this.values = new double[arguments.size()];
+            for (int i = 0; i < values.length; i++) {
+                try {
+                    // a float argument, so that it equals to the float value widened to double
+                    values[i] = isFloat ? Float.parseFloat(arguments.get(i)) : Double.parseDouble(arguments.get(i));
+                } catch (NumberFormatException ex) {
+                    throw new ArgumentConversionException(node.getSelector(), i, arguments.get(i), argumentType, ex);
+                }
+            }
+        }
+
+        @Override
+        boolean testTarget(Object target) {
+            double value = ((PropertyAccessor.OfDouble) accessor).getDouble(target);
+
+            if (operation.isOrdering()) {
+                return operation.test(Double.compare(value, values[0]));
+            }
+
+            boolean contains = false;
+            for (double v : values) {
+                if (Double.compare(v, value) == 0) {
+                    contains = true;
+                    break;
+                }
+            }
+
+            return contains != operation.isNegated();
+        }
+
+        @Override
+        boolean testNull() {
+            return operation.nullResult;
+        }
+    }
+
+    /**
+     * A check of {@code =null=} or {@code =notnull=}.
+     */
+    static final class IsNull extends ComparisonPredicate {
+
+        private final boolean expected;
+        private final boolean primitive;
+
+        IsNull(ComparisonNode node, PropertyAccessor[] path, boolean expected) {
+            super(node, path);
+            this.expected = expected;
+            this.primitive = accessor.getType().isPrimitive();
+        }
+
+        @Override
+        boolean testTarget(Object target) {
+            // a primitive value is never null and not read at all
+            return (!primitive && accessor.get(target) == null) == expected;
+        }
+
+        @Override
+        boolean testNull() {
+            return expected;
+        }
+    }
+
+    /**
+     * A comparison with a custom operator.
+     */
+    static final class Custom extends ComparisonPredicate {
+
+        private final Predicate<Object> predicate;
+
+        Custom(ComparisonNode node, PropertyAccessor[] path, Predicate<Object> predicate) {
+            super(node, path);
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean testTarget(Object target) {
+            return predicate.test(accessor.get(target));
+        }
+
+        @Override
+        boolean testNull() {
+            return predicate.test(null);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import java.util.function.Predicate;
+
+/**
+ * A compiled conjunction or disjunction, it evaluates its operands in order until the result is decided.
+ */
+final class LogicalPredicate implements Predicate<Object> {
+
+    private final boolean and;
+    private final Predicate<Object>[] operands;
+    private final boolean mayThrow;
+
+    LogicalPredicate(boolean and, Predicate<Object>[] operands) {
+        this.and = and;
+        this.operands = operands;
+        this.mayThrow = AdaptivePredicate.anyOf(AdaptivePredicate.throwing(operands));
+    }
+
+    /**
+     * Returns whether some operand may throw an exception, see {@link AdaptivePredicate#mayThrow(Predicate)}.
+     */
+    boolean mayThrow() {
+        return mayThrow;
+    }
+
+    @Override
+    public boolean test(Object item) {
+        for (Predicate<Object> operand : operands) {
+            if (operand.test(item) != and) {
+                return !and;
+            }
+        }
+
+        return and;
+    }
+
+    @Override
+    public String toString() {
+        return toString(and, operands);
+    }
+
+    static String toString(boolean and, Predicate<Object>[] operands) {
+        StringBuilder sb = new StringBuilder("(");
+        for (Predicate<Object> operand : operands) {
+            if (sb.length() > 1) {
+                sb.append(and ? ';' : ',');
+            }
+            sb.append(operand);
+        }
+
+        return sb.append(')').toString();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The built-in semantics of the {@link RSQLOperators}, recognized by their symbols.
+ */
+enum Operation {
+
+    EQUAL(false, false),
+    NOT_EQUAL(true, true),
+    GREATER_THAN(false, false),
+    GREATER_THAN_OR_EQUAL(false, false),
+    LESS_THAN(false, false),
+    LESS_THAN_OR_EQUAL(false, false),
+    IN(false, false),
+    NOT_IN(true, true),
+    IS_NULL(true, false),
+    NOT_NULL(false, true);
+
+    private static final Map<ComparisonOperator, Operation> OPERATIONS = new HashMap<>();
+
+    static {
+        OPERATIONS.put(RSQLOperators.EQUAL, EQUAL);
+        OPERATIONS.put(RSQLOperators.NOT_EQUAL, NOT_EQUAL);
+        OPERATIONS.put(RSQLOperators.GREATER_THAN, GREATER_THAN);
+        OPERATIONS.put(RSQLOperators.GREATER_THAN_OR_EQUAL, GREATER_THAN_OR_EQUAL);
+        OPERATIONS.put(RSQLOperators.LESS_THAN, LESS_THAN);
+        OPERATIONS.put(RSQLOperators.LESS_THAN_OR_EQUAL, LESS_THAN_OR_EQUAL);
+        OPERATIONS.put(RSQLOperators.IN, IN);
+        OPERATIONS.put(RSQLOperators.NOT_IN, NOT_IN);
+        OPERATIONS.put(RSQLOperators.IS_NULL, IS_NULL);
+        OPERATIONS.put(RSQLOperators.NOT_NULL, NOT_NULL);
+    }
+
+    /**
+     * The result for a {@code null} value.
+     */
+    final boolean nullResult;
+
+    /**
+     * The result for a value that can't be compared with the arguments, e.g. a string with a numeric argument.
+     */
+    final boolean mismatchResult;
+
+    Operation(boolean nullResult, boolean mismatchResult) {
+        this.nullResult = nullResult;
+        this.mismatchResult = mismatchResult;
+    }
+
+    /**
+     * Returns the operation of the operator, or {@code null} if it's not one of the {@link RSQLOperators}.
+     */
+    static Operation of(ComparisonOperator operator) {
+        return OPERATIONS.get(operator);
+    }
+
+    boolean isOrdering() {
+        return this == GREATER_THAN || this == GREATER_THAN_OR_EQUAL || this == LESS_THAN || this == LESS_THAN_OR_EQUAL;
+    }
+
+    boolean isNegated() {
+        return this == NOT_EQUAL || this == NOT_IN;
+    }
+
+    /**
+     * Returns the result of an ordering operation by the result of comparing the value with the argument.
+     */
+    boolean test(int comparison) {
+        switch (this) {
+            case GREATER_THAN:
+                return comparison > 0;
+            case GREATER_THAN_OR_EQUAL:
+                return comparison >= 0;
+            case LESS_THAN:
+                return comparison < 0;
+            case LESS_THAN_OR_EQUAL:
+                return comparison <= 0;
+            default:
+                throw new IllegalStateException(this + " is not an ordering operation");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the comparisons with a custom {@linkplain cz.jirutka.rsql.parser.ast.ComparisonOperator operator} into
+ * predicates of the selector's value.
+ *
+ * <pre>{@code
+ * PredicateCompiler compiler = new PredicateCompiler().withOperator(STARTS_WITH, (node, type) -> {
+ *     String prefix = node.getArguments().get(0);
+ *     return value -> value != null && value.toString().startsWith(prefix);
+ * });
+ * }</pre>
+ *
+ * @see PredicateCompiler#withOperator(cz.jirutka.rsql.parser.ast.ComparisonOperator, OperatorEvaluator)
+ * @since 2.5.0
+ */
+public interface OperatorEvaluator {
+
+    /**
+     * Compiles the comparison, it's called once per comparison when the query is compiled.
+     *
+     * @param node The comparison.
+     * @param type The static type of the selector's value, {@link Object} if it's known only at runtime.
+     * @return a thread-safe predicate of the value, it's given {@code null} if the value or some of the objects on the
+     * path of the selector is {@code null}.
+     */
+    Predicate<Object> compile(ComparisonNode node, Class<?> type);
+}
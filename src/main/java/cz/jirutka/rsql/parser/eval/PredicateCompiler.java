@@ -0,0 +1,371 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import cz.jirutka.rsql.parser.UnknownSelectorException;
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ArgumentType;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Compiles an AST into a {@link Predicate} that evaluates the query on the objects in memory, e.g. to filter a cache.
+ * The selectors and the arguments are resolved once when the query is compiled, so the predicate can be reused for
+ * any number of the objects by any number of threads, and it doesn't allocate while evaluating, except for the values
+ * whose type is known only at runtime.
+ *
+ * <p>The selectors are resolved by the {@linkplain PropertyResolvers#defaultResolvers() resolvers} into the
+ * {@linkplain PropertyAccessor accessors} of the properties, e.g. the getters of the JavaBeans or the values of the
+ * maps. A selector with dots is a path of the properties, e.g. {@code address.city}, a {@code null} on the path is the
+ * same as a {@code null} value. The accessors are cached per type and property by the compiler.
+ *
+ * <p>The operators from {@link cz.jirutka.rsql.parser.ast.RSQLOperators} have their usual meaning:
+ *
+ * <ul>
+ *     <li>The arguments are converted to the type of the value, e.g. to {@code long}, {@link java.math.BigDecimal},
+ *     {@link java.time.Instant} or an enum, see {@link #withArgumentType(Class, ArgumentType)}. An argument that can't
+ *     be converted to the static type of the property is rejected when the query is compiled. When the type is known
+ *     only at runtime, such a value matches only {@code !=} and {@code =out=}.</li>
+ *     <li>{@code ==}, {@code !=}, {@code =in=} and {@code =out=} compare the values exactly, a string argument with
+ *     {@code *} is a wildcard pattern, e.g. {@code name==Jo*}.</li>
+ *     <li>{@code =gt=}, {@code =ge=}, {@code =lt=} and {@code =le=} compare the {@link Comparable} values.</li>
+ *     <li>A {@code null} value matches only {@code !=}, {@code =out=} and {@code =null=}.</li>
+ * </ul>
+ *
+ * <p>{@code ;} and {@code ,} evaluate their operands in order and stop as soon as the result is decided, see also
+ * {@link #withAdaptiveOrdering(boolean)}. The nested groups with the same operator are flattened, e.g.
+ * {@code a==1;(b==2;c==3)} is evaluated as {@code a==1;b==2;c==3}, and the AST is compiled without recursion. The
+ * predicate is evaluated by nested calls, one for each alternation of {@code ;} and {@code ,} in the AST, e.g. two
+ * for {@code a==1;(b==2,c==3)}, so only a query that alternates them thousands of times deep may overflow the stack.
+ *
+ * <pre>{@code
+ * Predicate<Person> predicate = new PredicateCompiler().compile(parser.parse("age=ge=18;address.city==Pr*"), Person.class);
+ * List<Person> adults = people.stream().filter(predicate).collect(toList());
+ * }</pre>
+ *
+ * @since 2.5.0
+ */
+@ThreadSafe
+public final class PredicateCompiler {
+
+    private final List<PropertyResolver> resolvers;
+    private final Map<ComparisonOperator, OperatorEvaluator> operators;
+    private final Map<Class<?>, ArgumentType<?>> argumentTypes;
+    private final boolean adaptiveOrdering;
+    private final Accessors accessors;
+
+    /**
+     * Creates a compiler with the {@linkplain PropertyResolvers#defaultResolvers() default resolvers}.
+     */
+    public PredicateCompiler() {
+        this(PropertyResolvers.defaultResolvers(), Collections.emptyMap(), Coercions.DEFAULTS, false);
+    }
+
+    private PredicateCompiler(List<PropertyResolver> resolvers, Map<ComparisonOperator, OperatorEvaluator> operators,
+        Map<Class<?>, ArgumentType<?>> argumentTypes, boolean adaptiveOrdering) {
+        this.resolvers = resolvers;
+        this.operators = operators;
+        this.argumentTypes = argumentTypes;
+        this.adaptiveOrdering = adaptiveOrdering;
+        this.accessors = new Accessors(resolvers);
+    }
+
+    /**
+     * Returns the resolvers in the order they are asked to resolve a property.
+     */
+    public List<PropertyResolver> getResolvers() {
+        return resolvers;
+    }
+
+    /**
+     * Returns a copy of this compiler with the given resolvers.
+     *
+     * @param resolvers The resolvers in the order they are asked to resolve a property. Must not be {@code null}.
+     * @return a copy of this compiler with the given resolvers.
+     */
+    public PredicateCompiler withResolvers(List<PropertyResolver> resolvers) {
+        if (resolvers == null) {
+            throw new IllegalArgumentException("resolvers must not be null");
+        }
+        List<PropertyResolver> copy = Collections.unmodifiableList(new ArrayList<>(resolvers));
+        if (copy.contains(null)) {
+            throw new IllegalArgumentException("resolvers must not contain null");
+        }
+
+        return new PredicateCompiler(copy, operators, argumentTypes, adaptiveOrdering);
+    }
+
+    /**
+     * Returns a copy of this compiler that evaluates the comparisons with the given operator by the evaluator. It
+     * may be a custom operator or one of the {@link cz.jirutka.rsql.parser.ast.RSQLOperators} with other meaning.
+     *
+     * @param operator  The operator. Must not be {@code null}.
+     * @param evaluator The evaluator, or {@code null} to remove the one of the operator.
+     * @return a copy of this compiler with the evaluator.
+     */
+    public PredicateCompiler withOperator(ComparisonOperator operator, OperatorEvaluator evaluator) {
+        if (operator == null) {
+            throw new IllegalArgumentException("operator must not be null");
+        }
+
+        Map<ComparisonOperator, OperatorEvaluator> copy = new HashMap<>(operators);
+        if (evaluator != null) {
+            copy.put(operator, evaluator);
+        } else {
+            copy.remove(operator);
+        }
+
+        return new PredicateCompiler(resolvers, Collections.unmodifiableMap(copy), argumentTypes, adaptiveOrdering);
+    }
+
+    /**
+     * Returns a copy of this compiler that converts the arguments compared with the values of the given class by the
+     * given type, e.g. a value object of the domain.
+     *
+     * @param javaType     The class of the values. Must not be {@code null}.
+     * @param argumentType The type to convert the arguments by, or {@code null} to remove the one of the class.
+     * @return a copy of this compiler with the argument type.
+     */
+    public <T> PredicateCompiler withArgumentType(Class<T> javaType, ArgumentType<? extends T> argumentType) {
+        if (javaType == null) {
+            throw new IllegalArgumentException("javaType must not be null");
+        }
+
+        Map<Class<?>, ArgumentType<?>> copy = new HashMap<>(argumentTypes);
+        if (argumentType != null) {
+            copy.put(Coercions.box(javaType), argumentType);
+        } else {
+            copy.remove(Coercions.box(javaType));
+        }
+
+        return new PredicateCompiler(resolvers, operators, Collections.unmodifiableMap(copy), adaptiveOrdering);
+    }
+
+    /**
+     * Returns whether the compiled predicates reorder the operands of {@code ;} and {@code ,} by their observed cost
+     * and selectivity.
+     */
+    public boolean isAdaptiveOrdering() {
+        return adaptiveOrdering;
+    }
+
+    /**
+     * Returns a copy of this compiler whose predicates reorder the operands of {@code ;} and {@code ,} while they are
+     * evaluated, so that the operands that most cheaply decide the result are evaluated first, e.g. the most selective
+     * comparison of a conjunction. It pays off for a predicate that evaluates many objects, e.g. millions of records
+     * of a cache. The result, including an exception, is the same as without reordering, as long as the operators and
+     * the getters have no side effects and the getters don't throw. The comparisons with the custom operators, which
+     * may throw an exception, e.g. when they convert the value, are not reordered, only the operands between them.
+     * If a getter throws {@link RuntimeException} in another order, the object is evaluated again in the original
+     * order.
+     *
+     * <p>A small sample of the evaluations is measured by striped counters, and the operands are periodically
+     * reordered by atomically swapping their order, so the threads evaluating the predicate never block each other.
+     *
+     * @param adaptiveOrdering Whether to reorder the operands.
+     * @return a copy of this compiler with the given adaptive ordering.
+     */
+    public PredicateCompiler withAdaptiveOrdering(boolean adaptiveOrdering) {
+        return adaptiveOrdering == this.adaptiveOrdering
+            ? this
+            : new PredicateCompiler(resolvers, operators, argumentTypes, adaptiveOrdering);
+    }
+
+    /**
+     * Compiles the AST into a predicate of the objects of the given type.
+     *
+     * @param node The root of the AST. Must not be {@code null}.
+     * @param type The type of the objects, {@link Object} to resolve the selectors by the class of each object. Must
+     *             not be {@code null}.
+     * @return a thread-safe predicate, it doesn't match {@code null}.
+     * @throws UnknownSelectorException            If some selector can't be resolved.
+     * @throws cz.jirutka.rsql.parser.ArgumentConversionException If some argument can't be converted to the type of
+     *                                             the selector's value.
+     * @throws IllegalArgumentException            If some operator has no evaluator, or the values of a selector can't
+     *                                             be compared as required by the operator.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Predicate<T> compile(Node node, Class<T> type) {
+        if (node == null) {
+            throw new IllegalArgumentException("node must not be null");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("type must not be null");
+        }
+
+        Predicate<Object> predicate = node instanceof LogicalNode
+            ? logical((LogicalNode) node, type)
+            : node.accept(new Compiler(), type);
+
+        return (Predicate<T>) nonNull(predicate);
+    }
+
+    /**
+     * Compiles the AST into a predicate that resolves the selectors by the class of each object, e.g. of a map.
+     *
+     * @param node The root of the AST. Must not be {@code null}.
+     * @return a thread-safe predicate, it doesn't match {@code null}.
+     * @see #compile(Node, Class)
+     */
+    public Predicate<Object> compile(Node node) {
+        return compile(node, Object.class);
+    }
+
+    private static Predicate<Object> nonNull(final Predicate<Object> predicate) {
+        return new Predicate<Object>() {
+            @Override
+            public boolean test(Object item) {
+                return item != null && predicate.test(item);
+            }
+
+            @Override
+            public String toString() {
+                return predicate.toString();
+            }
+        };
+    }
+
+    private Predicate<Object> comparison(ComparisonNode node, Class<?> type) {
+        PropertyAccessor[] path = accessors.path(type, node.getSelector());
+        if (path == null) {
+            throw new UnknownSelectorException(node.getSelector());
+        }
+        PropertyAccessor accessor = path[path.length - 1];
+
+        OperatorEvaluator evaluator = operators.get(node.getOperator());
+        if (evaluator != null) {
+            return new ComparisonPredicate.Custom(node, path, evaluator.compile(node, accessor.getType()));
+        }
+
+        Operation operation = Operation.of(node.getOperator());
+        if (operation == null) {
+            throw new IllegalArgumentException("no evaluator of operator: " + node.getOperator());
+        }
+
+        switch (operation) {
+            case IS_NULL:
+            case NOT_NULL:
+                return new ComparisonPredicate.IsNull(node, path, operation == Operation.IS_NULL);
+            default:
+                if (accessor instanceof PropertyAccessor.OfLong) {
+                    return new ComparisonPredicate.OfLongs(node, path, operation);
+                } else if (accessor instanceof PropertyAccessor.OfDouble) {
+                    return new ComparisonPredicate.OfDoubles(node, path, operation);
+                }
+
+                return new ComparisonPredicate.OfObjects(node, path, operation, argumentTypes);
+        }
+    }
+
+    /**
+     * Compiles the tree without recursion. The nested groups with the same operator as their parent are flattened.
+     */
+    private Predicate<Object> logical(LogicalNode node, Class<?> type) {
+        Compiler compiler = new Compiler();
+        List<Frame> stack = new ArrayList<>();
+        Frame frame = new Frame(node);
+        for (;;) {
+            if (!frame.pending.isEmpty()) {
+                Node child = frame.pending.removeFirst();
+                if (child instanceof LogicalNode && (child instanceof AndNode) == frame.and) {
+                    List<Node> children = ((LogicalNode) child).getChildren();
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        frame.pending.addFirst(children.get(i));
+                    }
+                } else if (child instanceof LogicalNode) {
+                    stack.add(frame);
+                    frame = new Frame((LogicalNode) child);
+                } else {
+                    frame.operands.add(child.accept(compiler, type));
+                }
+                continue;
+            }
+
+            Predicate<Object> predicate = frame.predicate();
+            if (stack.isEmpty()) {
+                return predicate;
+            }
+            frame = stack.remove(stack.size() - 1);
+            frame.operands.add(predicate);
+        }
+    }
+
+    private final class Compiler implements RSQLVisitor<Predicate<Object>, Class<?>> {
+
+        @Override
+        public Predicate<Object> visit(AndNode node, Class<?> type) {
+            return logical(node, type);
+        }
+
+        @Override
+        public Predicate<Object> visit(OrNode node, Class<?> type) {
+            return logical(node, type);
+        }
+
+        @Override
+        public Predicate<Object> visit(ComparisonNode node, Class<?> type) {
+            return comparison(node, type);
+        }
+    }
+
+    /**
+     * A group being compiled.
+     */
+    private final class Frame {
+
+        final boolean and;
+
+        /**
+         * The operands to compile, the children of the flattened groups take their place.
+         */
+        final ArrayDeque<Node> pending;
+        final List<Predicate<Object>> operands = new ArrayList<>();
+
+        Frame(LogicalNode node) {
+            this.and = node instanceof AndNode;
+            this.pending = new ArrayDeque<>(node.getChildren());
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate<Object> predicate() {
+            Predicate<Object>[] array = operands.toArray(new Predicate[0]);
+
+            return adaptiveOrdering && AdaptivePredicate.isReorderable(array)
+                ? new AdaptivePredicate(and, array)
+                : new LogicalPredicate(and, array);
+        }
+    }
+}
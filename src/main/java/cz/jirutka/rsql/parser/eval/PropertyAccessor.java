@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+/**
+ * Reads a property of an object, e.g. by a getter or from a {@link java.util.Map Map}. The accessors are created once
+ * per type and property by a {@link PropertyResolver} and reused by all the predicates compiled by the
+ * {@link PredicateCompiler}, so they must be thread-safe.
+ *
+ * <p>An accessor of a primitive property should implement {@link OfLong} or {@link OfDouble}, so the predicates can
+ * read and compare the value without boxing it.
+ *
+ * @since 2.5.0
+ */
+public interface PropertyAccessor {
+
+    /**
+     * Returns the static type of the property, it may be a primitive type. {@link Object} means that the type is
+     * known only at runtime, e.g. for the values of a map, so the nested properties and the type of the arguments are
+     * resolved by the runtime class of the value.
+     */
+    Class<?> getType();
+
+    /**
+     * Returns the value of the property.
+     *
+     * @param target The object to read the property of, never {@code null}.
+     * @return the value, or {@code null} if the property has no value.
+     */
+    Object get(Object target);
+
+    /**
+     * An accessor of an integral property, i.e. {@code long}, {@code int}, {@code short} or {@code byte}.
+     */
+    interface OfLong extends PropertyAccessor {
+
+        long getLong(Object target);
+
+        @Override
+        default Object get(Object target) {
+            return getLong(target);
+        }
+    }
+
+    /**
+     * An accessor of a floating-point property, i.e. {@code double} or {@code float}.
+     */
+    interface OfDouble extends PropertyAccessor {
+
+        double getDouble(Object target);
+
+        @Override
+        default Object get(Object target) {
+            return getDouble(target);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+/**
+ * Resolves a property of a type into a {@link PropertyAccessor}. The {@link PredicateCompiler} splits a selector by
+ * dots into the properties of a path, e.g. {@code address.city}, and resolves each of them by the type of the previous
+ * one, asking its resolvers in order until one of them resolves the property.
+ *
+ * @see PropertyResolvers
+ * @since 2.5.0
+ */
+public interface PropertyResolver {
+
+    /**
+     * Resolves the property of the given type. It's called once per type and property, the result is cached by the
+     * compiler.
+     *
+     * @param type     The type to resolve the property of.
+     * @param property The name of the property, i.e. a segment of the selector.
+     * @return the accessor, or {@code null} if this resolver can't resolve the property.
+     */
+    PropertyAccessor resolve(Class<?> type, String property);
+}
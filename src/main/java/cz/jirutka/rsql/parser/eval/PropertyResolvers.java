@@ -0,0 +1,334 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The built-in {@linkplain PropertyResolver property resolvers}.
+ *
+ * @since 2.5.0
+ */
+public final class PropertyResolvers {
+
+    /**
+     * Resolves the properties of the JavaBeans, records and other objects by a {@link MethodHandle} of a public
+     * getter, i.e. {@code getName()} or {@code isName()} for {@code boolean}, of the accessor {@code name()} of a record
+     * component, or of a public field. The methods declared by {@link Object}, e.g. {@code getClass()}, are not
+     * properties, so a query can't invoke any other method of the objects. The integral and floating-point properties
+     * are read without boxing.
+     */
+    public static final PropertyResolver BEANS = new Beans();
+
+    /**
+     * Resolves the properties of a {@link Map} as its values by the names of the properties. The type of the values
+     * is known only at runtime.
+     */
+    public static final PropertyResolver MAPS = new Maps();
+
+    private PropertyResolvers() {
+    }
+
+    /**
+     * Returns the default resolvers, i.e. {@link #MAPS} and {@link #BEANS}.
+     *
+     * @return an unmodifiable list of the resolvers.
+     */
+    public static List<PropertyResolver> defaultResolvers() {
+        return Collections.unmodifiableList(Arrays.asList(MAPS, BEANS));
+    }
+
+    private static final class Maps implements PropertyResolver {
+
+        @Override
+        public PropertyAccessor resolve(Class<?> type, String property) {
+            return Map.class.isAssignableFrom(type) ? new MapAccessor(property) : null;
+        }
+    }
+
+    private static final class MapAccessor implements PropertyAccessor {
+
+        private final String key;
+
+        MapAccessor(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return Object.class;
+        }
+
+        @Override
+        public Object get(Object target) {
+            return ((Map<?, ?>) target).get(key);
+        }
+    }
+
+    private static final class Beans implements PropertyResolver {
+
+        @Override
+        public PropertyAccessor resolve(Class<?> type, String property) {
+            if (type.isPrimitive() || type.isArray() || property.isEmpty()) {
+                return null;
+            }
+
+            String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            Method getter = getter(type, "get" + capitalized);
+            if (getter == null) {
+                getter = getter(type, "is" + capitalized);
+                if (getter != null && getter.getReturnType() != boolean.class) {
+                    getter = null;
+                }
+            }
+            if (getter == null && isRecordComponent(type, property)) {
+                getter = getter(type, property);
+            }
+
+            try {
+                if (getter != null) {
+                    return accessor(getter.getReturnType(), unreflect(getter));
+                }
+
+                Field field = type.getField(property);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    return null;
+                }
+                if (!Modifier.isPublic(field.getDeclaringClass().getModifiers())) {
+                    field.setAccessible(true);
+                }
+
+                return accessor(field.getType(), MethodHandles.lookup().unreflectGetter(field));
+            } catch (NoSuchFieldException | IllegalAccessException ex) {
+                return null;
+            } catch (RuntimeException ex) {
+                // e.g. SecurityException, or InaccessibleObjectException from setAccessible on Java 9+
+                return null;
+            }
+        }
+
+        private static Method getter(Class<?> type, String name) {
+            try {
+                Method method = type.getMethod(name);
+
+                return Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class
+                    || method.getDeclaringClass() == Object.class
+                    ? null
+                    : method;
+            } catch (NoSuchMethodException ex) {
+                return null;
+            }
+        }
+
+        /**
+         * Returns whether the type is a record with the given component. The records are inspected reflectively, since
+         * {@code Class#getRecordComponents()} doesn't exist before Java 16.
+         */
+        private static boolean isRecordComponent(Class<?> type, String name) {
+            if (RecordComponents.GET_RECORD_COMPONENTS == null) {
+                return false;
+            }
+
+            try {
+                Object[] components = (Object[]) RecordComponents.GET_RECORD_COMPONENTS.invoke(type);
+                if (components == null) {
+                    return false;
+                }
+                for (Object component : components) {
+                    if (name.equals(RecordComponents.GET_NAME.invoke(component))) {
+                        return true;
+                    }
+                }
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                return false;
+            }
+
+            return false;
+        }
+
+        private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+            // a public method declared by a non-public class, e.g. an anonymous one, is not accessible by itself
+            if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                method.setAccessible(true);
+            }
+
+            return MethodHandles.lookup().unreflect(method);
+        }
+
+        private static PropertyAccessor accessor(Class<?> type, MethodHandle handle) {
+            if (type == long.class || type == int.class || type == short.class || type == byte.class) {
+                return new LongHandleAccessor(type, handle.asType(methodType(long.class, Object.class)));
+            }
+            if (type == double.class || type == float.class) {
+                return new DoubleHandleAccessor(type, handle.asType(methodType(double.class, Object.class)));
+            }
+
+            return new HandleAccessor(type, handle.asType(methodType(Object.class, Object.class)));
+        }
+    }
+
+    private static final class RecordComponents {
+
+        /**
+         * {@code Class#getRecordComponents()}, or {@code null} before Java 16.
+         */
+        static final Method GET_RECORD_COMPONENTS;
+
+        /**
+         * {@code RecordComponent#getName()}, or {@code null} before Java 16.
+         */
+        static final Method GET_NAME;
+
+        static {
+            Method components = null;
+            Method name = null;
+            try {
+                components = Class.class.getMethod("getRecordComponents");
+                name = Class.forName("java.lang.reflect.RecordComponent").getMethod("getName");
+            } catch (ReflectiveOperationException ex) {
+                components = null;
+            }
+            GET_RECORD_COMPONENTS = components;
+            GET_NAME = name;
+        }
+
+        private RecordComponents() {
+        }
+    }
+
+    private static final class HandleAccessor implements PropertyAccessor {
+
+        private final Class<?> type;
+        private final MethodHandle handle;
+
+        HandleAccessor(Class<?> type, MethodHandle handle) {
+            this.type = type;
+            this.handle = handle;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        public Object get(Object target) {
+            try {
+                return (Object) handle.invokeExact(target);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new UndeclaredThrowableException(ex);
+            }
+        }
+    }
+
+    private static final class LongHandleAccessor implements PropertyAccessor.OfLong {
+
+        private final Class<?> type;
+        private final MethodHandle handle;
+
+        LongHandleAccessor(Class<?> type, MethodHandle handle) {
+            this.type = type;
+            this.handle = handle;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        public long getLong(Object target) {
+            try {
+                return (long) handle.invokeExact(target);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new UndeclaredThrowableException(ex);
+            }
+        }
+
+        @Override
+        public Object get(Object target) {
+            long value = getLong(target);
+
+            // the boxed value of the declared type, so that it equals to the value read by another accessor
+            if (type == int.class) {
+                return (int) value;
+            } else if (type == short.class) {
+                return (short) value;
+            } else if (type == byte.class) {
+                return (byte) value;
+            }
+
+            return value;
+        }
+    }
+
+    private static final class DoubleHandleAccessor implements PropertyAccessor.OfDouble {
+
+        private final Class<?> type;
+        private final MethodHandle handle;
+
+        DoubleHandleAccessor(Class<?> type, MethodHandle handle) {
+            this.type = type;
+            this.handle = handle;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        public double getDouble(Object target) {
+            try {
+                return (double) handle.invokeExact(target);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new UndeclaredThrowableException(ex);
+            }
+        }
+
+        @Override
+        public Object get(Object target) {
+            double value = getDouble(target);
+
+            return type == float.class ? (Object) (float) value : (Object) value;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ComparisonNode
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+
+class BatchParseSpec extends Specification {
+
+    @Shared
+    def parser = new RSQLParser(new NodesFactory(defaultOperators()))
+
+    def 'Should parse all queries in input order with #name'() {
+        given:
+        def queries = (0..<10000).collect { i -> i % 7 == 0 ? "s$i==(a,b".toString() : "s$i==a$i".toString() }
+
+        when:
+        def results = configured.parseAll(queries)
+
+        then:
+        results.size() == queries.size()
+        results.withIndex().every { result, i ->
+            result.query == queries[i] && (i % 7 == 0
+                ? !result.success && result.node == null && result.error instanceof RSQLParserException
+                : result.success && result.error == null && result.node == new ComparisonNode(EQUAL, "s$i", ["a$i".toString()]))
+        }
+
+        where:
+        name           | configured
+        'JavaCC'       | parser
+        'pool'         | parser.withParserPool(2)
+        'hand-written' | parser.withEngine(ParserEngine.HANDWRITTEN)
+        'fast-fail'    | parser.withFastFail(true)
+    }
+
+    def 'Should parse all queries with supplied executor'() {
+        given:
+        def executor = Executors.newFixedThreadPool(3)
+        def queries = ['a==b', 'a==b;', 'c!=d']
+
+        when:
+        def results = parser.parseAll(queries, executor)
+
+        then:
+        results*.success == [true, false, true]
+        results[0].nodeOrThrow == new ComparisonNode(EQUAL, 'a', ['b'])
+        results[1].error.cause instanceof ParseException
+
+        when:
+        results[1].nodeOrThrow
+
+        then:
+        thrown RSQLParserException
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'Should parse all queries from stream'() {
+        expect:
+        parser.parseAll(['a==b', 'c==d'].stream())*.node == [
+            new ComparisonNode(EQUAL, 'a', ['b']), new ComparisonNode(EQUAL, 'c', ['d'])]
+    }
+
+    def 'Should return empty results for empty batch'() {
+        expect:
+        parser.parseAll([]).empty
+    }
+
+    def 'Should throw exception when #argument is invalid'() {
+        when:
+        parser.parseAll(queries as List<String>, executor as Executor)
+
+        then:
+        def e = thrown IllegalArgumentException
+        e.message == message
+
+        where:
+        argument   | queries        | executor                       || message
+        'queries'  | null           | { it.run() } as Executor       || 'queries must not be null'
+        'query'    | ['a==b', null] | { it.run() } as Executor       || 'queries must not contain null'
+        'executor' | ['a==b']       | null                           || 'executor must not be null'
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.defaultOperators
+import static java.nio.charset.StandardCharsets.UTF_8
+
+/**
+ * Runs the whole {@link RSQLParserTest} against percent-encoded bytes.
+ */
+class ByteLexerTest extends RSQLParserTest {
+
+    @Override
+    def parse(String rsql) {
+        def parser = new RSQLParser(factory)
+        rsql == null ? parser.parse(null as ByteBuffer) : parser.parse(ByteBuffer.wrap(URLEncoder.encode(rsql, 'UTF-8').getBytes(UTF_8)))
+    }
+}
+
+class ByteLexerSpec extends Specification {
+
+    def parser = new RSQLParser(new NodesFactory(defaultOperators()))
+
+    def 'Should build the same AST as parsing of URL decoded query: #input'() {
+        given:
+        def bytes = input.getBytes(UTF_8)
+        def expected = parser.parse(URLDecoder.decode(input, 'UTF-8'))
+
+        expect:
+        parser.parse(bytes, 0, bytes.length) == expected
+        parser.parse(direct(bytes)) == expected
+
+        where:
+        input << [
+            'genres=in=(sci-fi,action);(director==\'Christopher Nolan\',actor==*Bale);year=ge=2000',
+            'genres%3Din%3D%28sci-fi%2Caction%29%3Byear%3Dge%3D2000',
+            'director==%27Christopher+Nolan%27+and+year%3E%3D2000',
+            'a==b+or+c==d%20and%20e=in=(f+or+g)',
+            'name==%22Kill+%5C%22Bill%5C%22%22',
+            "name=='x\\\\y\\'z'",
+            'name==%22P%C5%99%C3%ADli%C5%A1+%C5%BElu%C5%A5ou%C4%8Dk%C3%BD%22',
+            'name==Příliš;title=="žluťoučký kůň"',
+            'emoji==%F0%9F%98%80,emoji=="😀"',
+        ]
+    }
+
+    def 'Should parse only the given range and not move the buffer position'() {
+        given:
+        def buffer = ByteBuffer.wrap('?q=a==b;c==d&x=y'.getBytes(UTF_8))
+        buffer.position(3).limit(12)
+
+        expect:
+        parser.parse(buffer) == parser.parse('a==b;c==d')
+        parser.parse(buffer.array(), 3, 9) == parser.parse('a==b;c==d')
+        buffer.position() == 3
+        buffer.limit() == 12
+    }
+
+    def 'Should throw the same exception as parsing of URL decoded query: #input'() {
+        when:
+        parser.parse(URLDecoder.decode(input, 'UTF-8'))
+
+        then:
+        def expected = thrown(RSQLParserException)
+
+        when:
+        parser.parse(ByteBuffer.wrap(input.getBytes(UTF_8)))
+
+        then:
+        def actual = thrown(RSQLParserException)
+        actual.cause.class == expected.cause.class
+
+        where:
+        input << ['', 'a', 'a==b;', 'a%3Db', 'a!b', 'a~=b', 'a==%22b', 'a==b+c==d', 'a=foo=b', 'a==b)']
+    }
+
+    def 'Should throw on invalid percent-encoding: #input'() {
+        when:
+        parser.parse(ByteBuffer.wrap(input.getBytes(UTF_8)))
+
+        then:
+        def e = thrown(RSQLParserException)
+        e.cause instanceof TokenMgrError
+
+        where:
+        input << ['a==%', 'a==%2', 'a==%zz', '%', 'a%=b']
+    }
+
+    def 'Should throw IllegalArgumentException when query is null'() {
+        when:
+        parser.parse(null as byte[], 0, 0)
+
+        then:
+        thrown IllegalArgumentException
+    }
+
+    def 'Should throw IndexOutOfBoundsException when range is out of the array'() {
+        when:
+        parser.parse(new byte[4], 2, 3)
+
+        then:
+        thrown IndexOutOfBoundsException
+    }
+
+    static ByteBuffer direct(byte[] bytes) {
+        ByteBuffer.allocateDirect(bytes.length).put(bytes).flip() as ByteBuffer
+    }
+}
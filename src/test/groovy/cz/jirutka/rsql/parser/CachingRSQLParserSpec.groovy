@@ -0,0 +1,217 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ComparisonNode
+import cz.jirutka.rsql.parser.ast.Node
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.function.ToLongFunction
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.EQUAL
+
+class CachingRSQLParserSpec extends Specification {
+
+    def 'Should return cached node for repeated query'() {
+        given:
+        def parser = new CachingRSQLParser(new RSQLParser(), 1 << 20)
+
+        when:
+        def first = parser.parse('a==b;c==d')
+        def second = parser.parse('a==b;c==d')
+
+        then:
+        first.is(second)
+        parser.stats().hitCount == 1
+        parser.stats().missCount == 1
+        parser.stats().entryCount == 1
+    }
+
+    def 'Should cache failures'() {
+        given:
+        def parser = new CachingRSQLParser(new RSQLParser(), 1 << 20)
+
+        when:
+        parser.parse('a==')
+
+        then:
+        def first = thrown RSQLParserException
+
+        when:
+        parser.parse('a==')
+
+        then:
+        def second = thrown RSQLParserException
+        second.is(first)
+        parser.stats().hitCount == 1
+    }
+
+    def 'Should not cache failures when disabled'() {
+        given:
+        def parser = new CachingRSQLParser(new RSQLParser(), 1 << 20, { 1L } as ToLongFunction, false)
+
+        when:
+        parser.parse('a==')
+
+        then:
+        thrown RSQLParserException
+        parser.stats().entryCount == 0
+
+        when:
+        parser.parse('a==')
+
+        then:
+        thrown RSQLParserException
+        parser.stats().missCount == 2
+    }
+
+    def 'Should not keep entries heavier than maximum weight'() {
+        given:
+        def parser = new CachingRSQLParser(new RSQLParser(), 1, { 0L } as ToLongFunction, true)
+
+        when:
+        parser.parse('a==b')
+        parser.parse('a==b')
+
+        then: 'every entry is heavier than the maximum weight'
+        parser.stats().entryCount == 0
+        parser.stats().evictionCount == 2
+        parser.stats().missCount == 2
+    }
+
+    def 'Should keep total weight within maximum weight'() {
+        given:
+        def parser = new CachingRSQLParser(new RSQLParser(), 64 * 1024)
+
+        when:
+        1000.times { parser.parse("selector$it=in=(a,b,c)") }
+
+        then:
+        def stats = parser.stats()
+        stats.weight <= 64 * 1024
+        stats.evictionCount > 0
+        stats.entryCount + stats.evictionCount == 1000
+    }
+
+    def 'Should clear all entries'() {
+        given:
+        def parser = new CachingRSQLParser(new RSQLParser(), 1 << 20)
+        parser.parse('a==b')
+
+        when:
+        parser.clear()
+
+        then:
+        parser.stats().entryCount == 0
+        parser.stats().weight == 0
+    }
+
+    def 'Should parse query only once when requested concurrently'() {
+        given:
+        def started = new CountDownLatch(1)
+        def weighed = 0
+        def weigher = { Node node -> started.await(); weighed++; 1L } as ToLongFunction
+        def parser = new CachingRSQLParser(new RSQLParser(), 1 << 20, weigher, true)
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def futures = (1..4).collect { executor.submit({ parser.parse('a==b') } as Callable) }
+        started.countDown()
+        def results = futures*.get()
+
+        then:
+        results.every { it == new ComparisonNode(EQUAL, 'a', ['b']) }
+        results.every { it.is(results[0]) }
+        weighed == 1
+        parser.stats().missCount == 1
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'Should estimate retained size of AST'() {
+        given:
+        def parser = new RSQLParser()
+
+        expect:
+        CachingRSQLParser.estimateRetainedSize(parser.parse('a==b')) > 0
+        CachingRSQLParser.estimateRetainedSize(parser.parse('a==b;c=in=(d,e)')) >
+            CachingRSQLParser.estimateRetainedSize(parser.parse('a==b'))
+    }
+
+    def 'Should estimate retained size by shape of argument lists'() {
+        given:
+        def parser = new RSQLParser()
+
+        expect: 'node + selector + singleton list + argument'
+        CachingRSQLParser.estimateRetainedSize(parser.parse('a==b')) == 40 + 48 + 16 + 48
+
+        and: 'node + selector + fixed-size list with array + arguments'
+        CachingRSQLParser.estimateRetainedSize(parser.parse('a=in=(b,c)')) == 40 + 48 + 40 + 2 * 48
+    }
+
+    def 'Should not materialize lazy arguments when caching'() {
+        given:
+        def parser = new CachingRSQLParser(new RSQLParser().withLazyArguments(true), 1 << 20)
+
+        when:
+        def node = parser.parse('a=in=("b\\"c",d)') as ComparisonNode
+
+        then:
+        node.getArgumentView(0).@value == null
+        node.getArgumentView(1).@value == null
+        parser.stats().weight == CachingRSQLParser.estimateRetainedSize(node) + 24 + 16 + 16
+
+        and: 'node + selector + views list with array + views'
+        CachingRSQLParser.estimateRetainedSize(node) == 40 + 48 + 40 + 2 * 32
+
+        and:
+        node.arguments == ['b"c', 'd']
+    }
+
+    def 'Should estimate retained size of deeply nested AST'() {
+        given:
+        def node = new RSQLParser().withEngine(ParserEngine.HANDWRITTEN).parse(('(' * 50_000) + 'a==b' + (',c==d);e==f)' * 25_000))
+
+        expect:
+        CachingRSQLParser.estimateRetainedSize(node) > 50_000 * 24
+    }
+
+    def 'Should throw exception for invalid arguments'() {
+        when:
+        new CachingRSQLParser(parser, weight)
+
+        then:
+        def e = thrown IllegalArgumentException
+        e.message == message
+
+        where:
+        parser           | weight || message
+        null             | 1      || 'parser must not be null'
+        new RSQLParser() | 0      || 'maximumWeight must be positive'
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ComparisonNode
+import cz.jirutka.rsql.parser.ast.OrNode
+import spock.lang.Specification
+
+import java.nio.CharBuffer
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.EQUAL
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.IN
+
+class CharSequenceCharStreamSpec extends Specification {
+
+    def 'Should read characters until end of input'() {
+        given:
+        def stream = new CharSequenceCharStream('ab')
+
+        expect:
+        stream.BeginToken() == 'a' as char
+        stream.readChar() == 'b' as char
+
+        when:
+        stream.readChar()
+
+        then:
+        thrown IOException
+    }
+
+    def 'Should return image and positions of current token'() {
+        given:
+        def stream = new CharSequenceCharStream('ab=in=c')
+        stream.BeginToken()
+        stream.readChar()
+
+        when:
+        stream.BeginToken()
+        4.times { stream.readChar() }
+        stream.backup(1)
+
+        then:
+        stream.GetImage() == '=in='
+        stream.beginColumn == 3
+        stream.endColumn == 6
+        stream.GetSuffix(2) == 'n=' as char[]
+    }
+
+    def 'Should parse CharSequence without converting it to String: #engine'(ParserEngine engine) {
+        given:
+        def line = CharBuffer.wrap('GET /movies?query=genres=in=(sci-fi,action),name==Alien HTTP/1.1')
+        def query = line.subSequence(18, 55)
+        def parser = new RSQLParser().withEngine(engine)
+
+        expect:
+        parser.parse(query) == new OrNode([
+            new ComparisonNode(IN, 'genres', ['sci-fi', 'action']),
+            new ComparisonNode(EQUAL, 'name', ['Alien'])
+        ])
+
+        where:
+        engine << ParserEngine.values()
+    }
+
+    def 'Should throw exception when CharSequence query is null'() {
+        when:
+        new RSQLParser().parse(null as CharSequence)
+
+        then:
+        thrown IllegalArgumentException
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.AndNode
+import cz.jirutka.rsql.parser.ast.ComparisonNode
+import cz.jirutka.rsql.parser.ast.LogicalNode
+import cz.jirutka.rsql.parser.ast.Node
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+
+class CompactNodesSpec extends Specification {
+
+    static final Set<Class> COMPACT = [
+        Collections.emptyList().class, Collections.singletonList(1).class, Arrays.asList(1, 2).class
+    ] as Set
+
+    @Shared
+    def parser = new RSQLParser(new NodesFactory(defaultOperators()))
+
+    def 'Should keep exact-size children and arguments when parsed by #name'() {
+        given:
+        def query = 'a=in=(1,2,3);b==1;(c=out=(x),d=notnull=,e=in=(y));f=in=(z)'
+
+        expect:
+        compact(parse(query))
+
+        where:
+        name                | parse
+        'JavaCC'            | { q -> parser.parse(q) }
+        'pooled JavaCC'     | { q -> parser.withParserPool(1).parse(q) }
+        'hand-written'      | { q -> parser.withEngine(ParserEngine.HANDWRITTEN).parse(q) }
+        'bytes'             | { q -> parser.parse(q.bytes, 0, q.length()) }
+        'flat AST'          | { q -> parser.parse(q, new FlatAst()).toNode() }
+    }
+
+    def 'Should keep exact-size copies of children and arguments given to constructor'() {
+        given:
+        def arguments = new ArrayList<String>(10)
+        arguments.addAll(['x', 'y'])
+        def comparison = new ComparisonNode(IN, 'a', arguments)
+        def children = new ArrayList<Node>(10)
+        children.addAll([comparison, new ComparisonNode(EQUAL, 'b', ['z'])])
+
+        when:
+        def node = new AndNode(children)
+        arguments << 'w'
+        children << comparison
+
+        then:
+        compact(node)
+        node.children.size() == 2
+        comparison.arguments == ['x', 'y']
+    }
+
+    def 'Should not allow to modify children through iterator'() {
+        given:
+        def node = parser.parse('a==b;c==d') as LogicalNode
+
+        when:
+        def iterator = node.iterator()
+        iterator.next()
+        iterator.remove()
+
+        then:
+        thrown UnsupportedOperationException
+    }
+
+    private static boolean compact(Node node) {
+        if (node instanceof ComparisonNode) {
+            return field(ComparisonNode, 'arguments', node).class in COMPACT
+        }
+        def logical = node as LogicalNode
+
+        return field(LogicalNode, 'children', node).class in COMPACT && logical.every { compact(it) }
+    }
+
+    private static Object field(Class type, String name, Object object) {
+        def field = type.getDeclaredField(name)
+        field.accessible = true
+
+        return field.get(object)
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator
+import cz.jirutka.rsql.parser.ast.LogicalOperator
+import cz.jirutka.rsql.parser.ast.Node
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.defaultOperators
+
+/**
+ * Runs the whole {@link RSQLParserTest} against the event parser, the AST is rebuilt from the events.
+ */
+class EventParserTest extends RSQLParserTest {
+
+    @Override
+    def parse(String rsql) {
+        def builder = new EventParserSpec.AstBuilder(factory)
+        new RSQLParser(factory).parse(rsql, builder)
+        builder.root
+    }
+}
+
+class EventParserSpec extends Specification {
+
+    def parser = new RSQLParser(new NodesFactory(defaultOperators()))
+
+    def 'Should report logical operators before their operands'() {
+        given:
+        def events = []
+        def handler = new RSQLEventHandler() {
+            void startAnd() { events << 'and' }
+            void startOr() { events << 'or' }
+            void end() { events << 'end' }
+            void comparison(String selector, ComparisonOperator operator, List<String> arguments) {
+                events << "$selector$operator$arguments".toString()
+            }
+        }
+
+        when:
+        parser.parse('a==1;((b=in=(2,"3")),c!=4)', handler)
+
+        then:
+        events == ['and', 'a==[1]', 'or', 'b=in=[2, 3]', 'c!=[4]', 'end', 'end']
+    }
+
+    def 'Should build the same AST as parse: #input'() {
+        given:
+        def builder = new AstBuilder(parser.nodesFactory)
+
+        when:
+        parser.parse(input, builder)
+
+        then:
+        builder.root == parser.parse(input)
+
+        where:
+        input << [
+            'genres=in=(sci-fi,action);(director==\'Christopher Nolan\',actor==*Bale);year=ge=2000',
+            'genres=in=(sci-fi,action) and (director==\'Christopher Nolan\' or actor==*Bale) and year>=2000',
+            'a==1,b==2;c==3,(d==4;(e==5,f==6));g==7',
+            '(a==1,b==2);(c==3,d==4)',
+            '((a==1));((b==2,(c==3)))',
+            'a=in=(1,2,3);b=out=(4,5) or c==")(;,"',
+        ]
+    }
+
+    def 'Should throw the same exception as hand-written parser: #input'() {
+        when:
+        parser.withEngine(ParserEngine.HANDWRITTEN).parse(input)
+
+        then:
+        def expected = thrown(RSQLParserException)
+
+        when:
+        parser.parse(input, { s, o, a -> } as RSQLEventHandler)
+
+        then:
+        def actual = thrown(RSQLParserException)
+        actual.cause.class == expected.cause.class
+        actual.cause.message == expected.cause.message
+
+        where:
+        input << [
+            'a==b;(c==d', 'a==b;c==d)', '(a==b c==~)', 'a==b;(c==d,e=~f)', 'a==(b,c);d==e', 'a=foo=b;c==d',
+            '(a==b),', '""==a', "a=='b",
+        ]
+    }
+
+    def 'Should throw IllegalArgumentException when #name is null'() {
+        when:
+        parser.parse(query as CharSequence, handler as RSQLEventHandler)
+
+        then:
+        thrown IllegalArgumentException
+
+        where:
+        name      | query | handler
+        'query'   | null  | { s, o, a -> } as RSQLEventHandler
+        'handler' | 'a'   | null
+    }
+
+    /**
+     * Rebuilds the same AST as {@link RSQLParser#parse(String)} does from the events.
+     */
+    static class AstBuilder implements RSQLEventHandler {
+
+        final NodesFactory factory
+        final Deque<List<Node>> operands = new ArrayDeque<>()
+        final Deque<LogicalOperator> operators = new ArrayDeque<>()
+        Node root
+
+        AstBuilder(NodesFactory factory) {
+            this.factory = factory
+        }
+
+        void startAnd() { start(LogicalOperator.AND) }
+
+        void startOr() { start(LogicalOperator.OR) }
+
+        void end() { add(factory.createLogicalNode(operators.pop(), operands.pop())) }
+
+        void comparison(String selector, ComparisonOperator operator, List<String> arguments) {
+            add(factory.createComparisonNode(operator.symbol, selector, arguments))
+        }
+
+        private void start(LogicalOperator operator) {
+            operators.push(operator)
+            operands.push([])
+        }
+
+        private void add(Node node) {
+            if (operands) {
+                operands.peek() << node
+            } else {
+                root = node
+            }
+        }
+    }
+}
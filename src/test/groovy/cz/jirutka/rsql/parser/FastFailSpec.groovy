@@ -0,0 +1,144 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+import static cz.jirutka.rsql.parser.RSQLSyntaxException.Kind.*
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+import static java.nio.charset.StandardCharsets.UTF_8
+
+class FastFailParserTest extends RSQLParserTest {
+
+    @Override
+    def parse(String rsql) { new RSQLParser(factory).withFastFail(true).parse(rsql) }
+}
+
+class FastFailSpec extends Specification {
+
+    def parser = new RSQLParser(new NodesFactory(defaultOperators())).withFastFail(true)
+
+    def 'Should report #kind at #offset without stack trace: #input'() {
+        when:
+        parser.parse(input)
+
+        then:
+        def ex = thrown(RSQLSyntaxException)
+        ex.kind == kind
+        ex.offset == offset
+        ex.token == token
+        ex.cause == null
+        ex.stackTrace.length == 0
+
+        where:
+        input        | kind             | offset | token
+        'a~=b'       | LEXICAL_ERROR    | 1      | '~'
+        'a=="b'      | LEXICAL_ERROR    | 5      | '"b'
+        'a=b'        | LEXICAL_ERROR    | 3      | '=b'
+        ''           | UNEXPECTED_TOKEN | 0      | null
+        'a==b;'      | UNEXPECTED_TOKEN | 5      | null
+        'a==b)'      | UNEXPECTED_TOKEN | 4      | ')'
+        'a==b c==d'  | UNEXPECTED_TOKEN | 5      | 'c'
+        '(a==b'      | UNEXPECTED_TOKEN | 5      | null
+        'a==(b;c)'   | UNEXPECTED_TOKEN | 5      | ';'
+        'a==b;c=x=d' | UNKNOWN_OPERATOR | 6      | '=x='
+    }
+
+    def 'Should report expected tokens of unexpected token'() {
+        when:
+        parser.parse('a==b)')
+
+        then:
+        def ex = thrown(RSQLSyntaxException)
+        ex.expectedTokens == ['<EOF>', '<AND>', '<OR>']
+        ex.message == 'Unexpected ")" at offset 4, expected one of: <EOF>, <AND>, <OR>'
+    }
+
+    def 'Should report no expected tokens for #kind'() {
+        when:
+        parser.parse(input)
+
+        then:
+        def ex = thrown(RSQLSyntaxException)
+        ex.kind == kind
+        ex.expectedTokens.empty
+        ex.message.contains(token)
+
+        where:
+        input    | kind             | token
+        'a~=b'   | LEXICAL_ERROR    | '~'
+        'a=x=b'  | UNKNOWN_OPERATOR | '=x='
+    }
+
+    def 'Should fail fast in all parse modes: #input'() {
+        when:
+        parser.parse(ByteBuffer.wrap(input.getBytes(UTF_8)))
+        then:
+        thrown(RSQLSyntaxException)
+
+        when:
+        parser.parse(new StringReader(input), new RSQLStreamHandler() {})
+        then:
+        thrown(RSQLSyntaxException)
+
+        when:
+        parser.parse(input, { selector, operator, arguments -> } as RSQLEventHandler)
+        then:
+        thrown(RSQLSyntaxException)
+
+        when:
+        parser.validate(input)
+        then:
+        thrown(RSQLSyntaxException)
+
+        where:
+        input << ['', 'a~=b', 'a==b)', '(a==b', 'a=x=b', '((a==b);c==d', '(a==b,c=~d)']
+    }
+
+    def 'Should report other than syntax errors in the same way as without fast-fail: #input'() {
+        when:
+        parser.parse(input)
+
+        then:
+        def ex = thrown(RSQLParserException)
+        !(ex instanceof RSQLSyntaxException)
+        ex.cause instanceof IllegalArgumentException
+
+        where:
+        input << ['a==(b,c)', 'a=null=b', '" "==b']
+    }
+
+    def 'Should not fail fast by default'() {
+        when:
+        parser.withFastFail(false).parse('a==b)')
+
+        then:
+        def ex = thrown(RSQLParserException)
+        !(ex instanceof RSQLSyntaxException)
+        ex.cause instanceof ParseException
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ComparisonNode
+import cz.jirutka.rsql.parser.ast.LogicalNode
+import cz.jirutka.rsql.parser.ast.LogicalOperator
+import cz.jirutka.rsql.parser.ast.Node
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+
+/**
+ * Runs the whole {@link RSQLParserTest} by parsing into a single reused arena and converting it to the AST.
+ */
+class FlatAstTest extends RSQLParserTest {
+
+    def arena = new FlatAst()
+
+    @Override
+    def parse(String rsql) { new RSQLParser(factory).parse(rsql, arena).toNode() }
+}
+
+class FlatAstSpec extends Specification {
+
+    def factory = new NodesFactory(defaultOperators())
+    def parser = new RSQLParser(factory)
+    def arena = new FlatAst()
+
+    def 'Should encode nodes in post-order'() {
+        when:
+        parser.parse('a==1;b=in=(2,3),c!=4', arena)
+
+        then:
+        arena.size() == 5
+        arena.root() == 4
+
+        and:
+        arena.getLogicalOperator(4) == LogicalOperator.OR
+        arena.getChildCount(4) == 2
+        arena.getChild(4, 0) == 2
+        arena.getChild(4, 1) == 3
+
+        and:
+        arena.getLogicalOperator(2) == LogicalOperator.AND
+        (0..<arena.getChildCount(2)).collect { arena.getChild(2, it) } == [0, 1]
+
+        and:
+        !arena.isLogical(1)
+        arena.getLogicalOperator(1) == null
+        arena.getChildCount(1) == 0
+        arena.getSelector(1) == 'b'
+        arena.getOperator(1) == IN
+        arena.getArgumentCount(1) == 2
+        arena.getArgument(1, 1) == '3'
+        arena.getArguments(1) == ['2', '3']
+
+        and:
+        arena.isLogical(4)
+        arena.getSelector(4) == null
+        arena.getOperator(4) == null
+        arena.getArgumentCount(4) == 0
+        arena.getArguments(4) == []
+    }
+
+    def 'Should convert to the same AST as parse: #input'() {
+        expect:
+        parser.parse(input, arena).toNode() == parser.parse(input)
+
+        where:
+        input << [
+            'genres=in=(sci-fi,action);(director==\'Christopher Nolan\',actor==*Bale);year=ge=2000',
+            'a==b', '((a==b))', 'a==b;c==d;e==f', 'a==b,c==d,e==f', 'a==b;c==d,e==f;g==h', '(a==b,c==d);(e==f,g==h)',
+            'a=in=()', 'a=notnull=', 'a==b and c==d or e==f', '((a==b,c==d);e==f),g==h',
+        ]
+    }
+
+    def 'Should report the same events as event parsing: #input'() {
+        given:
+        def expected = new EventParserSpec.AstBuilder(factory)
+        def actual = new EventParserSpec.AstBuilder(factory)
+        parser.parse(input, expected)
+
+        when:
+        parser.parse(input, arena).accept(arena.root(), actual)
+
+        then:
+        actual.root == expected.root
+
+        where:
+        input << ['a==b', '((a==b))', 'a==b;c==d,e==f;g==h', '(a==b,c==d);(e==f,(g==h;i=in=(j,k)))']
+    }
+
+    def 'Should reuse arena for next query'() {
+        given:
+        parser.parse('a==1;b==2;c==3,d==4', arena)
+
+        when:
+        parser.parse('x==y', arena)
+
+        then:
+        arena.size() == 1
+        arena.toNode() == new ComparisonNode(EQUAL, 'x', ['y'])
+
+        when:
+        arena.reset()
+
+        then:
+        arena.size() == 0
+        arena.root() == -1
+        arena.toNode() == null
+    }
+
+    def 'Should parse deeply nested query into arena'() {
+        given:
+        def depth = 100_000
+        def input = '(a==b,' * depth + 'c==d' + ')' * depth
+
+        when:
+        parser.parse(input, arena)
+
+        then:
+        arena.size() == 2 * depth + 1
+        sameTree(arena.toNode(), parser.withEngine(ParserEngine.HANDWRITTEN).parse(input))
+    }
+
+    def 'Should throw IllegalArgumentException when #name is null'() {
+        when:
+        parser.parse(query as CharSequence, target as FlatAst)
+
+        then:
+        def e = thrown IllegalArgumentException
+        e.message == "$name must not be null"
+
+        where:
+        name    | query  | target
+        'query' | null   | new FlatAst()
+        'arena' | 'a==b' | null
+    }
+
+    /**
+     * Compares the trees without recursion, {@code equals} of a deep tree would overflow the stack.
+     */
+    static boolean sameTree(Node a, Node b) {
+        Deque<Node> stack = new ArrayDeque<>()
+        stack.push(a)
+        stack.push(b)
+
+        while (!stack.isEmpty()) {
+            Node y = stack.pop()
+            Node x = stack.pop()
+
+            if (x instanceof LogicalNode && y instanceof LogicalNode) {
+                def xs = (x as LogicalNode).children
+                def ys = (y as LogicalNode).children
+                if ((x as LogicalNode).operator != (y as LogicalNode).operator || xs.size() != ys.size()) {
+                    return false
+                }
+                for (int i = 0; i < xs.size(); i++) {
+                    stack.push(xs[i])
+                    stack.push(ys[i])
+                }
+            } else if (!(x instanceof ComparisonNode && x == y)) {
+                return false
+            }
+        }
+
+        return true
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.defaultOperators
+
+/**
+ * Runs the whole {@link RSQLParserTest} against the {@link ParserEngine#HANDWRITTEN} engine.
+ */
+class HandwrittenParserTest extends RSQLParserTest {
+
+    @Override
+    def parse(String rsql) { new RSQLParser(factory).withEngine(ParserEngine.HANDWRITTEN).parse(rsql) }
+}
+
+class HandwrittenParserSpec extends Specification {
+
+    def javacc = new RSQLParser(new NodesFactory(defaultOperators()))
+    def handwritten = javacc.withEngine(ParserEngine.HANDWRITTEN)
+
+    def 'Should build the same AST as JavaCC parser: #input'() {
+        expect:
+        handwritten.parse(input) == javacc.parse(input)
+
+        where:
+        input << [
+            'genres=in=(sci-fi,action);(director==\'Christopher Nolan\',actor==*Bale);year=ge=2000',
+            'genres=in=(sci-fi,action) and (director==\'Christopher Nolan\' or actor==*Bale) and year>=2000',
+            'director.lastName==Nolan and year>=2000 and year<2010',
+            'genres=in=(sci-fi,action);genres=out=(romance,animated,horror),director==Que*Tarantino',
+            'year=notnull= and director.lastName=null=',
+            '"First Name"=="Kill \\"Bill\\"";year>2003',
+            "a=='x\\\\y\\'z'",
+            '  a  ==  b  ,  c!=d  ',
+            'a==b  and c==d',
+            '((((a==b))))',
+            'a=in=("x" or \'y\' , z)',
+        ]
+    }
+
+    def 'Should throw the same exception as JavaCC parser: #input'() {
+        when:
+        javacc.parse(input)
+
+        then:
+        def expected = thrown(RSQLParserException)
+
+        when:
+        handwritten.parse(input)
+
+        then:
+        def actual = thrown(RSQLParserException)
+        actual.cause.class == expected.cause.class
+
+        where:
+        input << [
+            '', ' ', 'a', 'a==', 'a==b;', 'a==b,', '(a==b', 'a==b)', '()', 'a=in=(b,)', 'a=in=(,b)',
+            'a=b', 'a!b', 'a~=b', 'a=="b', "a=='b\\", 'a==b c==d', 'a=foo=b', 'a==b andc==d', 'a==(b)c',
+        ]
+    }
+
+    def 'Should report position of unexpected token'() {
+        when:
+        handwritten.parse('a==b;c==d)')
+
+        then:
+        def e = thrown(RSQLParserException)
+        def cause = e.cause as ParseException
+        cause.currentToken.next.image == ')'
+        cause.currentToken.next.beginColumn == 10
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ArgumentView
+import cz.jirutka.rsql.parser.ast.ComparisonNode
+import cz.jirutka.rsql.parser.ast.LogicalNode
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+
+class LazyArgumentsParserTest extends RSQLParserTest {
+
+    @Override
+    def parse(String rsql) { new RSQLParser(factory).withLazyArguments(true).parse(rsql) }
+}
+
+class LazyArgumentsSpec extends Specification {
+
+    def parser = new RSQLParser(new NodesFactory(defaultOperators())).withLazyArguments(true)
+
+    def 'Should build the same AST as the eager parser: #query'() {
+        expect:
+            parser.parse(query) == new RSQLParser().parse(query)
+            parser.parse(query).hashCode() == new RSQLParser().parse(query).hashCode()
+
+        where:
+            query << ['a==b', 'a=in=(x,"y z",\'q\\\'t\')', 'a==b;(c!="d\\\\e",f=out=(1,2,3))', '"s\\"el"==v']
+    }
+
+    def 'Should keep the arguments as views of the query'() {
+        given:
+            def query = new StringBuilder('a=in=(foo,"b\\"ar")')
+
+        when:
+            def node = parser.parse(query) as ComparisonNode
+
+        then:
+            node.argumentCount == 2
+            node.getArgumentView(0).contentEquals('foo')
+            node.getArgumentView(1).contentEquals('b"ar')
+
+        when: 'the query is modified after parsing'
+            query.setCharAt(6, 'g' as char)
+
+        then: 'the views read the modified query'
+            node.arguments == ['goo', 'b"ar']
+    }
+
+    def 'Should unescape a quoted selector eagerly'() {
+        expect:
+            (parser.parse('"a\\"b"==c') as ComparisonNode).selector == 'a"b'
+    }
+
+    def 'Should apply lazy arguments in batch parsing'() {
+        when:
+            def results = parser.parseAll(['a==b', 'c=in=(d,e)'])
+
+        then:
+            results*.node*.toString() == ["a=='b'", "c=in=('d','e')"]
+    }
+
+    def 'Should return view of eagerly parsed argument'() {
+        when:
+            def node = new RSQLParser().parse('a==b,c==d') as LogicalNode
+
+        then:
+            with (node.children[1] as ComparisonNode) {
+                argumentCount == 1
+                getArgumentView(0) == ArgumentView.of('d')
+            }
+    }
+
+    def 'Should return same parser when lazy arguments are unchanged'() {
+        expect:
+            parser.withLazyArguments(true).is(parser)
+            !parser.withLazyArguments(false).is(parser)
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.defaultOperators
+
+class ParseLimitsSpec extends Specification {
+
+    static final DEEP = '(' * 100_000 + 'a==b' + ')' * 100_000
+
+    def parser = new RSQLParser(new NodesFactory(defaultOperators()))
+
+    def 'Should parse deeply nested query without recursion'() {
+        given:
+        def handwritten = parser.withEngine(ParserEngine.HANDWRITTEN)
+        def expected = parser.parse('a==b')
+
+        expect:
+        handwritten.parse(DEEP) == expected
+        handwritten.parse(ByteBuffer.wrap(DEEP.bytes)) == expected
+
+        when:
+        parser.validate(DEEP)
+        parser.parse(new StringReader(DEEP), new RSQLStreamHandler() {})
+        parser.parse(DEEP, { s, o, a -> } as RSQLEventHandler)
+
+        then:
+        noExceptionThrown()
+    }
+
+    def 'Should reject query exceeding #limits at column #column: #input'() {
+        given:
+        def limited = parser.withLimits(limits)
+
+        when:
+        limited.parse(input)
+
+        then:
+        def e = thrown(RSQLParserException)
+        def cause = e.cause as ParseLimitException
+        cause.column == column
+
+        where:
+        limits                                              | input                       | column
+        ParseLimits.UNLIMITED.withMaxLength(5)              | 'a==bcd'                    | 6
+        ParseLimits.UNLIMITED.withMaxDepth(2)               | '(a==b;((c==d)));e==f'      | 8
+        ParseLimits.UNLIMITED.withMaxDepth(0)               | 'a==b;(c==d)'               | 6
+        ParseLimits.UNLIMITED.withMaxNodes(2)               | 'a==b;c==d'                 | 6
+        ParseLimits.UNLIMITED.withMaxNodes(3)               | 'a==b;c==d,e==f'            | 10
+        ParseLimits.UNLIMITED.withMaxArguments(3)           | 'a=in=(1,2);b=in=(3,4)'     | 20
+        ParseLimits.UNLIMITED.withMaxComparisonArguments(2) | 'a=in=(1,2);b=in=(3,4,5,6)' | 22
+    }
+
+    def 'Should reject the same query in every parse mode'() {
+        given:
+        def limited = parser.withLimits(ParseLimits.UNLIMITED.withMaxDepth(3))
+        def input = '((((a==b))))'
+
+        when:
+        limited.parse(input)
+
+        then:
+        thrown(RSQLParserException)
+
+        when:
+        limited.parse(ByteBuffer.wrap(input.bytes))
+
+        then:
+        thrown(RSQLParserException)
+
+        when:
+        limited.parse(new StringReader(input), new RSQLStreamHandler() {})
+
+        then:
+        thrown(RSQLParserException)
+
+        when:
+        limited.parse(input, { s, o, a -> } as RSQLEventHandler)
+
+        then:
+        thrown(RSQLParserException)
+
+        when:
+        limited.validate(input)
+
+        then:
+        thrown(RSQLParserException)
+    }
+
+    def 'Should reject too long stream as soon as it is read'() {
+        given:
+        def limited = parser.withLimits(ParseLimits.UNLIMITED.withMaxLength(10_000))
+        def arguments = 0
+        def handler = new RSQLStreamHandler() {
+            void argument(String argument) { arguments++ }
+        }
+
+        when:
+        limited.parse(new StreamingParserSpec.SequenceReader('a=in=(', 1_000_000, ')'), handler)
+
+        then:
+        def e = thrown(RSQLParserException)
+        e.cause instanceof ParseLimitException
+        arguments < 10_000
+    }
+
+    def 'Should accept query within limits'() {
+        given:
+        def input = 'a=in=(1,2);(b==3,c==4)'
+        def limits = ParseLimits.UNLIMITED
+            .withMaxLength(input.length())
+            .withMaxDepth(1)
+            .withMaxNodes(5)
+            .withMaxArguments(4)
+            .withMaxComparisonArguments(2)
+
+        expect:
+        parser.withLimits(limits).parse(input) == parser.parse(input)
+    }
+
+    def 'Should count nodes of the AST'() {
+        given:
+        def input = 'a==1;(b==2,c==3);d==4'
+
+        expect:
+        parser.withLimits(ParseLimits.UNLIMITED.withMaxNodes(6)).parse(input) == parser.parse(input)
+
+        when:
+        parser.withLimits(ParseLimits.UNLIMITED.withMaxNodes(5)).parse(input)
+
+        then:
+        thrown(RSQLParserException)
+    }
+
+    def 'Should throw IllegalArgumentException for negative #name'() {
+        when:
+        ParseLimits.UNLIMITED."with${name.capitalize()}"(-1)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == "$name must be positive or zero"
+
+        where:
+        name << ['maxLength', 'maxDepth', 'maxNodes', 'maxArguments', 'maxComparisonArguments']
+    }
+
+    def 'Should be equal to limits with the same values'() {
+        expect:
+        ParseLimits.UNLIMITED.withMaxDepth(5) == ParseLimits.UNLIMITED.withMaxDepth(5)
+        ParseLimits.UNLIMITED.withMaxDepth(5).hashCode() == ParseLimits.UNLIMITED.withMaxDepth(5).hashCode()
+        ParseLimits.UNLIMITED.withMaxDepth(5) != ParseLimits.UNLIMITED.withMaxNodes(5)
+    }
+
+    def 'Should throw IllegalArgumentException when limits is null'() {
+        when:
+        parser.withLimits(null)
+
+        then:
+        thrown IllegalArgumentException
+    }
+}
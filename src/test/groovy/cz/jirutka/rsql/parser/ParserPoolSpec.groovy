@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ComparisonNode
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.EQUAL
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.defaultOperators
+
+/**
+ * Runs the whole {@link RSQLParserTest} with a single pooled parser, so each query is parsed by a reinitialized one.
+ */
+class PooledRSQLParserTest extends RSQLParserTest {
+
+    @Shared
+    def pooled = new RSQLParser(new NodesFactory(defaultOperators())).withParserPool(1)
+
+    @Override
+    def parse(String rsql) { pooled.parse(rsql) }
+}
+
+class ParserPoolSpec extends Specification {
+
+    def factory = new NodesFactory(defaultOperators())
+
+    def 'Should reuse released parser'() {
+        given:
+        def pool = new ParserPool(factory, 2)
+        def parser = pool.acquire()
+
+        when:
+        pool.release(parser)
+
+        then:
+        pool.acquire().is(parser)
+    }
+
+    def 'Should create new parser when there is no idle one'() {
+        given:
+        def pool = new ParserPool(factory, 1)
+        def first = pool.acquire()
+
+        expect:
+        !pool.acquire().is(first)
+    }
+
+    def 'Should drop released parser when pool is full'() {
+        given:
+        def pool = new ParserPool(factory, 1)
+        def first = pool.acquire()
+        def second = pool.acquire()
+
+        when:
+        pool.release(first)
+        pool.release(second)
+
+        then:
+        pool.acquire().is(first)
+        !pool.acquire().is(second)
+    }
+
+    def 'Should reuse parser after failed parse'() {
+        given:
+        def pool = new ParserPool(factory, 1)
+
+        when:
+        pool.parse('a==b;(')
+
+        then:
+        thrown ParseException
+
+        expect:
+        pool.parse('a==b') == new ComparisonNode(EQUAL, 'a', ['b'])
+    }
+
+    def 'Should throw exception when pool size is negative'() {
+        when:
+        new RSQLParser().withParserPool(-1)
+
+        then:
+        def e = thrown IllegalArgumentException
+        e.message == 'size must be positive or zero'
+    }
+
+    def 'Should parse concurrently with pooled parsers'() {
+        given:
+        def parser = new RSQLParser(factory).withParserPool(2)
+        def executor = Executors.newFixedThreadPool(8)
+        def tasks = (0..<1000).collect { i -> { -> parser.parse("s$i==a$i") } as Callable }
+
+        when:
+        def results = executor.invokeAll(tasks)*.get()
+
+        then:
+        results.withIndex().every { node, i -> node == new ComparisonNode(EQUAL, "s$i", ["a$i".toString()]) }
+
+        cleanup:
+        executor.shutdown()
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+
+class ScanModesSpec extends Specification {
+
+    def parser = new RSQLParser(new NodesFactory(defaultOperators()))
+
+    def 'Should validate valid query: #input'() {
+        when:
+        parser.validate(input)
+
+        then:
+        noExceptionThrown()
+
+        where:
+        input << [
+            'genres=in=(sci-fi,action);(director==\'Christopher Nolan\',actor==*Bale);year=ge=2000',
+            'a=in=()', 'a=notnull=', '((a==b))', "a=='x\\'y'",
+        ]
+    }
+
+    def 'Should throw the same exception as parse for invalid query: #input'() {
+        when:
+        parser.withEngine(ParserEngine.HANDWRITTEN).parse(input)
+
+        then:
+        def expected = thrown(RSQLParserException)
+
+        when:
+        parser.validate(input)
+
+        then:
+        def actual = thrown(RSQLParserException)
+        actual.cause.class == expected.cause.class
+        actual.cause.message == expected.cause.message
+
+        where:
+        input << [
+            '', 'a', 'a==', 'a==b;', '(a==b', 'a==b)', 'a=b', 'a~=b', 'a=="b', 'a==b c==d', 'a=foo=b',
+            'a==(b,c)', 'a=null=b', '" "==b',
+        ]
+    }
+
+    def 'Should return selectors in the order of first occurrence'() {
+        expect:
+        parser.selectors('b==1;(a=in=(1,2),"c d"!=3);b=gt=4') as List == ['b', 'a', 'c d']
+    }
+
+    def 'Should return selectors with their operators'() {
+        when:
+        def result = parser.selectorOperators('b==1;(a=in=(1,2),c!=3);b=gt=4,b==5')
+
+        then:
+        result == [b: [EQUAL, GREATER_THAN] as Set, a: [IN] as Set, c: [NOT_EQUAL] as Set]
+        result.keySet() as List == ['b', 'a', 'c']
+
+        when:
+        result.b.add(IN)
+
+        then:
+        thrown UnsupportedOperationException
+    }
+
+    def 'Should throw IllegalArgumentException when query is null'() {
+        when:
+        parser."$method"(null)
+
+        then:
+        thrown IllegalArgumentException
+
+        where:
+        method << ['validate', 'selectors', 'selectorOperators']
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser
+
+import cz.jirutka.rsql.parser.ast.ComparisonOperator
+import cz.jirutka.rsql.parser.ast.LogicalOperator
+import cz.jirutka.rsql.parser.ast.Node
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ParserConstants.EOF
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.defaultOperators
+
+/**
+ * Runs the whole {@link RSQLParserTest} against the streaming parser, the AST is rebuilt from the events.
+ */
+class StreamingParserTest extends RSQLParserTest {
+
+    @Override
+    def parse(String rsql) {
+        def builder = new StreamingParserSpec.AstBuilder(factory)
+        def parser = new RSQLParser(factory)
+        rsql == null ? parser.parse((Reader) null, builder) : parser.parse(new StringReader(rsql), builder)
+        builder.root()
+    }
+}
+
+class StreamingParserSpec extends Specification {
+
+    def parser = new RSQLParser(new NodesFactory(defaultOperators()))
+
+    def 'Should pass events in the order of the query'() {
+        given:
+        def events = []
+        def handler = new RSQLStreamHandler() {
+            void startGroup() { events << 'startGroup' }
+            void endGroup() { events << 'endGroup' }
+            void logicalOperator(LogicalOperator operator) { events << operator.toString() }
+            void startComparison(String selector, ComparisonOperator operator) { events << "$selector$operator".toString() }
+            void argument(String argument) { events << argument }
+            void endComparison() { events << 'endComparison' }
+        }
+
+        when:
+        parser.parse(new StringReader('a==1;(b=in=(2,"3"),c!=4)'), handler)
+
+        then:
+        events == [
+            'a==', '1', 'endComparison',
+            ';',
+            'startGroup',
+            'b=in=', '2', '3', 'endComparison',
+            ',',
+            'c!=', '4', 'endComparison',
+            'endGroup',
+        ]
+    }
+
+    def 'Should stream arguments of huge query with bounded window'() {
+        given:
+        def count = 200_000
+        def reader = new SequenceReader('id=in=(', count, ')')
+        def arguments = 0
+        def handler = new RSQLStreamHandler() {
+            void argument(String argument) { arguments++ }
+        }
+
+        when:
+        parser.parse(reader, handler)
+
+        then:
+        arguments == count
+    }
+
+    def 'Should keep the window at the size of the longest token'() {
+        given:
+        def lexer = new ReaderLexer(new SequenceReader('id=in=(', 100_000, ')'), new ParseBudget(ParseLimits.UNLIMITED))
+        def tokens = 0
+
+        when:
+        while (lexer.next() != EOF) {
+            tokens++
+        }
+
+        then:
+        tokens == 2 * 100_000 + 3
+        lexer.@window.length == 4096
+    }
+
+    def 'Should read tokens longer than the window: #description'() {
+        given:
+        def handler = new AstBuilder(parser.nodesFactory)
+
+        when:
+        parser.parse(new OneCharReader(input), handler)
+
+        then:
+        handler.root() == parser.parse(input)
+
+        where:
+        description       | input
+        'unreserved'      | 'a==' + 'x' * 10_000
+        'quoted'          | "a=='${'x' * 10_000}'"
+        'escaped'         | "a=='${'x\\\'' * 5_000}'"
+        'whitespace'      | 'a==b' + ' ' * 10_000 + 'and c==d'
+    }
+
+    def 'Should throw the same exception as parse of string: #input'() {
+        when:
+        parser.parse(input)
+
+        then:
+        def expected = thrown(RSQLParserException)
+
+        when:
+        parser.parse(new StringReader(input), new RSQLStreamHandler() {})
+
+        then:
+        def actual = thrown(RSQLParserException)
+        actual.cause.class == expected.cause.class
+
+        where:
+        input << [
+            '', ' ', 'a', 'a==', 'a==b;', 'a==b,', '(a==b', 'a==b)', '()', 'a=in=(b,)', 'a=in=(,b)',
+            'a=b', 'a!b', 'a~=b', 'a=="b', "a=='b\\", 'a==b c==d', 'a=foo=b', 'a==b andc==d', 'a==(b)c',
+            'a==(b,c)', '""==a', '"\t"==a',
+        ]
+    }
+
+    def 'Should report too many arguments before passing the excessive one'() {
+        given:
+        def arguments = []
+        def handler = new RSQLStreamHandler() {
+            void argument(String argument) { arguments << argument }
+        }
+
+        when:
+        parser.parse(new StringReader('a==(b,c,d)'), handler)
+
+        then:
+        def e = thrown(RSQLParserException)
+        e.cause instanceof IllegalArgumentException
+        arguments == ['b']
+    }
+
+    def 'Should wrap IOException of the reader'() {
+        given:
+        def reader = new Reader() {
+            int read(char[] buf, int off, int len) { throw new IOException('boom') }
+            void close() {}
+        }
+
+        when:
+        parser.parse(reader, new RSQLStreamHandler() {})
+
+        then:
+        def e = thrown(RSQLParserException)
+        e.cause instanceof UncheckedIOException
+        e.cause.cause.message == 'boom'
+    }
+
+    def 'Should parse UTF-8 from InputStream'() {
+        given:
+        def handler = new AstBuilder(parser.nodesFactory)
+        def input = 'name=="Příliš žluťoučký kůň",emoji==😀'
+
+        when:
+        parser.parse(new ByteArrayInputStream(input.getBytes('UTF-8')), handler)
+
+        then:
+        handler.root() == parser.parse(input)
+    }
+
+    def 'Should throw IllegalArgumentException when #name is null'() {
+        when:
+        parser.parse(query as Reader, handler as RSQLStreamHandler)
+
+        then:
+        thrown IllegalArgumentException
+
+        where:
+        name      | query                  | handler
+        'query'   | null                   | new RSQLStreamHandler() {}
+        'handler' | new StringReader('a') | null
+    }
+
+    /**
+     * Rebuilds the same AST as {@link RSQLParser#parse(String)} does from the stream events.
+     */
+    static class AstBuilder implements RSQLStreamHandler {
+
+        final NodesFactory factory
+        final Deque<List<List<Node>>> groups = new ArrayDeque<>()
+        String selector
+        ComparisonOperator operator
+        List<String> arguments
+
+        AstBuilder(NodesFactory factory) {
+            this.factory = factory
+            startGroup()
+        }
+
+        void startGroup() { groups.push([[]]) }
+
+        void endGroup() {
+            def node = reduce(groups.pop())
+            groups.peek().last() << node
+        }
+
+        void logicalOperator(LogicalOperator op) {
+            if (op == LogicalOperator.OR) {
+                groups.peek() << []
+            }
+        }
+
+        void startComparison(String selector, ComparisonOperator operator) {
+            this.selector = selector
+            this.operator = operator
+            this.arguments = []
+        }
+
+        void argument(String argument) { arguments << argument }
+
+        void endComparison() {
+            groups.peek().last() << factory.createComparisonNode(operator.symbol, selector, arguments)
+        }
+
+        Node root() { reduce(groups.peek()) }
+
+        private Node reduce(List<List<Node>> or) {
+            def ands = or.collect { it.size() == 1 ? it[0] : factory.createLogicalNode(LogicalOperator.AND, it) }
+            ands.size() == 1 ? ands[0] : factory.createLogicalNode(LogicalOperator.OR, ands)
+        }
+    }
+
+    /**
+     * Reads the prefix, then the given number of comma separated numbers and the suffix, without holding them.
+     */
+    static class SequenceReader extends Reader {
+
+        final String prefix
+        final String suffix
+        final int count
+        int index = -1
+        String chunk = ''
+        int pos
+
+        SequenceReader(String prefix, int count, String suffix) {
+            this.prefix = prefix
+            this.count = count
+            this.suffix = suffix
+        }
+
+        int read(char[] buf, int off, int len) {
+            if (pos == chunk.length()) {
+                if (index > count) {
+                    return -1
+                }
+                chunk = index < 0 ? prefix : index == count ? suffix : index == 0 ? '0' : ",$index"
+                index++
+                pos = 0
+            }
+            int n = Math.min(len, chunk.length() - pos)
+            chunk.getChars(pos, pos + n, buf, off)
+            pos += n
+            n
+        }
+
+        void close() {}
+    }
+
+    /**
+     * Returns at most one character per read, so every token crosses the window boundary.
+     */
+    static class OneCharReader extends StringReader {
+
+        OneCharReader(String s) { super(s) }
+
+        int read(char[] buf, int off, int len) { super.read(buf, off, Math.min(len, 1)) }
+    }
+}
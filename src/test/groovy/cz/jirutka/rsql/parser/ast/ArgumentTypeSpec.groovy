@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast
+
+import cz.jirutka.rsql.parser.ArgumentConversionException
+import cz.jirutka.rsql.parser.FlatAst
+import cz.jirutka.rsql.parser.ParserEngine
+import cz.jirutka.rsql.parser.RSQLParser
+import cz.jirutka.rsql.parser.RSQLEventHandler
+import cz.jirutka.rsql.parser.RSQLParserException
+import cz.jirutka.rsql.parser.RSQLStreamHandler
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Instant
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+
+class ArgumentTypeSpec extends Specification {
+
+    @Shared factory = new NodesFactory(defaultOperators())
+        .withArgumentType('id', ArgumentType.LONG)
+        .withArgumentType('price', ArgumentType.DECIMAL)
+        .withArgumentType('createdAt', ArgumentType.INSTANT)
+        .withArgumentType('uuid', ArgumentType.UUID)
+
+    def 'Should convert arguments while parsing: #engine'() {
+        given:
+            def parser = new RSQLParser(factory).withEngine(engine)
+
+        when:
+            def node = parser.parse('id=in=(1,-2,3);price=gt=1.50;createdAt<2024-01-02T03:04:05Z;name==x') as LogicalNode
+            def (ids, price, createdAt, name) = node.children as List<ComparisonNode>
+
+        then:
+            ids.argumentType == ArgumentType.LONG
+            ids.getLongArgument(1) == -2L
+            ids.longArguments == [1L, -2L, 3L] as long[]
+            ids.getTypedArguments(ArgumentType.LONG) == [1L, -2L, 3L]
+            price.getTypedArgument(ArgumentType.DECIMAL, 0) == new BigDecimal('1.50')
+            createdAt.getTypedArgument(ArgumentType.INSTANT, 0) == Instant.parse('2024-01-02T03:04:05Z')
+            name.argumentType == null
+
+        and: 'the strings are kept as they are'
+            ids.arguments == ['1', '-2', '3']
+            ids == new ComparisonNode(IN, 'id', ['1', '-2', '3'])
+
+        where:
+            engine << ParserEngine.values()
+    }
+
+    def 'Should report invalid argument with its offset: #engine'() {
+        when:
+            new RSQLParser(factory).withEngine(engine).parse('name==x;id=in=(1,"2",x3)')
+
+        then:
+            def ex = thrown RSQLParserException
+            with (ex.cause as ArgumentConversionException) {
+                selector == 'id'
+                index == 2
+                argument == 'x3'
+                type == ArgumentType.LONG
+                offset == 21
+                message == "Argument 'x3' of selector 'id' is not a valid Long at offset 21"
+                cause instanceof NumberFormatException
+            }
+
+        where:
+            engine << ParserEngine.values()
+    }
+
+    def 'Should report absolute offset of invalid argument in multi-line query: #engine'() {
+        given:
+            def query = 'name=="a\nb\r\nc";id=in=(1,"2",x3)'
+
+        when:
+            new RSQLParser(factory).withEngine(engine).parse(query)
+
+        then:
+            def ex = thrown RSQLParserException
+            (ex.cause as ArgumentConversionException).offset == query.indexOf('x3')
+
+        where:
+            engine << ParserEngine.values()
+    }
+
+    def 'Should convert lazy arguments without materializing them'() {
+        when:
+            def node = new RSQLParser(factory).withLazyArguments(true).parse('id=out=(10,"20")') as ComparisonNode
+
+        then:
+            node.longArguments == [10L, 20L] as long[]
+    }
+
+    def 'Should reject access by other type'() {
+        given:
+            def node = factory.createComparisonNode('==', 'price', ['1'])
+
+        when:
+            node.getLongArgument(0)
+
+        then:
+            def ex = thrown IllegalStateException
+            ex.message == "arguments of selector 'price' are converted to BigDecimal, not to Long"
+    }
+
+    def 'Should convert arguments of copied node'() {
+        given:
+            def node = factory.createComparisonNode('=in=', 'id', ['1', '2'])
+
+        expect:
+            node.withArguments(['5']).longArguments == [5L] as long[]
+            node.withOperator(NOT_IN).longArguments == [1L, 2L] as long[]
+
+        when:
+            node.withArguments(['x'])
+
+        then:
+            thrown ArgumentConversionException
+    }
+
+    def 'Should resolve argument type of new selector'() {
+        given:
+            def node = factory.createComparisonNode('=in=', 'id', ['1', '2'])
+
+        expect:
+            node.withSelector('other').argumentType == null
+            node.withSelector('other', factory).argumentType == null
+            node.withSelector('price', factory).getTypedArguments(ArgumentType.DECIMAL) == [1G, 2G]
+            node.withSelector('id', factory).longArguments == [1L, 2L] as long[]
+
+        when:
+            factory.createComparisonNode('==', 'name', ['x']).withSelector('id', factory)
+
+        then:
+            def ex = thrown ArgumentConversionException
+            ex.selector == 'id'
+    }
+
+    def 'Should validate typed arguments without building AST: #name'() {
+        when:
+            action(new RSQLParser(factory), 'name==x;id=in=(1,"2",x3)')
+
+        then:
+            def ex = thrown RSQLParserException
+            with (ex.cause as ArgumentConversionException) {
+                selector == 'id'
+                index == 2
+                argument == 'x3'
+                offset == 21
+            }
+
+        where:
+            name         | action
+            'validate'   | { RSQLParser p, String q -> p.validate(q) }
+            'selectors'  | { RSQLParser p, String q -> p.selectors(q) }
+            'events'     | { RSQLParser p, String q -> p.parse(q as CharSequence, { sel, op, args -> } as RSQLEventHandler) }
+            'stream'     | { RSQLParser p, String q -> p.parse(new StringReader(q), new RSQLStreamHandler() {}) }
+            'flat arena' | { RSQLParser p, String q -> p.parse(q as CharSequence, new FlatAst()) }
+    }
+
+    def 'Should not pass invalid typed argument to stream handler'() {
+        given:
+            def arguments = []
+            def handler = new RSQLStreamHandler() {
+                void argument(String argument) { arguments << argument }
+            }
+
+        when:
+            new RSQLParser(factory).parse(new StringReader('id=in=(1,x)'), handler)
+
+        then:
+            thrown RSQLParserException
+            arguments == ['1']
+    }
+
+    def 'Should create custom type'() {
+        given:
+            def upper = ArgumentType.of(String) { it.toUpperCase() }
+            def custom = factory.withArgumentType('code', upper)
+
+        expect:
+            custom.getArgumentType('code').is(upper)
+            custom.createComparisonNode('==', 'code', ['abc']).getTypedArgument(upper, 0) == 'ABC'
+            upper.toString() == 'String'
+    }
+
+    def 'Should report null converted value as invalid argument'() {
+        given:
+            def type = ArgumentType.of(Integer) { null }
+
+        when:
+            factory.withArgumentType('n', type).createComparisonNode('==', 'n', ['1'])
+
+        then:
+            def ex = thrown ArgumentConversionException
+            ex.offset == -1
+            ex.message == "Argument '1' of selector 'n' is not a valid Integer"
+    }
+
+    def 'Should remove argument type'() {
+        expect:
+            factory.withArgumentType('id', null).getArgumentType('id') == null
+            factory.withArgumentType('id', ArgumentType.LONG).is(factory)
+            factory.withHashConsing(true).getArgumentType('id') == ArgumentType.LONG
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast
+
+import cz.jirutka.rsql.parser.RSQLParser
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ArgumentViewSpec extends Specification {
+
+    def 'Should read slice of input: #input[#start..<#end]'() {
+        when:
+            def view = ArgumentView.slice(input, start, end, escaped)
+
+        then:
+            view.toString() == expected
+            view.length() == expected.length()
+            view.hashCode() == expected.hashCode()
+            view.contentEquals(expected)
+            (0..<expected.length()).every { view.charAt(it) == expected.charAt(it) }
+
+        where:
+            input          | start | end | escaped || expected
+            'a==foo'       | 3     | 6   | false   || 'foo'
+            'a=="b\\"ar"'  | 4     | 9   | true    || 'b"ar'
+            'a=="b\\\\r"'  | 4     | 8   | true    || 'b\\r'
+            'a==""'        | 4     | 4   | false   || ''
+    }
+
+    def 'Should hash and compare escaped slice without materializing it'() {
+        given:
+            def view = ArgumentView.slice('a=="b\\"ar"', 4, 9, true)
+
+        expect:
+            view.hashCode() == 'b"ar'.hashCode()
+            view.contentEquals('b"ar')
+            !view.contentEquals('b"a')
+            !view.contentEquals('b\\"ar')
+            view == ArgumentView.slice('a==\'b\\"ar\'', 4, 9, true)
+            view == ArgumentView.of('b"ar')
+            view != ArgumentView.slice('a=="b\\"a"', 4, 8, true)
+            view.@value == null
+    }
+
+    def 'Should create node of lazy arguments without materializing them'() {
+        given:
+            def query = 'a=in=("b\\"c",d)'
+
+        when:
+            def node = new RSQLParser().withLazyArguments(true).parse(query) as ComparisonNode
+            def eager = new RSQLParser().parse(query)
+
+        then:
+            node.hashCode() == eager.hashCode()
+            node == eager
+            eager == node
+            node.getArgumentView(0).@value == null
+
+        and:
+            node.arguments == ['b"c', 'd']
+            node.hashCode() == eager.hashCode()
+    }
+
+    def 'Should take subsequence of slice without copying'() {
+        given:
+            def view = ArgumentView.slice('x=in=(abcdef)', 6, 12, false)
+
+        expect:
+            view.subSequence(1, 4) instanceof ArgumentView
+            view.subSequence(1, 4).toString() == 'bcd'
+    }
+
+    def 'Should reject out of bounds slice: [#start, #end)'() {
+        when:
+            ArgumentView.slice('abc', start, end, false)
+
+        then:
+            thrown IndexOutOfBoundsException
+
+        where:
+            start | end
+            -1    | 2
+            2     | 4
+            2     | 1
+    }
+
+    def 'Should reject out of bounds index'() {
+        when:
+            ArgumentView.slice('abcdef', 1, 3, false).charAt(2)
+
+        then:
+            thrown IndexOutOfBoundsException
+    }
+
+    def 'Should compare ignoring case'() {
+        expect:
+            ArgumentView.slice('x==HeLLo', 3, 8, false).equalsIgnoreCase('hello')
+            !ArgumentView.slice('x==HeLLo', 3, 8, false).equalsIgnoreCase('help!')
+            !ArgumentView.of('hello').equalsIgnoreCase('hell')
+    }
+
+    @Unroll
+    def 'Should parse long as Long.parseLong does: #input'() {
+        expect:
+            ArgumentView.slice("x==$input", 3, input.length() + 3, false).parseLong() == Long.parseLong(input)
+
+        where:
+            input << ['0', '42', '-42', '+7', '9223372036854775807', '-9223372036854775808']
+    }
+
+    def 'Should fail to parse invalid long: #input'() {
+        when:
+            ArgumentView.of(input).parseLong()
+
+        then:
+            thrown NumberFormatException
+
+        where:
+            input << ['', '-', '+', '1a', '9223372036854775808', '-9223372036854775809', ' 1']
+    }
+
+    def 'Should list views as strings'() {
+        given:
+            def list = ArgumentView.asList(
+                ArgumentView.slice('a=in=(x,"y\\"z")', 6, 7, false),
+                ArgumentView.slice('a=in=(x,"y\\"z")', 9, 13, true))
+
+        expect:
+            list == ['x', 'y"z']
+            ['x', 'y"z'] == list
+            list.hashCode() == ['x', 'y"z'].hashCode()
+            list == ArgumentView.asList(ArgumentView.of('x'), ArgumentView.of('y"z'))
+            list != ArgumentView.asList(ArgumentView.of('x'))
+            list != ['x', 'y']
+            list != ['x', new StringBuilder('y"z')]
+    }
+
+    def 'Should not modify list of views'() {
+        when:
+            ArgumentView.asList(ArgumentView.of('x')).add('y')
+
+        then:
+            thrown UnsupportedOperationException
+    }
+
+    def 'Should equal view with same content'() {
+        expect:
+            ArgumentView.slice('a==b', 3, 4, false) == ArgumentView.of('b')
+            ArgumentView.of('b') != ArgumentView.of('c')
+            ArgumentView.of('b') != 'b'
+    }
+}
@@ -148,6 +148,9 @@ class ComparisonNodeTest extends Specification {
         expect:
         EqualsVerifier.forClass(ComparisonNode)
             .withNonnullFields('operator', 'selector', 'arguments')
+            // the typed arguments are derived from the arguments
+            .withIgnoredFields('typed', 'selectorId')
+            .withCachedHashCode('hash', 'calculateHashCode', new ComparisonNode(EQUAL, 'a', ['b']))
             .verify()
     }
 }
@@ -63,6 +63,7 @@ abstract class LogicalNodeTest extends Specification {
         expect:
         EqualsVerifier.forClass(newNode([]).class as Class<Object>)
             .withNonnullFields('children', 'operator')
+            .withCachedHashCode('hash', 'calculateHashCode', newNode([new ComparisonNode(EQUAL, 'a', ['b'])]))
             .verify()
     }
 }
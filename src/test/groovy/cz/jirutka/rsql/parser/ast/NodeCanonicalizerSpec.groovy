@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast
+
+import cz.jirutka.rsql.parser.RSQLParser
+import groovy.transform.CompileStatic
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ParserEngine.HANDWRITTEN
+import static cz.jirutka.rsql.parser.ast.NodeCanonicalizer.canonicalize
+import static cz.jirutka.rsql.parser.ast.NodeCanonicalizer.fingerprint
+
+class NodeCanonicalizerSpec extends Specification {
+
+    @Shared parser = new RSQLParser()
+
+    def 'Should treat #a and #b as the same query'() {
+        given:
+            def x = parser.parse(a)
+            def y = parser.parse(b)
+
+        expect:
+            fingerprint(x) == fingerprint(y)
+            canonicalize(x) == canonicalize(y)
+            fingerprint(canonicalize(x)) == fingerprint(x)
+
+        where:
+            a                              | b
+            'a==1;b==2'                    | 'b==2 and a==1'
+            'a=lt=1;b==2'                  | 'b==2;a<1'
+            'a=in=(3,1,2)'                 | 'a=in=(1,2,3)'
+            'a=out=(y,x);b==1'             | 'b==1;a=out=(x,y)'
+            'a==1,(b==2;c==3),d==4'        | 'd==4,(c==3;b==2),a==1'
+            'a==1;a==1;b==2'               | 'a==1;b==2;a==1'
+    }
+
+    def 'Should tell apart #a and #b'() {
+        expect:
+            fingerprint(parser.parse(a)) != fingerprint(parser.parse(b))
+            canonicalize(parser.parse(a)) != canonicalize(parser.parse(b))
+
+        where:
+            a                   | b
+            'a==1;b==2'         | 'a==1,b==2'
+            'a==1'              | 'a==2'
+            'a==1'              | 'b==1'
+            'a==1'              | 'a!=1'
+            'a==1;a==1;b==2'    | 'a==1;b==2'
+            'a=in=(1,2)'        | 'a=in=(1,2,2)'
+            'a=in=(12)'         | 'a=in=(1,2)'
+            'a==ab;b==c'        | 'a==a;b==bc'
+    }
+
+    def 'Should keep the order of arguments of other operators'() {
+        given:
+            def between = new ComparisonOperator('=between=', true)
+            def parser = new RSQLParser(RSQLOperators.defaultOperators() + between)
+
+        expect:
+            fingerprint(parser.parse('a=between=(1,2)')) != fingerprint(parser.parse('a=between=(2,1)'))
+            canonicalize(parser.parse('a=between=(2,1)')) == parser.parse('a=between=(2,1)')
+    }
+
+    def 'Should compute stable fingerprint'() {
+        expect:
+            fingerprint(parser.parse('a==1;b=in=(x,y)')) == fingerprint(parser.parse('a==1;b=in=(x,y)'))
+            fingerprint(new ComparisonNode(RSQLOperators.EQUAL, 'a', ['1'])) == -5930205575445379341L
+    }
+
+    def 'Should reuse canonical subtrees'() {
+        given:
+            def canonical = canonicalize(parser.parse(query))
+
+        expect:
+            canonicalize(canonical).is(canonical)
+
+        where:
+            query << ['a==1', 'a=in=(1,2)', 'a==1;b==2', 'a==1;(b==2,c==3)']
+    }
+
+    def 'Should canonicalize deeply nested AST without recursion'() {
+        given:
+            def depth = 50_000
+            def node = parser.withEngine(HANDWRITTEN).parse(('(' * depth) + 'b==2' + (';a==1)' * depth))
+            def reordered = parser.withEngine(HANDWRITTEN).parse(('(' * depth) + 'b==2' + (',a==1)' * depth))
+
+        when:
+            def canonical = canonicalize(node)
+
+        then:
+            fingerprint(canonical) == fingerprint(node)
+            fingerprint(node) != fingerprint(reordered)
+            canonicalize(canonical).is(canonical)
+    }
+
+    def 'Should fingerprint without allocating per node'() {
+        given:
+            def node = parser.parse((0..<100).collect { "(a==$it,(b==$it;c=in=($it,x)))" }.join(';'))
+            def bean = java.lang.management.ManagementFactory.threadMXBean
+            if (!bean.respondsTo('getThreadAllocatedBytes', long)) {
+                return
+            }
+            def id = Thread.currentThread().id
+            def expected = fingerprint(node)
+            fingerprints(node, 10_000)
+
+        when:
+            def before = bean.getThreadAllocatedBytes(id)
+            def same = fingerprints(node, 1_000) == expected
+            def allocated = bean.getThreadAllocatedBytes(id) - before
+
+        then:
+            same
+            // only the stack of the three levels per call, not the 400 nodes
+            allocated < 1_000 * 1_024
+    }
+
+    @CompileStatic
+    static long fingerprints(Node node, int times) {
+        long result = 0
+        for (int i = 0; i < times; i++) {
+            result = fingerprint(node)
+        }
+
+        return result
+    }
+
+    def 'Should order nodes with the same fingerprint by structure'() {
+        given:
+            def nodes = ['a==1', 'a==2', 'a=in=(1,2)', 'b==1', 'a==1;b==1', 'a==1,b==1', 'a==1;b==2']
+                .collect { canonicalize(parser.parse(it)) }
+
+        expect:
+            nodes.every { x -> nodes.every { y ->
+                Integer.signum(NodeCanonicalizer.compare(x, y)) == -Integer.signum(NodeCanonicalizer.compare(y, x))
+                    && (NodeCanonicalizer.compare(x, y) == 0) == x.is(y)
+            } }
+            NodeCanonicalizer.compare(canonicalize(parser.parse('a==1;b=in=(2,1)')),
+                canonicalize(parser.parse('b=in=(1,2);a==1'))) == 0
+    }
+
+    def 'Should reject null node'() {
+        when:
+            fingerprint(null)
+
+        then:
+            thrown IllegalArgumentException
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast
+
+import cz.jirutka.rsql.parser.RSQLParser
+import cz.jirutka.rsql.parser.eval.PredicateCompiler
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ParserEngine.HANDWRITTEN
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+
+class NodeOptimizerSpec extends Specification {
+
+    @Shared factory = new NodesFactory(defaultOperators())
+        .withArgumentType('n', ArgumentType.LONG)
+        .withArgumentType('d', ArgumentType.DECIMAL)
+    @Shared parser = new RSQLParser(factory)
+    @Shared optimizer = new NodeOptimizer(factory)
+
+    def 'Should optimize #input into #expected'() {
+        expect:
+            optimizer.optimize(parser.parse(input)).get() == parser.parse(expected)
+
+        where:
+            input                                  | expected
+            'a==1;(b==2;(c==3;d==4))'              | 'a==1;b==2;c==3;d==4'
+            'a==1,(b==2,c==3)'                     | 'a==1,b==2,c==3'
+            'a==1;b==2;a==1'                       | 'a==1;b==2'
+            '(a==1,b==2);(b==2,a==1);(a==1,b==2)'  | '(a==1,b==2);(b==2,a==1)'
+            'a==1,a==2,a==3'                       | 'a=in=(1,2,3)'
+            'a==1,b==2,a=in=(2,3)'                 | 'a=in=(1,2,3),b==2'
+            'a!=1;a!=2;b==3'                       | 'a=out=(1,2);b==3'
+            'a==x*,a==y'                           | 'a==x*,a==y'
+            'n=gt=5;n=gt=7'                        | 'n=gt=7'
+            'n=ge=7;n=gt=7;n=lt=10;n=le=12'        | 'n=gt=7;n=lt=10'
+            'd=gt=5.5;d=ge=5.50'                   | 'd=gt=5.5'
+            'b=gt=5;b=gt=7'                        | 'b=gt=5;b=gt=7'
+            'b=gt=10;b=gt=9'                       | 'b=gt=10;b=gt=9'
+            '(a==1,a==2,a==3);(n=gt=5;n=gt=7)'     | 'a=in=(1,2,3);n=gt=7'
+            'a==1;a==2,b==3'                       | 'b==3'
+            'a==1;a==01'                           | 'a==1;a==01'
+            'a==1;(b==2,c==3)'                     | 'a==1;(b==2,c==3)'
+    }
+
+    def 'Should detect query that matches nothing: #input'() {
+        expect:
+            !optimizer.optimize(parser.parse(input)).present
+
+        where:
+            input << [
+                'a==1;a==2',
+                'a=in=(1,2);a=out=(1,2)',
+                'a==1;a!=1',
+                'n=gt=7;n=lt=5',
+                'n=ge=5;n=lt=5',
+                'd=gt=1.5;d=le=1.50',
+                'a=null=;a=notnull=',
+                'n==3;n=gt=5',
+                'n=in=(1,2);n=out=(1,2)',
+                'd==1.0;d==2',
+                'b==1;(a==1;a==2)',
+                '(a==1;a==2),(b==1;b==2)',
+                'a=in=(1,2);a=in=(3,4)',
+            ]
+    }
+
+    def 'Should not report satisfiable query as contradiction: #input'() {
+        expect:
+            optimizer.optimize(parser.parse(input)).present
+
+        where:
+            input << [
+                'a==1;a==1.0',
+                'a==x*;a==y',
+                'n=ge=5;n=le=5',
+                'a=in=(1,2);a=out=(1)',
+                'a==abc;a=gt=5',
+                'a==3;a=gt=5',
+                'a=gt=10;a=lt=9',
+                'n==1;n==01',
+                'd==1.0;d!=1.00',
+                'a==1;b==2',
+            ]
+    }
+
+    def 'Should keep result of #input for String property'() {
+        given:
+            def compiler = new PredicateCompiler()
+            def node = parser.parse(input)
+            def optimized = optimizer.optimize(node)
+
+        expect:
+            compiler.compile(node).test([code: '5']) == expected
+            optimized.present
+            compiler.compile(optimized.get()).test([code: '5']) == expected
+
+        where:
+            input                  | expected
+            'code=gt=10;code=lt=9' | true
+            'code=gt=10;code=gt=9' | false
+            'code=lt=6;code=lt=50' | true
+    }
+
+    def 'Should reuse unchanged subtrees'() {
+        given:
+            def node = parser.parse('a==1;(b==2,c==3);(d==1,d==2)') as LogicalNode
+
+        when:
+            def optimized = optimizer.optimize(node).get() as LogicalNode
+
+        then:
+            optimized.children[0].is(node.children[0])
+            optimized.children[1].is(node.children[1])
+            optimized.children[2] == parser.parse('d=in=(1,2)')
+
+        and:
+            optimizer.optimize(optimized).get().is(optimized)
+            optimizer.optimize(node.children[0]).get().is(node.children[0])
+    }
+
+    def 'Should not merge into operator not supported by factory'() {
+        given:
+            def limited = new NodesFactory([EQUAL] as Set)
+
+        and:
+            def node = new RSQLParser(limited).parse('a==1,a==2')
+
+        expect:
+            new NodeOptimizer(limited).optimize(node).get().is(node)
+    }
+
+    def 'Should apply only given rules'() {
+        given:
+            def flatten = optimizer.withRules([OptimizationRules.FLATTEN])
+
+        expect:
+            flatten.rules == [OptimizationRules.FLATTEN]
+            flatten.optimize(parser.parse('a==1,(a==2,a==1)')).get() == parser.parse('a==1,a==2,a==1')
+    }
+
+    def 'Should apply custom rule'() {
+        given:
+            def rule = { op, operands, f -> operands.removeIf { it.toString().startsWith('x') }; true } as OptimizationRule
+
+        expect:
+            optimizer.withRules([rule]).optimize(parser.parse('a==1;x==2;b==3')).get() == parser.parse('a==1;b==3')
+    }
+
+    def 'Should optimize deeply nested AST without recursion'() {
+        given:
+            def query = ('(' * 50_000) + 'a==1' + (';b==2)' * 50_000)
+
+        when:
+            def optimized = optimizer.optimize(parser.withEngine(HANDWRITTEN).parse(query)).get()
+
+        then:
+            optimized == parser.parse('a==1;b==2')
+    }
+
+    def 'Should reject invalid arguments'() {
+        when:
+            new NodeOptimizer(factory, [null])
+
+        then:
+            thrown IllegalArgumentException
+
+        when:
+            optimizer.optimize(null)
+
+        then:
+            thrown IllegalArgumentException
+    }
+}
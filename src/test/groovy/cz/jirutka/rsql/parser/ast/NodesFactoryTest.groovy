@@ -23,10 +23,16 @@
  */
 package cz.jirutka.rsql.parser.ast
 
+import cz.jirutka.rsql.parser.ParserEngine
+import cz.jirutka.rsql.parser.RSQLParser
 import cz.jirutka.rsql.parser.UnknownOperatorException
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 import static cz.jirutka.rsql.parser.ast.LogicalOperator.AND
 import static cz.jirutka.rsql.parser.ast.LogicalOperator.OR
 import static cz.jirutka.rsql.parser.ast.RSQLOperators.EQUAL
@@ -110,4 +116,158 @@ class NodesFactoryTest extends Specification {
         where:
         operators << [null, []]
     }
+
+    def 'return canonical instances of equal nodes when hash-consing'() {
+        given:
+        def consing = factory.withHashConsing(true)
+
+        when:
+        def first = consing.createComparisonNode('==', 'a', ['b'])
+        def second = consing.createComparisonNode('==', 'a', ['b'])
+
+        then:
+        first.is(second)
+        !consing.createComparisonNode('=gt=', 'a', ['b']).is(first)
+        !factory.createComparisonNode('==', 'a', ['b']).is(first)
+
+        and:
+        consing.createLogicalNode(AND, [first, second]).is(consing.createLogicalNode(AND, [second, first]))
+        !consing.createLogicalNode(OR, [first, second]).is(consing.createLogicalNode(AND, [first, second]))
+    }
+
+    def 'enable and disable hash-consing'() {
+        expect:
+        !factory.hashConsing
+        factory.withHashConsing(false).is(factory)
+
+        and:
+        def consing = factory.withHashConsing(true)
+        consing.hashConsing
+        consing.withHashConsing(true).is(consing)
+        !consing.withHashConsing(false).hashConsing
+    }
+
+    def 'share equal subtrees of parsed queries when hash-consing'() {
+        given:
+        def parser = new RSQLParser(new NodesFactory(RSQLOperators.defaultOperators()).withHashConsing(true))
+        def query = 'a==1;(b==2,c=in=(3,4))'
+
+        when:
+        def first = parser.parse(query) as LogicalNode
+        def second = parser.parse('d==5,(b==2,c=in=(3,4))') as LogicalNode
+
+        then:
+        parser.parse(query).is(first)
+        first.children[1].is(second.children[1])
+        first.hashCode() == parser.withEngine(ParserEngine.HANDWRITTEN).parse(query).hashCode()
+    }
+
+    def 'share canonical nodes of queries parsed in parallel when hash-consing'() {
+        given:
+        def parser = new RSQLParser(new NodesFactory(RSQLOperators.defaultOperators()).withHashConsing(true))
+        def queries = (0..<4000).collect { "a==${it % 10};(b==${it % 7},c=in=(3,4))" as String }
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def nodes = parser.parseAll(queries, executor)*.nodeOrThrow
+
+        then:
+        nodes.groupBy { it.toString() }.size() == 70
+        nodes.groupBy { it.toString() }.values().every { equal -> equal.every { it.is(equal[0]) } }
+        nodes.collect { it.children[1].children[1] }.every { it.is(nodes[0].children[1].children[1]) }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'intern nodes of other stripes while a stripe is locked'() {
+        given:
+        def interner = new NodeInterner(16)
+        def locked = factory.createComparisonNode('==', 'a', ['0'])
+        def other = (1..100).collect { factory.createComparisonNode('==', 'a', [it as String]) }
+            .find { !interner.stripe(it).is(interner.stripe(locked)) }
+        def executor = Executors.newSingleThreadExecutor()
+
+        when:
+        def interned = null
+        synchronized (interner.stripe(locked)) {
+            interned = executor.submit({ interner.intern(other) } as Callable).get(10, TimeUnit.SECONDS)
+        }
+
+        then:
+        interned.is(other)
+        interner.intern(factory.createComparisonNode('==', 'a', [other.arguments[0]])).is(other)
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'intern selectors and short arguments in pools'() {
+        given:
+        def interning = factory.withSelectorPool(new StringPool(64, 16)).withArgumentPool(new StringPool(64, 4))
+
+        when:
+        def first = interning.createComparisonNode('==', new String('status'), [new String('true')])
+        def second = interning.createComparisonNode('==', new String('status'), [new String('true')])
+        def long1 = interning.createComparisonNode('==', 'status', [new String('ACTIVE')])
+        def long2 = interning.createComparisonNode('==', 'status', [new String('ACTIVE')])
+
+        then:
+        first.selector.is(second.selector)
+        first.arguments[0].is(second.arguments[0])
+        !long1.arguments[0].is(long2.arguments[0])
+        first == second
+    }
+
+    def 'keep other settings when configuring pools'() {
+        given:
+        def pool = new StringPool(16, 8)
+
+        expect:
+        factory.selectorPool == null
+        factory.argumentPool == null
+        factory.withSelectorPool(null).is(factory)
+
+        and:
+        def pooled = factory.withHashConsing(true).withSelectorPool(pool).withArgumentPool(pool)
+        pooled.hashConsing
+        pooled.selectorPool.is(pool)
+        pooled.argumentPool.is(pool)
+        pooled.withHashConsing(false).selectorPool.is(pool)
+        pooled.withSelectorPool(pool).is(pooled)
+        pooled.withArgumentPool(null).argumentPool == null
+    }
+
+    def 'intern selectors and arguments of parsed queries: #engine'() {
+        given:
+        def pooled = new NodesFactory(RSQLOperators.defaultOperators())
+            .withSelectorPool(new StringPool(64, 32))
+            .withArgumentPool(new StringPool(64, 8))
+        def parser = new RSQLParser(pooled).withEngine(engine)
+
+        when:
+        def first = parser.parse('tenant.id==1;status=in=(ACTIVE,"true")') as LogicalNode
+        def second = parser.parse('status==true,tenant.id==1') as LogicalNode
+
+        then:
+        first.children[0].selector.is(second.children[1].selector)
+        first.children[1].selector.is(second.children[0].selector)
+        first.children[1].arguments[1].is(second.children[0].arguments[0])
+        first.children[0].arguments[0].is(second.children[1].arguments[0])
+
+        where:
+        engine << ParserEngine.values()
+    }
+
+    def 'not intern lazy arguments'() {
+        given:
+        def parser = new RSQLParser(factory.withArgumentPool(new StringPool(64, 8))).withLazyArguments(true)
+
+        when:
+        def node = parser.parse('a=gt=42') as ComparisonNode
+
+        then:
+        node.getArgumentView(0).contentEquals('42')
+        node.arguments == ['42']
+    }
 }
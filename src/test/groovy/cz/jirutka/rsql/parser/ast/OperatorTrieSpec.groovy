@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast
+
+import cz.jirutka.rsql.parser.ParserEngine
+import cz.jirutka.rsql.parser.RSQLParser
+import cz.jirutka.rsql.parser.RSQLParserException
+import cz.jirutka.rsql.parser.UnknownOperatorException
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+import static java.nio.charset.StandardCharsets.UTF_8
+
+class OperatorTrieSpec extends Specification {
+
+    static final ComparisonOperator ALL = new ComparisonOperator(['=all=', '=a='] as String[], true)
+
+    def trie = new NodesFactory(defaultOperators() + ALL).operatorTrie
+
+    def 'Should find operator by any of its symbols: #symbol'() {
+        expect:
+        trie.find(symbol) == expected
+
+        where:
+        symbol   | expected
+        '=='     | EQUAL
+        '!='     | NOT_EQUAL
+        '=gt='   | GREATER_THAN
+        '>'      | GREATER_THAN
+        '>='     | GREATER_THAN_OR_EQUAL
+        '=ge='   | GREATER_THAN_OR_EQUAL
+        '<'      | LESS_THAN
+        '=in='   | IN
+        '=out='  | NOT_IN
+        '=all='  | ALL
+        '=a='    | ALL
+    }
+
+    def 'Should not find unknown symbol: #symbol'() {
+        expect:
+        trie.find(symbol) == null
+
+        where:
+        symbol << ['', '=', '=g=', '=gte=', '=al=', '=All=', '=all', 'all=', '<>', '=é=', '==x']
+    }
+
+    def 'Should match symbol character by character'() {
+        when:
+        def state = OperatorTrie.START
+        for (c in '=in='.chars) {
+            state = trie.next(state, c as int)
+        }
+
+        then:
+        trie.operator(state) == IN
+
+        expect:
+        trie.next(OperatorTrie.NONE, (int) '='.charAt(0)) == OperatorTrie.NONE
+        trie.next(OperatorTrie.START, (int) 'x'.charAt(0)) == OperatorTrie.NONE
+        trie.next(OperatorTrie.START, -1) == OperatorTrie.NONE
+        trie.next(OperatorTrie.START, 0x1F600) == OperatorTrie.NONE
+        trie.operator(OperatorTrie.NONE) == null
+        trie.operator(trie.next(OperatorTrie.START, (int) '='.charAt(0))) == null
+    }
+
+    def 'Should parse custom operator resolved by lexer with #engine engine'() {
+        given:
+        def parser = new RSQLParser([EQUAL, ALL] as Set).withEngine(engine)
+
+        expect:
+        parser.parse('genres=all=(sci-fi,thriller);a==b') == new AndNode([
+            new ComparisonNode(ALL, 'genres', ['sci-fi', 'thriller']), new ComparisonNode(EQUAL, 'a', ['b'])])
+        parser.parse(ByteBuffer.wrap('genres%3Da%3D%28x%29'.getBytes(UTF_8))) ==
+            new ComparisonNode(ALL, 'genres', ['x'])
+
+        when:
+        parser.parse('a=in=(b,c)')
+
+        then:
+        def ex = thrown RSQLParserException
+        ex.cause instanceof UnknownOperatorException
+        (ex.cause as UnknownOperatorException).operator == '=in='
+
+        where:
+        engine << ParserEngine.values()
+    }
+
+    def 'Should pass operator symbol to subclass of NodesFactory'() {
+        given:
+        def factory = new NodesFactory([EQUAL] as Set) {
+            @Override
+            ComparisonNode createComparisonNode(String operatorToken, String selector, List<String> arguments) {
+                super.createComparisonNode('==', selector, arguments)
+            }
+        }
+
+        expect:
+        new RSQLParser(factory).withEngine(ParserEngine.HANDWRITTEN).parse('a=foo=b') ==
+            new ComparisonNode(EQUAL, 'a', ['b'])
+    }
+}
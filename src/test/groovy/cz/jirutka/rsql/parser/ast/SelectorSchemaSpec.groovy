@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast
+
+import cz.jirutka.rsql.parser.ParserEngine
+import cz.jirutka.rsql.parser.RSQLParser
+import cz.jirutka.rsql.parser.RSQLParserException
+import cz.jirutka.rsql.parser.RSQLStreamHandler
+import cz.jirutka.rsql.parser.RSQLSyntaxException
+import cz.jirutka.rsql.parser.UnknownSelectorException
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ast.RSQLOperators.*
+
+class SelectorSchemaSpec extends Specification {
+
+    @Shared schema = SelectorSchema.of('id', 'status', 'createdAt')
+    @Shared factory = new NodesFactory(defaultOperators()).withSelectorSchema(schema)
+
+    def 'Should assign ids by index'() {
+        expect:
+            schema.size() == 3
+            schema.selectors == ['id', 'status', 'createdAt']
+            schema.getSelector(2) == 'createdAt'
+            schema.getId('status') == 1
+            schema.getId(new String('status')) == 1
+            schema.getId('name') == SelectorSchema.UNKNOWN
+            schema.getId('x createdAt;', 2, 11) == 2
+            schema.getId('x createdA;', 2, 10) == SelectorSchema.UNKNOWN
+            SelectorSchema.of(['a', 'b']).getId('b') == 1
+            SelectorSchema.of().getId('a') == SelectorSchema.UNKNOWN
+    }
+
+    def 'Should find all selectors of large schema'() {
+        given:
+            def selectors = (0..<1000).collect { "field$it".toString() }
+            def large = SelectorSchema.of(selectors)
+
+        expect:
+            selectors.every { large.getId(it) == selectors.indexOf(it) }
+            large.getId('field1000') == SelectorSchema.UNKNOWN
+    }
+
+    def 'Should reject invalid selectors: #selectors'() {
+        when:
+            SelectorSchema.of(selectors as String[])
+
+        then:
+            def ex = thrown IllegalArgumentException
+            ex.message == message
+
+        where:
+            selectors          | message
+            ['a', 'b', 'a']    | 'Duplicate selector: a'
+            ['a', ' ']         | 'selectors must not be blank'
+            ['a', null]        | 'selectors must not be blank'
+    }
+
+    def 'Should parse selectors into ids: #engine'() {
+        when:
+            def node = new RSQLParser(factory).withEngine(engine).parse('status==a;(id=gt=1,"createdAt"<2)') as LogicalNode
+            def status = node.children[0] as ComparisonNode
+            def (id, createdAt) = (node.children[1] as LogicalNode).children as List<ComparisonNode>
+
+        then:
+            [status, id, createdAt]*.selectorId == [1, 0, 2]
+            status.selector.is(schema.getSelector(1))
+            createdAt.selector.is(schema.getSelector(2))
+
+        and: 'the ids do not affect equality'
+            status == new ComparisonNode(EQUAL, 'status', ['a'])
+
+        where:
+            engine << ParserEngine.values()
+    }
+
+    def 'Should report unknown selector with its offset: #engine'() {
+        when:
+            new RSQLParser(factory).withEngine(engine).parse('id==1;"name"==x')
+
+        then:
+            def ex = thrown RSQLParserException
+            with (ex.cause as UnknownSelectorException) {
+                selector == 'name'
+                offset == 6
+                message == 'Unknown selector: name at offset 6'
+            }
+
+        where:
+            engine << ParserEngine.values()
+    }
+
+    def 'Should report absolute offset of unknown selector in multi-line query: #engine'() {
+        given:
+            def query = 'id=="1\n2\r\n";"name"==x'
+
+        when:
+            new RSQLParser(factory).withEngine(engine).parse(query)
+
+        then:
+            def ex = thrown RSQLParserException
+            (ex.cause as UnknownSelectorException).offset == query.indexOf('"name"')
+
+        where:
+            engine << ParserEngine.values()
+    }
+
+    def 'Should report unknown selector in fast-fail mode'() {
+        when:
+            new RSQLParser(factory).withFastFail(true).parse('id==1,name==x')
+
+        then:
+            def ex = thrown RSQLSyntaxException
+            ex.kind == RSQLSyntaxException.Kind.UNKNOWN_SELECTOR
+            ex.offset == 6
+            ex.token == 'name'
+    }
+
+    def 'Should check selectors in streaming modes'() {
+        given:
+            def parser = new RSQLParser(factory)
+            def selectors = []
+            def handler = new RSQLStreamHandler() {
+                void startComparison(String selector, ComparisonOperator operator) { selectors << selector }
+            }
+
+        when:
+            parser.parse(new StringReader('id==1;status==2'), handler)
+
+        then:
+            selectors == ['id', 'status']
+
+        when:
+            parser.selectors('id==1;foo==2')
+
+        then:
+            def ex = thrown RSQLParserException
+            (ex.cause as UnknownSelectorException).offset == 6
+    }
+
+    def 'Should check selectors of created nodes'() {
+        expect:
+            factory.createComparisonNode('==', 'id', ['1']).selectorId == 0
+            factory.withSelectorSchema(null).createComparisonNode('==', 'id', ['1']).selectorId == SelectorSchema.UNKNOWN
+            factory.withSelectorSchema(schema).is(factory)
+            factory.withHashConsing(true).selectorSchema.is(schema)
+
+        when:
+            factory.createComparisonNode('==', 'name', ['1'])
+
+        then:
+            def ex = thrown UnknownSelectorException
+            ex.offset == -1
+            ex.message == 'Unknown selector: name'
+    }
+
+    def 'Should keep selector id of copied node'() {
+        given:
+            def node = factory.createComparisonNode('==', 'status', ['a'])
+
+        expect:
+            node.withArguments(['b']).selectorId == 1
+            node.withOperator(NOT_EQUAL).selectorId == 1
+            node.withSelector('other').selectorId == SelectorSchema.UNKNOWN
+            node.withSelector('id', factory).selectorId == 0
+            new ComparisonNode(EQUAL, 'status', ['a']).selectorId == SelectorSchema.UNKNOWN
+    }
+}
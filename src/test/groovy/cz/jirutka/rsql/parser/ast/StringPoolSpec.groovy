@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.ast
+
+import spock.lang.Specification
+
+class StringPoolSpec extends Specification {
+
+    def pool = new StringPool(16, 8)
+
+    def 'Should round capacity up to power of two: #capacity'() {
+        expect:
+            new StringPool(capacity, 1).capacity() == expected
+
+        where:
+            capacity | expected
+            1        | 1
+            2        | 2
+            3        | 4
+            1000     | 1024
+    }
+
+    def 'Should reject invalid arguments: (#capacity, #maxLength)'() {
+        when:
+            new StringPool(capacity, maxLength)
+
+        then:
+            thrown IllegalArgumentException
+
+        where:
+            capacity      | maxLength
+            0             | 1
+            -1            | 1
+            (1 << 30) + 1 | 1
+            16            | -1
+    }
+
+    def 'Should return canonical instance of equal string'() {
+        given:
+            def first = new String('status')
+
+        expect:
+            pool.intern(first).is(first)
+            pool.intern(new String('status')).is(first)
+            pool.intern(null) == null
+    }
+
+    def 'Should look up string from input characters'() {
+        given:
+            def pooled = pool.intern('status')
+
+        expect:
+            pool.intern('status==ACTIVE', 0, 6).is(pooled)
+            pool.intern(new StringBuilder('a==status'), 3, 9).is(pooled)
+
+        and: 'a new string is pooled for the others'
+            def active = pool.intern('status==ACTIVE', 8, 14)
+            active == 'ACTIVE'
+            pool.intern(new String('ACTIVE')).is(active)
+    }
+
+    def 'Should not pool strings longer than maximum length'() {
+        given:
+            def str = new String('too long value')
+
+        expect:
+            pool.intern(str).is(str)
+            !pool.intern(new String('too long value')).is(str)
+            pool.intern('x==too long value', 3, 17) == 'too long value'
+            !pool.intern('x==too long value', 3, 17).is(pool.intern('x==too long value', 3, 17))
+    }
+
+    def 'Should replace string in colliding slot'() {
+        given:
+            def single = new StringPool(1, 8)
+            def a = single.intern(new String('a'))
+
+        when:
+            def b = single.intern(new String('b'))
+
+        then:
+            single.intern(new String('b')).is(b)
+            !single.intern(new String('a')).is(a)
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval
+
+import cz.jirutka.rsql.parser.RSQLParser
+import cz.jirutka.rsql.parser.ast.ComparisonOperator
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import cz.jirutka.rsql.parser.ast.RSQLOperators
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.function.Predicate
+
+class AdaptivePredicateSpec extends Specification {
+
+    static final ComparisonOperator RISKY = new ComparisonOperator('=risky=')
+    static final boolean[] SAFE = [false, false]
+
+    @Shared parser = new RSQLParser(new NodesFactory(RSQLOperators.defaultOperators() + RISKY))
+
+    def 'Should evaluate most selective operand of #name first'() {
+        given:
+            def evaluated = []
+            def slowTrue = operand('slow', evaluated) { sleepNanos(200_000); and }
+            def fastDecisive = operand('fast', evaluated) { and ? it % 10 != 0 : it % 10 == 0 }
+            def predicate = new AdaptivePredicate(and, [slowTrue, fastDecisive] as Predicate[], SAFE, 0, 16)
+
+        when:
+            (0..<64).each { predicate.test(it) }
+            evaluated.clear()
+            predicate.test(1)
+
+        then:
+            evaluated.first() == 'fast'
+            predicate.toString() == (and ? '(fast;slow)' : '(fast,slow)')
+
+        where:
+            name          | and
+            'conjunction' | true
+            'disjunction' | false
+    }
+
+    def 'Should keep result of #query'() {
+        given:
+            def items = (0..<500).collect { [a: it % 7, b: it % 3, c: "x${it % 5}".toString()] }
+            def plain = new PredicateCompiler().compile(parser.parse(query))
+            def adaptive = new PredicateCompiler().withAdaptiveOrdering(true).compile(parser.parse(query))
+
+        expect:
+            (0..<20).every { items.findAll { adaptive.test(it) } == items.findAll { plain.test(it) } }
+
+        where:
+            query << ['a==1;b==2', 'a>3,b==0,c==x1', '(a==1,c==x2);(b!=1,a<2);c!=x3', 'a=in=(1,2,3);(b==1,c==x4)']
+    }
+
+    def 'Should not throw from operand guarded in original order'() {
+        given:
+            def evaluated = []
+            def guard = operand('guard', evaluated) { it % 2 == 0 }
+            def risky = operand('risky', evaluated) {
+                if (it % 2 != 0) {
+                    throw new IllegalStateException('unguarded')
+                }
+                it % 4 == 0
+            }
+            // the risky operand is not known to throw, and it decides the most even items, so it's moved first
+            def predicate = new AdaptivePredicate(true, [guard, risky] as Predicate[], SAFE, 0, 16)
+            (0..<64).each { predicate.test(it * 2 + 2) }
+
+        expect:
+            predicate.toString() == '(risky;guard)'
+            !predicate.test(1)
+            predicate.test(4)
+    }
+
+    def 'Should throw from operand in original order'() {
+        given:
+            def failing = operand('failing', []) { throw new IllegalStateException('failed') }
+            def predicate = new AdaptivePredicate(true, [failing, operand('other', []) { true }] as Predicate[], SAFE, 0, 16)
+
+        when:
+            predicate.test(1)
+
+        then:
+            def ex = thrown IllegalStateException
+            ex.message == 'failed'
+    }
+
+    def 'Should reorder operands only between those that may throw'() {
+        given:
+            def evaluated = []
+            def operands = ['slow1', 'fast1', 'custom', 'slow2', 'fast2'].collect { name ->
+                operand(name, evaluated) { name.startsWith('slow') ? sleepNanos(200_000) || true : it % 10 != 0 }
+            }
+            def predicate = new AdaptivePredicate(true, operands as Predicate[],
+                [false, false, true, false, false] as boolean[], 0, 16)
+
+        when:
+            (0..<64).each { predicate.test(it) }
+
+        then:
+            predicate.toString() == '(fast1;slow1;custom;fast2;slow2)'
+    }
+
+    def 'Should throw from custom operator as in original order'() {
+        given:
+            def compiler = new PredicateCompiler().withOperator(RISKY) { node, type ->
+                return { value -> if (value % 2 != 0) throw new IllegalStateException('odd'); true } as Predicate<Object>
+            }
+            def query = parser.parse('a=risky=x;b==0')
+            def plain = compiler.compile(query)
+            def adaptive = compiler.withAdaptiveOrdering(true).compile(query)
+            // b==0 decides the most items, but it must not be moved before the custom operator
+            (0..<50_000).each { adaptive.test([a: 0, b: it % 100 + 1]) }
+
+        when:
+            plain.test([a: 1, b: 1])
+
+        then:
+            thrown IllegalStateException
+
+        when:
+            adaptive.test([a: 1, b: 1])
+
+        then:
+            thrown IllegalStateException
+    }
+
+    def 'Should not reorder operands that are not known not to throw'() {
+        given:
+            def unknown = operand('unknown', []) { true }
+
+        expect:
+            AdaptivePredicate.mayThrow(unknown)
+            !AdaptivePredicate.isReorderable([unknown, unknown] as Predicate[])
+    }
+
+    def 'Should evaluate concurrently'() {
+        given:
+            def predicate = new PredicateCompiler().withAdaptiveOrdering(true)
+                .compile(parser.parse('a>10;b==1,c==x2'))
+            def items = (0..<1000).collect { [a: it % 50, b: it % 4, c: "x${it % 3}".toString()] }
+            def expected = items.count { (it.a > 10 && it.b == 1) || it.c == 'x2' }
+            def pool = Executors.newFixedThreadPool(4)
+
+        when:
+            def counts = pool.invokeAll((0..<8).collect {
+                { -> (0..<50).sum { items.count { predicate.test(it) } } } as Callable<Integer>
+            })*.get()
+
+        then:
+            counts.every { it == expected * 50 }
+
+        cleanup:
+            pool.shutdown()
+    }
+
+    def 'Should enable adaptive ordering'() {
+        given:
+            def compiler = new PredicateCompiler()
+
+        expect:
+            !compiler.adaptiveOrdering
+            compiler.withAdaptiveOrdering(true).adaptiveOrdering
+            compiler.withAdaptiveOrdering(false).is(compiler)
+            compiler.withAdaptiveOrdering(true).withResolvers([PropertyResolvers.MAPS]).adaptiveOrdering
+    }
+
+    private static Predicate<Object> operand(String name, List evaluated, Closure<Boolean> test) {
+        return new Predicate<Object>() {
+            boolean test(Object item) {
+                evaluated << name
+                return test(item)
+            }
+
+            String toString() { name }
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        def end = System.nanoTime() + nanos
+        while (System.nanoTime() < end) {
+        }
+    }
+}
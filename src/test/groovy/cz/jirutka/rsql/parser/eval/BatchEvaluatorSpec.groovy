@@ -0,0 +1,180 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval
+
+import cz.jirutka.rsql.parser.ArgumentConversionException
+import cz.jirutka.rsql.parser.RSQLParser
+import cz.jirutka.rsql.parser.UnknownSelectorException
+import cz.jirutka.rsql.parser.ast.ComparisonOperator
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import cz.jirutka.rsql.parser.ast.RSQLOperators
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static cz.jirutka.rsql.parser.ParserEngine.HANDWRITTEN
+
+class BatchEvaluatorSpec extends Specification {
+
+    static final int SIZE = 2 * BatchEvaluator.BATCH_SIZE + 77
+
+    @Shared parser = new RSQLParser()
+    @Shared String[] dictionary = ['books', 'music', 'games', 'boardgames']
+    @Shared ColumnProvider columns
+    @Shared List<Map> rows
+
+    def setupSpec() {
+        def random = new Random(42)
+        def ids = new long[SIZE]
+        def prices = new double[SIZE]
+        def codes = new int[SIZE]
+        def nulls = new BitSet()
+        rows = []
+
+        for (int i = 0; i < SIZE; i++) {
+            ids[i] = i
+            prices[i] = random.nextInt(1000) / 10d
+            codes[i] = random.nextInt(5) - 1
+            if (random.nextInt(10) == 0) {
+                nulls.set(i)
+            }
+            rows << [id: ids[i], price: nulls.get(i) ? null : prices[i], category: codes[i] < 0 ? null : dictionary[codes[i]]]
+        }
+
+        columns = provider(SIZE, [id: Column.ofLongs(ids), price: Column.ofDoubles(prices, nulls),
+                                  category: Column.ofDictionary(codes, dictionary)])
+    }
+
+    def 'Should evaluate #query like row by row'() {
+        given:
+            def node = parser.parse(query)
+            def predicate = new PredicateCompiler().compile(node)
+
+        when:
+            def selection = new BatchEvaluator(node).evaluate(columns)
+
+        then:
+            selection.length == (SIZE + 63).intdiv(64)
+            BitSet.valueOf(selection) == expected(predicate)
+
+        where:
+            query << [
+                'id<100',
+                'id=ge=2000',
+                'id=in=(1,5,9)',
+                'id=out=(1,2,3,4,5,6,7,8,9,10,11,12)',
+                'id!=3',
+                'price>50',
+                'price==10.5',
+                'price!=10.5',
+                'price=in=(1.5,2.5,3.5)',
+                'price=null=',
+                'price=notnull=',
+                'category==books',
+                'category==*games',
+                'category!=music',
+                'category=in=(books,games)',
+                'category<c',
+                'category=null=',
+                'category=notnull=',
+                'id>3000;id<100',
+                'id<10,id>=2100',
+                'price<10;(category==books,id=in=(1,2,3));price=notnull=',
+                '(id<500,category==music);(price>20,category=null=)',
+            ]
+    }
+
+    def 'Should evaluate deeply nested #shape query without recursion'() {
+        given:
+            def depth = 50_000
+            def node = parser.withEngine(HANDWRITTEN).parse(('(' * depth * nesting) + first + (rest * depth))
+            def predicate = new PredicateCompiler().compile(parser.parse(equivalent))
+
+        expect:
+            BitSet.valueOf(new BatchEvaluator(node).evaluate(columns)) == expected(predicate)
+
+        where:
+            shape         | nesting | first     | rest                   | equivalent
+            'same-kind'   | 1       | 'id<2000' | ';price>10)'           | 'id<2000;price>10'
+            'alternating' | 2       | 'id<100'  | ',id>=2000);price<90)' | '(id<100,id>=2000);price<90'
+    }
+
+    private BitSet expected(predicate) {
+        def bits = new BitSet()
+        rows.eachWithIndex { row, i -> if (predicate.test(row)) bits.set(i) }
+        return bits
+    }
+
+    def 'Should evaluate empty columns'() {
+        expect:
+            new BatchEvaluator(parser.parse('id==1')).evaluate(provider(0, [id: Column.ofLongs(new long[0])])).length == 0
+    }
+
+    def 'Should reject unknown selector'() {
+        when:
+            new BatchEvaluator(parser.parse('id==1;name==x')).evaluate(columns)
+
+        then:
+            def ex = thrown UnknownSelectorException
+            ex.selector == 'name'
+    }
+
+    def 'Should reject argument that is not a number'() {
+        when:
+            new BatchEvaluator(parser.parse('id==x')).evaluate(columns)
+
+        then:
+            def ex = thrown ArgumentConversionException
+            ex.message == "Argument 'x' of selector 'id' is not a valid Long"
+    }
+
+    def 'Should reject short column'() {
+        when:
+            new BatchEvaluator(parser.parse('id==1')).evaluate(provider(10, [id: Column.ofLongs(new long[5])]))
+
+        then:
+            def ex = thrown IllegalArgumentException
+            ex.message == "column of selector 'id' has 5 rows, but 10 are required"
+    }
+
+    def 'Should reject custom operator'() {
+        given:
+            def operator = new ComparisonOperator('=sw=')
+            def custom = new RSQLParser(new NodesFactory(RSQLOperators.defaultOperators() + operator))
+
+        when:
+            new BatchEvaluator(custom.parse('category=sw=b'))
+
+        then:
+            def ex = thrown IllegalArgumentException
+            ex.message == 'no batch evaluation of operator: =sw='
+    }
+
+    private static ColumnProvider provider(int size, Map<String, Column> columns) {
+        return new ColumnProvider() {
+            int size() { size }
+
+            Column getColumn(String selector) { columns[selector] }
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Edgar Asatryan <nstdio@gmail.com>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.rsql.parser.eval
+
+import cz.jirutka.rsql.parser.ArgumentConversionException
+import cz.jirutka.rsql.parser.RSQLParser
+import cz.jirutka.rsql.parser.UnknownSelectorException
+import cz.jirutka.rsql.parser.ast.ArgumentType
+import cz.jirutka.rsql.parser.ast.ComparisonOperator
+import cz.jirutka.rsql.parser.ast.NodesFactory
+import cz.jirutka.rsql.parser.ast.RSQLOperators
+import groovy.transform.CompileStatic
+import groovy.transform.EqualsAndHashCode
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.time.Instant
+import java.util.concurrent.atomic.AtomicLong
+import java.util.function.Predicate
+import javax.tools.ToolProvider
+
+import static cz.jirutka.rsql.parser.ParserEngine.HANDWRITTEN
+
+class PredicateCompilerSpec extends Specification {
+
+    static final ComparisonOperator STARTS_WITH = new ComparisonOperator('=sw=')
+
+    @Shared parser = new RSQLParser(new NodesFactory(RSQLOperators.defaultOperators() + STARTS_WITH))
+    @Shared compiler = new PredicateCompiler()
+
+    @TempDir Path tempDir
+
+    @Shared alice = new Person(id: 1L, name: 'Alice', age: 30, score: 4.5d, ratio: 0.1f, active: true,
+        status: Status.ACTIVE, balance: new BigDecimal('10.50'), createdAt: Instant.parse('2024-01-01T00:00:00Z'),
+        address: new Address(city: 'Prague', zip: 11000))
+    @Shared bob = new Person(id: null, name: 'Bob', age: 17, score: 2.0d, ratio: 0.5f, active: false,
+        status: Status.BLOCKED, balance: new BigDecimal('0'), createdAt: Instant.parse('2025-06-01T00:00:00Z'),
+        address: null)
+
+    def 'Should evaluate #query on POJOs'() {
+        given:
+            def predicate = compiler.compile(parser.parse(query), Person)
+
+        expect:
+            [alice, bob].findAll { predicate.test(it) }*.name == expected
+
+        where:
+            query                                  | expected
+            'name==Alice'                          | ['Alice']
+            'name!=Alice'                          | ['Bob']
+            'name==A*'                             | ['Alice']
+            'name==*o*'                            | ['Bob']
+            'name=in=(Carol,B*)'                   | ['Bob']
+            'name=out=(Alice,Carol)'               | ['Bob']
+            'age=ge=18'                            | ['Alice']
+            'age<18'                               | ['Bob']
+            'age=in=(1,2,3,4,5,6,7,8,9,17)'        | ['Bob']
+            'score>3'                              | ['Alice']
+            'score==2'                             | ['Bob']
+            'ratio==0.1'                           | ['Alice']
+            'active==true'                         | ['Alice']
+            'active==FALSE'                        | ['Bob']
+            'status==BLOCKED'                      | ['Bob']
+            'status=out=(ACTIVE)'                  | ['Bob']
+            'balance==10.5'                        | ['Alice']
+            'balance>1'                            | ['Alice']
+            'createdAt<2025-01-01T00:00:00Z'       | ['Alice']
+            'id==1'                                | ['Alice']
+            'id!=1'                                | ['Bob']
+            'id=null='                             | ['Bob']
+            'id=notnull='                          | ['Alice']
+            'age=notnull='                         | ['Alice', 'Bob']
+            'address.city==Prague'                 | ['Alice']
+            'address.city!=Prague'                 | ['Bob']
+            'address.zip>10000'                    | ['Alice']
+            'address.zip=null='                    | ['Bob']
+            'address=null='                        | ['Bob']
+            'age>20,name==Bob'                     | ['Alice', 'Bob']
+            'age>20;name==Bob'                     | []
+            '(age<18,status==ACTIVE);active==true' | ['Alice']
+    }
+
+    def 'Should evaluate #query on maps'() {
+        given:
+            def items = [
+                [name: 'a', count: 5, price: 1.5d, tags: [color: 'red']],
+                [name: 'b', count: 50L, price: null, tags: [color: 'blue']],
+                [name: 'c', count: true],
+                [name: 'd', tags: new Address(city: 'Brno', zip: 60200)],
+            ]
+            def predicate = compiler.compile(parser.parse(query))
+
+        expect:
+            items.findAll { predicate.test(it) }*.name == expected
+
+        where:
+            query               | expected
+            'count>10'          | ['b']
+            'count==5'          | ['a']
+            'count!=5'          | ['b', 'c', 'd']
+            'count=in=(5,50)'   | ['a', 'b']
+            'count==true'       | ['c']
+            'price<2'           | ['a']
+            'price=null='       | ['b', 'c', 'd']
+            'tags.color==r*'    | ['a']
+            'tags.city==Brno'   | ['d']
+            'tags.zip>60000'    | ['d']
+            'missing=null='     | ['a', 'b', 'c', 'd']
+    }
+
+    def 'Should not match null'() {
+        expect:
+            !compiler.compile(parser.parse('name!=x'), Person).test(null)
+    }
+
+    def 'Should short-circuit logical operators'() {
+        given:
+            def evaluated = []
+            def tracing = compiler.withOperator(STARTS_WITH) { node, type ->
+                def prefix = node.arguments[0]
+                return { value -> evaluated << prefix; value.toString().startsWith(prefix) } as Predicate<Object>
+            }
+
+        when:
+            def predicate = tracing.compile(parser.parse('name=sw=A,name=sw=B;name=sw=C'), Person)
+
+        then:
+            predicate.test(alice)
+            evaluated == ['A']
+    }
+
+    def 'Should flatten nested groups with the same operator'() {
+        expect:
+            compiler.compile(parser.parse('(a==1;(b==2;c==3)),(d==4,e==5)')).toString() ==
+                "((a=='1';b=='2';c=='3'),d=='4',e=='5')"
+    }
+
+    def 'Should compile deeply nested #shape query without recursion'() {
+        given:
+            def node = parser.withEngine(HANDWRITTEN).parse(('(' * depth * nesting) + first + (rest * depth))
+
+        when:
+            def predicate = compiler.withAdaptiveOrdering(adaptive).compile(node)
+
+        then:
+            predicate.test([a: '1', b: '2', c: '3'])
+            !predicate.test([a: '2', b: '3', c: '4'])
+
+        where:
+            shape         | depth  | nesting | first  | rest           | adaptive
+            'same-kind'   | 50_000 | 1       | 'a==1' | ';b==2)'       | false
+            'same-kind'   | 50_000 | 1       | 'a==1' | ',b==2)'       | true
+            'alternating' | 1_000  | 2       | 'b==1' | ',c==3);a==1)' | false
+            'alternating' | 1_000  | 2       | 'b==1' | ',c==3);a==1)' | true
+    }
+
+    def 'Should compile query that alternates operators deeply without recursion'() {
+        when:
+            compiler.compile(parser.withEngine(HANDWRITTEN).parse(('(' * 100_000) + 'a==1' + (',b==2);c==3)' * 50_000)))
+
+        then:
+            noExceptionThrown()
+    }
+
+    def 'Should pass static type to custom operator'() {
+        given:
+            def types = []
+            def custom = compiler.withOperator(STARTS_WITH) { node, type ->
+                types << type
+                return { value -> value == null } as Predicate<Object>
+            }
+
+        when:
+            def predicate = custom.compile(parser.parse('name=sw=x,age=sw=1,address.city=sw=y'), Person)
+
+        then:
+            types == [String, int, String]
+            !predicate.test(alice)
+            predicate.test(bob)
+    }
+
+    def 'Should reject #query at compile time'() {
+        when:
+            compiler.compile(parser.parse(query), Person)
+
+        then:
+            def ex = thrown(exception)
+            ex.message == message
+
+        where:
+            query               | exception                   | message
+            'nickname==x'       | UnknownSelectorException    | 'Unknown selector: nickname'
+            'address.street==x' | UnknownSelectorException    | 'Unknown selector: address.street'
+            'age==x'            | ArgumentConversionException | "Argument 'x' of selector 'age' is not a valid Long"
+            'score==x'          | ArgumentConversionException | "Argument 'x' of selector 'score' is not a valid Double"
+            'status==GONE'      | ArgumentConversionException | "Argument 'GONE' of selector 'status' is not a valid Status"
+            'active==yes'       | ArgumentConversionException | "Argument 'yes' of selector 'active' is not a valid Boolean"
+            'name=sw=x'         | IllegalArgumentException    | 'no evaluator of operator: =sw='
+            'class==x'          | UnknownSelectorException    | 'Unknown selector: class'
+            'hashCode==1'       | UnknownSelectorException    | 'Unknown selector: hashCode'
+            'toString==x'       | UnknownSelectorException    | 'Unknown selector: toString'
+    }
+
+    def 'Should not resolve method that is not a getter: #query'() {
+        when:
+            compiler.compile(parser.parse(query), AtomicLong)
+
+        then:
+            thrown UnknownSelectorException
+
+        where:
+            query << ['incrementAndGet==1', 'getAndIncrement==1', 'intValue==1']
+    }
+
+    @Requires({ jvm.isJavaVersionCompatible(16) })
+    def 'Should resolve accessors of record components'() {
+        given:
+            def source = tempDir.resolve('Point.java')
+            source.toFile().text = 'public record Point(long x, String label) { public int size() { return 1; } }'
+            assert ToolProvider.systemJavaCompiler.run(null, null, null, '-d', tempDir.toString(), source.toString()) == 0
+            def type = new URLClassLoader([tempDir.toUri().toURL()] as URL[]).loadClass('Point')
+            def point = type.getConstructor(long, String).newInstance(7L, 'seven')
+
+        expect:
+            compiler.compile(parser.parse('x==7;label==seven'), type).test(point)
+
+        when:
+            compiler.compile(parser.parse('size==1'), type)
+
+        then:
+            thrown UnknownSelectorException
+    }
+
+    def 'Should convert arguments by custom type'() {
+        given:
+            def custom = compiler.withArgumentType(Address, ArgumentType.of(Address) { new Address(city: it, zip: 11000) })
+
+        expect:
+            custom.compile(parser.parse('address==Prague'), Person).test(alice)
+            !custom.compile(parser.parse('address=out=(Prague)'), Person).test(alice)
+
+        when:
+            custom.compile(parser.parse('address>Prague'), Person)
+
+        then:
+            def ex = thrown IllegalArgumentException
+            ex.message == "values of selector 'address' of type Address can't be ordered"
+
+        when:
+            custom.withArgumentType(Address, null).compile(parser.parse('address>Prague'), Person).test(alice)
+
+        then:
+            notThrown IllegalArgumentException
+    }
+
+    def 'Should use typed arguments of parsed node'() {
+        given:
+            def typed = new RSQLParser(new NodesFactory(RSQLOperators.defaultOperators())
+                .withArgumentType('age', ArgumentType.LONG))
+
+        expect:
+            compiler.compile(typed.parse('age=in=(17,18)'), Person).test(bob)
+    }
+
+    def 'Should resolve properties by custom resolver'() {
+        given:
+            PropertyResolver upper = { type, property ->
+                property == 'upperName' ? new PropertyAccessor() {
+                    Class<?> getType() { String }
+                    Object get(Object target) { (target as Person).name.toUpperCase() }
+                } : null
+            }
+            def custom = compiler.withResolvers([upper] + PropertyResolvers.defaultResolvers())
+
+        expect:
+            custom.resolvers.size() == 3
+            custom.compile(parser.parse('upperName==ALICE;age>1'), Person).test(alice)
+    }
+
+    def 'Should render compiled predicate'() {
+        expect:
+            compiler.compile(parser.parse('a==1;(b==2,c==3)')).toString() == "(a=='1';(b=='2',c=='3'))"
+    }
+
+    def 'Should not allocate while evaluating'() {
+        given:
+            def predicate = compiler.compile(parser.parse('age>18;score<5;name==Al*;address.zip=in=(1,2,3,4,5,6,7,8,9,11000)'),
+                Person)
+            def bean = java.lang.management.ManagementFactory.threadMXBean
+            if (!bean.respondsTo('getThreadAllocatedBytes', long)) {
+                return
+            }
+            def id = Thread.currentThread().id
+            evaluate(predicate, alice, 100_000)
+
+        when:
+            def before = bean.getThreadAllocatedBytes(id)
+            def matched = evaluate(predicate, alice, 100_000)
+            def allocated = bean.getThreadAllocatedBytes(id) - before
+
+        then:
+            matched == 100_000
+            allocated < 100_000
+    }
+
+    @CompileStatic
+    static int evaluate(Predicate<Person> predicate, Person person, int times) {
+        int matched = 0
+        for (int i = 0; i < times; i++) {
+            if (predicate.test(person)) {
+                matched++
+            }
+        }
+        return matched
+    }
+
+    static enum Status {
+        ACTIVE, BLOCKED
+    }
+
+    @EqualsAndHashCode
+    static class Address {
+        String city
+        int zip
+    }
+
+    static class Person {
+        Long id
+        String name
+        int age
+        double score
+        float ratio
+        boolean active
+        Status status
+        BigDecimal balance
+        Instant createdAt
+        Address address
+    }
+}